@@ -40,14 +40,6 @@
 ## SearchView
 -keep class android.support.v7.widget.SearchView { *; }
 
-## SimpleXML
--dontwarn org.simpleframework.xml.stream.**
--keep class org.simpleframework.xml.** { *; }
--keepclassmembers,allowobfuscation class * {
-    @org.simpleframework.xml.* <fields>;
-    public <init>();
-}
-
 ## BottomNavigationView
 -keepclassmembers class android.support.design.internal.BottomNavigationMenuView {
     boolean mShiftingMode;
@@ -0,0 +1,250 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmResults;
+import io.realm.Sort;
+
+@RunWith(AndroidJUnit4.class)
+public final class ItemManagerBenchmark {
+    private static final String TAG = ItemManagerBenchmark.class.getSimpleName();
+
+    private static final String CLASS_NEWS_ITEM = "NewsItem";
+
+    private static final int ITEM_COUNT     = 10000;
+    private static final int SOURCE_COUNT   = 10;
+    private static final int CATEGORY_COUNT = 10;
+    private static final int ROUNDS         = 3;
+
+    private Realm realm;
+
+    @Before
+    public void setUp() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+
+        this.realm = Realm.getInstance(new RealmConfiguration.Builder()
+            .name("benchmark.realm")
+            .inMemory()
+            .build());
+    }
+
+    @After
+    public void tearDown() {
+        this.realm.close();
+    }
+
+    @Test
+    public void testBenchmark() {
+        final ItemManager manager = ItemManager.create(this.realm);
+
+        long batchedInsertTime  = 0;
+        long batchedRefreshTime = 0;
+        long legacyInsertTime   = 0;
+        long legacyRefreshTime  = 0;
+
+        for (int i = 0; i < ItemManagerBenchmark.ROUNDS; i++) {
+            this.clear();
+
+            long start = System.nanoTime();
+            manager.putItems(ItemManagerBenchmark.createItems()).blockingGet();
+            batchedInsertTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            manager.putItems(ItemManagerBenchmark.createItems()).blockingGet();
+            batchedRefreshTime += System.nanoTime() - start;
+
+            Assert.assertEquals(ItemManagerBenchmark.ITEM_COUNT, this.realm.where(NewsItem.class).count());
+
+            this.clear();
+
+            start = System.nanoTime();
+            this.putItemsOneByOne(ItemManagerBenchmark.createItems());
+            legacyInsertTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            this.putItemsOneByOne(ItemManagerBenchmark.createItems());
+            legacyRefreshTime += System.nanoTime() - start;
+        }
+
+        Log.i(ItemManagerBenchmark.TAG, String.format(Locale.ENGLISH, "Storing %d new items: batched = %.2f ms, one by one = %.2f ms", ItemManagerBenchmark.ITEM_COUNT, batchedInsertTime / 1e6 / ItemManagerBenchmark.ROUNDS, legacyInsertTime / 1e6 / ItemManagerBenchmark.ROUNDS));
+        Log.i(ItemManagerBenchmark.TAG, String.format(Locale.ENGLISH, "Storing %d stored items: batched = %.2f ms, one by one = %.2f ms", ItemManagerBenchmark.ITEM_COUNT, batchedRefreshTime / 1e6 / ItemManagerBenchmark.ROUNDS, legacyRefreshTime / 1e6 / ItemManagerBenchmark.ROUNDS));
+    }
+
+    @Test
+    public void testIndexBenchmark() {
+        final DynamicRealm indexedRealm   = ItemManagerBenchmark.createDynamicRealm("indexed.realm", true);
+        final DynamicRealm unindexedRealm = ItemManagerBenchmark.createDynamicRealm("unindexed.realm", false);
+
+        try {
+            long indexedTime   = 0;
+            long unindexedTime = 0;
+
+            for (int i = 0; i < ItemManagerBenchmark.ROUNDS; i++) {
+                long start = System.nanoTime();
+                ItemManagerBenchmark.query(indexedRealm);
+                indexedTime += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                ItemManagerBenchmark.query(unindexedRealm);
+                unindexedTime += System.nanoTime() - start;
+            }
+
+            Log.i(ItemManagerBenchmark.TAG, String.format(Locale.ENGLISH, "Querying %d items: indexed = %.2f ms, not indexed = %.2f ms", ItemManagerBenchmark.ITEM_COUNT, indexedTime / 1e6 / ItemManagerBenchmark.ROUNDS, unindexedTime / 1e6 / ItemManagerBenchmark.ROUNDS));
+        } finally {
+            indexedRealm.close();
+            unindexedRealm.close();
+        }
+    }
+
+    /**
+     * Runs the queries of the news, bookmark and history lists, as {@link ItemManager} does.
+     */
+    private static void query(@NonNull final DynamicRealm realm) {
+        for (int i = 0; i < ItemManagerBenchmark.CATEGORY_COUNT; i++) {
+            Assert.assertFalse(realm.where(ItemManagerBenchmark.CLASS_NEWS_ITEM)
+                .in(NewsItem.FIELD_SOURCE, new String[] { "source0", "source1" })
+                .equalTo(NewsItem.FIELD_CATEGORY, "category" + i)
+                .sort(NewsItem.FIELD_PUBLISH_DATE, Sort.DESCENDING)
+                .findAll()
+                .isEmpty());
+        }
+
+        Assert.assertFalse(realm.where(ItemManagerBenchmark.CLASS_NEWS_ITEM)
+            .equalTo(UserState.FIELD_BOOKMARKED, true)
+            .sort(UserState.FIELD_LAST_ACCESSED_DATE, Sort.DESCENDING)
+            .findAll()
+            .isEmpty());
+
+        Assert.assertFalse(realm.where(ItemManagerBenchmark.CLASS_NEWS_ITEM)
+            .greaterThan(UserState.FIELD_LAST_ACCESSED_DATE, 0)
+            .sort(UserState.FIELD_LAST_ACCESSED_DATE, Sort.DESCENDING)
+            .findAll()
+            .isEmpty());
+    }
+
+    /**
+     * Creates an in-memory Realm with the fields of {@link NewsItem} and {@link UserState} that the lists query in one class, with or without their indexes, and fills it with items of a few sources and categories, some of which are bookmarked or read.
+     */
+    @NonNull
+    private static DynamicRealm createDynamicRealm(@NonNull final String name, final boolean isIndexed) {
+        final DynamicRealm realm = DynamicRealm.getInstance(new RealmConfiguration.Builder()
+            .name(name)
+            .inMemory()
+            .build());
+
+        realm.beginTransaction();
+
+        final RealmObjectSchema schema = realm.getSchema()
+            .create(ItemManagerBenchmark.CLASS_NEWS_ITEM)
+            .addField(NewsItem.FIELD_LINK, String.class, FieldAttribute.PRIMARY_KEY)
+            .addField(NewsItem.FIELD_PUBLISH_DATE, long.class)
+            .addField(NewsItem.FIELD_SOURCE, String.class)
+            .addField(NewsItem.FIELD_CATEGORY, String.class)
+            .addField(UserState.FIELD_BOOKMARKED, boolean.class)
+            .addField(UserState.FIELD_LAST_ACCESSED_DATE, long.class);
+
+        if (isIndexed) schema
+            .addIndex(NewsItem.FIELD_PUBLISH_DATE)
+            .addIndex(NewsItem.FIELD_SOURCE)
+            .addIndex(NewsItem.FIELD_CATEGORY)
+            .addIndex(UserState.FIELD_BOOKMARKED)
+            .addIndex(UserState.FIELD_LAST_ACCESSED_DATE);
+
+        for (int i = 0; i < ItemManagerBenchmark.ITEM_COUNT; i++) {
+            final DynamicRealmObject item = realm.createObject(ItemManagerBenchmark.CLASS_NEWS_ITEM, "http://example.com/news/" + i);
+            item.setLong(NewsItem.FIELD_PUBLISH_DATE, i);
+            item.setString(NewsItem.FIELD_SOURCE, "source" + i % ItemManagerBenchmark.SOURCE_COUNT);
+            item.setString(NewsItem.FIELD_CATEGORY, "category" + i / ItemManagerBenchmark.SOURCE_COUNT % ItemManagerBenchmark.CATEGORY_COUNT);
+            item.setBoolean(UserState.FIELD_BOOKMARKED, i % 100 == 0);
+            item.setLong(UserState.FIELD_LAST_ACCESSED_DATE, i % 20 == 0 ? i : 0);
+        }
+
+        realm.commitTransaction();
+
+        return realm;
+    }
+
+    private void clear() {
+        this.realm.beginTransaction();
+        this.realm.deleteAll();
+        this.realm.commitTransaction();
+    }
+
+    /**
+     * Stores the given items with one query for each item, as {@link ItemManager#putItems(List)} used to.
+     */
+    private void putItemsOneByOne(@NonNull final List<NewsItem> newsItems) {
+        this.realm.beginTransaction();
+
+        for (final NewsItem newsItem : newsItems) {
+            final RealmResults<NewsItem> items = this.realm
+                .where(NewsItem.class)
+                .equalTo(NewsItem.FIELD_LINK, newsItem.getLink())
+                .findAll();
+
+            if (items.isEmpty()) {
+                this.realm.insert(newsItem);
+            } else {
+                final NewsItem item = items.first();
+
+                if (item.isFullDescription()) {
+                    if (newsItem.isFullDescription()) {
+                        item.setBookmarked(newsItem.isBookmarked());
+
+                        this.realm.insertOrUpdate(item);
+                    }
+
+                    this.realm.copyFromRealm(item);
+                } else {
+                    this.realm.insertOrUpdate(newsItem);
+                }
+            }
+        }
+
+        this.realm.commitTransaction();
+    }
+
+    /**
+     * Creates items like the ones of a full refresh, half of which have full descriptions.
+     */
+    @NonNull
+    private static List<NewsItem> createItems() {
+        final List<NewsItem> items = new ArrayList<>(ItemManagerBenchmark.ITEM_COUNT);
+
+        for (int i = 0; i < ItemManagerBenchmark.ITEM_COUNT; i++) {
+            final NewsItem item = new NewsItem();
+            item.setLink("http://example.com/news/" + i);
+            item.setTitle("Title " + i);
+            item.setDescription("Description " + i);
+            item.setIsFullDescription(i % 2 == 0);
+            item.setSource("source");
+            item.setCategory("category");
+
+            items.add(item);
+        }
+
+        return items;
+    }
+}
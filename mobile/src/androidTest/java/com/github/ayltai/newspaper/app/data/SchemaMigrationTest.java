@@ -0,0 +1,165 @@
+package com.github.ayltai.newspaper.app.data;
+
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Posting;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+import com.github.ayltai.newspaper.app.data.model.Validator;
+
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+
+@RunWith(AndroidJUnit4.class)
+public final class SchemaMigrationTest {
+    private static final String REALM_NAME  = "migration.realm";
+    private static final String LINK        = "http://example.com/news/1";
+    private static final String TITLE       = "Typhoon signal";
+    private static final String DESCRIPTION = "<p>天文台 <b>warning</b></p>";
+
+    @Before
+    public void setUp() {
+        Realm.init(InstrumentationRegistry.getTargetContext());
+
+        Realm.deleteRealm(SchemaMigrationTest.createConfiguration(1));
+    }
+
+    @After
+    public void tearDown() {
+        Realm.deleteRealm(SchemaMigrationTest.createConfiguration(1));
+    }
+
+    @Test
+    public void testMigrateFromVersion1() {
+        SchemaMigrationTest.createVersion1();
+
+        final Realm realm = Realm.getInstance(new RealmConfiguration.Builder()
+            .name(SchemaMigrationTest.REALM_NAME)
+            .schemaVersion(SchemaMigration.SCHEMA_VERSION)
+            .migration(new SchemaMigration())
+            .build());
+
+        try {
+            final NewsItem item = ItemManager.create(realm).getItem(SchemaMigrationTest.LINK).blockingGet();
+
+            // The item and its user state are kept
+            Assert.assertNotNull(item);
+            Assert.assertEquals(SchemaMigrationTest.TITLE, item.getTitle());
+            Assert.assertTrue(item.isBookmarked());
+            Assert.assertEquals(1000, item.getLastAccessedDate().getTime());
+            Assert.assertEquals(1, item.getImages().size());
+
+            // Version 2
+            Assert.assertEquals("天文台 warning", item.getSummary());
+            Assert.assertEquals(0, realm.where(Validator.class).count());
+
+            // Version 3
+            Assert.assertEquals(SchemaMigrationTest.LINK, realm.where(Posting.class).equalTo(Posting.FIELD_TOKEN, "typhoon").findFirst().getLink());
+            Assert.assertEquals(1, realm.where(Posting.class).equalTo(Posting.FIELD_TOKEN, "天文").count());
+            Assert.assertEquals(1, ItemManager.create(realm).search("天文 warn").blockingGet().size());
+
+            // Version 4
+            final RealmObjectSchema schema = realm.getSchema().get("NewsItem");
+            Assert.assertTrue(schema.hasIndex(NewsItem.FIELD_SOURCE));
+            Assert.assertTrue(schema.hasIndex(NewsItem.FIELD_CATEGORY));
+            Assert.assertTrue(schema.hasIndex(NewsItem.FIELD_PUBLISH_DATE));
+
+            // Version 5
+            final UserState state = realm.where(UserState.class).findFirst();
+            Assert.assertEquals(1, realm.where(UserState.class).count());
+            Assert.assertEquals(SchemaMigrationTest.LINK, state.getLink());
+            Assert.assertTrue(state.isBookmarked());
+            Assert.assertFalse(schema.hasField(UserState.FIELD_BOOKMARKED));
+            Assert.assertFalse(schema.hasField(UserState.FIELD_LAST_ACCESSED_DATE));
+
+            // Version 6
+            Assert.assertEquals("ty", realm.where(Posting.class).equalTo(Posting.FIELD_TOKEN, "typhoon").findFirst().getPrefix());
+            Assert.assertEquals(1, realm.where(Posting.class).equalTo(Posting.FIELD_TOKEN, "天").count());
+            Assert.assertEquals(1, ItemManager.create(realm).search("台").blockingGet().size());
+        } finally {
+            realm.close();
+        }
+    }
+
+    @NonNull
+    private static RealmConfiguration createConfiguration(final long schemaVersion) {
+        return new RealmConfiguration.Builder()
+            .name(SchemaMigrationTest.REALM_NAME)
+            .schemaVersion(schemaVersion)
+            .build();
+    }
+
+    /**
+     * Creates a Realm file with the schema of version 1 and one bookmarked item, as the app used to write it.
+     */
+    private static void createVersion1() {
+        final DynamicRealm realm = DynamicRealm.getInstance(SchemaMigrationTest.createConfiguration(1));
+
+        try {
+            realm.beginTransaction();
+
+            final RealmSchema schema = realm.getSchema();
+
+            final RealmObjectSchema images = schema.create("Image")
+                .addField("url", String.class)
+                .addField("description", String.class);
+
+            final RealmObjectSchema videos = schema.create("Video")
+                .addField("videoUrl", String.class)
+                .addField("thumbnailUrl", String.class);
+
+            final RealmObjectSchema categories = schema.create("Category")
+                .addField("url", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("name", String.class);
+
+            schema.create("Source")
+                .addField("name", String.class, FieldAttribute.PRIMARY_KEY)
+                .addRealmListField("categories", categories);
+
+            schema.create("RealmString")
+                .addField("value", String.class);
+
+            schema.create("NewsItem")
+                .addField("link", String.class, FieldAttribute.PRIMARY_KEY)
+                .addField("title", String.class)
+                .addField("description", String.class)
+                .addField("isFullDescription", boolean.class)
+                .addField("publishDate", long.class)
+                .addField("source", String.class)
+                .addField("category", String.class)
+                .addRealmObjectField("video", videos)
+                .addField("bookmarked", boolean.class)
+                .addField("lastAccessedDate", long.class)
+                .addRealmListField("images", images);
+
+            final DynamicRealmObject image = realm.createObject("Image");
+            image.setString("url", "http://example.com/image.jpg");
+
+            final DynamicRealmObject item = realm.createObject("NewsItem", SchemaMigrationTest.LINK);
+            item.setString("title", SchemaMigrationTest.TITLE);
+            item.setString("description", SchemaMigrationTest.DESCRIPTION);
+            item.setString("source", "source");
+            item.setString("category", "category");
+            item.setBoolean("bookmarked", true);
+            item.setLong("lastAccessedDate", 1000);
+            item.getList("images").add(image);
+
+            realm.commitTransaction();
+        } finally {
+            realm.close();
+        }
+    }
+}
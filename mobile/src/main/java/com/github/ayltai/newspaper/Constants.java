@@ -6,12 +6,13 @@ public final class Constants {
     public static final String ENCODING_UTF8 = "UTF-8";
     public static final String LINE_BREAK    = "\n";
 
-    public static final int INITIAL_RETRY_DELAY            = 2;
-    public static final int MAX_RETRIES                    = 5;
     public static final int CONNECTION_TIMEOUT             = 5;
     public static final int REFRESH_TIMEOUT                = 7;
+    public static final int REFRESH_COALESCING_WINDOW      = 300;
     public static final int HOUSEKEEP_TIME                 = 72 * 60 * 60 * 1000;
     public static final int REMOTE_CONFIG_CACHE_EXPIRATION = 30 * 60 * 1000;
+    public static final int MAINTENANCE_INTERVAL           = 6 * 60 * 60 * 1000;
+    public static final int SEARCH_DEBOUNCE                = 300;
 
     public static final int  FILE_BUFFER_SIZE        = 4 * 1024;
     public static final long CACHE_SIZE_MAX          = 32 * 1024 * 1024;
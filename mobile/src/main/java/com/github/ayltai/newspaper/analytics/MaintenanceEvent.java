@@ -0,0 +1,36 @@
+package com.github.ayltai.newspaper.analytics;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Measures a run of the database maintenance: the items deleted, the size of the database file, and the bytes reclaimed by the compactions since the previous run.
+ */
+public final class MaintenanceEvent extends Event {
+    public static final String NAME = "Maintenance";
+
+    public static final String ATTRIBUTE_ROW_COUNT       = "Row Count";
+    public static final String ATTRIBUTE_FILE_SIZE       = "File Size";
+    public static final String ATTRIBUTE_RECLAIMED_BYTES = "Reclaimed Bytes";
+
+    public MaintenanceEvent() {
+        super(MaintenanceEvent.NAME);
+    }
+
+    @NonNull
+    public MaintenanceEvent setRowCount(final int count) {
+        this.attributes.add(new Attribute(MaintenanceEvent.ATTRIBUTE_ROW_COUNT, String.valueOf(count)));
+        return this;
+    }
+
+    @NonNull
+    public MaintenanceEvent setFileSize(final long bytes) {
+        this.attributes.add(new Attribute(MaintenanceEvent.ATTRIBUTE_FILE_SIZE, String.valueOf(bytes)));
+        return this;
+    }
+
+    @NonNull
+    public MaintenanceEvent setReclaimedBytes(final long bytes) {
+        this.attributes.add(new Attribute(MaintenanceEvent.ATTRIBUTE_RECLAIMED_BYTES, String.valueOf(bytes)));
+        return this;
+    }
+}
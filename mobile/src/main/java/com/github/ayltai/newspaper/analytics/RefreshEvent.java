@@ -0,0 +1,50 @@
+package com.github.ayltai.newspaper.analytics;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Measures a refresh of the items from the remote sources. The time taken for the first new items to be shown is measured separately from the time taken for every source to complete.
+ */
+public final class RefreshEvent extends Event {
+    public static final String NAME = "Refresh";
+
+    public static final String ATTRIBUTE_TIME_TO_FIRST_ITEM = "Time To First Item";
+    public static final String ATTRIBUTE_TIME_TO_COMPLETE   = "Time To Complete";
+    public static final String ATTRIBUTE_ITEM_COUNT         = "Item Count";
+    public static final String ATTRIBUTE_MAX_QUEUE_DEPTH    = "Max Queue Depth";
+    public static final String ATTRIBUTE_AVERAGE_WAIT_TIME  = "Average Wait Time";
+
+    public RefreshEvent() {
+        super(RefreshEvent.NAME);
+    }
+
+    @NonNull
+    public RefreshEvent setTimeToFirstItem(final long millis) {
+        this.attributes.add(new Attribute(RefreshEvent.ATTRIBUTE_TIME_TO_FIRST_ITEM, String.valueOf(millis)));
+        return this;
+    }
+
+    @NonNull
+    public RefreshEvent setTimeToComplete(final long millis) {
+        this.attributes.add(new Attribute(RefreshEvent.ATTRIBUTE_TIME_TO_COMPLETE, String.valueOf(millis)));
+        return this;
+    }
+
+    @NonNull
+    public RefreshEvent setItemCount(final int count) {
+        this.attributes.add(new Attribute(RefreshEvent.ATTRIBUTE_ITEM_COUNT, String.valueOf(count)));
+        return this;
+    }
+
+    @NonNull
+    public RefreshEvent setMaxQueueDepth(final int depth) {
+        this.attributes.add(new Attribute(RefreshEvent.ATTRIBUTE_MAX_QUEUE_DEPTH, String.valueOf(depth)));
+        return this;
+    }
+
+    @NonNull
+    public RefreshEvent setAverageWaitTime(final long millis) {
+        this.attributes.add(new Attribute(RefreshEvent.ATTRIBUTE_AVERAGE_WAIT_TIME, String.valueOf(millis)));
+        return this;
+    }
+}
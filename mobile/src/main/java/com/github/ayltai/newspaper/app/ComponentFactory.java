@@ -21,12 +21,16 @@ import com.github.ayltai.newspaper.media.ImageComponent;
 import com.github.ayltai.newspaper.media.ImageModule;
 import com.github.ayltai.newspaper.net.DaggerHttpComponent;
 import com.github.ayltai.newspaper.net.HttpComponent;
+import com.github.ayltai.newspaper.net.HttpModule;
 
 import io.reactivex.disposables.Disposable;
 
 public final class ComponentFactory implements Disposable, LifecycleObserver {
     private static ComponentFactory instance;
 
+    // Kept across instances, so that the whole process shares one connection pool and one dispatcher
+    private static HttpComponent httpComponent;
+
     private ConfigComponent    configComponent;
     private ImageComponent     imageComponent;
     private AnalyticsComponent analyticsComponent;
@@ -64,9 +68,15 @@ public final class ComponentFactory implements Disposable, LifecycleObserver {
         return this.configComponent;
     }
 
-    public HttpComponent getHttpComponent() {
-        return DaggerHttpComponent.builder()
-            .build();
+    @NonNull
+    public HttpComponent getHttpComponent(@NonNull final Context context) {
+        synchronized (ComponentFactory.class) {
+            if (ComponentFactory.httpComponent == null) ComponentFactory.httpComponent = DaggerHttpComponent.builder()
+                .httpModule(new HttpModule(context.getApplicationContext()))
+                .build();
+        }
+
+        return ComponentFactory.httpComponent;
     }
 
     public DataComponent getDataComponent(@NonNull final Context context) {
@@ -22,9 +22,9 @@ import com.facebook.imagepipeline.listener.RequestLoggingListener;
 import com.github.ayltai.newspaper.BuildConfig;
 import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.R;
+import com.github.ayltai.newspaper.app.data.MaintenanceJob;
 import com.github.ayltai.newspaper.media.DaggerImageComponent;
 import com.github.ayltai.newspaper.media.ImageModule;
-import com.github.ayltai.newspaper.net.DaggerHttpComponent;
 import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.ThreadPolicyFactory;
 import com.github.ayltai.newspaper.util.VmPolicyFactory;
@@ -55,6 +55,7 @@ public final class MainApplication extends BaseApplication {
         this.initFresco();
         this.initBigImageViewer();
         this.initCalligraphy();
+        this.initMaintenance();
     }
 
     private void applyDevMode() {
@@ -103,9 +104,9 @@ public final class MainApplication extends BaseApplication {
         ImagePipelineConfig.getDefaultImageRequestConfig()
             .setProgressiveRenderingEnabled(true);
 
-        if (!DevUtils.isRunningUnitTest()) Fresco.initialize(this, OkHttpImagePipelineConfigFactory.newBuilder(this, DaggerHttpComponent.builder()
-            .build()
-            .httpClient())
+        if (!DevUtils.isRunningUnitTest()) Fresco.initialize(this, OkHttpImagePipelineConfigFactory.newBuilder(this, ComponentFactory.getInstance()
+            .getHttpComponent(this)
+            .mediaHttpClient())
             .setDownsampleEnabled(true)
             .setResizeAndRotateEnabledForNetwork(true)
             .setExecutorSupplier(new DefaultExecutorSupplier(Runtime.getRuntime().availableProcessors()))
@@ -141,4 +142,8 @@ public final class MainApplication extends BaseApplication {
                 .build()))
             .build());
     }
+
+    private void initMaintenance() {
+        if (!DevUtils.isRunningTests()) new MaintenanceJob(this, Constants.MAINTENANCE_INTERVAL).schedule();
+    }
 }
@@ -4,9 +4,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import android.content.Context;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.app.LoaderManager;
@@ -16,14 +21,22 @@ import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
 import com.github.ayltai.newspaper.Constants;
+import com.github.ayltai.newspaper.analytics.RefreshEvent;
+import com.github.ayltai.newspaper.app.ComponentFactory;
 import com.github.ayltai.newspaper.app.data.model.Category;
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.SourceFactory;
+import com.github.ayltai.newspaper.app.data.model.Validator;
 import com.github.ayltai.newspaper.client.Client;
 import com.github.ayltai.newspaper.client.ClientFactory;
 import com.github.ayltai.newspaper.data.RealmLoader;
+import com.github.ayltai.newspaper.net.CircuitBreaker;
+import com.github.ayltai.newspaper.net.CircuitBreakers;
+import com.github.ayltai.newspaper.net.FetchScheduler;
+import com.github.ayltai.newspaper.net.LatencyTracker;
 import com.github.ayltai.newspaper.net.NetworkUtils;
+import com.github.ayltai.newspaper.net.ValidatorStore;
 import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.Lists;
 import com.github.ayltai.newspaper.util.RxUtils;
@@ -31,20 +44,34 @@ import com.github.ayltai.newspaper.util.StringUtils;
 
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
-import io.reactivex.Single;
 import io.reactivex.schedulers.Schedulers;
-import io.realm.RealmObject;
 
 public final class ItemListLoader extends RealmLoader<Item> {
     //region Constants
 
     public static final int ID = ItemListLoader.class.hashCode();
 
-    private static final String KEY_SOURCES    = "sources";
-    private static final String KEY_CATEGORIES = "categories";
+    private static final String KEY_SOURCES     = "sources";
+    private static final String KEY_CATEGORIES  = "categories";
+    private static final String KEY_LOCAL_ITEMS = "localItems";
 
     //endregion
 
+    /**
+     * An item downloaded from the page of a category, or the end of a page that has some items.
+     */
+    private static final class Page {
+        private final String         url;
+        private final List<NewsItem> items;
+        private final boolean        isComplete;
+
+        Page(@NonNull final String url, @NonNull final List<NewsItem> items, final boolean isComplete) {
+            this.url        = url;
+            this.items      = items;
+            this.isComplete = isComplete;
+        }
+    }
+
     public static final class Builder {
         private final AppCompatActivity activity;
         private final Bundle            args = new Bundle();
@@ -82,6 +109,16 @@ public final class ItemListLoader extends RealmLoader<Item> {
             return this;
         }
 
+        /**
+         * Sets whether the stored items are loaded. If not, only the new items downloaded are emitted, for a view that reads the stored items itself with {@link ItemManager#getWindowedItems(String[], String[])}.
+         */
+        @NonNull
+        public ItemListLoader.Builder localItems(final boolean localItems) {
+            this.args.putBoolean(ItemListLoader.KEY_LOCAL_ITEMS, localItems);
+
+            return this;
+        }
+
         @NonNull
         public Flowable<List<NewsItem>> build() {
             if (DevUtils.isRunningUnitTest()) return Flowable.just(Collections.emptyList());
@@ -116,11 +153,10 @@ public final class ItemListLoader extends RealmLoader<Item> {
     @NonNull
     @Override
     protected Flowable<List<Item>> loadFromLocalSource(@NonNull final Context context, @Nullable final Bundle args) {
-        if (!this.isValid()) return Flowable.just(Collections.emptyList());
+        if (!this.isValid() || args != null && !args.getBoolean(ItemListLoader.KEY_LOCAL_ITEMS, true)) return Flowable.just(Collections.emptyList());
 
         return Flowable.create(emitter -> ItemManager.create(this.getRealm()).getItems(ItemListLoader.getSources(args).toArray(StringUtils.EMPTY_ARRAY), ItemListLoader.getCategories(args).toArray(StringUtils.EMPTY_ARRAY))
-            .compose(RxUtils.applySingleSchedulers(this.getScheduler()))
-            .map(items -> items.isEmpty() ? items : RealmObject.isManaged(items.get(0)) ? this.getRealm().copyFromRealm(items) : items)
+            .compose(RxUtils.applySingleSchedulers(this.getReadScheduler()))
             .map(items -> {
                 Collections.sort(items);
 
@@ -129,74 +165,168 @@ public final class ItemListLoader extends RealmLoader<Item> {
             .subscribe(emitter::onNext), BackpressureStrategy.LATEST);
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Downloads the categories of the sources concurrently, and emits the new items downloaded in each {@link Constants#REFRESH_COALESCING_WINDOW} milliseconds as soon as they are stored, instead of waiting for the slowest category.
+     * <p>The items are read with {@link Client#streamItems(String)}, so that the items of a client that scans its pages as they download are stored before the rest of their page arrives.</p>
+     */
     @NonNull
     @Override
     protected Flowable<List<Item>> loadFromRemoteSource(@NonNull final Context context, @Nullable final Bundle args) {
         if (NetworkUtils.isOnline(context)) {
-            final List<Single<List<NewsItem>>> singles = this.createSingles(context, args);
-            if (singles.isEmpty()) Flowable.just(new ArrayList<>());
-
-            return Flowable.create(emitter -> Single.zip(
-                singles,
-                lists -> {
-                    final List<NewsItem> combinedList = new ArrayList<>();
-                    for (final Object list : lists) combinedList.addAll((List<NewsItem>)list);
+            final List<Flowable<ItemListLoader.Page>> requests = this.createRequests(context, args);
+            if (requests.isEmpty()) return Flowable.just(new ArrayList<>());
+
+            final long          startTime     = SystemClock.elapsedRealtime();
+            final AtomicLong    firstItemTime = new AtomicLong();
+            final AtomicInteger itemCount     = new AtomicInteger();
+
+            return Flowable.merge(requests)
+                .buffer(Constants.REFRESH_COALESCING_WINDOW, TimeUnit.MILLISECONDS)
+                .filter(pages -> !pages.isEmpty())
+                .map(this::putPages)
+                .filter(items -> !items.isEmpty())
+                .doOnNext(items -> {
+                    firstItemTime.compareAndSet(0, SystemClock.elapsedRealtime() - startTime);
+                    itemCount.addAndGet(items.size());
+                })
+                .doOnComplete(() -> {
+                    final long           completeTime = SystemClock.elapsedRealtime() - startTime;
+                    final FetchScheduler scheduler    = FetchScheduler.getInstance();
+
+                    LatencyTracker.getInstance(context).save();
+
+                    if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), "Refreshed " + itemCount.get() + " items from " + requests.size() + " categories: first item = " + firstItemTime.get() + " ms, complete = " + completeTime + " ms, max queue depth = " + scheduler.getMaxQueueDepth() + ", average wait = " + scheduler.getAverageWaitTime() + " ms");
+
+                    ComponentFactory.getInstance()
+                        .getAnalyticsComponent(context)
+                        .eventLogger()
+                        .logEvent(new RefreshEvent()
+                            .setTimeToFirstItem(firstItemTime.get())
+                            .setTimeToComplete(completeTime)
+                            .setItemCount(itemCount.get())
+                            .setMaxQueueDepth(scheduler.getMaxQueueDepth())
+                            .setAverageWaitTime(scheduler.getAverageWaitTime()));
+                })
+                .onErrorResumeNext(error -> {
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
 
-                    return combinedList;
+                    return Flowable.empty();
                 })
-                .map(items -> {
-                    if (this.isValid()) {
-                        final List<NewsItem> newsItems = ItemManager.create(this.getRealm())
-                            .putItems(items)
-                            .compose(RxUtils.applySingleSchedulers(this.getScheduler()))
-                            .blockingGet();
+                .map(items -> Lists.transform(items, item -> (Item)item));
+        }
 
-                        Collections.sort(newsItems);
+        return Flowable.just(new ArrayList<>());
+    }
 
-                        return newsItems;
-                    } else {
-                        Collections.sort(items);
+    /**
+     * Stores the items of the given pages, then commits the validators of the URLs of the pages that are complete.
+     * @param pages The items downloaded, and the ends of the pages downloaded in full.
+     * @return The summaries of the items stored.
+     */
+    @NonNull
+    private List<NewsItem> putPages(@NonNull final List<ItemListLoader.Page> pages) {
+        final List<String>   urls  = new ArrayList<>();
+        final List<NewsItem> items = new ArrayList<>();
 
-                        return items;
-                    }
-                })
-                .subscribe(
-                    items -> emitter.onNext(Lists.transform(items, item -> (Item)item)),
-                    error -> {
-                        if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
-                    }
-                ), BackpressureStrategy.LATEST);
+        for (final ItemListLoader.Page page : pages) {
+            if (page.isComplete) urls.add(page.url);
+            items.addAll(page.items);
         }
 
-        return Flowable.just(new ArrayList<>());
+        if (!this.isValid()) return items;
+
+        final ItemManager    manager   = ItemManager.create(this.getRealm());
+        final List<NewsItem> newsItems = manager
+            .putItems(items)
+            .compose(RxUtils.applySingleSchedulers(this.getScheduler()))
+            .blockingGet();
+
+        final List<Validator> validators = ValidatorStore.getInstance().commit(urls);
+        if (!validators.isEmpty()) manager.putValidators(validators)
+            .compose(RxUtils.applySingleSchedulers(this.getScheduler()))
+            .blockingGet();
+
+        final List<NewsItem> summaries = new ArrayList<>(newsItems.size());
+        for (final NewsItem newsItem : newsItems) summaries.add(ItemManager.toSummary(newsItem));
+
+        return summaries;
     }
 
-    private List<Single<List<NewsItem>>> createSingles(@NonNull final Context context, @Nullable final Bundle args) {
-        final List<Single<List<NewsItem>>> singles      = new ArrayList<>();
-        final List<String>                 categories   = ItemListLoader.getCategories(args);
-        final boolean                      forceRefresh = RealmLoader.isForceRefresh(args);
+    /**
+     * Creates a {@link Flowable} for each category to download, which emits the new items found as they are downloaded, then the end of the page if it has any. The end of a page that is unchanged, fails or times out is never emitted, so its validator is not committed.
+     * <p>The categories whose server has an open {@link CircuitBreaker} are skipped, so that a refresh does not wait for a server known to be down.</p>
+     */
+    @NonNull
+    private List<Flowable<ItemListLoader.Page>> createRequests(@NonNull final Context context, @Nullable final Bundle args) {
+        final List<Flowable<ItemListLoader.Page>> requests     = new ArrayList<>();
+        final List<String>                        categories   = ItemListLoader.getCategories(args);
+        final String                              group        = ItemListLoader.getFetchGroup(categories);
+        final boolean                             forceRefresh = RealmLoader.isForceRefresh(args);
+        final ValidatorStore                      store        = ValidatorStore.getInstance();
+        final FetchScheduler                      scheduler    = FetchScheduler.getInstance();
+        final LatencyTracker                      tracker      = LatencyTracker.getInstance(context);
+        final CircuitBreakers                     breakers     = CircuitBreakers.getInstance();
+
+        if (!store.isLoaded() && this.isValid()) store.load(ItemManager.create(this.getRealm())
+            .getValidators()
+            .compose(RxUtils.applySingleSchedulers(this.getReadScheduler()))
+            .blockingGet());
 
         for (final String source : ItemListLoader.getSources(args)) {
             for (final Category category : SourceFactory.getInstance(context).getSource(source).getCategories()) {
                 if (ItemListLoader.containsCategory(categories, category)) {
-                    final Client client = ClientFactory.getInstance(context).getClient(source);
-
-                    if (client != null) singles.add(client.getItems(category.getUrl())
-                        // TODO: If the previous refresh timestamp is very old, wait for a longer time to refresh
-                        .timeout(forceRefresh ? Constants.REFRESH_TIMEOUT : Constants.CONNECTION_TIMEOUT, TimeUnit.SECONDS)
-                        .onErrorResumeNext(error -> {
-                            if (DevUtils.isLoggable()) Log.w(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
-
-                            return Single.just(new ArrayList<>());
-                        })
-                        .subscribeOn(Schedulers.newThread())
-                        .observeOn(Schedulers.io()));
+                    final Client         client  = ClientFactory.getInstance(context).getClient(source);
+                    final String         url     = category.getUrl();
+                    final CircuitBreaker breaker = breakers.get(url);
+
+                    if (client != null && breaker.getState() != CircuitBreaker.STATE_OPEN) {
+                        final long timeout = tracker.getTimeout(source, forceRefresh);
+
+                        store.watch(url);
+
+                        // The timeout and the response time start when the request does, not when it is queued
+                        requests.add(scheduler.schedule(group, url, Flowable.defer(() -> {
+                                final long           requestTime = SystemClock.elapsedRealtime();
+                                final AtomicBoolean  hasItems    = new AtomicBoolean();
+
+                                // The same deadline applies to the whole page, however many items it has
+                                final Flowable<Long> deadline    = Flowable.timer(timeout, TimeUnit.MILLISECONDS).cache();
+
+                                return client.streamItems(url)
+                                    .timeout(deadline, item -> deadline)
+                                    .doOnNext(item -> hasItems.set(true))
+                                    .map(item -> new ItemListLoader.Page(url, Collections.singletonList(item), false))
+                                    .concatWith(Flowable.defer(() -> hasItems.get() ? Flowable.just(new ItemListLoader.Page(url, Collections.emptyList(), true)) : Flowable.empty()))
+                                    .doOnComplete(() -> tracker.record(source, SystemClock.elapsedRealtime() - requestTime))
+                                    .doOnError(error -> {
+                                        if (error instanceof TimeoutException) {
+                                            tracker.recordTimeout(source, timeout);
+                                            breaker.onFailure();
+                                        }
+                                    });
+                            }))
+                            .onErrorResumeNext(error -> {
+                                if (DevUtils.isLoggable()) Log.w(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
+
+                                return Flowable.empty();
+                            })
+                            .observeOn(Schedulers.io()));
+                    }
                 }
             }
         }
 
-        return singles;
+        return requests;
+    }
+
+    /**
+     * Returns the group of the requests made for the given categories, whose priority is set with {@link FetchScheduler#setPriority(String, int)}.
+     * @param categories The names of the categories shown together.
+     * @return The group of the requests.
+     */
+    @NonNull
+    public static String getFetchGroup(@NonNull final List<String> categories) {
+        return categories.toString();
     }
 
     @NonNull
@@ -1,8 +1,13 @@
 package com.github.ayltai.newspaper.app.data;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
@@ -10,30 +15,46 @@ import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
 import com.github.ayltai.newspaper.Constants;
+import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+import com.github.ayltai.newspaper.app.data.model.Validator;
+import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.data.DaggerDataComponent;
 import com.github.ayltai.newspaper.data.DataManager;
 import com.github.ayltai.newspaper.data.DataModule;
+import com.github.ayltai.newspaper.data.WindowedList;
 import com.github.ayltai.newspaper.util.Irrelevant;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringUtils;
+import com.github.ayltai.newspaper.util.Tokenizer;
 
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.SingleEmitter;
-import io.realm.Case;
 import io.realm.Realm;
-import io.realm.RealmObject;
 import io.realm.RealmQuery;
 import io.realm.RealmResults;
 import io.realm.Sort;
 
 public final class ItemManager extends DataManager {
+    //region Constants
+
+    private static final int     QUERY_BATCH_SIZE = 1000;
+    private static final int     WINDOW_SIZE      = 40;
+    private static final int     SUMMARY_LENGTH   = 200;
+    private static final Pattern TAGS             = Pattern.compile("<[^>]*>");
+    private static final Pattern SPACES           = Pattern.compile("\\s+");
+
+    //endregion
+
     @NonNull
     public static Single<ItemManager> create(@NonNull final Context context) {
         return Single.<Realm>create(emitter -> emitter.onSuccess(DaggerDataComponent.builder()
             .dataModule(new DataModule(context))
             .build()
             .realm()))
-            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
+            .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER))
             .map(ItemManager::create);
     }
 
@@ -51,27 +72,72 @@ public final class ItemManager extends DataManager {
         return this.getItems(null, sources, categories);
     }
 
+    /**
+     * Returns the summaries of the items of the given sources and categories, without the items that {@link #deleteObsoleteItems()} deletes.
+     * <p>No items are deleted here. The obsolete items are filtered out by the query instead, so that reading takes no write lock.</p>
+     */
     @NonNull
     public Single<List<NewsItem>> getItems(@Nullable final CharSequence searchText, @NonNull final String[] sources, @NonNull final String[] categories) {
+        return Single.create(emitter -> this.emit(emitter, this.createItemsQuery(sources, categories), searchText, sources, categories));
+    }
+
+    /**
+     * Returns the summaries of the items of the given sources and categories with the given links, in the order of the links, without the items that {@link #deleteObsoleteItems()} deletes.
+     * @param links The links returned by {@link #search(CharSequence)}.
+     */
+    @NonNull
+    public Single<List<NewsItem>> getSearchResults(@NonNull final List<String> links, @NonNull final String[] sources, @NonNull final String[] categories) {
         return Single.create(emitter -> {
-            if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
+            final List<NewsItem> items = this.find(this.createItemsQuery(sources, categories), links);
 
-            this.clearObsoleteItems();
-            this.clearInvalidItems();
+            if (!emitter.isDisposed()) emitter.onSuccess(items);
+        });
+    }
 
-            this.getRealm().commitTransaction();
+    /**
+     * Returns the links of the items that match the given search text, the most relevant first.
+     * <p>The items of several sources and categories can then be read with {@link #getSearchResults(List, String[], String[])} without searching again.</p>
+     */
+    @NonNull
+    public Single<List<String>> search(@NonNull final CharSequence searchText) {
+        return Single.create(emitter -> {
+            final List<String> links = new SearchIndex(this.getRealm()).search(searchText);
+
+            if (!emitter.isDisposed()) emitter.onSuccess(links);
+        });
+    }
 
-            final RealmQuery<NewsItem> query = this.getRealm()
+    /**
+     * Returns the summaries of the items of the given sources and categories, newest first, as a {@link WindowedList} that only copies the items near the ones read, and that is updated when the items or the user states change.
+     * <p>Unlike {@link #getItems(String[], String[])}, the items that {@link #deleteObsoleteItems()} deletes are not filtered out, but shown until they are deleted. A live query that depended on the time or the user states when it was created would never show the items published or kept afterwards.</p>
+     * <p>Must be called on a thread with a looper, such as the main thread, with a {@link Realm} instance of that thread. The query runs asynchronously, and {@link WindowedList#changes()} emits when it completes.</p>
+     */
+    @NonNull
+    public WindowedList<NewsItem> getWindowedItems(@NonNull final String[] sources, @NonNull final String[] categories) {
+        return new WindowedList<>(this.createValidItemsQuery(sources, categories)
+            .sort(NewsItem.FIELD_PUBLISH_DATE, Sort.DESCENDING)
+            .findAllAsync(), ItemManager.WINDOW_SIZE, item -> new UserStates(this.getRealm()).attach(ItemManager.toSummary(item)))
+            .dependOn(this.getRealm().where(UserState.class).findAllAsync());
+    }
+
+    /**
+     * Returns the stored item with the given link, with its full description and all its images, or nothing if it is not stored.
+     */
+    @NonNull
+    public Maybe<NewsItem> getItem(@NonNull final String link) {
+        return Maybe.create(emitter -> {
+            final NewsItem item = this.getRealm()
                 .where(NewsItem.class)
-                .in(NewsItem.FIELD_SOURCE, sources)
-                .and()
-                .in(NewsItem.FIELD_CATEGORY, categories)
-                .and()
-                .greaterThan(NewsItem.FIELD_PUBLISH_DATE, 0)
-                .and()
-                .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis());
+                .equalTo(NewsItem.FIELD_LINK, link)
+                .findFirst();
 
-            this.emit(emitter, query, searchText, sources, categories);
+            if (!emitter.isDisposed()) {
+                if (item == null) {
+                    emitter.onComplete();
+                } else {
+                    emitter.onSuccess(new UserStates(this.getRealm()).attach(this.getRealm().copyFromRealm(item)));
+                }
+            }
         });
     }
 
@@ -82,17 +148,7 @@ public final class ItemManager extends DataManager {
 
     @NonNull
     public Single<List<NewsItem>> getHistoricalItems(@Nullable final CharSequence searchText, @NonNull final String[] sources, @NonNull final String[] categories) {
-        return Single.create(emitter -> {
-            final RealmQuery<NewsItem> query = this.getRealm()
-                .where(NewsItem.class)
-                .greaterThan(NewsItem.FIELD_LAST_ACCESSED_DATE, 0)
-                .and()
-                .greaterThan(NewsItem.FIELD_PUBLISH_DATE, 0)
-                .and()
-                .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis());
-
-            this.emit(emitter, query, searchText, sources, categories);
-        });
+        return Single.create(emitter -> this.emit(emitter, new UserStates(this.getRealm()).getReadLinks(), searchText, sources, categories));
     }
 
     @NonNull
@@ -102,63 +158,90 @@ public final class ItemManager extends DataManager {
 
     @NonNull
     public Single<List<NewsItem>> getBookmarkedItems(@Nullable final CharSequence searchText, @NonNull final String[] sources, @NonNull final String[] categories) {
+        return Single.create(emitter -> this.emit(emitter, new UserStates(this.getRealm()).getBookmarkedLinks(), searchText, sources, categories));
+    }
+
+    /**
+     * Stores the given items, keeping the full descriptions already stored, with the {@link NewsItem#getSummary() summaries} of their descriptions.
+     * <p>The stored items are looked up with one query for every {@link #QUERY_BATCH_SIZE} items, and are merged with the given items in memory. Only the items that are new or changed are written, with a single {@link Realm#insertOrUpdate(Collection)}, and only the items whose text changes are indexed again for searching.</p>
+     * <p>The bookmarks and the last accessed dates of the given items are not stored, and those of the stored items are never changed. Use {@link #putUserState(NewsItem)} for them.</p>
+     * @param newsItems The items to store.
+     * @return The items as stored, with their stored user states, which are not managed by Realm.
+     */
+    @NonNull
+    public Single<List<NewsItem>> putItems(@NonNull final List<NewsItem> newsItems) {
         return Single.create(emitter -> {
-            final RealmQuery<NewsItem> query = this.getRealm()
-                .where(NewsItem.class)
-                .equalTo(NewsItem.FIELD_BOOKMARKED, true)
-                .and()
-                .greaterThan(NewsItem.FIELD_PUBLISH_DATE, 0)
-                .and()
-                .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis());
+            if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
+
+            final Map<String, NewsItem> storedItems   = this.findItems(newsItems);
+            final Map<String, NewsItem> previousItems = new HashMap<>(storedItems);
+            final Map<String, NewsItem> changedItems  = new LinkedHashMap<>();
+            final List<NewsItem>        items         = ItemManager.merge(newsItems, storedItems, changedItems);
 
-            this.emit(emitter, query, searchText, sources, categories);
+            if (!changedItems.isEmpty()) {
+                this.getRealm().insertOrUpdate(changedItems.values());
+
+                new SearchIndex(this.getRealm()).put(changedItems.values(), previousItems);
+            }
+
+            new UserStates(this.getRealm()).attach(items);
+
+            if (this.getRealm().isInTransaction()) this.getRealm().commitTransaction();
+
+            if (!emitter.isDisposed()) emitter.onSuccess(items);
         });
     }
 
-    @SuppressWarnings("CyclomaticComplexity")
+    /**
+     * Stores the bookmark and the last accessed date of the given item, without writing the item itself.
+     */
     @NonNull
-    public Single<List<NewsItem>> putItems(@NonNull final List<NewsItem> newsItems) {
+    public Single<Irrelevant> putUserState(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
 
-            final List<NewsItem> newItems = new ArrayList<>();
+            new UserStates(this.getRealm()).put(item);
 
-            for (final NewsItem newsItem : newsItems) {
-                final RealmResults<NewsItem> items = this.getRealm()
-                    .where(NewsItem.class)
-                    .equalTo(NewsItem.FIELD_LINK, newsItem.getLink())
-                    .findAll();
+            if (this.getRealm().isInTransaction()) this.getRealm().commitTransaction();
 
-                if (items.isEmpty()) {
-                    this.getRealm().insert(newsItem);
+            if (!emitter.isDisposed()) emitter.onSuccess(Irrelevant.INSTANCE);
+        });
+    }
 
-                    newItems.add(RealmObject.isManaged(newsItem) ? this.getRealm().copyFromRealm(newsItem) : newsItem);
-                } else {
-                    final NewsItem item = items.first();
+    @NonNull
+    public Single<List<Validator>> getValidators() {
+        return Single.create(emitter -> {
+            if (!emitter.isDisposed()) emitter.onSuccess(this.getRealm().copyFromRealm(this.getRealm().where(Validator.class).findAll()));
+        });
+    }
 
-                    if (item.isFullDescription()) {
-                        if (newsItem.isFullDescription()) {
-                            final Date newsItemLastAccessedDate = newsItem.getLastAccessedDate();
-                            final Date itemLastAccessedDate     = item.getLastAccessedDate();
+    @NonNull
+    public Single<Irrelevant> putValidators(@NonNull final List<Validator> validators) {
+        return Single.create(emitter -> {
+            if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
 
-                            if (newsItemLastAccessedDate != null && itemLastAccessedDate != null && newsItemLastAccessedDate.getTime() > itemLastAccessedDate.getTime()) item.setLastAccessedDate(newsItem.getLastAccessedDate());
-                            item.setBookmarked(newsItem.isBookmarked());
+            this.getRealm().insertOrUpdate(validators);
 
-                            this.getRealm().insertOrUpdate(item);
-                        }
+            if (this.getRealm().isInTransaction()) this.getRealm().commitTransaction();
 
-                        newItems.add(RealmObject.isManaged(item) ? this.getRealm().copyFromRealm(item) : item);
-                    } else {
-                        this.getRealm().insertOrUpdate(newsItem);
+            if (!emitter.isDisposed()) emitter.onSuccess(Irrelevant.INSTANCE);
+        });
+    }
 
-                        newItems.add(RealmObject.isManaged(newsItem) ? this.getRealm().copyFromRealm(newsItem) : newsItem);
-                    }
-                }
-            }
+    /**
+     * Deletes the items older than {@link Constants#HOUSEKEEP_TIME} that are not both bookmarked and read, and the items without a valid publish date.
+     * @return A {@link Single} of the number of items deleted.
+     */
+    @NonNull
+    public Single<Integer> deleteObsoleteItems() {
+        return Single.create(emitter -> {
+            if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
+
+            final int count = this.clearObsoleteItems() + this.clearInvalidItems();
 
             if (this.getRealm().isInTransaction()) this.getRealm().commitTransaction();
 
-            if (!emitter.isDisposed()) emitter.onSuccess(newItems);
+            if (!emitter.isDisposed()) emitter.onSuccess(count);
         });
     }
 
@@ -167,14 +250,7 @@ public final class ItemManager extends DataManager {
         return Single.create(emitter -> {
             if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
 
-            final RealmResults<NewsItem> items = this.getRealm()
-                .where(NewsItem.class)
-                .greaterThan(NewsItem.FIELD_LAST_ACCESSED_DATE, 0)
-                .findAll();
-
-            for (final NewsItem item : items) item.setLastAccessedDate(null);
-
-            this.getRealm().insertOrUpdate(items);
+            new UserStates(this.getRealm()).clearHistories();
 
             this.clearObsoleteItems();
             this.clearInvalidItems();
@@ -190,14 +266,7 @@ public final class ItemManager extends DataManager {
         return Single.create(emitter -> {
             if (!this.getRealm().isInTransaction()) this.getRealm().beginTransaction();
 
-            final RealmResults<NewsItem> items = this.getRealm()
-                .where(NewsItem.class)
-                .equalTo(NewsItem.FIELD_BOOKMARKED, true)
-                .findAll();
-
-            for (final NewsItem item : items) item.setBookmarked(false);
-
-            this.getRealm().insertOrUpdate(items);
+            new UserStates(this.getRealm()).clearBookmarks();
 
             this.clearObsoleteItems();
             this.clearInvalidItems();
@@ -208,28 +277,223 @@ public final class ItemManager extends DataManager {
         });
     }
 
-    private void clearObsoleteItems() {
-        this.getRealm()
+    /**
+     * Returns copies of the stored items with the same links as the given items.
+     */
+    @NonNull
+    private Map<String, NewsItem> findItems(@NonNull final List<NewsItem> newsItems) {
+        final Map<String, NewsItem> items = new HashMap<>(newsItems.size());
+
+        for (int start = 0; start < newsItems.size(); start += ItemManager.QUERY_BATCH_SIZE) {
+            final List<NewsItem> batch = newsItems.subList(start, Math.min(newsItems.size(), start + ItemManager.QUERY_BATCH_SIZE));
+            final String[]       links = new String[batch.size()];
+
+            for (int i = 0; i < links.length; i++) links[i] = batch.get(i).getLink();
+
+            for (final NewsItem item : this.getRealm().copyFromRealm(this.getRealm()
+                .where(NewsItem.class)
+                .in(NewsItem.FIELD_LINK, links)
+                .findAll())) items.put(item.getLink(), item);
+        }
+
+        return items;
+    }
+
+    /**
+     * Merges the given items with the stored ones.
+     * <p>A stored item with a full description is kept. Otherwise, the given item replaces the stored one, with the summary of its description, unless it is the same as the stored one.</p>
+     * <p>A {@link NewsItem#isSummary() summary} never replaces the stored item, as its description and images are not complete.</p>
+     * @param newsItems The items to store.
+     * @param storedItems The stored items with the same links as {@code newsItems}, by link. It is updated with the merged items.
+     * @param changedItems Receives the items to write, by link.
+     * @return The merged items, in the order of {@code newsItems}.
+     */
+    @NonNull
+    static List<NewsItem> merge(@NonNull final List<NewsItem> newsItems, @NonNull final Map<String, NewsItem> storedItems, @NonNull final Map<String, NewsItem> changedItems) {
+        final List<NewsItem> items = new ArrayList<>(newsItems.size());
+
+        for (final NewsItem newsItem : newsItems) {
+            final NewsItem storedItem = storedItems.get(newsItem.getLink());
+            final NewsItem item;
+
+            if (newsItem.isSummary() || storedItem != null && (storedItem.isFullDescription() || ItemManager.isSame(storedItem, newsItem))) {
+                item = storedItem == null ? newsItem : storedItem;
+            } else {
+                newsItem.setSummary(ItemManager.summarize(newsItem.getDescription()));
+
+                changedItems.put(newsItem.getLink(), newsItem);
+
+                item = newsItem;
+            }
+
+            storedItems.put(item.getLink(), item);
+            items.add(item);
+        }
+
+        return items;
+    }
+
+    /**
+     * Returns {@code true} if the given items have the same content, so that the stored one does not need to be written again.
+     */
+    private static boolean isSame(@NonNull final NewsItem storedItem, @NonNull final NewsItem newsItem) {
+        if (storedItem.isFullDescription() != newsItem.isFullDescription()
+            || !TextUtils.equals(storedItem.getTitle(), newsItem.getTitle())
+            || !TextUtils.equals(storedItem.getDescription(), newsItem.getDescription())
+            || !TextUtils.equals(storedItem.getSource(), newsItem.getSource())
+            || !TextUtils.equals(storedItem.getCategory(), newsItem.getCategory())) return false;
+
+        final Date storedPublishDate = storedItem.getPublishDate();
+        final Date newsPublishDate   = newsItem.getPublishDate();
+
+        if (storedPublishDate == null ? newsPublishDate != null : !storedPublishDate.equals(newsPublishDate)) return false;
+
+        final Video storedVideo = storedItem.getVideo();
+        final Video newsVideo   = newsItem.getVideo();
+
+        if (storedVideo == null || newsVideo == null) {
+            if (storedVideo != newsVideo) return false;
+        } else if (!TextUtils.equals(storedVideo.getVideoUrl(), newsVideo.getVideoUrl()) || !TextUtils.equals(storedVideo.getThumbnailUrl(), newsVideo.getThumbnailUrl())) {
+            return false;
+        }
+
+        if (storedItem.getImages().size() != newsItem.getImages().size()) return false;
+
+        for (int i = 0; i < storedItem.getImages().size(); i++) {
+            final Image storedImage = storedItem.getImages().get(i);
+            final Image newsImage   = newsItem.getImages().get(i);
+
+            if (!TextUtils.equals(storedImage.getUrl(), newsImage.getUrl()) || !TextUtils.equals(storedImage.getDescription(), newsImage.getDescription())) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the plain text of the given description, without tags and with the white spaces collapsed, cut to {@link #SUMMARY_LENGTH} characters.
+     */
+    @Nullable
+    static String summarize(@Nullable final String description) {
+        if (description == null) return null;
+
+        final String text = ItemManager.SPACES.matcher(ItemManager.TAGS.matcher(description).replaceAll(" ")).replaceAll(" ").trim();
+        if (text.length() <= ItemManager.SUMMARY_LENGTH) return text;
+
+        int end = ItemManager.SUMMARY_LENGTH;
+
+        // Does not cut an entity, which the list screens decode, or a surrogate pair
+        final int ampersand = text.lastIndexOf('&', end - 1);
+        if (ampersand >= 0 && text.indexOf(';', ampersand) >= end) end = ampersand;
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) end--;
+
+        return text.substring(0, end).trim();
+    }
+
+    /**
+     * Returns an unmanaged copy of the given item for list screens, with the summary as its description and only its first image.
+     * <p>Only the columns that list screens show are read, so that the description and the other images of a managed item are never copied into memory.</p>
+     */
+    @NonNull
+    static NewsItem toSummary(@NonNull final NewsItem item) {
+        final NewsItem summary = new NewsItem();
+        summary.setIsSummary(true);
+        summary.setLink(item.getLink());
+        summary.setTitle(item.getTitle());
+        summary.setDescription(item.getSummary());
+        summary.setIsFullDescription(item.isFullDescription());
+        summary.setPublishDate(item.getPublishDate());
+        summary.setSource(item.getSource());
+        summary.setCategory(item.getCategory());
+        summary.setBookmarked(item.isBookmarked());
+        summary.setLastAccessedDate(item.getLastAccessedDate());
+
+        if (!item.getImages().isEmpty()) summary.getImages().add(new Image(item.getImages().first().getUrl()));
+
+        final Video video = item.getVideo();
+        if (video != null) summary.setVideo(new Video(video.getVideoUrl(), video.getThumbnailUrl()));
+
+        return summary;
+    }
+
+    private int clearObsoleteItems() {
+        final String[]             keptLinks = new UserStates(this.getRealm()).getKeptLinks();
+        final RealmQuery<NewsItem> query     = this.getRealm()
             .where(NewsItem.class)
-            .lessThan(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis() - Constants.HOUSEKEEP_TIME)
-            .and()
-            .beginGroup()
-            .notEqualTo(NewsItem.FIELD_BOOKMARKED, true)
-            .or()
-            .equalTo(NewsItem.FIELD_LAST_ACCESSED_DATE, 0)
-            .endGroup()
-            .findAll()
-            .deleteAllFromRealm();
+            .lessThan(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis() - Constants.HOUSEKEEP_TIME);
+
+        if (keptLinks.length > 0) query.and()
+            .not()
+            .in(NewsItem.FIELD_LINK, keptLinks);
+
+        return this.deleteAll(query.findAll());
     }
 
-    private void clearInvalidItems() {
-        this.getRealm()
+    private int clearInvalidItems() {
+        return this.deleteAll(this.getRealm()
             .where(NewsItem.class)
             .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, 0L)
             .or()
             .greaterThan(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis())
-            .findAll()
-            .deleteAllFromRealm();
+            .findAll());
+    }
+
+    private int deleteAll(@NonNull final RealmResults<NewsItem> items) {
+        final List<String> links = new ArrayList<>(items.size());
+        for (final NewsItem item : items) links.add(item.getLink());
+
+        items.deleteAllFromRealm();
+
+        new SearchIndex(this.getRealm()).remove(links);
+        new UserStates(this.getRealm()).remove(links);
+
+        return links.size();
+    }
+
+    @NonNull
+    private RealmQuery<NewsItem> createItemsQuery(@NonNull final String[] sources, @NonNull final String[] categories) {
+        final String[]             keptLinks = new UserStates(this.getRealm()).getKeptLinks();
+        final RealmQuery<NewsItem> query     = this.createValidItemsQuery(sources, categories)
+            .and()
+            .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis())
+            .and()
+            .beginGroup()
+            .greaterThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis() - Constants.HOUSEKEEP_TIME);
+
+        if (keptLinks.length > 0) query.or()
+            .in(NewsItem.FIELD_LINK, keptLinks);
+
+        return query.endGroup();
+    }
+
+    /**
+     * Creates a query of the items of the given sources and categories with a publish date, which does not depend on the time or the user states when it is created.
+     */
+    @NonNull
+    private RealmQuery<NewsItem> createValidItemsQuery(@NonNull final String[] sources, @NonNull final String[] categories) {
+        return this.getRealm()
+            .where(NewsItem.class)
+            .in(NewsItem.FIELD_SOURCE, sources)
+            .and()
+            .in(NewsItem.FIELD_CATEGORY, categories)
+            .and()
+            .greaterThan(NewsItem.FIELD_PUBLISH_DATE, 0);
+    }
+
+    /**
+     * Emits the summaries of the items with the given links, which are read from the user states, of the given sources and categories.
+     */
+    private void emit(@NonNull final SingleEmitter<List<NewsItem>> emitter, @NonNull final String[] links, @Nullable final CharSequence searchText, @NonNull final String[] sources, @NonNull final String[] categories) {
+        if (links.length == 0) {
+            if (!emitter.isDisposed()) emitter.onSuccess(new ArrayList<>());
+        } else {
+            this.emit(emitter, this.getRealm()
+                .where(NewsItem.class)
+                .in(NewsItem.FIELD_LINK, links)
+                .and()
+                .greaterThan(NewsItem.FIELD_PUBLISH_DATE, 0)
+                .and()
+                .lessThanOrEqualTo(NewsItem.FIELD_PUBLISH_DATE, System.currentTimeMillis()), searchText, sources, categories);
+        }
     }
 
     private void emit(@NonNull final SingleEmitter<List<NewsItem>> emitter, @NonNull final RealmQuery<NewsItem> query, @Nullable final CharSequence searchText, @NonNull final String[] sources, @NonNull final String[] categories) {
@@ -238,13 +502,86 @@ public final class ItemManager extends DataManager {
             .and()
             .in(NewsItem.FIELD_CATEGORY, categories);
 
-        if (!TextUtils.isEmpty(searchText)) query.and()
-            .beginGroup()
-            .contains(NewsItem.FIELD_TITLE, searchText.toString(), Case.INSENSITIVE)
-            .or()
-            .contains(NewsItem.FIELD_DESCRIPTION, searchText.toString(), Case.INSENSITIVE)
-            .endGroup();
+        if (TextUtils.isEmpty(searchText)) {
+            final RealmResults<NewsItem> results = query.findAll();
+            final List<NewsItem>         items   = new ArrayList<>(results.size());
+
+            for (final NewsItem item : results) items.add(ItemManager.toSummary(item));
+
+            if (!emitter.isDisposed()) emitter.onSuccess(new UserStates(this.getRealm()).attach(items));
+        } else {
+            if (!emitter.isDisposed()) emitter.onSuccess(this.search(query, searchText));
+        }
+    }
+
+    /**
+     * Returns the given items that have the given links, in the order of the links.
+     * <p>The items matching a search text are among those matching any text that it starts with, so the results of a search that {@link #isRefinable(CharSequence, List) can be refined} are refined with this when more text is typed, instead of reading them again.</p>
+     * @param items The items to filter, such as the results of a previous search.
+     * @param links The links returned by {@link #search(CharSequence)}.
+     */
+    @NonNull
+    public static List<NewsItem> filter(@NonNull final Collection<NewsItem> items, @NonNull final List<String> links) {
+        final Map<String, NewsItem> matches = new HashMap<>(items.size());
+        for (final NewsItem item : items) matches.put(item.getLink(), item);
+
+        final List<NewsItem> filteredItems = new ArrayList<>(Math.min(items.size(), links.size()));
+
+        for (final String link : links) {
+            final NewsItem item = matches.get(link);
+            if (item != null) filteredItems.add(item);
+        }
+
+        return filteredItems;
+    }
+
+    /**
+     * Returns {@code true} if the results of a search for the given text, which found the given links, can be refined with {@link #filter(Collection, List)} when more text is typed.
+     * <p>They cannot if the text has no tokens to search for yet, as nothing is found for it, or if the links are cut at the maximum number of results, as the results of a longer text may not be among them. The items are then searched again.</p>
+     */
+    public static boolean isRefinable(@NonNull final CharSequence searchText, @NonNull final List<String> links) {
+        return links.size() < SearchIndex.MAX_RESULTS && !Tokenizer.tokenize(searchText).isEmpty();
+    }
+
+    /**
+     * Partitions the given items by category in one pass, keeping their order within each category.
+     */
+    @NonNull
+    public static Map<String, List<NewsItem>> groupByCategory(@NonNull final List<NewsItem> items) {
+        final Map<String, List<NewsItem>> groups = new HashMap<>();
+
+        for (final NewsItem item : items) {
+            List<NewsItem> group = groups.get(item.getCategory());
+
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(item.getCategory(), group);
+            }
+
+            group.add(item);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Returns the summaries of the items matched by both the given query and the search index, the most relevant first.
+     */
+    @NonNull
+    private List<NewsItem> search(@NonNull final RealmQuery<NewsItem> query, @NonNull final CharSequence searchText) {
+        return this.find(query, new SearchIndex(this.getRealm()).search(searchText));
+    }
+
+    /**
+     * Returns the summaries of the items matched by the given query with the given links, in the order of the links.
+     */
+    @NonNull
+    private List<NewsItem> find(@NonNull final RealmQuery<NewsItem> query, @NonNull final List<String> links) {
+        if (links.isEmpty()) return new ArrayList<>();
+
+        final List<NewsItem> items = new ArrayList<>(links.size());
+        for (final NewsItem item : query.and().in(NewsItem.FIELD_LINK, links.toArray(StringUtils.EMPTY_ARRAY)).findAll()) items.add(ItemManager.toSummary(item));
 
-        if (!emitter.isDisposed()) emitter.onSuccess(this.getRealm().copyFromRealm(query.sort(NewsItem.FIELD_LAST_ACCESSED_DATE, Sort.DESCENDING).findAll()));
+        return new UserStates(this.getRealm()).attach(ItemManager.filter(items, links));
     }
 }
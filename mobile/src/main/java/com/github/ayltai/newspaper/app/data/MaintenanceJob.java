@@ -0,0 +1,96 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import com.akaita.java.rxjava2debug.RxJava2Debug;
+import com.github.ayltai.newspaper.analytics.MaintenanceEvent;
+import com.github.ayltai.newspaper.app.ComponentFactory;
+import com.github.ayltai.newspaper.data.CompactionPolicy;
+import com.github.ayltai.newspaper.data.DataManager;
+import com.github.ayltai.newspaper.util.DevUtils;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.realm.Realm;
+
+/**
+ * <p>Deletes the obsolete items in the background, so that reading the items never takes a write lock.</p>
+ * <p>The job runs on {@link DataManager#SCHEDULER} once per interval, and the time of the last run is persisted so that the interval is kept across launches. After deleting the items, the job requests a compaction from {@link CompactionPolicy} if the database file has grown, and reports the items deleted, the size of the file and the bytes reclaimed by the compactions since the previous run.</p>
+ */
+public final class MaintenanceJob {
+    //region Constants
+
+    private static final String PREFERENCES  = "maintenance";
+    private static final String KEY_LAST_RUN = "lastRun";
+
+    private static final long INITIAL_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    //endregion
+
+    private final Context           context;
+    private final SharedPreferences preferences;
+    private final CompactionPolicy  policy;
+    private final long              interval;
+
+    public MaintenanceJob(@NonNull final Context context, final long interval) {
+        this.context     = context.getApplicationContext();
+        this.preferences = this.context.getSharedPreferences(MaintenanceJob.PREFERENCES, Context.MODE_PRIVATE);
+        this.policy      = new CompactionPolicy(this.context);
+        this.interval    = interval;
+    }
+
+    /**
+     * Runs the job once per interval, starting when the interval since the last run has passed, but not earlier than {@link #INITIAL_DELAY} so that the job does not compete with the first refresh.
+     * @return A {@link Disposable} to cancel the job.
+     */
+    @NonNull
+    public Disposable schedule() {
+        final long delay = Math.max(MaintenanceJob.INITIAL_DELAY, this.preferences.getLong(MaintenanceJob.KEY_LAST_RUN, 0) + this.interval - System.currentTimeMillis());
+
+        return Observable.interval(delay, this.interval, TimeUnit.MILLISECONDS)
+            .observeOn(DataManager.SCHEDULER)
+            .subscribe(
+                tick -> this.run(),
+                error -> {
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
+                });
+    }
+
+    /**
+     * Runs the job on the current thread, which must be {@link DataManager#SCHEDULER}.
+     */
+    void run() {
+        final Realm realm = ComponentFactory.getInstance()
+            .getDataComponent(this.context)
+            .realm();
+
+        try {
+            final int     rowCount       = ItemManager.create(realm).deleteObsoleteItems().blockingGet();
+            final long    fileSize       = new File(realm.getPath()).length();
+            final long    reclaimedBytes = this.policy.takeReclaimedBytes();
+            final boolean isRequested    = this.policy.requestCompaction(fileSize);
+
+            if (DevUtils.isLoggable()) Log.i(this.getClass().getSimpleName(), "Deleted " + rowCount + " items, file size = " + fileSize + " bytes, reclaimed = " + reclaimedBytes + " bytes, compaction requested = " + isRequested);
+
+            ComponentFactory.getInstance()
+                .getAnalyticsComponent(this.context)
+                .eventLogger()
+                .logEvent(new MaintenanceEvent()
+                    .setRowCount(rowCount)
+                    .setFileSize(fileSize)
+                    .setReclaimedBytes(reclaimedBytes));
+        } finally {
+            realm.close();
+
+            this.preferences.edit()
+                .putLong(MaintenanceJob.KEY_LAST_RUN, System.currentTimeMillis())
+                .apply();
+        }
+    }
+}
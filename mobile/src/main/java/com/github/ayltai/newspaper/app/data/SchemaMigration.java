@@ -0,0 +1,176 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Posting;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+
+import io.realm.DynamicRealm;
+import io.realm.DynamicRealmObject;
+import io.realm.FieldAttribute;
+import io.realm.RealmMigration;
+import io.realm.RealmObjectSchema;
+import io.realm.RealmSchema;
+
+/**
+ * <p>Upgrades a Realm file written by an earlier version of the app to {@link #SCHEMA_VERSION}, one version at a time, so that the stored items, bookmarks and histories are kept.</p>
+ * <p>Each step only changes what its version added. A new version of the schema needs a new step here, and an old one must never be changed once it is released.</p>
+ */
+public final class SchemaMigration implements RealmMigration {
+    //region Constants
+
+    public static final long SCHEMA_VERSION = 6;
+
+    private static final String CLASS_NEWS_ITEM  = "NewsItem";
+    private static final String CLASS_POSTING    = "Posting";
+    private static final String CLASS_USER_STATE = "UserState";
+    private static final String CLASS_VALIDATOR  = "Validator";
+
+    // The fields of the user state of an item, which were fields of NewsItem until version 5
+    private static final String FIELD_BOOKMARKED         = "bookmarked";
+    private static final String FIELD_LAST_ACCESSED_DATE = "lastAccessedDate";
+
+    private static final String[] INDEXED_FIELDS = {
+        NewsItem.FIELD_SOURCE,
+        NewsItem.FIELD_CATEGORY,
+        NewsItem.FIELD_PUBLISH_DATE,
+        SchemaMigration.FIELD_LAST_ACCESSED_DATE,
+        SchemaMigration.FIELD_BOOKMARKED
+    };
+
+    //endregion
+
+    @Override
+    public void migrate(@NonNull final DynamicRealm realm, final long oldVersion, final long newVersion) {
+        final RealmSchema schema  = realm.getSchema();
+        long              version = oldVersion;
+
+        if (version == 1) {
+            SchemaMigration.addSummaries(schema);
+            version++;
+        }
+
+        if (version == 2) {
+            SchemaMigration.addPostings(realm, schema);
+            version++;
+        }
+
+        if (version == 3) {
+            SchemaMigration.addIndexes(schema);
+            version++;
+        }
+
+        if (version == 4) {
+            SchemaMigration.addUserStates(realm, schema);
+            version++;
+        }
+
+        if (version == 5) {
+            SchemaMigration.addPrefixes(realm, schema);
+            version++;
+        }
+
+        if (version != newVersion) throw new IllegalStateException("Cannot migrate the schema from version " + oldVersion + " to " + newVersion);
+    }
+
+    /**
+     * Version 2 adds the summaries of the items. The validators were added without a version of their own, so they may not be there either.
+     */
+    private static void addSummaries(@NonNull final RealmSchema schema) {
+        if (!schema.contains(SchemaMigration.CLASS_VALIDATOR)) schema.create(SchemaMigration.CLASS_VALIDATOR)
+            .addField("url", String.class, FieldAttribute.PRIMARY_KEY)
+            .addField("eTag", String.class)
+            .addField("lastModified", String.class);
+
+        schema.get(SchemaMigration.CLASS_NEWS_ITEM)
+            .addField(NewsItem.FIELD_SUMMARY, String.class)
+            .transform(item -> item.setString(NewsItem.FIELD_SUMMARY, ItemManager.summarize(item.getString(NewsItem.FIELD_DESCRIPTION))));
+    }
+
+    /**
+     * Version 3 adds the {@link Posting}s of the search index, which are built for the stored items.
+     */
+    private static void addPostings(@NonNull final DynamicRealm realm, @NonNull final RealmSchema schema) {
+        schema.create(SchemaMigration.CLASS_POSTING)
+            .addField(Posting.FIELD_TOKEN, String.class, FieldAttribute.INDEXED)
+            .addField(Posting.FIELD_LINK, String.class, FieldAttribute.INDEXED)
+            .addField(Posting.FIELD_COUNT, int.class);
+
+        SchemaMigration.indexItems(realm, false);
+    }
+
+    /**
+     * Version 4 indexes the fields of the items that the lists are filtered and sorted by.
+     */
+    private static void addIndexes(@NonNull final RealmSchema schema) {
+        final RealmObjectSchema items = schema.get(SchemaMigration.CLASS_NEWS_ITEM);
+
+        for (final String field : SchemaMigration.INDEXED_FIELDS) {
+            if (!items.hasIndex(field)) items.addIndex(field);
+        }
+    }
+
+    /**
+     * Version 5 moves the bookmarks and the last accessed dates of the items to {@link UserState}s, which are only created for the items that are bookmarked or read.
+     */
+    private static void addUserStates(@NonNull final DynamicRealm realm, @NonNull final RealmSchema schema) {
+        schema.create(SchemaMigration.CLASS_USER_STATE)
+            .addField(UserState.FIELD_LINK, String.class, FieldAttribute.PRIMARY_KEY)
+            .addField(UserState.FIELD_BOOKMARKED, boolean.class, FieldAttribute.INDEXED)
+            .addField(UserState.FIELD_LAST_ACCESSED_DATE, long.class, FieldAttribute.INDEXED);
+
+        for (final DynamicRealmObject item : realm.where(SchemaMigration.CLASS_NEWS_ITEM)
+            .equalTo(SchemaMigration.FIELD_BOOKMARKED, true)
+            .or()
+            .greaterThan(SchemaMigration.FIELD_LAST_ACCESSED_DATE, 0)
+            .findAll()) {
+            final DynamicRealmObject state = realm.createObject(SchemaMigration.CLASS_USER_STATE, item.getString(NewsItem.FIELD_LINK));
+            state.setBoolean(UserState.FIELD_BOOKMARKED, item.getBoolean(SchemaMigration.FIELD_BOOKMARKED));
+            state.setLong(UserState.FIELD_LAST_ACCESSED_DATE, item.getLong(SchemaMigration.FIELD_LAST_ACCESSED_DATE));
+        }
+
+        schema.get(SchemaMigration.CLASS_NEWS_ITEM)
+            .removeField(SchemaMigration.FIELD_BOOKMARKED)
+            .removeField(SchemaMigration.FIELD_LAST_ACCESSED_DATE);
+    }
+
+    /**
+     * Version 6 adds the prefixes of the tokens, and indexes every ideograph on its own, so the {@link Posting}s are built again for the stored items.
+     */
+    private static void addPrefixes(@NonNull final DynamicRealm realm, @NonNull final RealmSchema schema) {
+        realm.delete(SchemaMigration.CLASS_POSTING);
+
+        schema.get(SchemaMigration.CLASS_POSTING).addField(Posting.FIELD_PREFIX, String.class, FieldAttribute.INDEXED);
+
+        SchemaMigration.indexItems(realm, true);
+    }
+
+    private static void indexItems(@NonNull final DynamicRealm realm, final boolean hasPrefixes) {
+        for (final DynamicRealmObject item : realm.where(SchemaMigration.CLASS_NEWS_ITEM).findAll()) {
+            final String link = item.getString(NewsItem.FIELD_LINK);
+
+            for (final Map.Entry<String, Integer> count : SearchIndex.count(item.getString(NewsItem.FIELD_TITLE), item.getString(NewsItem.FIELD_DESCRIPTION)).entrySet()) {
+                final DynamicRealmObject posting = realm.createObject(SchemaMigration.CLASS_POSTING);
+                posting.setString(Posting.FIELD_TOKEN, count.getKey());
+                posting.setString(Posting.FIELD_LINK, link);
+                posting.setInt(Posting.FIELD_COUNT, count.getValue());
+
+                if (hasPrefixes) posting.setString(Posting.FIELD_PREFIX, Posting.toPrefix(count.getKey()));
+            }
+        }
+    }
+
+    // A configuration is compared to the one a Realm file is already open with, which includes its migration
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof SchemaMigration;
+    }
+
+    @Override
+    public int hashCode() {
+        return SchemaMigration.class.hashCode();
+    }
+}
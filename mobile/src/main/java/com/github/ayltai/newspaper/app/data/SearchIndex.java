@@ -0,0 +1,170 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Posting;
+import com.github.ayltai.newspaper.util.StringUtils;
+import com.github.ayltai.newspaper.util.Tokenizer;
+
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+/**
+ * A persistent inverted index of the titles and descriptions of the stored items, made of the {@link Posting}s from the tokens of {@link Tokenizer} to the links of the items that have them.
+ * <p>The index is updated with the items in the same transaction, and only for the items whose text changes. A search reads the postings of the tokens of the query, from the rarest one, instead of scanning the text of every item.</p>
+ */
+final class SearchIndex {
+    //region Constants
+
+    static final int MAX_RESULTS = 500;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BATCH_SIZE   = 1000;
+
+    //endregion
+
+    private final Realm realm;
+
+    SearchIndex(@NonNull final Realm realm) {
+        this.realm = realm;
+    }
+
+    /**
+     * Indexes the given items whose titles or descriptions are not the same as those of their previous versions. Must be called in a transaction.
+     * @param items The items written.
+     * @param previousItems The items stored before they are written, by link.
+     */
+    void put(@NonNull final Collection<NewsItem> items, @NonNull final Map<String, NewsItem> previousItems) {
+        final List<NewsItem> changedItems = new ArrayList<>();
+
+        for (final NewsItem item : items) {
+            final NewsItem previousItem = previousItems.get(item.getLink());
+
+            if (previousItem == null || !TextUtils.equals(item.getTitle(), previousItem.getTitle()) || !TextUtils.equals(item.getDescription(), previousItem.getDescription())) changedItems.add(item);
+        }
+
+        if (changedItems.isEmpty()) return;
+
+        final List<String>  links    = new ArrayList<>(changedItems.size());
+        final List<Posting> postings = new ArrayList<>();
+
+        for (final NewsItem item : changedItems) {
+            for (final Map.Entry<String, Integer> count : SearchIndex.count(item.getTitle(), item.getDescription()).entrySet()) postings.add(new Posting(count.getKey(), item.getLink(), count.getValue()));
+
+            links.add(item.getLink());
+        }
+
+        this.remove(links);
+
+        if (!postings.isEmpty()) this.realm.insert(postings);
+    }
+
+    /**
+     * Removes the postings of the items with the given links. Must be called in a transaction.
+     */
+    void remove(@NonNull final List<String> links) {
+        for (int start = 0; start < links.size(); start += SearchIndex.BATCH_SIZE) {
+            this.realm
+                .where(Posting.class)
+                .in(Posting.FIELD_LINK, links.subList(start, Math.min(links.size(), start + SearchIndex.BATCH_SIZE)).toArray(StringUtils.EMPTY_ARRAY))
+                .findAll()
+                .deleteAllFromRealm();
+        }
+    }
+
+    /**
+     * Returns the links of the items that have all the tokens of the given query, the most relevant first.
+     * <p>An item scores the sum of the weighted counts of the tokens in it, each multiplied by how rare the token is. The last token is matched as a prefix, so that a word being typed already matches.</p>
+     */
+    @NonNull
+    List<String> search(@NonNull final CharSequence query) {
+        final List<String> tokens = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (tokens.isEmpty()) return Collections.emptyList();
+
+        final List<RealmResults<Posting>> postings = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) postings.add(this.find(tokens.get(i), i == tokens.size() - 1));
+
+        // The rarest token goes first, so that there are as few candidates as possible from the start
+        Collections.sort(postings, (lhs, rhs) -> lhs.size() - rhs.size());
+
+        final long          itemCount = this.realm.where(NewsItem.class).count();
+        Map<String, Double> scores    = null;
+
+        for (final RealmResults<Posting> results : postings) {
+            final Map<String, Double> matches = new HashMap<>();
+            final double              idf     = Math.log(1 + (double)itemCount / Math.max(1, results.size()));
+
+            for (final Posting posting : results) {
+                final String link = posting.getLink();
+
+                if (scores == null || scores.containsKey(link)) {
+                    final Double score = matches.containsKey(link) ? matches.get(link) : scores == null ? Double.valueOf(0) : scores.get(link);
+
+                    matches.put(link, score + posting.getCount() * idf);
+                }
+            }
+
+            scores = matches;
+
+            if (scores.isEmpty()) return Collections.emptyList();
+        }
+
+        final List<Map.Entry<String, Double>> entries = new ArrayList<>(scores.entrySet());
+        Collections.sort(entries, (lhs, rhs) -> Double.compare(rhs.getValue(), lhs.getValue()));
+
+        final List<String> links = new ArrayList<>(Math.min(entries.size(), SearchIndex.MAX_RESULTS));
+        for (int i = 0; i < entries.size() && i < SearchIndex.MAX_RESULTS; i++) links.add(entries.get(i).getKey());
+
+        return links;
+    }
+
+    @NonNull
+    private RealmResults<Posting> find(@NonNull final String token, final boolean isPrefix) {
+        final RealmQuery<Posting> query = this.realm.where(Posting.class);
+
+        // A complete token, or a single ideograph, which has postings of its own, is looked up by its index
+        if (!isPrefix || Tokenizer.isIdeograph(token)) return query.equalTo(Posting.FIELD_TOKEN, token).findAll();
+
+        // A word shorter than a prefix cannot be narrowed down by it
+        if (token.codePointCount(0, token.length()) < Posting.PREFIX_LENGTH) return query.beginsWith(Posting.FIELD_TOKEN, token).findAll();
+
+        // Only the tokens with the same prefix are compared
+        return query
+            .equalTo(Posting.FIELD_PREFIX, Posting.toPrefix(token))
+            .beginsWith(Posting.FIELD_TOKEN, token)
+            .findAll();
+    }
+
+    /**
+     * Returns the weighted counts of the tokens of an item with the given title and description, by token.
+     */
+    @NonNull
+    static Map<String, Integer> count(@Nullable final String title, @Nullable final String description) {
+        final Map<String, Integer> counts = new HashMap<>();
+
+        SearchIndex.count(counts, Tokenizer.index(title), SearchIndex.TITLE_WEIGHT);
+        SearchIndex.count(counts, Tokenizer.index(description), 1);
+
+        return counts;
+    }
+
+    private static void count(@NonNull final Map<String, Integer> counts, @NonNull final List<String> tokens, final int weight) {
+        for (final String token : tokens) {
+            final Integer count = counts.get(token);
+
+            counts.put(token, (count == null ? 0 : count) + weight);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+import com.github.ayltai.newspaper.util.StringUtils;
+
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+/**
+ * The {@link UserState}s of the items, which are joined to the items by link when they are read.
+ * <p>Only the items that are bookmarked or read have a user state, so there are far fewer of them than items. Writing a user state never rewrites an item, and writing an item never changes its user state.</p>
+ */
+final class UserStates {
+    //region Constants
+
+    private static final int BATCH_SIZE = 1000;
+
+    //endregion
+
+    private final Realm realm;
+
+    UserStates(@NonNull final Realm realm) {
+        this.realm = realm;
+    }
+
+    /**
+     * Copies the stored user states to the given items, by link.
+     * @return The given items.
+     */
+    @NonNull
+    <T extends Collection<NewsItem>> T attach(@NonNull final T items) {
+        final List<String> links = new ArrayList<>(items.size());
+        for (final NewsItem item : items) links.add(item.getLink());
+
+        final Map<String, UserState> states = new HashMap<>();
+
+        for (int start = 0; start < links.size(); start += UserStates.BATCH_SIZE) {
+            for (final UserState state : this.realm
+                .where(UserState.class)
+                .in(UserState.FIELD_LINK, links.subList(start, Math.min(links.size(), start + UserStates.BATCH_SIZE)).toArray(StringUtils.EMPTY_ARRAY))
+                .findAll()) states.put(state.getLink(), state);
+        }
+
+        for (final NewsItem item : items) UserStates.attach(item, states.get(item.getLink()));
+
+        return items;
+    }
+
+    /**
+     * Copies the stored user state to the given item.
+     * @return The given item.
+     */
+    @NonNull
+    NewsItem attach(@NonNull final NewsItem item) {
+        UserStates.attach(item, this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_LINK, item.getLink())
+            .findFirst());
+
+        return item;
+    }
+
+    /**
+     * Returns the links of the items that have been read.
+     */
+    @NonNull
+    String[] getReadLinks() {
+        return UserStates.getLinks(this.realm
+            .where(UserState.class)
+            .greaterThan(UserState.FIELD_LAST_ACCESSED_DATE, 0));
+    }
+
+    /**
+     * Returns the links of the bookmarked items.
+     */
+    @NonNull
+    String[] getBookmarkedLinks() {
+        return UserStates.getLinks(this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_BOOKMARKED, true));
+    }
+
+    /**
+     * Returns the links of the items that are both bookmarked and read, which are never deleted for being old.
+     */
+    @NonNull
+    String[] getKeptLinks() {
+        return UserStates.getLinks(this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_BOOKMARKED, true)
+            .and()
+            .greaterThan(UserState.FIELD_LAST_ACCESSED_DATE, 0));
+    }
+
+    /**
+     * Stores the bookmark and the last accessed date of the given item, or deletes its user state if it is neither bookmarked nor read. Must be called in a transaction.
+     */
+    void put(@NonNull final NewsItem item) {
+        if (item.isBookmarked() || item.getLastAccessedDate() != null) {
+            this.realm.insertOrUpdate(new UserState(item.getLink(), item.isBookmarked(), item.getLastAccessedDate()));
+        } else {
+            this.realm
+                .where(UserState.class)
+                .equalTo(UserState.FIELD_LINK, item.getLink())
+                .findAll()
+                .deleteAllFromRealm();
+        }
+    }
+
+    /**
+     * Removes the user states of the items with the given links. Must be called in a transaction.
+     */
+    void remove(@NonNull final List<String> links) {
+        for (int start = 0; start < links.size(); start += UserStates.BATCH_SIZE) {
+            this.realm
+                .where(UserState.class)
+                .in(UserState.FIELD_LINK, links.subList(start, Math.min(links.size(), start + UserStates.BATCH_SIZE)).toArray(StringUtils.EMPTY_ARRAY))
+                .findAll()
+                .deleteAllFromRealm();
+        }
+    }
+
+    /**
+     * Clears the last accessed dates, and deletes the user states of the items that are not bookmarked. Must be called in a transaction.
+     */
+    void clearHistories() {
+        for (final UserState state : this.realm
+            .where(UserState.class)
+            .greaterThan(UserState.FIELD_LAST_ACCESSED_DATE, 0)
+            .findAll()) state.setLastAccessedDate(null);
+
+        this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_BOOKMARKED, false)
+            .findAll()
+            .deleteAllFromRealm();
+    }
+
+    /**
+     * Clears the bookmarks, and deletes the user states of the items that are not read. Must be called in a transaction.
+     */
+    void clearBookmarks() {
+        for (final UserState state : this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_BOOKMARKED, true)
+            .findAll()) state.setBookmarked(false);
+
+        this.realm
+            .where(UserState.class)
+            .equalTo(UserState.FIELD_LAST_ACCESSED_DATE, 0)
+            .findAll()
+            .deleteAllFromRealm();
+    }
+
+    private static void attach(@NonNull final NewsItem item, @Nullable final UserState state) {
+        item.setBookmarked(state != null && state.isBookmarked());
+        item.setLastAccessedDate(state == null ? null : state.getLastAccessedDate());
+    }
+
+    @NonNull
+    private static String[] getLinks(@NonNull final RealmQuery<UserState> query) {
+        final RealmResults<UserState> states = query.findAll();
+        final String[]                links  = new String[states.size()];
+
+        for (int i = 0; i < links.length; i++) links[i] = states.get(i).getLink();
+
+        return links;
+    }
+}
@@ -1,46 +1,31 @@
 package com.github.ayltai.newspaper.app.data.model;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Locale;
 
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.Log;
 
-import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.rss.Enclosure;
-import com.github.ayltai.newspaper.rss.RssItem;
-import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.RealmLists;
 
 import io.realm.RealmList;
 import io.realm.RealmObject;
+import io.realm.annotations.Ignore;
+import io.realm.annotations.Index;
 import io.realm.annotations.PrimaryKey;
 
 @SuppressWarnings("MethodCount")
 public class NewsItem extends RealmObject implements Item, Parcelable {
     //region Constants
 
-    public static final String FIELD_TITLE              = "title";
-    public static final String FIELD_DESCRIPTION        = "description";
-    public static final String FIELD_SOURCE             = "source";
-    public static final String FIELD_CATEGORY           = "category";
-    public static final String FIELD_PUBLISH_DATE       = "publishDate";
-    public static final String FIELD_LINK               = "link";
-    public static final String FIELD_BOOKMARKED         = "bookmarked";
-    public static final String FIELD_LAST_ACCESSED_DATE = "lastAccessedDate";
-
-    private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
-        @Override
-        protected DateFormat initialValue() {
-            return new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
-        }
-    };
+    public static final String FIELD_TITLE        = "title";
+    public static final String FIELD_DESCRIPTION  = "description";
+    public static final String FIELD_SUMMARY      = "summary";
+    public static final String FIELD_SOURCE       = "source";
+    public static final String FIELD_CATEGORY     = "category";
+    public static final String FIELD_PUBLISH_DATE = "publishDate";
+    public static final String FIELD_LINK         = "link";
 
     //endregion
 
@@ -50,16 +35,26 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
     private String  link;
     private String  title;
     private String  description;
+    private String  summary;
     private boolean isFullDescription;
+    @Index
     private long    publishDate;
+    @Index
     private String  source;
+    @Index
     private String  category;
     private Video   video;
-    private boolean bookmarked;
-    private long    lastAccessedDate;
 
     private RealmList<Image> images = new RealmList<>();
 
+    // The user state is stored as a UserState, and is only copied here for the screens
+    @Ignore
+    private boolean bookmarked;
+    @Ignore
+    private long    lastAccessedDate;
+    @Ignore
+    private boolean isSummary;
+
     //endregion
 
     //region Constructors
@@ -67,28 +62,6 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
     public NewsItem() {
     }
 
-    public NewsItem(@NonNull final RssItem rss, final String source, final String category) {
-        this.link        = rss.getLink() == null ? null : rss.getLink().trim();
-        this.title       = rss.getTitle().trim();
-        this.description = rss.getDescription() == null ? null : rss.getDescription().trim();
-        this.source      = source;
-        this.category    = category;
-
-        if (rss.getPubDate() != null) {
-            try {
-                this.publishDate = NewsItem.DATE_FORMAT.get().parse(rss.getPubDate().trim().replaceAll("EDT", "+0800")).getTime();
-            } catch (final ParseException e) {
-                if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), e.getMessage(), RxJava2Debug.getEnhancedStackTrace(e));
-            }
-        }
-
-        final Enclosure enclosure = rss.getEnclosure();
-
-        if (enclosure != null) {
-            this.images.add(new Image(enclosure.getUrl()));
-        }
-    }
-
     //endregion
 
     //region Properties
@@ -111,6 +84,18 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
         this.description = description == null ? null : description.trim();
     }
 
+    /**
+     * Returns a short plain-text excerpt of the description, which list screens show in place of it.
+     */
+    @Nullable
+    public String getSummary() {
+        return this.summary;
+    }
+
+    public void setSummary(@Nullable final String summary) {
+        this.summary = summary;
+    }
+
     public boolean isFullDescription() {
         return this.isFullDescription;
     }
@@ -186,6 +171,17 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
         this.lastAccessedDate = lastAccessedDate == null ? 0 : lastAccessedDate.getTime();
     }
 
+    /**
+     * Returns {@code true} if this item is a summary, whose description is the summary of the stored item, and which only has its first image.
+     */
+    public boolean isSummary() {
+        return this.isSummary;
+    }
+
+    public void setIsSummary(final boolean isSummary) {
+        this.isSummary = isSummary;
+    }
+
     //endregion
 
     @Override
@@ -223,7 +219,7 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
     @NonNull
     @Override
     public String toString() {
-        return "Item { link = '" + this.link + "', title = '" + this.title + "', description = '" + this.description + "', isFullDescription = " + this.isFullDescription + ", publishDate = " + this.publishDate + ", source = '" + this.source + "', category = '" + this.category + "', video = " + this.video + ", bookmarked = " + this.bookmarked + ", lastAccessedDate = " + this.lastAccessedDate + ", images = " + RealmLists.toString(this.images) + " }";
+        return "Item { link = '" + this.link + "', title = '" + this.title + "', description = '" + this.description + "', summary = '" + this.summary + "', isFullDescription = " + this.isFullDescription + ", publishDate = " + this.publishDate + ", source = '" + this.source + "', category = '" + this.category + "', video = " + this.video + ", bookmarked = " + this.bookmarked + ", lastAccessedDate = " + this.lastAccessedDate + ", images = " + RealmLists.toString(this.images) + ", isSummary = " + this.isSummary + " }";
     }
 
     //region Parcelable
@@ -246,6 +242,8 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
         dest.writeParcelable(this.video, 0);
         dest.writeInt(this.bookmarked ? 1 : 0);
         dest.writeLong(this.lastAccessedDate);
+        dest.writeString(this.summary);
+        dest.writeInt(this.isSummary ? 1 : 0);
     }
 
     protected NewsItem(@NonNull final Parcel in) {
@@ -263,6 +261,8 @@ public class NewsItem extends RealmObject implements Item, Parcelable {
         this.video            = in.readParcelable(Video.class.getClassLoader());
         this.bookmarked       = in.readInt() == 1;
         this.lastAccessedDate = in.readLong();
+        this.summary          = in.readString();
+        this.isSummary        = in.readInt() == 1;
     }
 
     public static final Parcelable.Creator<NewsItem> CREATOR = new Parcelable.Creator<NewsItem>() {
@@ -0,0 +1,88 @@
+package com.github.ayltai.newspaper.app.data.model;
+
+import android.support.annotation.NonNull;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+
+/**
+ * An entry of the full-text index of the items, which records how many times a token appears in an item, weighted by where it appears.
+ * <p>The first characters of the token are stored as an indexed prefix, so that the tokens starting with a word being typed are looked up without scanning all of them.</p>
+ */
+public class Posting extends RealmObject {
+    //region Constants
+
+    public static final String FIELD_TOKEN  = "token";
+    public static final String FIELD_PREFIX = "prefix";
+    public static final String FIELD_LINK   = "link";
+    public static final String FIELD_COUNT  = "count";
+
+    public static final int PREFIX_LENGTH = 2;
+
+    //endregion
+
+    //region Fields
+
+    @Index
+    private String token;
+    @Index
+    private String prefix;
+    @Index
+    private String link;
+    private int    count;
+
+    //endregion
+
+    //region Constructors
+
+    public Posting() {
+    }
+
+    public Posting(@NonNull final String token, @NonNull final String link, final int count) {
+        this.token  = token;
+        this.prefix = Posting.toPrefix(token);
+        this.link   = link;
+        this.count  = count;
+    }
+
+    //endregion
+
+    //region Properties
+
+    @NonNull
+    public String getToken() {
+        return this.token;
+    }
+
+    @NonNull
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    @NonNull
+    public String getLink() {
+        return this.link;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    //endregion
+
+    /**
+     * Returns the first {@link #PREFIX_LENGTH} characters of the given token, or the token itself if it is shorter.
+     */
+    @NonNull
+    public static String toPrefix(@NonNull final String token) {
+        final int length = token.codePointCount(0, token.length());
+
+        return length <= Posting.PREFIX_LENGTH ? token : token.substring(0, token.offsetByCodePoints(0, Posting.PREFIX_LENGTH));
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "Posting { token = '" + this.token + "', prefix = '" + this.prefix + "', link = '" + this.link + "', count = " + this.count + " }";
+    }
+}
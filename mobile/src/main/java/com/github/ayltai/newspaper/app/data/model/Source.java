@@ -9,6 +9,8 @@ import android.os.Parcelable;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
 
+import com.github.ayltai.newspaper.net.CachePolicy;
+
 import io.realm.RealmList;
 import io.realm.RealmObject;
 import io.realm.annotations.Ignore;
@@ -32,6 +34,10 @@ public class Source extends RealmObject implements Parcelable {
     @DrawableRes
     @Ignore
     private int avatar;
+    @Ignore
+    private CachePolicy cachePolicy;
+    @Ignore
+    private boolean     isHedged;
 
     //endregion
 
@@ -62,6 +68,12 @@ public class Source extends RealmObject implements Parcelable {
         this.avatar     = avatar;
     }
 
+    public Source(@NonNull final String name, @NonNull final RealmList<Category> categories, @DrawableRes final int avatar, @NonNull final CachePolicy cachePolicy) {
+        this(name, categories, avatar);
+
+        this.cachePolicy = cachePolicy;
+    }
+
     //endregion
 
     //region Properties
@@ -81,6 +93,25 @@ public class Source extends RealmObject implements Parcelable {
         return avatar;
     }
 
+    /**
+     * @return The {@link CachePolicy} declared for this source, or {@link CachePolicy#DEFAULT} if none is declared. It is not kept in a {@link Parcel}.
+     */
+    @NonNull
+    public CachePolicy getCachePolicy() {
+        return this.cachePolicy == null ? CachePolicy.DEFAULT : this.cachePolicy;
+    }
+
+    /**
+     * @return {@code true} if slow requests for the list pages of this source may be hedged with a second request. It is not kept in a {@link Parcel}.
+     */
+    public boolean isHedged() {
+        return this.isHedged;
+    }
+
+    void setHedged(final boolean isHedged) {
+        this.isHedged = isHedged;
+    }
+
     //endregion
 
     @NonNull
@@ -5,6 +5,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
@@ -12,10 +13,17 @@ import android.support.v4.util.ArrayMap;
 
 import com.github.ayltai.newspaper.R;
 import com.github.ayltai.newspaper.client.HeadlineClient;
+import com.github.ayltai.newspaper.net.CachePolicy;
 
 import io.realm.RealmList;
 
 public final class SourceFactory {
+    private static final int REALTIME_LIST_MAX_AGE = 30;
+
+    private static final CachePolicy REALTIME_CACHE_POLICY = new CachePolicy.Builder()
+        .listMaxAge(SourceFactory.REALTIME_LIST_MAX_AGE, TimeUnit.SECONDS)
+        .build();
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -66,6 +74,16 @@ public final class SourceFactory {
         return source;
     }
 
+    /**
+     * Lets the slow requests for the list pages of the given source be hedged. Only the sources that scrape HTML pages from servers with a long tail of latencies are hedged.
+     */
+    @NonNull
+    private static Source hedged(@NonNull final Source source) {
+        source.setHedged(true);
+
+        return source;
+    }
+
     @SuppressWarnings("checkstyle:magicnumber")
     @NonNull
     private static Source createAppleDailySource(@NonNull final String[] sources, @NonNull final String[] categories) {
@@ -88,33 +106,35 @@ public final class SourceFactory {
             new Category("http://orientaldaily.on.cc/rss/finance.xml", categories[3]),
             new Category("http://orientaldaily.on.cc/rss/entertainment.xml", categories[5]),
             new Category("http://orientaldaily.on.cc/rss/lifestyle.xml", categories[7]),
-            new Category("http://orientaldaily.on.cc/rss/sport.xml", categories[6])), R.drawable.avatar_oriental_daily);
+            new Category("http://orientaldaily.on.cc/rss/sport.xml", categories[6])), R.drawable.avatar_oriental_daily, new CachePolicy.Builder()
+            .playlist("/videolist.xml")
+            .build());
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
     @NonNull
     private static Source createSingTaoDailySource(@NonNull final String[] sources, @NonNull final String[] categories) {
-        return new Source(sources[2], new RealmList<>(
+        return SourceFactory.hedged(new Source(sources[2], new RealmList<>(
             new Category("http://std.stheadline.com/daily/section-list.php?cat=12", categories[0]),
             new Category("http://std.stheadline.com/daily/section-list.php?cat=13", categories[1]),
             new Category("http://std.stheadline.com/daily/section-list.php?cat=16", categories[2]),
             new Category("http://std.stheadline.com/daily/section-list.php?cat=15", categories[3]),
             new Category("http://std.stheadline.com/daily/section-list.php?cat=20", categories[4]),
             new Category("http://std.stheadline.com/daily/section-list.php?cat=17", categories[5]),
-            new Category("http://std.stheadline.com/daily/section-list.php?cat=14", categories[6])), R.drawable.avatar_singtao);
+            new Category("http://std.stheadline.com/daily/section-list.php?cat=14", categories[6])), R.drawable.avatar_singtao));
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
     @NonNull
     private static Source createSingTaoRealtimeSource(@NonNull final String[] sources, @NonNull final String[] categories) {
-        return new Source(sources[3], new RealmList<>(
+        return SourceFactory.hedged(new Source(sources[3], new RealmList<>(
             new Category("http://std.stheadline.com/instant/articles/listview/%E9%A6%99%E6%B8%AF/", categories[9]),
             new Category("http://std.stheadline.com/instant/articles/listview/%E5%9C%8B%E9%9A%9B/", categories[10]),
             new Category("http://std.stheadline.com/instant/articles/listview/%E4%B8%AD%E5%9C%8B/", categories[11]),
             new Category("http://std.stheadline.com/instant/articles/listview/%E7%B6%93%E6%BF%9F/", categories[12]),
             new Category("http://std.stheadline.com/instant/articles/listview/%E5%9C%B0%E7%94%A2/", categories[13]),
             new Category("http://std.stheadline.com/instant/articles/listview/%E5%A8%9B%E6%A8%82/", categories[14]),
-            new Category("http://std.stheadline.com/instant/articles/listview/%E9%AB%94%E8%82%B2/", categories[15])), R.drawable.avatar_singtao);
+            new Category("http://std.stheadline.com/instant/articles/listview/%E9%AB%94%E8%82%B2/", categories[15])), R.drawable.avatar_singtao, SourceFactory.REALTIME_CACHE_POLICY));
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
@@ -159,7 +179,9 @@ public final class SourceFactory {
             new Category("https://news.mingpao.com/rss/ins/s00002.xml", categories[12]),
             new Category("https://news.mingpao.com/rss/ins/s00003.xml", categories[13]),
             new Category("https://news.mingpao.com/rss/ins/s00007.xml", categories[14]),
-            new Category("https://news.mingpao.com/rss/ins/s00006.xml", categories[15])), R.drawable.avatar_mingpao);
+            new Category("https://news.mingpao.com/rss/ins/s00006.xml", categories[15])), R.drawable.avatar_mingpao, new CachePolicy.Builder()
+            .playlist("/issuelist.js")
+            .build());
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
@@ -179,14 +201,14 @@ public final class SourceFactory {
     @SuppressWarnings("checkstyle:magicnumber")
     @NonNull
     private static Source createHeadlineRealtimeSource(@NonNull final String[] sources, @NonNull final String[] categories) {
-        return new Source(sources[8], new RealmList<>(
+        return SourceFactory.hedged(new Source(sources[8], new RealmList<>(
             new Category("http://hd.stheadline.com/news/realtime/hk/", categories[9]),
             new Category("http://hd.stheadline.com/news/realtime/wo/", categories[10]),
             new Category("http://hd.stheadline.com/news/realtime/chi/", categories[11]),
             new Category("http://hd.stheadline.com/news/realtime/fin/", categories[12]),
             new Category("http://hd.stheadline.com/news/realtime/pp/", categories[13]),
             new Category("http://hd.stheadline.com/news/realtime/ent/", categories[14]),
-            new Category("http://hd.stheadline.com/news/realtime/spt/", categories[15])), R.drawable.avatar_headline);
+            new Category("http://hd.stheadline.com/news/realtime/spt/", categories[15])), R.drawable.avatar_headline, SourceFactory.REALTIME_CACHE_POLICY));
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
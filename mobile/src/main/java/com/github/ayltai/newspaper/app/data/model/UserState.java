@@ -0,0 +1,79 @@
+package com.github.ayltai.newspaper.app.data.model;
+
+import java.util.Date;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * The bookmark and the last accessed date of the item with a link, which are stored apart from the item so that writing one never rewrites the other.
+ */
+public class UserState extends RealmObject {
+    //region Constants
+
+    public static final String FIELD_LINK               = "link";
+    public static final String FIELD_BOOKMARKED         = "bookmarked";
+    public static final String FIELD_LAST_ACCESSED_DATE = "lastAccessedDate";
+
+    //endregion
+
+    //region Fields
+
+    @PrimaryKey
+    private String  link;
+    @Index
+    private boolean bookmarked;
+    @Index
+    private long    lastAccessedDate;
+
+    //endregion
+
+    //region Constructors
+
+    public UserState() {
+    }
+
+    public UserState(@NonNull final String link, final boolean bookmarked, @Nullable final Date lastAccessedDate) {
+        this.link             = link;
+        this.bookmarked       = bookmarked;
+        this.lastAccessedDate = lastAccessedDate == null ? 0 : lastAccessedDate.getTime();
+    }
+
+    //endregion
+
+    //region Properties
+
+    @NonNull
+    public String getLink() {
+        return this.link;
+    }
+
+    public boolean isBookmarked() {
+        return this.bookmarked;
+    }
+
+    public void setBookmarked(final boolean bookmarked) {
+        this.bookmarked = bookmarked;
+    }
+
+    @Nullable
+    public Date getLastAccessedDate() {
+        return this.lastAccessedDate == 0 ? null : new Date(this.lastAccessedDate);
+    }
+
+    public void setLastAccessedDate(@Nullable final Date lastAccessedDate) {
+        this.lastAccessedDate = lastAccessedDate == null ? 0 : lastAccessedDate.getTime();
+    }
+
+    //endregion
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "UserState { link = '" + this.link + "', bookmarked = " + this.bookmarked + ", lastAccessedDate = " + this.lastAccessedDate + " }";
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.ayltai.newspaper.app.data.model;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import io.realm.RealmObject;
+import io.realm.annotations.PrimaryKey;
+
+/**
+ * The {@code ETag} and {@code Last-Modified} validators last received for the URL of a {@link Category}.
+ */
+public class Validator extends RealmObject {
+    //region Fields
+
+    @PrimaryKey
+    private String url;
+    private String eTag;
+    private String lastModified;
+
+    //endregion
+
+    //region Constructors
+
+    public Validator() {
+    }
+
+    public Validator(@NonNull final String url, @Nullable final String eTag, @Nullable final String lastModified) {
+        this.url          = url;
+        this.eTag         = eTag;
+        this.lastModified = lastModified;
+    }
+
+    //endregion
+
+    //region Properties
+
+    @NonNull
+    public String getUrl() {
+        return this.url;
+    }
+
+    @Nullable
+    public String getETag() {
+        return this.eTag;
+    }
+
+    @Nullable
+    public String getLastModified() {
+        return this.lastModified;
+    }
+
+    //endregion
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "Validator { url = '" + this.url + "', eTag = '" + this.eTag + "', lastModified = '" + this.lastModified + "' }";
+    }
+}
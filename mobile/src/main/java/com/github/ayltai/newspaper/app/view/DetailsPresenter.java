@@ -58,7 +58,13 @@ public class DetailsPresenter extends ItemPresenter<DetailsPresenter.View> {
         if (this.getView() == null) {
             super.bindModel(model);
         } else {
-            if (model instanceof NewsItem) {
+            if (model instanceof NewsItem && ((NewsItem)model).isSummary()) {
+                super.bindModel(model);
+
+                this.getView().showProgress(true);
+
+                this.loadItem((NewsItem)model);
+            } else if (model instanceof NewsItem) {
                 super.bindModel(model);
 
                 final NewsItem newsItem = (NewsItem)model;
@@ -89,7 +95,7 @@ public class DetailsPresenter extends ItemPresenter<DetailsPresenter.View> {
                                 }
                             })
                             .compose(RxUtils.applySingleBackgroundSchedulers())
-                            .flatMap(item -> DetailsPresenter.updateItem(this.getView().getContext(), item)).compose(RxUtils.applySingleBackgroundToMainSchedulers())
+                            .flatMap(item -> DetailsPresenter.putItem(this.getView().getContext(), item)).compose(RxUtils.applySingleBackgroundToMainSchedulers())
                             .subscribe(
                                 items -> {
                                     super.bindModel(items.get(0));
@@ -126,10 +132,10 @@ public class DetailsPresenter extends ItemPresenter<DetailsPresenter.View> {
             final NewsItem item = (NewsItem)this.getModel();
             item.setBookmarked(!this.getModel().isBookmarked());
 
-            this.manageDisposable(DetailsPresenter.updateItem(this.getView().getContext(), item)
+            this.manageDisposable(DetailsPresenter.putUserState(this.getView().getContext(), item)
                 .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
                 .subscribe(
-                    items -> {
+                    irrelevant -> {
                     },
                     error -> {
                         if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
@@ -191,19 +197,62 @@ public class DetailsPresenter extends ItemPresenter<DetailsPresenter.View> {
         super.onViewAttached(view, isFirstTimeAttachment);
     }
 
+    /**
+     * Replaces the given summary with the stored item, which has the full description and all the images. If the item is no longer stored, the summary is shown as an item without a full description, which is then downloaded.
+     */
+    private void loadItem(@NonNull final NewsItem summary) {
+        this.manageDisposable(ItemManager.create(this.getView().getContext())
+            .flatMapMaybe(manager -> manager.getItem(summary.getLink()))
+            .compose(RxUtils.applyMaybeBackgroundToMainSchedulers())
+            .subscribe(
+                item -> {
+                    if (this.getView() != null) {
+                        this.getView().showProgress(false);
+
+                        this.bindModel(item);
+                    }
+                },
+                error -> {
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
+                },
+                () -> {
+                    if (this.getView() != null) {
+                        summary.setIsSummary(false);
+                        summary.setIsFullDescription(false);
+
+                        this.getView().showProgress(false);
+
+                        this.bindModel(summary);
+                    }
+                }));
+    }
+
     private void updateItem(@NonNull final NewsItem item) {
-        this.manageDisposable(DetailsPresenter.updateItem(this.getView().getContext(), item)
+        item.setLastAccessedDate(new Date());
+
+        this.manageDisposable(DetailsPresenter.putUserState(this.getView().getContext(), item)
             .compose(RxUtils.applySingleBackgroundToMainSchedulers())
             .subscribe(
-                items -> { },
+                irrelevant -> { },
                 error -> {
                     if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
                 }));
     }
 
-    private static Single<List<NewsItem>> updateItem(@NonNull final Context context, @NonNull final NewsItem item) {
-        item.setLastAccessedDate(new Date());
+    /**
+     * Stores the bookmark and the last accessed date of the given item, without rewriting the item.
+     */
+    private static Single<Irrelevant> putUserState(@NonNull final Context context, @NonNull final NewsItem item) {
+        return ItemManager.create(context)
+            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
+            .flatMap(manager -> manager.putUserState(item)
+                .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER)));
+    }
 
+    /**
+     * Stores the given item with its full description, and returns it with its stored user state.
+     */
+    private static Single<List<NewsItem>> putItem(@NonNull final Context context, @NonNull final NewsItem item) {
         return ItemManager.create(context)
             .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
             .flatMap(manager -> manager.putItems(Collections.singletonList(item))
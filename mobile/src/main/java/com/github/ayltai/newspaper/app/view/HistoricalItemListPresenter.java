@@ -32,14 +32,14 @@ public class HistoricalItemListPresenter extends ItemListPresenter {
         if (activity == null) return Flowable.just(Collections.emptyList());
 
         return ItemManager.create(this.getView().getContext())
-            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
+            .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER))
             .flatMap(
                 manager -> manager.getHistoricalItems(ComponentFactory.getInstance()
                     .getConfigComponent(activity)
                     .userConfig()
                     .getSources()
                     .toArray(StringUtils.EMPTY_ARRAY), this.categories.toArray(StringUtils.EMPTY_ARRAY))
-                .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER)))
+                .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER)))
             .map(items -> Lists.transform(items, item -> (Item)item))
             .flattenAsFlowable(Collections::singletonList);
     }
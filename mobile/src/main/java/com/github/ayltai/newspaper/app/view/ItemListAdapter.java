@@ -104,16 +104,16 @@ public final class ItemListAdapter extends SimpleUniversalAdapter<Item, View, Si
 
             try {
                 final List<NewsItem> items = ItemManager.create(ItemListAdapter.this.context)
-                    .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER))
+                    .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER))
                     .flatMap(manager -> {
                         if (this.isHistorical) return manager.getHistoricalItems(searchText, this.sources.toArray(StringUtils.EMPTY_ARRAY), this.categories.toArray(StringUtils.EMPTY_ARRAY))
-                            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER));
+                            .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER));
 
                         if (this.isBookmarked) return manager.getBookmarkedItems(searchText, this.sources.toArray(StringUtils.EMPTY_ARRAY), this.categories.toArray(StringUtils.EMPTY_ARRAY))
-                            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER));
+                            .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER));
 
                         return manager.getItems(searchText, this.sources.toArray(StringUtils.EMPTY_ARRAY), this.categories.toArray(StringUtils.EMPTY_ARRAY))
-                            .compose(RxUtils.applySingleSchedulers(DataManager.SCHEDULER));
+                            .compose(RxUtils.applySingleSchedulers(DataManager.READ_SCHEDULER));
                     })
                     .blockingGet();
 
@@ -134,7 +134,8 @@ public final class ItemListAdapter extends SimpleUniversalAdapter<Item, View, Si
             if (results != null && results.values != null) {
                 final List<Item> items = (List<Item>)results.values;
                 if (results.count > 0) {
-                    Collections.sort(items);
+                    // The results of a search are kept in the order of relevance
+                    if (TextUtils.isEmpty(searchText)) Collections.sort(items);
 
                     if (this.isFeatured && TextUtils.isEmpty(searchText)) {
                         final List<Item> featuredItems = new ArrayList<>(items);
@@ -24,11 +24,19 @@ public class ItemListPresenter extends VerticalListPresenter<Item, VerticalListP
     protected final List<String> categories;
 
     private boolean forceRefresh;
+    private boolean isWindowed;
 
     public ItemListPresenter(@NonNull final List<String> categories) {
         this.categories = categories;
     }
 
+    /**
+     * Sets whether the view shows the stored items itself from a {@link com.github.ayltai.newspaper.data.WindowedList}, in which case only the new items downloaded are loaded and bound.
+     */
+    public void setWindowed(final boolean isWindowed) {
+        this.isWindowed = isWindowed;
+    }
+
     @Override
     protected void onPullToRefresh() {
         super.onPullToRefresh();
@@ -55,10 +63,16 @@ public class ItemListPresenter extends VerticalListPresenter<Item, VerticalListP
         final Activity activity = this.getView().getActivity();
         if (activity == null) return Flowable.just(Collections.emptyList());
 
-        final ItemListLoader.Builder builder = new ItemListLoader.Builder((AppCompatActivity)activity).forceRefresh(this.forceRefresh);
+        final ItemListLoader.Builder builder = new ItemListLoader.Builder((AppCompatActivity)activity)
+            .forceRefresh(this.forceRefresh)
+            .localItems(!this.isWindowed);
+
         for (final String category : this.categories) builder.addCategory(category);
         for (final String source : ComponentFactory.getInstance().getConfigComponent(activity).userConfig().getSources()) builder.addSource(source);
 
+        if (this.isWindowed) return builder.build()
+            .map(items -> Lists.transform(items, item -> (Item)item));
+
         return builder.build()
             .map(items -> Lists.transform(items, item -> (Item)item))
             .map(items -> {
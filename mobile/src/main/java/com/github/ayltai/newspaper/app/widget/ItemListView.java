@@ -1,5 +1,7 @@
 package com.github.ayltai.newspaper.app.widget;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -20,16 +22,25 @@ import android.widget.Filterable;
 import android.widget.TextView;
 
 import com.github.ayltai.newspaper.R;
+import com.github.ayltai.newspaper.app.ComponentFactory;
+import com.github.ayltai.newspaper.app.data.ItemManager;
+import com.github.ayltai.newspaper.app.data.model.FeaturedItem;
 import com.github.ayltai.newspaper.app.data.model.Item;
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.view.ItemListAdapter;
+import com.github.ayltai.newspaper.data.WindowedList;
 import com.github.ayltai.newspaper.util.Animations;
 import com.github.ayltai.newspaper.util.Irrelevant;
+import com.github.ayltai.newspaper.util.StringUtils;
 import com.github.ayltai.newspaper.widget.SmartLayoutManager;
 import com.github.ayltai.newspaper.widget.VerticalListView;
 
 import io.reactivex.disposables.Disposable;
+import io.realm.Realm;
 
 public abstract class ItemListView extends VerticalListView<Item> implements Disposable, LifecycleObserver {
+    private static final int FEATURED_ITEM_CANDIDATES = 20;
+
     private static final class OnScrollListener extends RecyclerView.OnScrollListener {
         private final View view;
 
@@ -51,6 +62,34 @@ public abstract class ItemListView extends VerticalListView<Item> implements Dis
 
     //endregion
 
+    //region Supports windowed items
+
+    /**
+     * The featured item, if any, followed by the items of the window.
+     */
+    private final List<Item> items = new AbstractList<Item>() {
+        @Override
+        public Item get(final int index) {
+            if (ItemListView.this.featuredItem == null) return ItemListView.this.window.get(index);
+
+            return index == 0 ? ItemListView.this.featuredItem : ItemListView.this.window.get(index - 1);
+        }
+
+        @Override
+        public int size() {
+            if (ItemListView.this.window == null || ItemListView.this.window.isEmpty()) return 0;
+
+            return ItemListView.this.window.size() + (ItemListView.this.featuredItem == null ? 0 : 1);
+        }
+    };
+
+    private Realm                  realm;
+    private WindowedList<NewsItem> window;
+    private Disposable             windowChanges;
+    private Item                   featuredItem;
+
+    //endregion
+
     private OnScrollListener onScrollListener;
 
     protected ItemListView(@NonNull final Context context) {
@@ -120,10 +159,106 @@ public abstract class ItemListView extends VerticalListView<Item> implements Dis
 
     //endregion
 
+    //region Windowed items
+
+    /**
+     * Shows the stored items of the given sources and categories from a {@link WindowedList}, which only copies the items near the visible ones, and which is updated when items are stored or deleted. The items bound afterwards are not added, as they are shown by the window once they are stored, except when searching.
+     * @param sources The sources of the items.
+     * @param categories The categories of the items.
+     */
+    public void setWindow(@NonNull final Set<String> sources, @NonNull final List<String> categories) {
+        this.clearWindow();
+
+        this.realm = ComponentFactory.getInstance()
+            .getDataComponent(this.getContext())
+            .realm();
+
+        this.window        = ItemManager.create(this.realm).getWindowedItems(sources.toArray(StringUtils.EMPTY_ARRAY), categories.toArray(StringUtils.EMPTY_ARRAY));
+        this.windowChanges = this.window.changes().subscribe(irrelevant -> this.onWindowChanged());
+
+        this.adapter.setItems(this.items);
+    }
+
+    public boolean hasWindow() {
+        return this.window != null;
+    }
+
+    /**
+     * Shows the items of the window again after a search, if the window is set.
+     * @return {@code true} if the window is set.
+     */
+    public boolean showWindow() {
+        if (this.window == null) return false;
+
+        if (!this.adapter.hasLazyItems()) this.adapter.setItems(this.items);
+
+        if (this.items.isEmpty()) {
+            this.showEmptyView();
+        } else {
+            this.hideEmptyView();
+        }
+
+        return true;
+    }
+
+    /**
+     * Releases the window, if any, and its {@link Realm} instance.
+     */
+    public void clearWindow() {
+        if (this.windowChanges != null) {
+            this.windowChanges.dispose();
+            this.windowChanges = null;
+        }
+
+        if (this.window != null) {
+            this.window.dispose();
+            this.window = null;
+        }
+
+        if (this.realm != null) {
+            this.realm.close();
+            this.realm = null;
+        }
+
+        this.featuredItem = null;
+    }
+
+    private boolean isWindowShown() {
+        return this.window != null && this.adapter.hasLazyItems();
+    }
+
+    private void onWindowChanged() {
+        if (this.featuredItem == null && !this.window.isEmpty()) this.featuredItem = FeaturedItem.create(new ArrayList<>(this.window.subList(0, Math.min(this.window.size(), ItemListView.FEATURED_ITEM_CANDIDATES))));
+
+        if (this.isWindowShown()) {
+            this.adapter.notifyDataSetChanged();
+
+            if (!this.items.isEmpty()) {
+                this.hideEmptyView();
+                this.hideLoadingView();
+            }
+        }
+    }
+
+    //endregion
+
     //region Methods
 
     @Override
     public void bind(@NonNull final List<Item> models) {
+        if (this.isWindowShown() && TextUtils.isEmpty(this.searchText)) {
+            if (this.items.isEmpty() && models.isEmpty()) {
+                this.showEmptyView();
+            } else {
+                this.hideEmptyView();
+            }
+
+            this.hideLoadingView();
+            this.swipeRefreshLayout.setRefreshing(false);
+
+            return;
+        }
+
         super.bind(models);
 
         if (!TextUtils.isEmpty(this.searchText) && this.adapter instanceof Filterable) {
@@ -142,6 +277,16 @@ public abstract class ItemListView extends VerticalListView<Item> implements Dis
         }
     }
 
+    @Override
+    public void clear() {
+        if (!this.isWindowShown()) super.clear();
+    }
+
+    @Override
+    public void showEmptyView() {
+        if (!this.isWindowShown() || this.items.isEmpty()) super.showEmptyView();
+    }
+
     @Override
     public void scrollTo(final int scrollPosition, final boolean smoothScroll) {
         if (scrollPosition > 0) this.recyclerView.smoothScrollToPosition(scrollPosition);
@@ -149,6 +294,9 @@ public abstract class ItemListView extends VerticalListView<Item> implements Dis
 
     @Override
     public void showLoadingView() {
+        // The stored items are already shown
+        if (this.isWindowShown() && !this.items.isEmpty()) return;
+
         super.showLoadingView();
 
         if (this.loadingView != null) {
@@ -171,6 +319,8 @@ public abstract class ItemListView extends VerticalListView<Item> implements Dis
     @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
     @Override
     public void dispose() {
+        this.clearWindow();
+
         if (this.adapter instanceof Disposable) {
             final Disposable disposable = (Disposable)this.adapter;
             if (!disposable.isDisposed()) disposable.dispose();
@@ -3,6 +3,7 @@ package com.github.ayltai.newspaper.app.widget;
 import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import android.app.Activity;
 import android.app.SearchManager;
@@ -17,6 +18,7 @@ import android.support.design.widget.FloatingActionButton;
 import android.support.v4.util.ArrayMap;
 import android.support.v7.widget.SearchView;
 import android.support.v7.widget.Toolbar;
+import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
@@ -24,8 +26,10 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.AnimationUtils;
 
+import com.akaita.java.rxjava2debug.RxJava2Debug;
 import com.google.auto.value.AutoValue;
 
+import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.R;
 import com.github.ayltai.newspaper.analytics.ClickEvent;
 import com.github.ayltai.newspaper.app.ComponentFactory;
@@ -35,6 +39,7 @@ import com.github.ayltai.newspaper.app.view.MainPresenter;
 import com.github.ayltai.newspaper.util.Animations;
 import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.Irrelevant;
+import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.widget.BaseView;
 
 import flow.ClassKey;
@@ -59,6 +64,7 @@ public final class MainView extends BaseView implements MainPresenter.View, Bott
     private final FlowableProcessor<Irrelevant> refreshActions  = PublishProcessor.create();
     private final FlowableProcessor<Irrelevant> filterActions   = PublishProcessor.create();
     private final FlowableProcessor<Irrelevant> clearAllActions = PublishProcessor.create();
+    private final FlowableProcessor<String>     searches        = PublishProcessor.create();
 
     //endregion
 
@@ -206,12 +212,24 @@ public final class MainView extends BaseView implements MainPresenter.View, Bott
             public boolean onQueryTextChange(final String newText) {
                 if (MainView.this.newsView == null) return false;
 
-                MainView.this.newsView.search(newText);
+                MainView.this.searches.onNext(newText);
 
                 return true;
             }
         });
 
+        // Searches once typing pauses, but clears the search at once
+        this.manageDisposable(this.searches
+            .debounce(text -> TextUtils.isEmpty(text) ? Flowable.<Long>empty() : Flowable.timer(Constants.SEARCH_DEBOUNCE, TimeUnit.MILLISECONDS))
+            .compose(RxUtils.applyFlowableBackgroundToMainSchedulers())
+            .subscribe(
+                text -> {
+                    if (this.newsView != null) this.newsView.search(text);
+                },
+                error -> {
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
+                }));
+
         this.moreAction.setOnClickListener(view -> {
             if (this.isMoreActionsShown) {
                 this.hideMoreActions();
@@ -2,8 +2,12 @@ package com.github.ayltai.newspaper.app.widget;
 
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import android.app.Activity;
 import android.arch.lifecycle.Lifecycle;
@@ -25,76 +29,80 @@ import com.akaita.java.rxjava2debug.RxJava2Debug;
 import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.ComponentFactory;
 import com.github.ayltai.newspaper.app.config.UserConfig;
+import com.github.ayltai.newspaper.app.data.ItemListLoader;
+import com.github.ayltai.newspaper.app.data.ItemManager;
 import com.github.ayltai.newspaper.app.data.model.Category;
 import com.github.ayltai.newspaper.app.data.model.Item;
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.view.ItemListAdapter;
 import com.github.ayltai.newspaper.app.view.ItemListPresenter;
+import com.github.ayltai.newspaper.net.FetchScheduler;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringUtils;
 import com.github.ayltai.newspaper.util.Views;
 import com.github.ayltai.newspaper.widget.VerticalListView;
 
+import io.reactivex.Flowable;
+import io.reactivex.Single;
 import io.reactivex.disposables.CompositeDisposable;
-
-class PagedNewsAdapter extends PagerAdapter implements Filterable, LifecycleObserver {
-    private final class MainFilter extends Filter {
-        @Nullable
-        @Override
-        protected Filter.FilterResults performFiltering(@Nullable final CharSequence searchText) {
-            PagedNewsAdapter.this.searchText = searchText;
-
-            for (int i = 0; i < PagedNewsAdapter.this.getCount(); i++) {
-                final VerticalListView<Item> listView = PagedNewsAdapter.this.getItem(i);
-
-                if (listView instanceof ItemListView && listView.getAdapter() instanceof Filterable && ((Filterable)listView.getAdapter()).getFilter() instanceof ItemListAdapter.ItemListFilter) {
-                    ((ItemListView)listView).setSearchText(searchText);
-
-                    final ItemListAdapter.ItemListFilter filter = (ItemListAdapter.ItemListFilter)((Filterable)listView.getAdapter()).getFilter();
-
-                    filter.setCategories(new ArrayList<>(Category.fromDisplayName(PagedNewsAdapter.this.categories.get(i))));
-                    filter.setSources(PagedNewsAdapter.this.userConfig == null ? Collections.emptySet() : PagedNewsAdapter.this.userConfig.getSources());
-                    filter.setFeatured(true);
-
-                    PagedNewsAdapter.this.filterResults.put(i, filter.performFiltering(searchText));
-                }
-            }
-
-            return (FilterResults)PagedNewsAdapter.this.filterResults.get(PagedNewsAdapter.this.position);
+import io.reactivex.disposables.Disposable;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.PublishProcessor;
+
+class PagedNewsAdapter extends PagerAdapter implements LifecycleObserver {
+    /**
+     * What is needed to search the items of a page, taken on the main thread when a search starts.
+     */
+    private static final class PageQuery {
+        private final int                   position;
+        private final String[]              categories;
+        private final boolean               isWindowed;
+        private final PagedNewsAdapter.Page page;
+
+        PageQuery(final int position, @NonNull final String[] categories, final boolean isWindowed, @Nullable final PagedNewsAdapter.Page page) {
+            this.position   = position;
+            this.categories = categories;
+            this.isWindowed = isWindowed;
+            this.page       = page;
         }
+    }
 
-        @Override
-        protected void publishResults(@Nullable final CharSequence searchText, @Nullable final FilterResults filterResults) {
-            for (int i = 0; i < PagedNewsAdapter.this.getCount(); i++) {
-                final VerticalListView<Item> listView = PagedNewsAdapter.this.getItem(i);
-
-                if (listView != null && listView.getAdapter() instanceof Filterable && ((Filterable)listView.getAdapter()).getFilter() instanceof ItemListAdapter.ItemListFilter) {
-                    final FilterResults                  results = (FilterResults)PagedNewsAdapter.this.filterResults.get(i);
-                    final ItemListAdapter.ItemListFilter filter  = (ItemListAdapter.ItemListFilter)((Filterable)listView.getAdapter()).getFilter();
-
-                    filter.publishResults(searchText, results);
-
-                    if (listView.getAdapter().getItemCount() == 0) {
-                        listView.showEmptyView();
-                    } else {
-                        listView.hideEmptyView();
-                    }
-                }
-            }
+    /**
+     * The items found in a page for a search text, or {@code null} if the page shows its window instead.
+     */
+    private static final class Page {
+        private final int            position;
+        private final String         searchText;
+        private final List<NewsItem> items;
+        private final boolean        isRefinable;
+
+        Page(final int position, @NonNull final String searchText, @Nullable final List<NewsItem> items, final boolean isRefinable) {
+            this.position    = position;
+            this.searchText  = searchText;
+            this.items       = items;
+            this.isRefinable = isRefinable;
         }
     }
 
-    private final List<String>                           categories    = new ArrayList<>();
-    private final SparseArrayCompat<SoftReference<View>> views         = new SparseArrayCompat<>();
-    private final SparseArrayCompat<Object>              filterResults = new SparseArrayCompat<>();
+    private final FlowableProcessor<String>                searches   = PublishProcessor.create();
+    private final List<String>                             categories = new ArrayList<>();
+    private final SparseArrayCompat<SoftReference<View>>   views      = new SparseArrayCompat<>();
+    private final SparseArrayCompat<PagedNewsAdapter.Page> pages      = new SparseArrayCompat<>();
+
+    private final Context context;
 
     @Nullable
     private final UserConfig userConfig;
 
     private CompositeDisposable disposables;
-    private Filter              filter;
+    private Disposable          disposable;
     private int                 position;
     private CharSequence        searchText;
 
     PagedNewsAdapter(@NonNull final Context context) {
+        this.context = context;
+
         final Activity activity = Views.getActivity(context);
         this.userConfig = activity == null
             ? null
@@ -107,12 +115,27 @@ class PagedNewsAdapter extends PagerAdapter implements Filterable, LifecycleObse
             final String name = Category.toDisplayName(category);
             if (!this.categories.contains(name)) this.categories.add(name);
         }
+
+        this.updatePriorities();
+
+        this.disposable = this.searches
+            .switchMap(searchText -> PagedNewsAdapter.find(this.context, searchText, (this.userConfig == null ? Collections.<String>emptySet() : this.userConfig.getSources()).toArray(StringUtils.EMPTY_ARRAY), this.createQueries()))
+            .compose(RxUtils.applyFlowableBackgroundToMainSchedulers())
+            .subscribe(
+                this::publish,
+                error -> {
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), error.getMessage(), RxJava2Debug.getEnhancedStackTrace(error));
+                });
     }
 
-    @NonNull
-    @Override
-    public Filter getFilter() {
-        return this.filter == null ? this.filter = new PagedNewsAdapter.MainFilter() : this.filter;
+    /**
+     * Searches the items of the pages, and shows the results of the current page first, then the ones of the adjacent pages, then the others.
+     * <p>A search supersedes the one before it, whose results are dropped. The pages whose results of the previous search are for a text that the given text starts with, and {@link ItemManager#isRefinable(CharSequence, List) can be refined}, are searched by filtering those results, without reading the items again.</p>
+     */
+    public void search(@Nullable final CharSequence searchText) {
+        this.searchText = searchText;
+
+        this.searches.onNext(searchText == null ? "" : searchText.toString());
     }
 
     @Override
@@ -142,6 +165,8 @@ class PagedNewsAdapter extends PagerAdapter implements Filterable, LifecycleObse
 
     public void setCurrentPosition(final int position) {
         this.position = position;
+
+        this.updatePriorities();
     }
 
     @NonNull
@@ -153,6 +178,9 @@ class PagedNewsAdapter extends PagerAdapter implements Filterable, LifecycleObse
         final VerticalListView<Item> listView   = this.getItem(position);
         final ItemListView           view       = listView == null ? this.userConfig == null || this.userConfig.getViewStyle() == Constants.VIEW_STYLE_COZY ? new CozyItemListView(container.getContext()) : new CompactItemListView(container.getContext()) : (ItemListView)listView;
 
+        if (listView == null && !DevUtils.isRunningUnitTest()) view.setWindow(this.userConfig == null ? Collections.emptySet() : this.userConfig.getSources(), categories);
+        presenter.setWindowed(view.hasWindow());
+
         if (this.disposables == null) this.disposables = new CompositeDisposable();
 
         this.disposables.add(view.attachments().subscribe(
@@ -192,13 +220,124 @@ class PagedNewsAdapter extends PagerAdapter implements Filterable, LifecycleObse
                 this.views.remove(position);
                 container.removeView(view);
 
-                this.filterResults.remove(position);
+                if (view instanceof ItemListView) ((ItemListView)view).clearWindow();
+
+                this.pages.remove(position);
             }
         }
     }
 
+    /**
+     * Returns the queries of the pages with views, the current page first, then the adjacent ones, then the others.
+     */
+    @NonNull
+    private List<PagedNewsAdapter.PageQuery> createQueries() {
+        final List<PagedNewsAdapter.PageQuery> queries = new ArrayList<>(this.getCount());
+
+        for (int i = 0; i < this.getCount(); i++) {
+            final VerticalListView<Item> listView = this.getItem(i);
+
+            if (listView instanceof ItemListView) queries.add(new PagedNewsAdapter.PageQuery(i, Category.fromDisplayName(this.categories.get(i)).toArray(StringUtils.EMPTY_ARRAY), ((ItemListView)listView).hasWindow(), this.pages.get(i)));
+        }
+
+        Collections.sort(queries, (lhs, rhs) -> Math.abs(lhs.position - this.position) - Math.abs(rhs.position - this.position));
+
+        return queries;
+    }
+
+    /**
+     * Searches the given pages together. The search index is read once, and the items of the pages that are not refined are read with a single query, then partitioned by category.
+     * <p>The pages are emitted in the order of the queries.</p>
+     */
+    @NonNull
+    private static Flowable<PagedNewsAdapter.Page> find(@NonNull final Context context, @NonNull final String searchText, @NonNull final String[] sources, @NonNull final List<PagedNewsAdapter.PageQuery> queries) {
+        if (queries.isEmpty()) return Flowable.empty();
+
+        final Set<String> categories = new LinkedHashSet<>();
+        for (final PagedNewsAdapter.PageQuery query : queries) {
+            if (PagedNewsAdapter.isRead(query, searchText)) categories.addAll(Arrays.asList(query.categories));
+        }
+
+        return ItemManager.create(context)
+            .flatMapPublisher(manager -> (TextUtils.isEmpty(searchText) ? Single.just(Collections.<String>emptyList()) : manager.search(searchText))
+                .flatMapPublisher(links -> (categories.isEmpty() ? Single.just(Collections.<NewsItem>emptyList()) : TextUtils.isEmpty(searchText) ? manager.getItems(sources, categories.toArray(StringUtils.EMPTY_ARRAY)) : manager.getSearchResults(links, sources, categories.toArray(StringUtils.EMPTY_ARRAY)))
+                    .map(ItemManager::groupByCategory)
+                    .flatMapPublisher(items -> Flowable.fromIterable(queries)
+                        .map(query -> PagedNewsAdapter.createPage(query, searchText, links, items)))));
+    }
+
+    /**
+     * Returns {@code true} if the items of the given page are read for the given search text, or {@code false} if the page shows its window or refines its previous results instead.
+     */
+    private static boolean isRead(@NonNull final PagedNewsAdapter.PageQuery query, @NonNull final String searchText) {
+        // Without a search text, the items are shown by the window of the view instead
+        if (TextUtils.isEmpty(searchText)) return !query.isWindowed;
+
+        // The items matching the search text are among the ones matching the text it extends, if those are all found
+        return query.page == null || query.page.items == null || !query.page.isRefinable || TextUtils.isEmpty(query.page.searchText) || !searchText.startsWith(query.page.searchText);
+    }
+
+    @NonNull
+    private static PagedNewsAdapter.Page createPage(@NonNull final PagedNewsAdapter.PageQuery query, @NonNull final String searchText, @NonNull final List<String> links, @NonNull final Map<String, List<NewsItem>> items) {
+        final boolean isRefinable = !TextUtils.isEmpty(searchText) && ItemManager.isRefinable(searchText, links);
+
+        if (!PagedNewsAdapter.isRead(query, searchText)) return new PagedNewsAdapter.Page(query.position, searchText, TextUtils.isEmpty(searchText) ? null : ItemManager.filter(query.page.items, links), isRefinable);
+
+        final List<NewsItem> pageItems = new ArrayList<>();
+
+        for (final String category : query.categories) {
+            final List<NewsItem> categoryItems = items.get(category);
+            if (categoryItems != null) pageItems.addAll(categoryItems);
+        }
+
+        // The items of several categories are put back in the order of relevance
+        return new PagedNewsAdapter.Page(query.position, searchText, TextUtils.isEmpty(searchText) || query.categories.length < 2 ? pageItems : ItemManager.filter(pageItems, links), isRefinable);
+    }
+
+    private void publish(@NonNull final PagedNewsAdapter.Page page) {
+        final VerticalListView<Item> listView = this.getItem(page.position);
+        if (!(listView instanceof ItemListView)) return;
+
+        this.pages.put(page.position, page);
+
+        ((ItemListView)listView).setSearchText(page.searchText);
+
+        if (page.items == null) {
+            ((ItemListView)listView).showWindow();
+        } else if (listView.getAdapter() instanceof Filterable && ((Filterable)listView.getAdapter()).getFilter() instanceof ItemListAdapter.ItemListFilter) {
+            final ItemListAdapter.ItemListFilter filter  = (ItemListAdapter.ItemListFilter)((Filterable)listView.getAdapter()).getFilter();
+            final Filter.FilterResults           results = new Filter.FilterResults();
+
+            results.values = page.items;
+            results.count  = page.items.size();
+
+            filter.setFeatured(true);
+            filter.publishResults(page.searchText, results);
+
+            if (listView.getAdapter().getItemCount() == 0) {
+                listView.showEmptyView();
+            } else {
+                listView.hideEmptyView();
+            }
+        }
+    }
+
+    /**
+     * Downloads the categories of the current page first, then the ones of the adjacent pages, then the others.
+     */
+    private void updatePriorities() {
+        final FetchScheduler scheduler = FetchScheduler.getInstance();
+
+        for (int i = 0; i < this.categories.size(); i++) scheduler.setPriority(ItemListLoader.getFetchGroup(new ArrayList<>(Category.fromDisplayName(this.categories.get(i)))), i == this.position ? FetchScheduler.PRIORITY_VISIBLE : Math.abs(i - this.position) == 1 ? FetchScheduler.PRIORITY_ADJACENT : FetchScheduler.PRIORITY_DEFAULT);
+    }
+
     @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
     void dispose() {
+        if (this.disposable != null && !this.disposable.isDisposed()) {
+            this.disposable.dispose();
+            this.disposable = null;
+        }
+
         if (this.disposables != null && !this.disposables.isDisposed()) {
             this.disposables.dispose();
             this.disposables = null;
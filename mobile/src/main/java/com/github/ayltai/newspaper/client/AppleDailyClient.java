@@ -1,7 +1,6 @@
 package com.github.ayltai.newspaper.client;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -17,17 +16,19 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import okhttp3.OkHttpClient;
 
@@ -47,137 +48,178 @@ final class AppleDailyClient extends Client {
     private static final String TAG_OPEN_H3  = "<h3>";
     private static final String TAG_CLOSE_H3 = "</h3>";
 
+    private static final String TAG_ARTICLE_OPEN  = "!-- START ARTILCLE CONTENT -->";
+    private static final String TAG_ARTICLE_CLOSE = "<!-- END ARTILCLE CONTENT -->";
+
+    private static final int FIELD_LINK  = 0;
+    private static final int FIELD_TITLE = 1;
+    private static final int FIELD_IMAGE = 2;
+    private static final int FIELD_TIME  = 3;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .region("<div class=\"itemContainer\">", "<div class=\"clear\"></div>")
+        .section("div class=\"item\">", AppleDailyClient.TAG_DIV)
+        .field(AppleDailyClient.TAG_HREF, AppleDailyClient.TAG_QUOTE)
+        .field(AppleDailyClient.TAG_TITLE, AppleDailyClient.TAG_QUOTE)
+        .field("<img src=\"", AppleDailyClient.TAG_QUOTE)
+        .field("pix/", "_")
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .region(AppleDailyClient.TAG_ARTICLE_OPEN, AppleDailyClient.TAG_ARTICLE_CLOSE)
+        .section("rel=\"fancybox-button\"", "/>")
+        .field(AppleDailyClient.TAG_HREF, AppleDailyClient.TAG_QUOTE)
+        .field(AppleDailyClient.TAG_TITLE, AppleDailyClient.TAG_QUOTE)
+        .build();
+
+    private static final MarkupScanner CONTENTS_SCANNER = new MarkupScanner.Builder()
+        .region(AppleDailyClient.TAG_ARTICLE_OPEN, AppleDailyClient.TAG_ARTICLE_CLOSE)
+        .section("<div class=\"ArticleContent_Inner\">", AppleDailyClient.TAG_DIV)
+        .build();
+
     @Inject
     AppleDailyClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
     }
 
+    /**
+     * Collects the items of {@link #streamItems(String)}, which are scanned as the list page downloads. The items scanned before a failure are kept.
+     */
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
-        return Single.create(emitter -> this.apiService
-            .getHtml(url)
-            .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
-            .subscribe(
-                html -> {
-                    final String[]       sections = StringUtils.substringsBetween(StringUtils.substringBetween(html, "<div class=\"itemContainer\">", "<div class=\"clear\"></div>"), "div class=\"item\">", AppleDailyClient.TAG_DIV);
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
-
-                    for (final String section : sections) {
-                        final NewsItem item = new NewsItem();
-                        final String   link = StringUtils.substringBetween(section, AppleDailyClient.TAG_HREF, AppleDailyClient.TAG_QUOTE);
-
-                        if (link != null) {
-                            item.setTitle(StringUtils.substringBetween(section, AppleDailyClient.TAG_TITLE, AppleDailyClient.TAG_QUOTE));
-                            item.setLink(link.substring(0, link.lastIndexOf(AppleDailyClient.SLASH))
-                                .replace("video", "news")
-                                .replace("actionnews/local", "local/daily/article")
-                                .replace("actionnews/international", "international/daily/article")
-                                .replace("actionnews/finance", "finance/daily/article")
-                                .replace("actionnews/entertainment", "entertainment/daily/article")
-                                .replace("actionnews/sports", "sports/daily/article"));
-                            item.setSource(this.source.getName());
-                            if (category != null) item.setCategory(category);
-
-                            final String image = StringUtils.substringBetween(section, "<img src=\"", AppleDailyClient.TAG_QUOTE);
-                            if (image != null) item.getImages().add(new Image(image));
-
-                            final String time = StringUtils.substringBetween(section, "pix/", "_");
-                            if (time != null) item.setPublishDate(new Date(Long.valueOf(time) * AppleDailyClient.SECOND));
-
-                            items.add(item);
-                        }
-                    }
-
-                    if (!emitter.isDisposed()) emitter.onSuccess(this.filter(items));
-                },
-                error -> {
-                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + url, RxJava2Debug.getEnhancedStackTrace(error));
-
-                    if (!emitter.isDisposed()) emitter.onSuccess(Collections.emptyList());
-                }
-            ));
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
+        return this.streamItems(url).toList();
     }
 
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
-        return Single.create(emitter -> {
-            if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
-
-            this.apiService
-                .getHtml(item.getLink())
-                .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
-                .subscribe(
-                    fullHtml -> {
-                        final String      html            = StringUtils.substringBetween(fullHtml, "!-- START ARTILCLE CONTENT -->", "<!-- END ARTILCLE CONTENT -->");
-                        final String[]    imageContainers = StringUtils.substringsBetween(html, "rel=\"fancybox-button\"", "/>");
-                        final List<Image> images          = new ArrayList<>();
-
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, AppleDailyClient.TAG_HREF, AppleDailyClient.TAG_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, AppleDailyClient.TAG_TITLE, AppleDailyClient.TAG_QUOTE);
-
-                            if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
-                        }
-
-                        if (!images.isEmpty()) {
-                            item.getImages().clear();
-                            item.getImages().addAll(images);
-                        }
-
-                        final Video video = this.extractVideo(item.getLink(), StringUtils.substringBetween(fullHtml, "var videoId = '", "';"));
-                        if (video != null) item.setVideo(video);
-
-                        final String[]      contents = StringUtils.substringsBetween(html, "<div class=\"ArticleContent_Inner\">", AppleDailyClient.TAG_DIV);
-                        final StringBuilder builder  = new StringBuilder();
-
-                        for (final String content : contents) builder.append(content.replace(AppleDailyClient.TAG_OPEN_H2, AppleDailyClient.TAG_OPEN_H3).replace(AppleDailyClient.TAG_CLOSE_H2, AppleDailyClient.TAG_CLOSE_H3));
-
-                        item.setDescription(builder.toString());
-                        item.setIsFullDescription(true);
-
-                        if (!emitter.isDisposed()) emitter.onSuccess(item);
-                    },
-                    error -> {
+    public Flowable<NewsItem> streamItems(@NonNull final String url) {
+        final String category = this.getCategoryName(url);
+
+        return this.streamSections(url, AppleDailyClient.ITEMS_SCANNER)
+            .flatMapMaybe(section -> Maybe.fromCallable(() -> this.toItem(section, category)))
+            .filter(Client::accept)
+            .onErrorResumeNext(error -> {
+                return this.endStream(url, error);
+            });
+    }
+
+    /**
+     * Downloads the article, then looks up its video while its images and contents are extracted.
+     */
+    @WorkerThread
+    @NonNull
+    @Override
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
+        if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
+
+        return this.apiService
+            .getHtml(item.getLink())
+            .compose(RxUtils.applyObservableBackgroundSchedulers())
+            .flatMapCompletable(fullHtml -> Completable.mergeArray(
+                // The video request is subscribed to first, so that it is in flight while the contents are extracted
+                this.extractVideo(item.getLink(), StringUtils.substringBetween(fullHtml, "var videoId = '", "';"))
+                    .doOnSuccess(item::setVideo)
+                    .ignoreElement()
+                    .doOnError(error -> {
                         if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + item.getLink(), RxJava2Debug.getEnhancedStackTrace(error));
+                    })
+                    .onErrorComplete(),
+                Completable.fromAction(() -> AppleDailyClient.updateContent(item, fullHtml))))
+            .doOnError(error -> {
+                if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + item.getLink(), RxJava2Debug.getEnhancedStackTrace(error));
+            })
+            .onErrorComplete()
+            .toSingleDefault(item);
+    }
 
-                        if (!emitter.isDisposed()) emitter.onSuccess(item);
-                    }
-                );
-        });
+    @SuppressWarnings("checkstyle:magicnumber")
+    @Nullable
+    private NewsItem toItem(@NonNull final MarkupScanner.Section section, @Nullable final String category) {
+        final String link = section.get(AppleDailyClient.FIELD_LINK);
+        if (link == null) return null;
+
+        final NewsItem item = new NewsItem();
+        item.setTitle(section.get(AppleDailyClient.FIELD_TITLE));
+        item.setLink(link.substring(0, link.lastIndexOf(AppleDailyClient.SLASH))
+            .replace("video", "news")
+            .replace("actionnews/local", "local/daily/article")
+            .replace("actionnews/international", "international/daily/article")
+            .replace("actionnews/finance", "finance/daily/article")
+            .replace("actionnews/entertainment", "entertainment/daily/article")
+            .replace("actionnews/sports", "sports/daily/article"));
+        item.setSource(this.source.getName());
+        if (category != null) item.setCategory(category);
+
+        final String image = section.get(AppleDailyClient.FIELD_IMAGE);
+        if (image != null) item.getImages().add(new Image(image));
+
+        final String time = section.get(AppleDailyClient.FIELD_TIME);
+        if (time != null) item.setPublishDate(new Date(Long.valueOf(time) * AppleDailyClient.SECOND));
+
+        return item;
+    }
+
+    private static void updateContent(@NonNull final NewsItem item, @NonNull final String fullHtml) {
+        final List<Image> images = new ArrayList<>();
+
+        for (final MarkupScanner.Section imageContainer : AppleDailyClient.IMAGES_SCANNER.scan(fullHtml)) {
+            final String imageUrl         = imageContainer.get(AppleDailyClient.FIELD_IMAGE_URL);
+            final String imageDescription = imageContainer.get(AppleDailyClient.FIELD_IMAGE_DESCRIPTION);
+
+            if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
+        }
+
+        if (!images.isEmpty()) {
+            item.getImages().clear();
+            item.getImages().addAll(images);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (final MarkupScanner.Section content : AppleDailyClient.CONTENTS_SCANNER.scan(fullHtml)) builder.append(content.getText().replace(AppleDailyClient.TAG_OPEN_H2, AppleDailyClient.TAG_OPEN_H3).replace(AppleDailyClient.TAG_CLOSE_H2, AppleDailyClient.TAG_CLOSE_H3));
+
+        item.setDescription(builder.toString());
+        item.setIsFullDescription(true);
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
+    @NonNull
+    private Maybe<Video> extractVideo(@NonNull final String url, @Nullable final String videoId) {
+        if (videoId == null) return Maybe.empty();
+
+        final String[] ids = url.split(AppleDailyClient.SLASH);
+        if (ids.length <= 4) return Maybe.empty();
+
+        final String category = ids[ids.length - 4].replace("news", "local").replace("international", "chinainternational").replace("financeestate", "finance");
+
+        return this.apiService
+            .getHtml("https://hk.video.appledaily.com/video/videoplayer/" + ids[ids.length - 2] + AppleDailyClient.SLASH + category + AppleDailyClient.SLASH + category + AppleDailyClient.SLASH + ids[ids.length - 1] + AppleDailyClient.SLASH + videoId + "/0/0/0?ts=" + String.valueOf(System.currentTimeMillis() / 1000L))
+            .compose(RxUtils.applyObservableBackgroundSchedulers())
+            .singleElement()
+            .flatMap(html -> {
+                final Video video = AppleDailyClient.findVideo(new JSONArray(StringUtils.substringBetween(html, "window.videoPlaylistOriginal = ", "];") + "]"), videoId);
+
+                return video == null ? Maybe.empty() : Maybe.just(video);
+            });
+    }
+
     @Nullable
-    private Video extractVideo(@NonNull final String url, @Nullable final String videoId) {
-        if (videoId == null) return null;
-
-        final String[] ids      = url.split(AppleDailyClient.SLASH);
-        final String   category = ids[ids.length - 4].replace("news", "local").replace("international", "chinainternational").replace("financeestate", "finance");
-
-        if (ids.length > 4) {
-            final JSONArray items = this.apiService
-                .getHtml("https://hk.video.appledaily.com/video/videoplayer/" + ids[ids.length - 2] + AppleDailyClient.SLASH + category + AppleDailyClient.SLASH + category + AppleDailyClient.SLASH + ids[ids.length - 1] + AppleDailyClient.SLASH + videoId + "/0/0/0?ts=" + String.valueOf(System.currentTimeMillis() / 1000L))
-                .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .map(html -> new JSONArray(StringUtils.substringBetween(html, "window.videoPlaylistOriginal = ", "];") + "]"))
-                .blockingSingle();
-
-            for (int i = 0; i < items.length(); i++) {
-                try {
-                    final JSONObject item = items.getJSONObject(i);
-
-                    if (videoId.equals(item.getString("video_id"))) return new Video(item.getString("video"), item.getString("image_zoom"));
-                } catch (final JSONException e) {
-                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), e.getMessage(), RxJava2Debug.getEnhancedStackTrace(e));
-                }
+    private static Video findVideo(@NonNull final JSONArray items, @NonNull final String videoId) {
+        for (int i = 0; i < items.length(); i++) {
+            try {
+                final JSONObject item = items.getJSONObject(i);
+
+                if (videoId.equals(item.getString("video_id"))) return new Video(item.getString("video"), item.getString("image_zoom"));
+            } catch (final JSONException e) {
+                if (DevUtils.isLoggable()) Log.e(AppleDailyClient.class.getSimpleName(), e.getMessage(), RxJava2Debug.getEnhancedStackTrace(e));
             }
         }
 
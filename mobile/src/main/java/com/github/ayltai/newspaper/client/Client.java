@@ -1,29 +1,57 @@
 package com.github.ayltai.newspaper.client;
 
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
+import android.util.Log;
 
+import com.akaita.java.rxjava2debug.RxJava2Debug;
 import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Category;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
+import com.github.ayltai.newspaper.net.Hedger;
+import com.github.ayltai.newspaper.net.LatencyTracker;
+import com.github.ayltai.newspaper.net.ValidatorStore;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
+import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.SingleFlight;
 
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
 
 public abstract class Client {
+    //region Constants
+
+    private static final double MEDIAN_PERCENTILE = 0.50;
+    private static final double HEDGE_PERCENTILE  = 0.90;
+    private static final double TAIL_PERCENTILE   = 0.99;
+    private static final double TAIL_RATIO        = 3;
+
+    //endregion
+
     //region Variables
 
     protected final OkHttpClient client;
     protected final ApiService   apiService;
     protected final Source       source;
 
+    private final SingleFlight<String, List<NewsItem>> itemsRequests = new SingleFlight<>();
+    private final SingleFlight<String, NewsItem>       itemRequests  = new SingleFlight<>();
+    private final PlaylistCache                        playlists     = new PlaylistCache();
+
+    private LatencyTracker tracker;
+
     //endregion
 
     protected Client(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
@@ -32,13 +60,130 @@ public abstract class Client {
         this.source     = source;
     }
 
+    /**
+     * Downloads the items of the given URL.
+     * <p>A call made while the items of the same URL are being downloaded joins that download instead of starting another one.</p>
+     * <p>If the source is {@link Source#isHedged() hedged} and its latencies have a heavy tail, a second download is started when the first has not answered by the 90th percentile of its latencies, within the budget of {@link Hedger}. The first to answer wins, but the second only with some items, as a client answers a failed download with none.</p>
+     * @param url The URL of the list page.
+     * @return A {@link Single} of the items found.
+     */
+    @WorkerThread
+    @NonNull
+    public final Single<List<NewsItem>> getItems(@NonNull final String url) {
+        return this.itemsRequests.single(url, () -> {
+            final long delay = this.getHedgeDelay();
+
+            return delay == 0 ? this.fetchItems(url) : Hedger.getInstance().hedge(() -> this.fetchItems(url), delay, items -> !items.isEmpty());
+        });
+    }
+
+    /**
+     * Downloads the details of the given item.
+     * <p>A call made while the details of the same item are being downloaded joins that download instead of starting another one.</p>
+     * @param item The item to update.
+     * @return A {@link Single} of the updated item.
+     */
+    @WorkerThread
+    @NonNull
+    public final Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+        final String link = item.getLink();
+
+        return link == null ? this.fetchItem(item) : this.itemRequests.single(link, () -> this.fetchItem(item));
+    }
+
+    void setLatencyTracker(@Nullable final LatencyTracker tracker) {
+        this.tracker = tracker;
+    }
+
     @WorkerThread
     @NonNull
-    public abstract Single<List<NewsItem>> getItems(@NonNull String url);
+    protected abstract Single<List<NewsItem>> fetchItems(@NonNull String url);
 
     @WorkerThread
     @NonNull
-    public abstract Single<NewsItem> updateItem(@NonNull NewsItem item);
+    protected abstract Single<NewsItem> fetchItem(@NonNull NewsItem item);
+
+    /**
+     * Emits the items of the given URL one by one.
+     * <p>The default implementation emits the items of {@link #getItems(String)} after the whole page is parsed. Clients that scan HTML list pages with a {@link MarkupScanner} override this to emit each item as soon as it is downloaded.</p>
+     * @param url The URL of the list page.
+     * @return A {@link Flowable} of the items found.
+     */
+    @WorkerThread
+    @NonNull
+    public Flowable<NewsItem> streamItems(@NonNull final String url) {
+        return this.getItems(url).flattenAsFlowable(items -> items);
+    }
+
+    /**
+     * Downloads the given URL and emits each section found by {@code scanner} while the response body is still being read.
+     * <p>Only the request is retried. A failure after the first section is emitted terminates the stream, so that no section is emitted twice.</p>
+     * @param url The URL to download.
+     * @param scanner The scanner to find the sections with.
+     * @return A {@link Flowable} of the sections found.
+     */
+    @NonNull
+    protected final Flowable<MarkupScanner.Section> streamSections(@NonNull final String url, @NonNull final MarkupScanner scanner) {
+        return this.apiService
+            .getStream(url)
+            .compose(RxUtils.applyObservableBackgroundSchedulers())
+            .toFlowable(BackpressureStrategy.BUFFER)
+            .concatMap(body -> Flowable.using(() -> body, resource -> Flowable.create(emitter -> {
+                final MarkupScanner.Session session = scanner.newSession();
+                final Reader                reader  = resource.charStream();
+                final char[]                buffer  = new char[Constants.FILE_BUFFER_SIZE];
+
+                int count;
+
+                while (!emitter.isCancelled() && !session.isFinished() && (count = reader.read(buffer)) != -1) {
+                    for (final MarkupScanner.Section section : session.feed(CharBuffer.wrap(buffer, 0, count))) emitter.onNext(section);
+                }
+
+                for (final MarkupScanner.Section section : session.finish()) emitter.onNext(section);
+
+                emitter.onComplete();
+            }, BackpressureStrategy.BUFFER), ResponseBody::close));
+    }
+
+    /**
+     * Ends the stream of the items of the given URL that failed part-way. The items emitted already are kept, but the staged validator of the page is discarded, so that the page is downloaded again in full next time instead of being skipped as unchanged.
+     * @param url The URL of the list page.
+     * @param error The error that ended the stream.
+     * @return An empty {@link Flowable} to resume the stream with.
+     */
+    @NonNull
+    protected final <T> Flowable<T> endStream(@NonNull final String url, @NonNull final Throwable error) {
+        if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + url, RxJava2Debug.getEnhancedStackTrace(error));
+
+        ValidatorStore.getInstance().discard(url);
+
+        return Flowable.empty();
+    }
+
+    /**
+     * Downloads the given playlist, such as the list of the videos of a day, or returns the one downloaded already while it is fresh according to the {@link com.github.ayltai.newspaper.net.CachePolicy} of the source.
+     * @param url The URL of the playlist.
+     * @return A {@link Single} of the playlist.
+     */
+    @NonNull
+    protected final Single<String> getPlaylist(@NonNull final String url) {
+        return this.playlists.get(url, this.source.getCachePolicy().getMaxAge(url), this.apiService
+            .getHtml(url)
+            .compose(RxUtils.applyObservableBackgroundSchedulers())
+            .singleOrError());
+    }
+
+    /**
+     * @return The time to wait before hedging a request for a list page, in milliseconds, or {@code 0} if the request should not be hedged.
+     */
+    private long getHedgeDelay() {
+        if (this.tracker == null || !this.source.isHedged()) return 0;
+
+        final long median = this.tracker.getPercentile(this.source.getName(), Client.MEDIAN_PERCENTILE);
+        final long tail   = this.tracker.getPercentile(this.source.getName(), Client.TAIL_PERCENTILE);
+
+        return median == 0 || tail < median * Client.TAIL_RATIO ? 0 : this.tracker.getPercentile(this.source.getName(), Client.HEDGE_PERCENTILE);
+    }
 
     @Nullable
     protected final String getCategoryName(@NonNull final String url) {
@@ -54,16 +199,23 @@ public abstract class Client {
         final List<NewsItem> filteredItems = new ArrayList<>();
 
         for (final NewsItem item : items) {
-            final String title = item.getTitle();
-            if (title != null) item.setTitle(title.replaceAll("<br>", "\n"));
-
-            if (DevUtils.isRunningUnitTest()) {
-                filteredItems.add(item);
-            } else if (item.getPublishDate() != null && item.getPublishDate().getTime() > System.currentTimeMillis() - Constants.HOUSEKEEP_TIME) {
-                filteredItems.add(item);
-            }
+            if (Client.accept(item)) filteredItems.add(item);
         }
 
         return filteredItems;
     }
+
+    /**
+     * Cleans up the title of the given item, and returns {@code true} if the item is recent enough to be kept.
+     * @param item The item to check.
+     * @return {@code true} if the item should be kept.
+     */
+    protected static boolean accept(@NonNull final NewsItem item) {
+        final String title = item.getTitle();
+        if (title != null) item.setTitle(title.replaceAll("<br>", "\n"));
+
+        if (DevUtils.isRunningUnitTest()) return true;
+
+        return item.getPublishDate() != null && item.getPublishDate().getTime() > System.currentTimeMillis() - Constants.HOUSEKEEP_TIME;
+    }
 }
@@ -8,10 +8,11 @@ import android.support.annotation.Nullable;
 import android.support.v4.util.ArrayMap;
 
 import com.github.ayltai.newspaper.R;
+import com.github.ayltai.newspaper.app.ComponentFactory;
 import com.github.ayltai.newspaper.app.data.model.SourceFactory;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.DaggerHttpComponent;
 import com.github.ayltai.newspaper.net.HttpComponent;
+import com.github.ayltai.newspaper.net.LatencyTracker;
 
 import okhttp3.OkHttpClient;
 
@@ -28,7 +29,7 @@ public final class ClientFactory {
     }
 
     private ClientFactory(@NonNull final Context context) {
-        final HttpComponent httpComponent = DaggerHttpComponent.builder().build();
+        final HttpComponent httpComponent = ComponentFactory.getInstance().getHttpComponent(context);
         final OkHttpClient  client        = httpComponent.httpClient();
         final ApiService    apiService    = httpComponent.apiService();
         final String[]      sources       = context.getResources().getStringArray(R.array.sources);
@@ -50,6 +51,10 @@ public final class ClientFactory {
         this.clients.put(sources[i], new ScmpClient(client, apiService, SourceFactory.getInstance(context).getSource(sources[i++])));
         this.clients.put(sources[i], new TheStandardClient(client, apiService, SourceFactory.getInstance(context).getSource(sources[i++])));
         this.clients.put(sources[i], new WenWeiPoClient(client, apiService, SourceFactory.getInstance(context).getSource(sources[i])));
+
+        final LatencyTracker tracker = LatencyTracker.getInstance(context);
+
+        for (final Client newsClient : this.clients.values()) newsClient.setLatencyTracker(tracker);
     }
 
     @Nullable
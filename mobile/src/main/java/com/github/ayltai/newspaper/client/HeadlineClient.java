@@ -12,15 +12,12 @@ import android.support.v4.util.ArrayMap;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
-import com.github.ayltai.newspaper.rss.RssFeed;
-import com.github.ayltai.newspaper.rss.RssItem;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
@@ -44,8 +41,17 @@ public final class HeadlineClient extends RssClient {
     private static final String IMAGE_URI = "http://static.stheadline.com";
     private static final String HTTP      = "http:";
 
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<a class=\"fancybox\" rel=\"gallery\"", "</a>")
+        .field("href=\"", "\"")
+        .field("title=\"■", "\">")
+        .build();
+
     private static final Map<String, String> KEYWORDS = new ArrayMap<>(8);
 
     static {
@@ -65,44 +71,39 @@ public final class HeadlineClient extends RssClient {
     }
 
     @NonNull
-    protected List<NewsItem> filter(@NonNull final String url, @NonNull final RssFeed feed) {
-        if (feed.getItems() == null) return new ArrayList<>();
-
-        final String        keyword  = HeadlineClient.KEYWORDS.get(url.substring(HeadlineClient.URL.length()));
-        final List<RssItem> rssItems = new ArrayList<>();
+    @Override
+    protected List<NewsItem> filter(@NonNull final String url, @NonNull final List<NewsItem> items) {
+        final String         keyword       = HeadlineClient.KEYWORDS.get(url.substring(HeadlineClient.URL.length()));
+        final List<NewsItem> filteredItems = new ArrayList<>();
 
-        for (final RssItem item : feed.getItems()) {
+        for (final NewsItem item : items) {
             final int index = item.getTitle().indexOf(keyword);
 
             if (index >= 0) {
                 item.setTitle(item.getTitle().substring(0, index));
-                if (item.getEnclosure() != null) item.getEnclosure().setUrl(HeadlineClient.formatImageUrl(item.getEnclosure().getUrl()));
+                if (!item.getImages().isEmpty()) item.getImages().set(0, new Image(HeadlineClient.formatImageUrl(item.getImages().get(0).getUrl())));
 
-                rssItems.add(item);
+                filteredItems.add(item);
             }
         }
 
-        feed.getItems().clear();
-        feed.getItems().addAll(rssItems);
-
-        return super.filter(url, feed);
+        return super.filter(url, filteredItems);
     }
 
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> this.apiService
             .getHtml(item.getLink())
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
                     final List<Image> images = new ArrayList<>();
 
-                    for (final String imageContainer : StringUtils.substringsBetween(html, "<a class=\"fancybox\" rel=\"gallery\"", "</a>")) {
-                        final String imageUrl         = StringUtils.substringBetween(imageContainer, "href=\"", "\"");
-                        final String imageDescription = StringUtils.substringBetween(imageContainer, "title=\"■", "\">");
+                    for (final MarkupScanner.Section imageContainer : HeadlineClient.IMAGES_SCANNER.scan(html)) {
+                        final String imageUrl         = imageContainer.get(HeadlineClient.FIELD_IMAGE_URL);
+                        final String imageDescription = imageContainer.get(HeadlineClient.FIELD_IMAGE_DESCRIPTION);
 
                         if (imageUrl != null) images.add(new Image(HeadlineClient.formatImageUrl(imageUrl), imageDescription));
                     }
@@ -13,14 +13,13 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
@@ -37,8 +36,30 @@ final class HeadlineRealtimeClient extends Client {
     private static final String TAG_CLOSE = "\">";
     private static final String HTTP      = "http:";
 
+    private static final int FIELD_TITLE       = 0;
+    private static final int FIELD_DESCRIPTION = 1;
+    private static final int FIELD_IMAGE       = 2;
+    private static final int FIELD_DATE        = 3;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .section("<div class=\"topic\">", "<p class=\"text-left\">")
+        .field("<h4>", "</h4>")
+        .field("<p class=\"text\">", "</p>")
+        .field("<img src=\"", HeadlineRealtimeClient.TAG_QUOTE)
+        .field("<i class=\"fa fa-clock-o\"></i>", "</span>")
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<a class=\"fancybox image\" rel=\"fancybox-thumb\"", HeadlineRealtimeClient.TAG_LINK)
+        .field("href=\"", HeadlineRealtimeClient.TAG_QUOTE)
+        .field("title=\"", HeadlineRealtimeClient.TAG_QUOTE)
+        .build();
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -53,32 +74,31 @@ final class HeadlineRealtimeClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         return Single.create(emitter -> this.apiService
             .getHtml(url)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]       sections = StringUtils.substringsBetween(html, "<div class=\"topic\">", "<p class=\"text-left\">");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
+                    final List<MarkupScanner.Section> sections = HeadlineRealtimeClient.ITEMS_SCANNER.scan(html);
+                    final List<NewsItem>              items    = new ArrayList<>(sections.size());
+                    final String                      category = this.getCategoryName(url);
 
-                    for (final String section : sections) {
+                    for (final MarkupScanner.Section section : sections) {
                         final NewsItem item  = new NewsItem();
-                        final String   title = StringUtils.substringBetween(section, "<h4>", "</h4>");
+                        final String   title = section.get(HeadlineRealtimeClient.FIELD_TITLE);
 
                         item.setTitle(StringUtils.substringBetween(title, HeadlineRealtimeClient.TAG_CLOSE, HeadlineRealtimeClient.TAG_LINK));
                         item.setLink(HeadlineRealtimeClient.BASE_URI + StringUtils.substringBetween(title, "<a href=\"", HeadlineRealtimeClient.TAG_CLOSE));
-                        item.setDescription(StringUtils.substringBetween(section, "<p class=\"text\">", "</p>"));
+                        item.setDescription(section.get(HeadlineRealtimeClient.FIELD_DESCRIPTION));
                         item.setSource(this.source.getName());
                         if (category != null) item.setCategory(category);
 
-                        final String image = StringUtils.substringBetween(section, "<img src=\"", HeadlineRealtimeClient.TAG_QUOTE);
+                        final String image = section.get(HeadlineRealtimeClient.FIELD_IMAGE);
                         if (image != null) item.getImages().add(new Image(HeadlineRealtimeClient.formatImageUrl(image)));
 
                         try {
-                            item.setPublishDate(HeadlineRealtimeClient.DATE_FORMAT.get().parse(StringUtils.substringBetween(section, "<i class=\"fa fa-clock-o\"></i>", "</span>")));
+                            item.setPublishDate(HeadlineRealtimeClient.DATE_FORMAT.get().parse(section.get(HeadlineRealtimeClient.FIELD_DATE)));
 
                             items.add(item);
                         } catch (final ParseException e) {
@@ -99,17 +119,16 @@ final class HeadlineRealtimeClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
                     html -> {
-                        HeadlineRealtimeClient.extractImages(StringUtils.substringsBetween(html, "<a class=\"fancybox image\" rel=\"fancybox-thumb\"", HeadlineRealtimeClient.TAG_LINK), item);
+                        HeadlineRealtimeClient.extractImages(HeadlineRealtimeClient.IMAGES_SCANNER.scan(html), item);
 
                         item.setDescription(StringUtils.substringBetween(html, "<div id=\"news-content\" class=\"set-font-aera\" style=\"visibility: visible;\">", "</div>"));
                         item.setIsFullDescription(true);
@@ -125,12 +144,12 @@ final class HeadlineRealtimeClient extends Client {
         });
     }
 
-    private static void extractImages(@NonNull final String[] imageContainers, @NonNull final Item item) {
+    private static void extractImages(@NonNull final List<MarkupScanner.Section> imageContainers, @NonNull final Item item) {
         final List<Image> images = new ArrayList<>();
 
-        for (final String imageContainer : imageContainers) {
-            final String imageUrl         = StringUtils.substringBetween(imageContainer, "href=\"", HeadlineRealtimeClient.TAG_QUOTE);
-            final String imageDescription = StringUtils.substringBetween(imageContainer, "title=\"", HeadlineRealtimeClient.TAG_QUOTE);
+        for (final MarkupScanner.Section imageContainer : imageContainers) {
+            final String imageUrl         = imageContainer.get(HeadlineRealtimeClient.FIELD_IMAGE_URL);
+            final String imageDescription = imageContainer.get(HeadlineRealtimeClient.FIELD_IMAGE_DESCRIPTION);
 
             if (imageUrl != null) images.add(new Image(HeadlineRealtimeClient.formatImageUrl(imageUrl), imageDescription));
         }
@@ -12,15 +12,14 @@ import android.text.TextUtils;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
@@ -38,8 +37,17 @@ final class HketClient extends RssClient {
     private static final String TAG_DATA_SRC = "data-src=\"";
     private static final String TAG_QUOTE    = "\"";
 
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<img ", "/>")
+        .field(HketClient.TAG_DATA_SRC, HketClient.TAG_QUOTE)
+        .field("alt=\"", HketClient.TAG_QUOTE)
+        .build();
+
     @Inject
     HketClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
@@ -49,7 +57,7 @@ final class HketClient extends RssClient {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         final boolean isChinaNews         = item.getLink().startsWith(HketClient.CHINA_BASE_URI);
         final boolean isInvestNews        = item.getLink().startsWith(HketClient.INVEST_BASE_URI);
         final boolean isPaperNews         = item.getLink().startsWith(HketClient.PAPER_BASE_URI);
@@ -58,7 +66,6 @@ final class HketClient extends RssClient {
         return Single.create(emitter -> this.apiService
             .getHtml(item.getLink())
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
                     if (isChinaNews || isInvestNews) {
@@ -99,12 +106,11 @@ final class HketClient extends RssClient {
     }
 
     private static void extraImages(@NonNull final String html, @NonNull final Item item) {
-        final String[]    imageContainers = StringUtils.substringsBetween(html, "<img ", "/>");
-        final List<Image> images          = new ArrayList<>();
+        final List<Image> images = new ArrayList<>();
 
-        for (final String imageContainer : imageContainers) {
-            final String imageUrl         = StringUtils.substringBetween(imageContainer, HketClient.TAG_DATA_SRC, HketClient. TAG_QUOTE);
-            final String imageDescription = StringUtils.substringBetween(imageContainer, "alt=\"", HketClient.TAG_QUOTE);
+        for (final MarkupScanner.Section imageContainer : HketClient.IMAGES_SCANNER.scan(html)) {
+            final String imageUrl         = imageContainer.get(HketClient.FIELD_IMAGE_URL);
+            final String imageDescription = imageContainer.get(HketClient.FIELD_IMAGE_DESCRIPTION);
 
             if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
         }
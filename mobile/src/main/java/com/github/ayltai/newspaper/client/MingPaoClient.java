@@ -15,13 +15,11 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.RxUtils;
 
@@ -55,7 +53,7 @@ final class MingPaoClient extends RssClient {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         if (item.getLink().length() <= MingPaoClient.BASE_URI.length() || !item.getLink().contains(MingPaoClient.SLASH)) return Single.just(item);
 
         final String[] tokens    = item.getLink().substring(MingPaoClient.BASE_URI.length()).split(MingPaoClient.SLASH);
@@ -64,13 +62,10 @@ final class MingPaoClient extends RssClient {
         final Observable<String> url = isInstant
             ? this.apiService
             .getHtml(MingPaoClient.BASE_URI + MingPaoClient.DATA + tokens[0] + MingPaoClient.SLASH + tokens[0] + MingPaoClient.UNDERSCORE + tokens[2] + MingPaoClient.SLASH + tokens[3] + MingPaoClient.ONE_SLASH + tokens[4] + "/content_" + tokens[6] + MingPaoClient.JS_EXTENSION)
-            : this.apiService
-            .getHtml(MingPaoClient.BASE_URI + MingPaoClient.DATA + tokens[0] + "/issuelist" + MingPaoClient.JS_EXTENSION)
-            .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
+            : this.getPlaylist(MingPaoClient.BASE_URI + MingPaoClient.DATA + tokens[0] + "/issuelist" + MingPaoClient.JS_EXTENSION)
+            .toObservable()
             .map(html -> MingPaoClient.BASE_URI + MingPaoClient.DATA + tokens[0] + MingPaoClient.SLASH + tokens[0] + MingPaoClient.UNDERSCORE + tokens[2] + MingPaoClient.SLASH + tokens[3] + MingPaoClient.ONE_SLASH + tokens[4] + new JSONObject(html).getJSONObject((tokens[0] + MingPaoClient.UNDERSCORE + tokens[2]).toUpperCase()).getJSONObject("1 " + tokens[4]).getString("E").toLowerCase() + "/todaycontent_" + tokens[6] + MingPaoClient.JS_EXTENSION)
-            .flatMap(this.apiService::getHtml)
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry));
+            .flatMap(this.apiService::getHtml);
 
         return Single.create(emitter -> url.compose(RxUtils.applyObservableBackgroundSchedulers())
             .map(JSONObject::new)
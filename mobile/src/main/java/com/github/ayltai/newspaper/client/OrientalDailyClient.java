@@ -11,18 +11,19 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
-import com.github.ayltai.newspaper.rss.RssFeed;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringSlice;
 import com.github.ayltai.newspaper.util.StringUtils;
 
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import okhttp3.OkHttpClient;
 
@@ -34,83 +35,105 @@ final class OrientalDailyClient extends RssClient {
     private static final String SLASH     = "/";
     private static final String DIV_CLOSE = "</div>";
 
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<div class=\"photo", OrientalDailyClient.DIV_CLOSE)
+        .field("href=\"", OrientalDailyClient.TAG_CLOSE)
+        .field("title=\"", OrientalDailyClient.TAG_CLOSE)
+        .build();
+
     @Inject
     OrientalDailyClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
     }
 
+    /**
+     * Downloads the article and looks up its video in the playlist of its day at the same time. The playlist is downloaded once and shared by all the articles of the day.
+     */
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
-        return Single.create(emitter -> this.apiService
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
+        final Completable content = this.apiService
             .getHtml(item.getLink())
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
-            .subscribe(
-                html -> {
-                    html = StringUtils.substringBetween(html, "<div id=\"contentCTN-top\"", "<div id=\"articleNav\">");
+            .doOnNext(fullHtml -> OrientalDailyClient.updateContent(item, fullHtml))
+            .ignoreElements()
+            .doOnError(error -> {
+                if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + item.getLink(), RxJava2Debug.getEnhancedStackTrace(error));
+            })
+            .onErrorComplete();
+
+        final Completable video = this.extractVideo(item.getLink())
+            .doOnSuccess(item::setVideo)
+            .ignoreElement()
+            .doOnError(error -> {
+                if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + item.getLink(), RxJava2Debug.getEnhancedStackTrace(error));
+            })
+            .onErrorComplete();
+
+        return Completable.mergeArray(content, video).toSingleDefault(item);
+    }
 
-                    final String[]    imageContainers = StringUtils.substringsBetween(html, "<div class=\"photo", OrientalDailyClient.DIV_CLOSE);
-                    final List<Image> images          = new ArrayList<>();
+    @NonNull
+    @Override
+    protected List<NewsItem> filter(@NonNull final String url, @NonNull final List<NewsItem> items) {
+        final List<NewsItem> filteredItems = super.filter(url, items);
 
-                    for (final String imageContainer : imageContainers) {
-                        final String imageUrl         = StringUtils.substringBetween(imageContainer, "href=\"", OrientalDailyClient.TAG_CLOSE);
-                        final String imageDescription = StringUtils.substringBetween(imageContainer, "title=\"", OrientalDailyClient.TAG_CLOSE);
+        for (final NewsItem item : filteredItems) item.setDescription(StringUtils.substringBetween(item.getDescription(), "<div style=\"float:left;\">", OrientalDailyClient.DIV_CLOSE));
 
-                        if (imageUrl != null) images.add(new Image(OrientalDailyClient.BASE_URI + imageUrl, imageDescription));
-                    }
+        return filteredItems;
+    }
 
-                    if (!images.isEmpty()) {
-                        item.getImages().clear();
-                        item.getImages().addAll(images);
-                    }
+    private static void updateContent(@NonNull final NewsItem item, @NonNull final String fullHtml) {
+        final StringSlice html   = StringUtils.substringBetween(StringSlice.of(fullHtml), "<div id=\"contentCTN-top\"", "<div id=\"articleNav\">");
+        final List<Image> images = new ArrayList<>();
 
-                    final Video video = this.extractVideo(item.getLink());
-                    if (video != null) item.setVideo(video);
+        for (final MarkupScanner.Section imageContainer : OrientalDailyClient.IMAGES_SCANNER.scan(html)) {
+            final String imageUrl         = imageContainer.get(OrientalDailyClient.FIELD_IMAGE_URL);
+            final String imageDescription = imageContainer.get(OrientalDailyClient.FIELD_IMAGE_DESCRIPTION);
 
-                    final String[]      contents = StringUtils.substringsBetween(html, "<p>", "</p>");
-                    final StringBuilder builder  = new StringBuilder();
+            if (imageUrl != null) images.add(new Image(OrientalDailyClient.BASE_URI + imageUrl, imageDescription));
+        }
 
-                    for (final String content : contents) builder.append(content).append("<br><br>");
+        if (!images.isEmpty()) {
+            item.getImages().clear();
+            item.getImages().addAll(images);
+        }
 
-                    item.setDescription(builder.toString());
-                    item.setIsFullDescription(true);
+        final List<StringSlice> contents = StringUtils.substringsBetween(html, "<p>", "</p>");
+        final StringBuilder     builder  = new StringBuilder();
 
-                    if (!emitter.isDisposed()) emitter.onSuccess(item);
-                },
-                error -> {
-                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + item.getLink(), RxJava2Debug.getEnhancedStackTrace(error));
+        for (final StringSlice content : contents) content.appendTo(builder).append("<br><br>");
 
-                    if (!emitter.isDisposed()) emitter.onSuccess(item);
-                }
-            ));
+        item.setDescription(builder.toString());
+        item.setIsFullDescription(true);
     }
 
     @NonNull
-    @Override
-    protected List<NewsItem> filter(@NonNull final String url, @NonNull final RssFeed feed) {
-        final List<NewsItem> items = super.filter(url, feed);
+    private Maybe<Video> extractVideo(@NonNull final String url) {
+        final String date = StringUtils.substringBetween(url, "http://orientaldaily.on.cc/cnt/news/", OrientalDailyClient.SLASH);
+        if (date == null) return Maybe.empty();
 
-        for (final NewsItem item : items) item.setDescription(StringUtils.substringBetween(item.getDescription(), "<div style=\"float:left;\">", OrientalDailyClient.DIV_CLOSE));
+        return this.getPlaylist("http://orientaldaily.on.cc/cnt/keyinfo/" + date + "/videolist.xml")
+            .flatMapMaybe(videoList -> {
+                final Video video = OrientalDailyClient.findVideo(videoList, url, date);
 
-        return items;
+                return video == null ? Maybe.empty() : Maybe.just(video);
+            });
     }
 
     @SuppressWarnings("checkstyle:magicnumber")
-    @WorkerThread
     @Nullable
-    private Video extractVideo(@NonNull final String url) {
-        final String date = StringUtils.substringBetween(url, "http://orientaldaily.on.cc/cnt/news/", OrientalDailyClient.SLASH);
-        if (date == null) return null;
-
-        final String videoList = this.apiService.getHtml("http://orientaldaily.on.cc/cnt/keyinfo/" + date + "/videolist.xml").blockingSingle();
-        if (videoList == null) return null;
+    private static Video findVideo(@NonNull final String videoList, @NonNull final String url, @NonNull final String date) {
+        final String articleId = "odn-" + date + "-" + date.substring(4) + "_" + StringUtils.substringBetween(url, date + OrientalDailyClient.SLASH, ".html");
 
         for (final String video : StringUtils.substringsBetween(videoList, "<news>", "</news>")) {
-            if (("odn-" + date + "-" + date.substring(4) + "_" + StringUtils.substringBetween(url, date + OrientalDailyClient.SLASH, ".html")).equals(StringUtils.substringBetween(video, "<articleID>", "</articleID>"))) {
+            if (articleId.equals(StringUtils.substringBetween(video, "<articleID>", "</articleID>"))) {
                 final String thumbnailUri = StringUtils.substringBetween(video, "<thumbnail>", "</thumbnail>");
                 final String videoUri     = StringUtils.substringBetween(video, "?mid=", "&amp;mtype=video");
 
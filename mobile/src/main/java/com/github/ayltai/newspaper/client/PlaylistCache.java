@@ -0,0 +1,73 @@
+package com.github.ayltai.newspaper.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import android.support.annotation.NonNull;
+
+import io.reactivex.Single;
+
+/**
+ * <p>Keeps the playlists downloaded by a {@link Client}, such as the list of the videos of a day, so that each one is downloaded once and shared by all the articles referring to it.</p>
+ * <p>A playlist is kept until it expires, and only the most recently used ones are kept. A download that fails is not kept, so the next article retries it.</p>
+ */
+final class PlaylistCache {
+    //region Constants
+
+    private static final int   MAX_SIZE    = 8;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    //endregion
+
+    private static final class Entry {
+        final Single<String> playlist;
+        final long           expiry;
+
+        Entry(@NonNull final Single<String> playlist, final long expiry) {
+            this.playlist = playlist;
+            this.expiry   = expiry;
+        }
+    }
+
+    private final Map<String, PlaylistCache.Entry> entries = new LinkedHashMap<String, PlaylistCache.Entry>(PlaylistCache.MAX_SIZE, PlaylistCache.LOAD_FACTOR, true) {
+        @Override
+        protected boolean removeEldestEntry(@NonNull final Map.Entry<String, PlaylistCache.Entry> eldest) {
+            return this.size() > PlaylistCache.MAX_SIZE;
+        }
+    };
+
+    /**
+     * Returns the playlist of the given URL, downloading it with {@code request} if it is not kept or has expired.
+     * @param url The URL of the playlist.
+     * @param maxAge The number of seconds the playlist is kept for.
+     * @param request Downloads the playlist.
+     * @return A {@link Single} of the playlist, shared by all the callers until it expires.
+     */
+    @NonNull
+    Single<String> get(@NonNull final String url, final long maxAge, @NonNull final Single<String> request) {
+        synchronized (this.entries) {
+            final PlaylistCache.Entry entry = this.entries.get(url);
+            if (entry != null && entry.expiry > System.currentTimeMillis()) return entry.playlist;
+
+            final AtomicReference<Single<String>> reference = new AtomicReference<>();
+            final Single<String>                  playlist  = request
+                .doOnError(error -> this.remove(url, reference.get()))
+                .cache();
+
+            reference.set(playlist);
+
+            this.entries.put(url, new PlaylistCache.Entry(playlist, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(maxAge)));
+
+            return playlist;
+        }
+    }
+
+    private void remove(@NonNull final String url, @NonNull final Single<String> playlist) {
+        synchronized (this.entries) {
+            final PlaylistCache.Entry entry = this.entries.get(url);
+            if (entry != null && entry.playlist == playlist) this.entries.remove(url);
+        }
+    }
+}
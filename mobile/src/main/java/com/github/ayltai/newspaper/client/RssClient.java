@@ -1,6 +1,5 @@
 package com.github.ayltai.newspaper.client;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -9,13 +8,10 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
-import com.github.ayltai.newspaper.rss.RssFeed;
-import com.github.ayltai.newspaper.rss.RssItem;
+import com.github.ayltai.newspaper.rss.RssParser;
 import com.github.ayltai.newspaper.util.DevUtils;
 import com.github.ayltai.newspaper.util.RxUtils;
 
@@ -30,20 +26,20 @@ public abstract class RssClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public final Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected final Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         final String category = this.getCategoryName(url);
 
-        return Single.create(emitter -> this.apiService.getFeed(url)
+        return Single.create(emitter -> this.apiService.getStream(url)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
-            .map(feed -> this.filter(url, feed))
+            .map(body -> {
+                try {
+                    return this.filter(url, RssParser.parse(body.byteStream(), this.source.getName(), category));
+                } finally {
+                    body.close();
+                }
+            })
             .subscribe(
                 items -> {
-                    for (final NewsItem item : items) {
-                        item.setSource(this.source.getName());
-                        if (category != null) item.setCategory(category);
-                    }
-
                     Collections.sort(items);
 
                     if (!emitter.isDisposed()) emitter.onSuccess(items);
@@ -57,19 +53,10 @@ public abstract class RssClient extends Client {
     }
 
     @NonNull
-    protected List<NewsItem> filter(@NonNull final String url, @NonNull final RssFeed feed) {
-        final String         category = this.getCategoryName(url);
-        final List<NewsItem> items    = new ArrayList<>();
-
-        if (feed.getItems() != null) {
-            for (final RssItem item : feed.getItems()) {
-                final NewsItem newsItem = new NewsItem(item, this.source.getName(), category);
-
-                final String title = newsItem.getTitle();
-                if (title != null) newsItem.setTitle(title.replaceAll("<br>", "\n"));
-
-                items.add(newsItem);
-            }
+    protected List<NewsItem> filter(@NonNull final String url, @NonNull final List<NewsItem> items) {
+        for (final NewsItem item : items) {
+            final String title = item.getTitle();
+            if (title != null) item.setTitle(title.replaceAll("<br>", "\n"));
         }
 
         return items;
@@ -10,15 +10,13 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
-import com.github.ayltai.newspaper.util.StringUtils;
 
 import io.reactivex.Single;
 import okhttp3.OkHttpClient;
@@ -27,6 +25,23 @@ final class ScmpClient extends RssClient {
     private static final String CLOSE_DIV   = "</div>";
     private static final String CLOSE_QUOTE = "\"";
 
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
+    private static final MarkupScanner CONTENTS_SCANNER = new MarkupScanner.Builder()
+        .region("<div class=\"panel-pane pane-entity-field pane-node-body", ScmpClient.CLOSE_DIV)
+        .section("<p>", "</p>")
+        .field("data-original=\"", ScmpClient.CLOSE_QUOTE)
+        .field("<img title=\"", ScmpClient.CLOSE_QUOTE)
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .region("<div class=\"swiper-container scmp-gallery-swiper\">", ScmpClient.CLOSE_DIV)
+        .section("<img ", "/>")
+        .field("data-enlarge=\"", ScmpClient.CLOSE_QUOTE)
+        .field("data-caption=\"", ScmpClient.CLOSE_QUOTE)
+        .build();
+
     @Inject
     ScmpClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
@@ -35,35 +50,28 @@ final class ScmpClient extends RssClient {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> this.apiService
             .getHtml(item.getLink())
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]      contents        = StringUtils.substringsBetween(StringUtils.substringBetween(html, "<div class=\"panel-pane pane-entity-field pane-node-body", ScmpClient.CLOSE_DIV), "<p>", "</p>");
-                    final String        imagesContainer = StringUtils.substringBetween(html, "<div class=\"swiper-container scmp-gallery-swiper\">", ScmpClient.CLOSE_DIV);
-                    final List<Image>   images          = new ArrayList<>();
-                    final StringBuilder builder         = new StringBuilder();
+                    final List<Image>   images  = new ArrayList<>();
+                    final StringBuilder builder = new StringBuilder();
 
-                    if (imagesContainer != null) {
-                        final String[] imageContainers = StringUtils.substringsBetween(imagesContainer, "<img ", "/>");
+                    for (final MarkupScanner.Section imageContainer : ScmpClient.IMAGES_SCANNER.scan(html)) {
+                        final String imageUrl         = imageContainer.get(ScmpClient.FIELD_IMAGE_URL);
+                        final String imageDescription = imageContainer.get(ScmpClient.FIELD_IMAGE_DESCRIPTION);
 
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, "data-enlarge=\"", ScmpClient.CLOSE_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, "data-caption=\"", ScmpClient.CLOSE_QUOTE);
-
-                            if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
-                        }
+                        if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                     }
 
-                    for (final String content : contents) {
-                        final String imageUrl         = StringUtils.substringBetween(content, "data-original=\"", ScmpClient.CLOSE_QUOTE);
-                        final String imageDescription = StringUtils.substringBetween(content, "<img title=\"", ScmpClient.CLOSE_QUOTE);
+                    for (final MarkupScanner.Section content : ScmpClient.CONTENTS_SCANNER.scan(html)) {
+                        final String imageUrl         = content.get(ScmpClient.FIELD_IMAGE_URL);
+                        final String imageDescription = content.get(ScmpClient.FIELD_IMAGE_DESCRIPTION);
 
                         if (imageUrl == null) {
-                            builder.append(content).append("<br><br>");
+                            builder.append(content.getText()).append("<br><br>");
                         } else {
                             images.add(new Image(imageUrl, imageDescription));
                         }
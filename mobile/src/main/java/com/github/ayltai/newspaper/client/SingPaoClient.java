@@ -15,13 +15,12 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
@@ -36,8 +35,23 @@ final class SingPaoClient extends Client {
     private static final String FONT     = "</font>";
     private static final String CLOSE    = "</p>";
 
+    private static final int FIELD_TITLE       = 0;
+    private static final int FIELD_LINK        = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_IMAGE       = 3;
+    private static final int FIELD_DATE        = 4;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .section("<tr valign='top'><td width='220'>", "</td></tr>")
+        .field("class='list_title'>", "</a>")
+        .field("<td><a href='", SingPaoClient.TAG)
+        .field("<br><br>\n", SingPaoClient.FONT)
+        .field("<img src='", SingPaoClient.TAG)
+        .field("<font class='list_date'>", "<br>")
+        .build();
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -53,29 +67,28 @@ final class SingPaoClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         return Single.create(emitter -> this.apiService
             .getHtml(url)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]       sections = StringUtils.substringsBetween(html, "<tr valign='top'><td width='220'>", "</td></tr>");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
+                    final List<MarkupScanner.Section> sections = SingPaoClient.ITEMS_SCANNER.scan(html);
+                    final List<NewsItem>              items    = new ArrayList<>(sections.size());
+                    final String                      category = this.getCategoryName(url);
 
-                    for (final String section : sections) {
+                    for (final MarkupScanner.Section section : sections) {
                         final NewsItem item = new NewsItem();
 
-                        item.setTitle(StringUtils.substringBetween(section, "class='list_title'>", "</a>"));
-                        item.setLink(SingPaoClient.BASE_URI + StringUtils.substringBetween(section, "<td><a href='", SingPaoClient.TAG));
-                        item.setDescription(StringUtils.substringBetween(section, "<br><br>\n", SingPaoClient.FONT));
+                        item.setTitle(section.get(SingPaoClient.FIELD_TITLE));
+                        item.setLink(SingPaoClient.BASE_URI + section.get(SingPaoClient.FIELD_LINK));
+                        item.setDescription(section.get(SingPaoClient.FIELD_DESCRIPTION));
                         item.setSource(this.source.getName());
                         if (category != null) item.setCategory(category);
-                        item.getImages().add(new Image(SingPaoClient.BASE_URI + StringUtils.substringBetween(section, "<img src='", SingPaoClient.TAG)));
+                        item.getImages().add(new Image(SingPaoClient.BASE_URI + section.get(SingPaoClient.FIELD_IMAGE)));
 
                         try {
-                            item.setPublishDate(SingPaoClient.DATE_FORMAT.get().parse(StringUtils.substringBetween(section, "<font class='list_date'>", "<br>")));
+                            item.setPublishDate(SingPaoClient.DATE_FORMAT.get().parse(section.get(SingPaoClient.FIELD_DATE)));
 
                             items.add(item);
                         } catch (final ParseException e) {
@@ -96,14 +109,13 @@ final class SingPaoClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
                     html -> {
                         html = StringUtils.substringBetween(html, "<td class='news_title'>", "您可能有興趣:");
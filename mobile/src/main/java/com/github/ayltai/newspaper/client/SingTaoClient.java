@@ -15,14 +15,14 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringSlice;
 import com.github.ayltai.newspaper.util.StringUtils;
 
 import io.reactivex.Single;
@@ -35,8 +35,33 @@ final class SingTaoClient extends Client {
     private static final String TAG_CLOSE = "</div>";
     private static final String TAG_QUOTE = "\"";
 
+    private static final int FIELD_TITLE       = 0;
+    private static final int FIELD_LINK        = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_IMAGE       = 3;
+    private static final int FIELD_DATE        = 4;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .region("<div class=\"main list\">", "<input type=\"hidden\" id=\"totalnews\"")
+        .section("underline\">", "</a>\n</div>")
+        .field("<div class=\"title\">", SingTaoClient.TAG_CLOSE)
+        .field("<a href=\"", "\">")
+        .field("<div class=\"des\">　　(星島日報報道)", SingTaoClient.TAG_CLOSE)
+        .field("<img src=\"", SingTaoClient.TAG_QUOTE)
+        .field("<i class=\"fa fa-clock-o\"></i>", SingTaoClient.TAG_CLOSE)
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<a class=\"fancybox-thumb\"", ">")
+        .field("href=\"", SingTaoClient.TAG_QUOTE)
+        .field("title=\"", SingTaoClient.TAG_QUOTE)
+        .build();
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -52,31 +77,30 @@ final class SingTaoClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         return Single.create(emitter -> this.apiService
             .getHtml(url)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]       sections = StringUtils.substringsBetween(StringUtils.substringBetween(html, "<div class=\"main list\">", "<input type=\"hidden\" id=\"totalnews\""), "underline\">", "</a>\n</div>");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
+                    final List<MarkupScanner.Section> sections = SingTaoClient.ITEMS_SCANNER.scan(html);
+                    final List<NewsItem>              items    = new ArrayList<>(sections.size());
+                    final String                      category = this.getCategoryName(url);
 
-                    for (final String section : sections) {
+                    for (final MarkupScanner.Section section : sections) {
                         final NewsItem item = new NewsItem();
 
-                        item.setTitle(StringUtils.substringBetween(section, "<div class=\"title\">", SingTaoClient.TAG_CLOSE));
-                        item.setLink(SingTaoClient.BASE_URI + StringUtils.substringBetween(section, "<a href=\"", "\">"));
-                        item.setDescription(StringUtils.substringBetween(section, "<div class=\"des\">　　(星島日報報道)", SingTaoClient.TAG_CLOSE));
+                        item.setTitle(section.get(SingTaoClient.FIELD_TITLE));
+                        item.setLink(SingTaoClient.BASE_URI + section.get(SingTaoClient.FIELD_LINK));
+                        item.setDescription(section.get(SingTaoClient.FIELD_DESCRIPTION));
                         item.setSource(this.source.getName());
                         if (category != null) item.setCategory(category);
 
-                        final String image = StringUtils.substringBetween(section, "<img src=\"", SingTaoClient.TAG_QUOTE);
+                        final String image = section.get(SingTaoClient.FIELD_IMAGE);
                         if (image != null) item.getImages().add(new Image(image));
 
                         try {
-                            item.setPublishDate(SingTaoClient.DATE_FORMAT.get().parse(StringUtils.substringBetween(section, "<i class=\"fa fa-clock-o\"></i>", SingTaoClient.TAG_CLOSE)));
+                            item.setPublishDate(SingTaoClient.DATE_FORMAT.get().parse(section.get(SingTaoClient.FIELD_DATE)));
 
                             items.add(item);
                         } catch (final ParseException e) {
@@ -97,24 +121,21 @@ final class SingTaoClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
-                    html -> {
-                        html = StringUtils.substringBetween(html, "<div class=\"post-content\">", "<div class=\"post-sharing\">");
-
-                        final String[]    imageContainers = StringUtils.substringsBetween(html, "<a class=\"fancybox-thumb\"", ">");
-                        final List<Image> images          = new ArrayList<>();
+                    fullHtml -> {
+                        final StringSlice html   = StringUtils.substringBetween(StringSlice.of(fullHtml), "<div class=\"post-content\">", "<div class=\"post-sharing\">");
+                        final List<Image> images = new ArrayList<>();
 
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, "href=\"", SingTaoClient.TAG_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, "title=\"", SingTaoClient.TAG_QUOTE);
+                        for (final MarkupScanner.Section imageContainer : SingTaoClient.IMAGES_SCANNER.scan(html)) {
+                            final String imageUrl         = imageContainer.get(SingTaoClient.FIELD_IMAGE_URL);
+                            final String imageDescription = imageContainer.get(SingTaoClient.FIELD_IMAGE_DESCRIPTION);
 
                             if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                         }
@@ -124,10 +145,10 @@ final class SingTaoClient extends Client {
                             item.getImages().addAll(images);
                         }
 
-                        final String[]      contents = StringUtils.substringsBetween(html, "<p>", "</p>");
-                        final StringBuilder builder  = new StringBuilder();
+                        final List<StringSlice> contents = StringUtils.substringsBetween(html, "<p>", "</p>");
+                        final StringBuilder     builder  = new StringBuilder();
 
-                        for (final String content : contents) builder.append(content).append("<br>");
+                        for (final StringSlice content : contents) content.appendTo(builder).append("<br>");
 
                         item.setDescription(builder.toString());
                         item.setIsFullDescription(true);
@@ -13,14 +13,14 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringSlice;
 import com.github.ayltai.newspaper.util.StringUtils;
 
 import io.reactivex.Single;
@@ -32,8 +32,30 @@ final class SingTaoRealtimeClient extends Client {
     private static final String TAG_CLOSE = "</div>";
     private static final String TAG_QUOTE = "\"";
 
+    private static final int FIELD_TITLE = 0;
+    private static final int FIELD_LINK  = 1;
+    private static final int FIELD_IMAGE = 2;
+    private static final int FIELD_DATE  = 3;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .section("<div class=\"news-wrap\">", "</a>\n</div>")
+        .field("<div class=\"title\">", SingTaoRealtimeClient.TAG_CLOSE)
+        .field("<a href=\"", SingTaoRealtimeClient.TAG_QUOTE)
+        .field("<img src=\"", SingTaoRealtimeClient.TAG_QUOTE)
+        .field("<i class=\"fa fa-clock-o mr5\"></i>", SingTaoRealtimeClient.TAG_CLOSE)
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<a class=\"fancybox-thumb", ">")
+        .field("href=\"", SingTaoRealtimeClient.TAG_QUOTE)
+        .field("title=\"", SingTaoRealtimeClient.TAG_QUOTE)
+        .build();
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -48,30 +70,29 @@ final class SingTaoRealtimeClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         return Single.create(emitter -> this.apiService
             .getHtml(url)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]       sections = StringUtils.substringsBetween(html, "<div class=\"news-wrap\">", "</a>\n</div>");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
+                    final List<MarkupScanner.Section> sections = SingTaoRealtimeClient.ITEMS_SCANNER.scan(html);
+                    final List<NewsItem>              items    = new ArrayList<>(sections.size());
+                    final String                      category = this.getCategoryName(url);
 
-                    for (final String section : sections) {
+                    for (final MarkupScanner.Section section : sections) {
                         final NewsItem item = new NewsItem();
 
-                        item.setTitle(StringUtils.substringBetween(section, "<div class=\"title\">", SingTaoRealtimeClient.TAG_CLOSE));
-                        item.setLink(StringUtils.substringBetween(section, "<a href=\"", SingTaoRealtimeClient.TAG_QUOTE));
+                        item.setTitle(section.get(SingTaoRealtimeClient.FIELD_TITLE));
+                        item.setLink(section.get(SingTaoRealtimeClient.FIELD_LINK));
                         item.setSource(this.source.getName());
                         if (category != null) item.setCategory(category);
 
-                        final String image = StringUtils.substringBetween(section, "<img src=\"", SingTaoRealtimeClient.TAG_QUOTE);
+                        final String image = section.get(SingTaoRealtimeClient.FIELD_IMAGE);
                         if (image != null) item.getImages().add(new Image(image));
 
                         try {
-                            item.setPublishDate(SingTaoRealtimeClient.DATE_FORMAT.get().parse(StringUtils.substringBetween(section, "<i class=\"fa fa-clock-o mr5\"></i>", SingTaoRealtimeClient.TAG_CLOSE)));
+                            item.setPublishDate(SingTaoRealtimeClient.DATE_FORMAT.get().parse(section.get(SingTaoRealtimeClient.FIELD_DATE)));
 
                             items.add(item);
                         } catch (final ParseException e) {
@@ -92,24 +113,21 @@ final class SingTaoRealtimeClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
-                    html -> {
-                        html = StringUtils.substringBetween(html, "<div class=\"post-content\">", "<div class=\"post-sharing\">");
-
-                        final String[]    imageContainers = StringUtils.substringsBetween(html, "<a class=\"fancybox-thumb", ">");
-                        final List<Image> images          = new ArrayList<>();
+                    fullHtml -> {
+                        final StringSlice html   = StringUtils.substringBetween(StringSlice.of(fullHtml), "<div class=\"post-content\">", "<div class=\"post-sharing\">");
+                        final List<Image> images = new ArrayList<>();
 
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, "href=\"", SingTaoRealtimeClient.TAG_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, "title=\"", SingTaoRealtimeClient.TAG_QUOTE);
+                        for (final MarkupScanner.Section imageContainer : SingTaoRealtimeClient.IMAGES_SCANNER.scan(html)) {
+                            final String imageUrl         = imageContainer.get(SingTaoRealtimeClient.FIELD_IMAGE_URL);
+                            final String imageDescription = imageContainer.get(SingTaoRealtimeClient.FIELD_IMAGE_DESCRIPTION);
 
                             if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                         }
@@ -119,10 +137,10 @@ final class SingTaoRealtimeClient extends Client {
                             item.getImages().addAll(images);
                         }
 
-                        final String[]      contents = StringUtils.substringsBetween(html, "<p>", "</p>");
-                        final StringBuilder builder  = new StringBuilder();
+                        final List<StringSlice> contents = StringUtils.substringsBetween(html, "<p>", "</p>");
+                        final StringBuilder     builder  = new StringBuilder();
 
-                        for (final String content : contents) builder.append(content).append("<br>");
+                        for (final StringSlice content : contents) content.appendTo(builder).append("<br>");
 
                         item.setDescription(builder.toString());
                         item.setIsFullDescription(true);
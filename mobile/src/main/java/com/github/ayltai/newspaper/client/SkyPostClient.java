@@ -10,13 +10,12 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
 import com.github.ayltai.newspaper.util.StringUtils;
 
@@ -32,8 +31,17 @@ final class SkyPostClient extends RssClient {
     private static final String TAG_OPEN_TITLE   = "<h4>";
     private static final String TAG_CLOSE_TITLE  = "</h4>";
 
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<div class=\"article-detail__img-container\">", "</div>")
+        .field("data-src=\"", "\"")
+        .field("<p class=\"article-detail__img-caption\">", "</p>")
+        .build();
+
     @Inject
     SkyPostClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
@@ -42,13 +50,12 @@ final class SkyPostClient extends RssClient {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         final String link = item.getLink().replaceAll("%", "%25");
 
         return Single.create(emitter -> this.apiService
             .getHtml(link)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
                     html = StringUtils.substringBetween(html, "<div class=\"article-title-widget\">", "<div class=\"article-detail_extra-info\">");
@@ -56,12 +63,11 @@ final class SkyPostClient extends RssClient {
                     final String      headline        = StringUtils.substringBetween(html, "<h3 class=\"article-details__main-headline\">", SkyPostClient.TAG_CLOSE_HEADER);
                     final String      subHeadline     = StringUtils.substringBetween(html, "<h3 class=\"article-details__lower-headline\">", SkyPostClient.TAG_CLOSE_HEADER);
                     final String[]    contents        = StringUtils.substringsBetween(html, "<P>", "</P>");
-                    final String[]    imageContainers = StringUtils.substringsBetween(html, "<div class=\"article-detail__img-container\">", "</div>");
                     final List<Image> images          = new ArrayList<>();
 
-                    for (final String imageContainer : imageContainers) {
-                        final String imageUrl         = StringUtils.substringBetween(imageContainer, "data-src=\"", "\"");
-                        final String imageDescription = StringUtils.substringBetween(imageContainer, "<p class=\"article-detail__img-caption\">", "</p>");
+                    for (final MarkupScanner.Section imageContainer : SkyPostClient.IMAGES_SCANNER.scan(html)) {
+                        final String imageUrl         = imageContainer.get(SkyPostClient.FIELD_IMAGE_URL);
+                        final String imageDescription = imageContainer.get(SkyPostClient.FIELD_IMAGE_DESCRIPTION);
 
                         if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                     }
@@ -16,14 +16,14 @@ import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringSlice;
 import com.github.ayltai.newspaper.util.StringUtils;
 
 import io.reactivex.Single;
@@ -39,6 +39,15 @@ final class TheStandardClient extends Client {
     private static final String OPEN_PARAGRAPH  = "<p>";
     private static final String CLOSE_PARAGRAPH = "</p>";
 
+    private static final int FIELD_LINK        = 0;
+    private static final int FIELD_TITLE       = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_IMAGE       = 3;
+    private static final int FIELD_DATE        = 4;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     private static final ThreadLocal<DateFormat> DATE_FORMAT_LONG = new ThreadLocal<DateFormat>() {
         @Override
         protected DateFormat initialValue() {
@@ -55,6 +64,21 @@ final class TheStandardClient extends Client {
 
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .section("<li class='caption'>", "</li>")
+        .field(TheStandardClient.OPEN_HREF, TheStandardClient.CLOSE_QUOTE)
+        .field("<h1>", "</h1>")
+        .field(TheStandardClient.OPEN_PARAGRAPH, TheStandardClient.CLOSE_PARAGRAPH)
+        .field("<img src=\"", TheStandardClient.CLOSE_QUOTE)
+        .field("<span>", "</span>")
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<figure>", "</figure>")
+        .field(TheStandardClient.OPEN_HREF, TheStandardClient.CLOSE_QUOTE)
+        .field("<i>", "</i>")
+        .build();
+
     @Inject
     TheStandardClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
@@ -63,7 +87,7 @@ final class TheStandardClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
         final String[] tokens    = url.split(Pattern.quote("?"));
         final String   sessionId = tokens[1].substring(tokens[1].indexOf("sid=") + 4);
 
@@ -71,31 +95,30 @@ final class TheStandardClient extends Client {
         return Single.create(emitter -> this.apiService
             .postHtml(tokens[0], Integer.parseInt(sessionId), 1)
             .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
             .subscribe(
                 html -> {
-                    final String[]       sections = StringUtils.substringsBetween(html, "<li class='caption'>", "</li>");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
+                    final List<MarkupScanner.Section> sections = TheStandardClient.ITEMS_SCANNER.scan(html);
+                    final List<NewsItem>              items    = new ArrayList<>(sections.size());
+                    final String                      category = this.getCategoryName(url);
 
-                    for (final String section : sections) {
+                    for (final MarkupScanner.Section section : sections) {
                         final NewsItem item = new NewsItem();
-                        final String   link = StringUtils.substringBetween(section, TheStandardClient.OPEN_HREF, TheStandardClient.CLOSE_QUOTE);
+                        final String   link = section.get(TheStandardClient.FIELD_LINK);
 
                         if (link != null) {
-                            final String title        = StringUtils.substringBetween(section, "<h1>", "</h1>");
+                            final String title        = section.get(TheStandardClient.FIELD_TITLE);
                             final String trimmedTitle = StringUtils.substringBetween(title, "\">", "</a>");
                             item.setTitle(trimmedTitle == null ? title : trimmedTitle);
 
-                            item.setDescription(StringUtils.substringBetween(section, TheStandardClient.OPEN_PARAGRAPH, TheStandardClient.CLOSE_PARAGRAPH));
+                            item.setDescription(section.get(TheStandardClient.FIELD_DESCRIPTION));
                             item.setLink(TheStandardClient.BASE_URL + link);
                             item.setSource(this.source.getName());
                             if (category != null) item.setCategory(category);
 
-                            final String image = StringUtils.substringBetween(section, "<img src=\"", TheStandardClient.CLOSE_QUOTE);
+                            final String image = section.get(TheStandardClient.FIELD_IMAGE);
                             if (image != null) item.getImages().add(new Image(image));
 
-                            final String date = StringUtils.substringBetween(section, "<span>", "</span>");
+                            final String date = section.get(TheStandardClient.FIELD_DATE);
                             try {
                                 item.setPublishDate(TheStandardClient.DATE_FORMAT_LONG.get().parse(date));
                             } catch (final ParseException e) {
@@ -123,28 +146,26 @@ final class TheStandardClient extends Client {
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
                     fullHtml -> {
-                        final String        html     = StringUtils.substringBetween(fullHtml, "<div class=\"content\">", "<!-- ./carousel -->");
-                        final String[]      contents = StringUtils.substringsBetween(html, TheStandardClient.OPEN_PARAGRAPH, TheStandardClient.CLOSE_PARAGRAPH);
-                        final StringBuilder builder  = new StringBuilder();
+                        final StringSlice       html     = StringUtils.substringBetween(StringSlice.of(fullHtml), "<div class=\"content\">", "<!-- ./carousel -->");
+                        final List<StringSlice> contents = StringUtils.substringsBetween(html, TheStandardClient.OPEN_PARAGRAPH, TheStandardClient.CLOSE_PARAGRAPH);
+                        final StringBuilder     builder  = new StringBuilder();
 
-                        for (final String content : contents) builder.append(content).append("<br><br>");
+                        for (final StringSlice content : contents) content.appendTo(builder).append("<br><br>");
 
-                        final String[]    imageContainers = StringUtils.substringsBetween(html, "<figure>", "</figure>");
-                        final List<Image> images          = new ArrayList<>();
+                        final List<Image> images = new ArrayList<>();
 
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, TheStandardClient.OPEN_HREF, TheStandardClient.CLOSE_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, "<i>", "</i>");
+                        for (final MarkupScanner.Section imageContainer : TheStandardClient.IMAGES_SCANNER.scan(html)) {
+                            final String imageUrl         = imageContainer.get(TheStandardClient.FIELD_IMAGE_URL);
+                            final String imageDescription = imageContainer.get(TheStandardClient.FIELD_IMAGE_DESCRIPTION);
 
                             if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                         }
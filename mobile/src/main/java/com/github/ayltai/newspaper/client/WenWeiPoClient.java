@@ -2,26 +2,28 @@ package com.github.ayltai.newspaper.client;
 
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.List;
 
 import javax.inject.Inject;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 import android.util.Log;
 
 import com.akaita.java.rxjava2debug.RxJava2Debug;
-import com.github.ayltai.newspaper.Constants;
 import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.Source;
 import com.github.ayltai.newspaper.net.ApiService;
-import com.github.ayltai.newspaper.net.NetworkUtils;
 import com.github.ayltai.newspaper.util.DevUtils;
+import com.github.ayltai.newspaper.util.MarkupScanner;
 import com.github.ayltai.newspaper.util.RxUtils;
+import com.github.ayltai.newspaper.util.StringSlice;
 import com.github.ayltai.newspaper.util.StringUtils;
 
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import okhttp3.OkHttpClient;
 
@@ -32,88 +34,80 @@ final class WenWeiPoClient extends Client {
     private static final String CLOSE_PARAGRAPH = "</p>";
     private static final String LINE_BREAKS     = "<br><br>";
 
+    private static final int FIELD_LINK        = 0;
+    private static final int FIELD_TITLE       = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_IMAGE       = 3;
+    private static final int FIELD_DATE        = 4;
+
+    private static final int FIELD_IMAGE_URL         = 0;
+    private static final int FIELD_IMAGE_DESCRIPTION = 1;
+
     //endregion
 
+    private static final MarkupScanner ITEMS_SCANNER = new MarkupScanner.Builder()
+        .section("<div class=\"content-art-box\">", "</article>")
+        .field("<a href=\"", WenWeiPoClient.CLOSE_QUOTE)
+        .field("target=\"_blank\">", "</a>")
+        .field("<p class=\"txt\">", WenWeiPoClient.CLOSE_PARAGRAPH)
+        .field("<img src=\"", WenWeiPoClient.CLOSE_QUOTE)
+        .field("<p class=\"date\">[ ", " ]</p>")
+        .build();
+
+    private static final MarkupScanner IMAGES_SCANNER = new MarkupScanner.Builder()
+        .section("<img ", ">")
+        .field("src=\"", WenWeiPoClient.CLOSE_QUOTE)
+        .field("alt=\"", WenWeiPoClient.CLOSE_QUOTE)
+        .build();
+
     @Inject
     WenWeiPoClient(@NonNull final OkHttpClient client, @NonNull final ApiService apiService, @NonNull final Source source) {
         super(client, apiService, source);
     }
 
+    /**
+     * Collects the items of {@link #streamItems(String)}, which are scanned as the list page downloads. The items scanned before a failure are kept.
+     */
     @WorkerThread
     @NonNull
     @Override
-    public Single<List<NewsItem>> getItems(@NonNull final String url) {
-        return Single.create(emitter -> this.apiService
-            .getHtml(url)
-            .compose(RxUtils.applyObservableBackgroundSchedulers())
-            .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
-            .subscribe(
-                html -> {
-                    final String[]       sections = StringUtils.substringsBetween(html, "<div class=\"content-art-box\">", "</article>");
-                    final List<NewsItem> items    = new ArrayList<>(sections.length);
-                    final String         category = this.getCategoryName(url);
-                    final Calendar       calendar = Calendar.getInstance();
-
-                    for (final String section : sections) {
-                        final NewsItem item = new NewsItem();
-                        final String   link = StringUtils.substringBetween(section, "<a href=\"", WenWeiPoClient.CLOSE_QUOTE);
-
-                        if (link != null) {
-                            item.setTitle(StringUtils.substringBetween(section, "target=\"_blank\">", "</a>"));
-                            item.setDescription(StringUtils.substringBetween(section, "<p class=\"txt\">", WenWeiPoClient.CLOSE_PARAGRAPH));
-                            item.setLink(link);
-                            item.setSource(this.source.getName());
-                            if (category != null) item.setCategory(category);
-
-                            final String image = StringUtils.substringBetween(section, "<img src=\"", WenWeiPoClient.CLOSE_QUOTE);
-                            if (image != null) item.getImages().add(new Image(image));
-
-                            final String date = StringUtils.substringBetween(section, "<p class=\"date\">[ ", " ]</p>");
-                            if (date != null) {
-                                final String[] tokens = date.split("日 ");
-                                final String[] times  = tokens[1].split(":");
-
-                                calendar.set(Calendar.DATE, Integer.parseInt(tokens[0]));
-                                calendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(times[0]));
-                                calendar.set(Calendar.MINUTE, Integer.parseInt(times[1]));
-
-                                item.setPublishDate(calendar.getTime());
-
-                                items.add(item);
-                            }
-                        }
-                    }
-
-                    if (!emitter.isDisposed()) emitter.onSuccess(this.filter(items));
-                },
-                error -> {
-                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + url, RxJava2Debug.getEnhancedStackTrace(error));
+    protected Single<List<NewsItem>> fetchItems(@NonNull final String url) {
+        return this.streamItems(url).toList();
+    }
 
-                    if (!emitter.isDisposed()) emitter.onSuccess(Collections.emptyList());
-                }
-            ));
+    @WorkerThread
+    @NonNull
+    @Override
+    public Flowable<NewsItem> streamItems(@NonNull final String url) {
+        final String   category = this.getCategoryName(url);
+        final Calendar calendar = Calendar.getInstance();
+
+        return this.streamSections(url, WenWeiPoClient.ITEMS_SCANNER)
+            .flatMapMaybe(section -> Maybe.fromCallable(() -> this.toItem(section, category, calendar)))
+            .filter(Client::accept)
+            .onErrorResumeNext(error -> {
+                return this.endStream(url, error);
+            });
     }
 
     @WorkerThread
     @NonNull
     @Override
-    public Single<NewsItem> updateItem(@NonNull final NewsItem item) {
+    protected Single<NewsItem> fetchItem(@NonNull final NewsItem item) {
         return Single.create(emitter -> {
             if (DevUtils.isLoggable()) Log.d(this.getClass().getSimpleName(), item.getLink());
 
             this.apiService
                 .getHtml(item.getLink())
                 .compose(RxUtils.applyObservableBackgroundSchedulers())
-                .retryWhen(RxUtils.exponentialBackoff(Constants.INITIAL_RETRY_DELAY, Constants.MAX_RETRIES, NetworkUtils::shouldRetry))
                 .subscribe(
                     fullHtml -> {
-                        final String      html            = StringUtils.substringBetween(fullHtml, "<!-- Content start -->", "!-- Content end -->");
-                        final String[]    imageContainers = StringUtils.substringsBetween(html, "<img ", ">");
-                        final List<Image> images          = new ArrayList<>();
+                        final StringSlice html   = StringUtils.substringBetween(StringSlice.of(fullHtml), "<!-- Content start -->", "!-- Content end -->");
+                        final List<Image> images = new ArrayList<>();
 
-                        for (final String imageContainer : imageContainers) {
-                            final String imageUrl         = StringUtils.substringBetween(imageContainer, "src=\"", WenWeiPoClient.CLOSE_QUOTE);
-                            final String imageDescription = StringUtils.substringBetween(imageContainer, "alt=\"", WenWeiPoClient.CLOSE_QUOTE);
+                        for (final MarkupScanner.Section imageContainer : WenWeiPoClient.IMAGES_SCANNER.scan(html)) {
+                            final String imageUrl         = imageContainer.get(WenWeiPoClient.FIELD_IMAGE_URL);
+                            final String imageDescription = imageContainer.get(WenWeiPoClient.FIELD_IMAGE_DESCRIPTION);
 
                             if (imageUrl != null) images.add(new Image(imageUrl, imageDescription));
                         }
@@ -123,12 +117,12 @@ final class WenWeiPoClient extends Client {
                             item.getImages().addAll(images);
                         }
 
-                        final String[]      primaryContents   = StringUtils.substringsBetween(html, "<p >", WenWeiPoClient.CLOSE_PARAGRAPH);
-                        final String[]      secondaryContents = StringUtils.substringsBetween(html, "<p>", WenWeiPoClient.CLOSE_PARAGRAPH);
-                        final StringBuilder builder           = new StringBuilder();
+                        final List<StringSlice> primaryContents   = StringUtils.substringsBetween(html, "<p >", WenWeiPoClient.CLOSE_PARAGRAPH);
+                        final List<StringSlice> secondaryContents = StringUtils.substringsBetween(html, "<p>", WenWeiPoClient.CLOSE_PARAGRAPH);
+                        final StringBuilder     builder           = new StringBuilder();
 
-                        for (final String content : primaryContents)   builder.append(content).append(WenWeiPoClient.LINE_BREAKS);
-                        for (final String content : secondaryContents) builder.append(content).append(WenWeiPoClient.LINE_BREAKS);
+                        for (final StringSlice content : primaryContents)   content.appendTo(builder).append(WenWeiPoClient.LINE_BREAKS);
+                        for (final StringSlice content : secondaryContents) content.appendTo(builder).append(WenWeiPoClient.LINE_BREAKS);
 
                         item.setDescription(builder.toString());
                         item.setIsFullDescription(true);
@@ -143,4 +137,32 @@ final class WenWeiPoClient extends Client {
                 );
         });
     }
+
+    @Nullable
+    private NewsItem toItem(@NonNull final MarkupScanner.Section section, @Nullable final String category, @NonNull final Calendar calendar) {
+        final String link = section.get(WenWeiPoClient.FIELD_LINK);
+        final String date = section.get(WenWeiPoClient.FIELD_DATE);
+        if (link == null || date == null) return null;
+
+        final NewsItem item = new NewsItem();
+        item.setTitle(section.get(WenWeiPoClient.FIELD_TITLE));
+        item.setDescription(section.get(WenWeiPoClient.FIELD_DESCRIPTION));
+        item.setLink(link);
+        item.setSource(this.source.getName());
+        if (category != null) item.setCategory(category);
+
+        final String image = section.get(WenWeiPoClient.FIELD_IMAGE);
+        if (image != null) item.getImages().add(new Image(image));
+
+        final String[] tokens = date.split("日 ");
+        final String[] times  = tokens[1].split(":");
+
+        calendar.set(Calendar.DATE, Integer.parseInt(tokens[0]));
+        calendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(times[0]));
+        calendar.set(Calendar.MINUTE, Integer.parseInt(times[1]));
+
+        item.setPublishDate(calendar.getTime());
+
+        return item;
+    }
 }
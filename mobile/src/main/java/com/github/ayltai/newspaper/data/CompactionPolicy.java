@@ -0,0 +1,77 @@
+package com.github.ayltai.newspaper.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.support.annotation.NonNull;
+
+import io.realm.CompactOnLaunchCallback;
+
+/**
+ * <p>Decides when the Realm file is compacted.</p>
+ * <p>Realm can only compact a file that is not open anywhere in the process, which happens before the first instance is opened. Instead of checking the file at every launch, a compaction is requested by the maintenance job when the file has grown past {@link #MIN_FILE_SIZE}, and is only done at the next launch if less than {@link #MAX_USED_RATIO} of the file is in use.</p>
+ */
+public final class CompactionPolicy implements CompactOnLaunchCallback {
+    //region Constants
+
+    private static final String PREFERENCES         = "compaction";
+    private static final String KEY_IS_DUE          = "isDue";
+    private static final String KEY_RECLAIMED_BYTES = "reclaimedBytes";
+
+    private static final long   MIN_FILE_SIZE  = 8 * 1024 * 1024;
+    private static final double MAX_USED_RATIO = 0.5;
+
+    //endregion
+
+    private final SharedPreferences preferences;
+
+    public CompactionPolicy(@NonNull final Context context) {
+        this.preferences = context.getApplicationContext().getSharedPreferences(CompactionPolicy.PREFERENCES, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public boolean shouldCompact(final long totalBytes, final long usedBytes) {
+        if (!this.preferences.getBoolean(CompactionPolicy.KEY_IS_DUE, false)) return false;
+
+        final boolean shouldCompact = CompactionPolicy.isWorthCompacting(totalBytes, usedBytes);
+
+        this.preferences.edit()
+            .putBoolean(CompactionPolicy.KEY_IS_DUE, false)
+            .putLong(CompactionPolicy.KEY_RECLAIMED_BYTES, this.preferences.getLong(CompactionPolicy.KEY_RECLAIMED_BYTES, 0) + (shouldCompact ? totalBytes - usedBytes : 0))
+            .apply();
+
+        return shouldCompact;
+    }
+
+    /**
+     * Requests a compaction at the next launch if the file is large enough to be worth it.
+     * @param fileSize The size of the Realm file, in bytes.
+     * @return {@code true} if a compaction is requested.
+     */
+    public boolean requestCompaction(final long fileSize) {
+        if (fileSize < CompactionPolicy.MIN_FILE_SIZE) return false;
+
+        this.preferences.edit()
+            .putBoolean(CompactionPolicy.KEY_IS_DUE, true)
+            .apply();
+
+        return true;
+    }
+
+    /**
+     * Returns the bytes reclaimed by the compactions done since the last call.
+     * @return The bytes reclaimed.
+     */
+    public long takeReclaimedBytes() {
+        final long reclaimedBytes = this.preferences.getLong(CompactionPolicy.KEY_RECLAIMED_BYTES, 0);
+
+        if (reclaimedBytes > 0) this.preferences.edit()
+            .remove(CompactionPolicy.KEY_RECLAIMED_BYTES)
+            .apply();
+
+        return reclaimedBytes;
+    }
+
+    static boolean isWorthCompacting(final long totalBytes, final long usedBytes) {
+        return totalBytes >= CompactionPolicy.MIN_FILE_SIZE && usedBytes <= totalBytes * CompactionPolicy.MAX_USED_RATIO;
+    }
+}
@@ -1,15 +1,24 @@
 package com.github.ayltai.newspaper.data;
 
-import java.util.concurrent.Executors;
-
 import android.support.annotation.NonNull;
 
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
 import io.realm.Realm;
 
+/**
+ * <p>Base class of the classes that read and write a {@link Realm}.</p>
+ * <p>Writes run on {@link #SCHEDULER}, a single writer thread, so that they never wait for each other's write lock. Reads run on {@link #READ_SCHEDULER}, a small pool of reader threads, so that they do not queue behind a write. Each thread of both schedulers keeps its own {@link Realm} instance, which {@link #getRealm()} returns when called on it, and which is refreshed before each task so that a read sees the writes committed before it started.</p>
+ */
 public abstract class DataManager {
-    public static final Scheduler SCHEDULER = Schedulers.from(Executors.newSingleThreadExecutor());
+    //region Constants
+
+    private static final int READER_COUNT = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    //endregion
+
+    public static final Scheduler SCHEDULER      = Schedulers.from(new RealmExecutor(1, "realm-writer"));
+    public static final Scheduler READ_SCHEDULER = Schedulers.from(new RealmExecutor(DataManager.READER_COUNT, "realm-reader"));
 
     private final Realm realm;
 
@@ -17,8 +26,13 @@ public abstract class DataManager {
         this.realm = realm;
     }
 
+    /**
+     * Returns the {@link Realm} instance of the current thread if it is a thread of {@link #SCHEDULER} or {@link #READ_SCHEDULER}, or the instance this manager is created with otherwise.
+     */
     @NonNull
     public Realm getRealm() {
-        return this.realm;
+        final Thread thread = Thread.currentThread();
+
+        return thread instanceof RealmThread ? ((RealmThread)thread).getRealm(this.realm.getConfiguration()) : this.realm;
     }
 }
@@ -3,6 +3,7 @@ package com.github.ayltai.newspaper.data;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
+import com.github.ayltai.newspaper.app.data.SchemaMigration;
 import com.github.ayltai.newspaper.util.DevUtils;
 
 import dagger.Module;
@@ -12,8 +13,6 @@ import io.realm.RealmConfiguration;
 
 @Module
 public final class DataModule {
-    private static final int SCHEMA_VERSION = 1;
-
     private static boolean isInitialized;
 
     private final Context context;
@@ -36,9 +35,9 @@ public final class DataModule {
                 Realm.init(this.context);
 
                 Realm.setDefaultConfiguration(new RealmConfiguration.Builder()
-                    .schemaVersion(DataModule.SCHEMA_VERSION)
-                    .deleteRealmIfMigrationNeeded()
-                    .compactOnLaunch()
+                    .schemaVersion(SchemaMigration.SCHEMA_VERSION)
+                    .migration(new SchemaMigration())
+                    .compactOnLaunch(new CompactionPolicy(this.context))
                     .build());
             }
 
@@ -0,0 +1,32 @@
+package com.github.ayltai.newspaper.data;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Runs the tasks on a fixed number of {@link RealmThread}s, and refreshes the {@link io.realm.Realm} instances of a thread before each task it runs.
+ */
+final class RealmExecutor extends ThreadPoolExecutor {
+    RealmExecutor(final int threadCount, @NonNull final String name) {
+        super(threadCount, threadCount, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @NonNull
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                return new RealmThread(runnable, threadCount == 1 ? name : name + "-" + this.count.incrementAndGet());
+            }
+        });
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+
+        ((RealmThread)thread).refresh();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import android.content.Context;
 import android.os.Bundle;
@@ -34,11 +35,22 @@ public abstract class RealmLoader<D extends Comparable<D>> extends RxLoader<D> {
         super(context, args);
     }
 
+    /**
+     * Returns the scheduler to open and close the {@link Realm} instance of this loader, and to write to it.
+     */
     @NonNull
     protected Scheduler getScheduler() {
         return DevUtils.isRunningUnitTest() ? Schedulers.trampoline() : DataManager.SCHEDULER;
     }
 
+    /**
+     * Returns the scheduler to read from the {@link Realm}, so that reads do not queue behind the writes of other loaders.
+     */
+    @NonNull
+    protected Scheduler getReadScheduler() {
+        return DevUtils.isRunningUnitTest() ? Schedulers.trampoline() : DataManager.READ_SCHEDULER;
+    }
+
     @Nullable
     protected Realm getRealm() {
         return this.realm;
@@ -54,30 +66,42 @@ public abstract class RealmLoader<D extends Comparable<D>> extends RxLoader<D> {
         return true;
     }
 
+    /**
+     * Emits the local items as soon as they are loaded, then the local items merged with the remote items each time {@link #loadFromRemoteSource(Context, Bundle)} emits new ones. Nothing is emitted for a list that adds no new items, except that the results are emitted once when both sources complete if nothing has been emitted before.
+     */
     @NonNull
     @Override
     protected Flowable<List<D>> load(@NonNull final Context context, @Nullable final Bundle args) {
-        return Flowable.create(emitter -> this.loadFromLocalSource(context, args)
-            .zipWith(this.loadFromRemoteSource(context, args), (localItems, remoteItems) -> {
-                final Set<D> results = new ArraySet<>();
-                results.addAll(localItems);
-                results.addAll(remoteItems);
-
-                return new ArrayList<>(results);
-            })
-            .subscribe(
-                results -> {
-                    Collections.sort(results);
-
-                    emitter.onNext(results);
-                },
-                emitter::onError
-            ), BackpressureStrategy.LATEST);
+        return Flowable.create(emitter -> {
+            final Set<D>        results    = new ArraySet<>();
+            final AtomicBoolean hasEmitted = new AtomicBoolean(false);
+
+            emitter.setDisposable(Flowable.merge(this.loadFromLocalSource(context, args).take(1), this.loadFromRemoteSource(context, args))
+                .subscribe(
+                    items -> {
+                        if (results.addAll(items)) {
+                            hasEmitted.set(true);
+
+                            emitter.onNext(RealmLoader.sort(results));
+                        }
+                    },
+                    emitter::onError,
+                    () -> {
+                        if (!hasEmitted.get()) emitter.onNext(RealmLoader.sort(results));
+                    }
+                ));
+        }, BackpressureStrategy.LATEST);
     }
 
+    /**
+     * Loads the items from the local source. Only the first list emitted is used.
+     */
     @NonNull
     protected abstract Flowable<List<D>> loadFromLocalSource(@NonNull Context context, @Nullable Bundle args);
 
+    /**
+     * Loads the items from the remote source. Each list emitted is merged into the results as soon as it is emitted, so new items can be emitted in batches as they arrive.
+     */
     @NonNull
     protected abstract Flowable<List<D>> loadFromRemoteSource(@NonNull Context context, @Nullable Bundle args);
 
@@ -131,4 +155,12 @@ public abstract class RealmLoader<D extends Comparable<D>> extends RxLoader<D> {
     protected static boolean isForceRefresh(@Nullable final Bundle args) {
         return args != null && args.getBoolean(RealmLoader.KEY_REFRESH, false);
     }
+
+    @NonNull
+    private static <D extends Comparable<D>> List<D> sort(@NonNull final Set<D> items) {
+        final List<D> results = new ArrayList<>(items);
+        Collections.sort(results);
+
+        return results;
+    }
 }
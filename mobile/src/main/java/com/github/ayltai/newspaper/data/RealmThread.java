@@ -0,0 +1,46 @@
+package com.github.ayltai.newspaper.data;
+
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+import android.support.v4.util.ArrayMap;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+
+/**
+ * A thread of {@link RealmExecutor} that keeps its own {@link Realm} instance for each configuration used on it, so that the instances are never shared across threads.
+ * <p>The instances are opened on first use and kept open for the lifetime of the thread. As the thread has no looper, the instances are only brought up to date by {@link #refresh()}.</p>
+ */
+final class RealmThread extends Thread {
+    private final Map<RealmConfiguration, Realm> realms = new ArrayMap<>();
+
+    RealmThread(@NonNull final Runnable runnable, @NonNull final String name) {
+        super(runnable, name);
+    }
+
+    /**
+     * Returns the {@link Realm} instance of this thread for the given configuration. Must be called on this thread.
+     */
+    @NonNull
+    Realm getRealm(@NonNull final RealmConfiguration configuration) {
+        Realm realm = this.realms.get(configuration);
+
+        if (realm == null || realm.isClosed()) {
+            realm = Realm.getInstance(configuration);
+
+            this.realms.put(configuration, realm);
+        }
+
+        return realm;
+    }
+
+    /**
+     * Advances the {@link Realm} instances of this thread to the latest version, so that a task sees the changes committed on other threads before it started. Must be called on this thread.
+     */
+    void refresh() {
+        for (final Realm realm : this.realms.values()) {
+            if (!realm.isClosed() && !realm.isInTransaction()) realm.refresh();
+        }
+    }
+}
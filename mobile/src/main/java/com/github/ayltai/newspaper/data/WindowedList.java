@@ -0,0 +1,150 @@
+package com.github.ayltai.newspaper.data;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import android.support.annotation.NonNull;
+
+import com.github.ayltai.newspaper.util.Irrelevant;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.PublishProcessor;
+import io.realm.Realm;
+import io.realm.RealmChangeListener;
+import io.realm.RealmModel;
+import io.realm.RealmResults;
+
+/**
+ * <p>A read-only list backed by live {@link RealmResults}, which only keeps detached copies of the rows in a window around the last row read.</p>
+ * <p>Reading a row outside the window moves the window to be centred on it, copying the rows that are not already in it. The memory used is bounded by the size of the window, however many rows the results have.</p>
+ * <p>The window is dropped each time the results, or the results that the list {@link #dependOn(RealmResults) depends on}, change, and {@link #changes()} emits so that the rows can be read again. The list must be used on the thread of the {@link Realm} that the results come from, which must have a looper for the results to be updated.</p>
+ */
+public final class WindowedList<E extends RealmModel> extends AbstractList<E> implements RandomAccess, Disposable {
+    /**
+     * Makes the detached copy of a row that the list keeps in its window.
+     */
+    public interface Copier<E> {
+        @NonNull
+        E copy(@NonNull E row);
+    }
+
+    private final FlowableProcessor<Irrelevant> changes      = PublishProcessor.create();
+    private final List<Runnable>                dependencies = new ArrayList<>();
+
+    private final Copier<E>                            copier;
+    private final RealmResults<E>                      results;
+    private final RealmChangeListener<RealmResults<E>> listener;
+    private final int                                  windowSize;
+
+    private List<E> window = new ArrayList<>();
+    private int     start;
+    private boolean isDisposed;
+
+    /**
+     * Creates a list of the given results, which keeps full copies of the rows.
+     * @param realm The {@link Realm} that the results come from.
+     * @param results The results, which may still be loading if they come from an asynchronous query.
+     * @param windowSize The number of rows to keep copies of.
+     */
+    public WindowedList(@NonNull final Realm realm, @NonNull final RealmResults<E> results, final int windowSize) {
+        this(results, windowSize, realm::copyFromRealm);
+    }
+
+    /**
+     * Creates a list of the given results, which keeps the copies of the rows made by {@code copier}.
+     * @param results The results, which may still be loading if they come from an asynchronous query.
+     * @param windowSize The number of rows to keep copies of.
+     * @param copier Makes the copy of a row, which may only read the fields that the list is used for.
+     */
+    public WindowedList(@NonNull final RealmResults<E> results, final int windowSize, @NonNull final Copier<E> copier) {
+        this.copier     = copier;
+        this.results    = results;
+        this.windowSize = windowSize;
+        this.listener   = items -> this.invalidate();
+
+        this.results.addChangeListener(this.listener);
+    }
+
+    /**
+     * Also drops the window each time the given results change, for the rows whose copies have data from them.
+     * @return This list.
+     */
+    @NonNull
+    public <T extends RealmModel> WindowedList<E> dependOn(@NonNull final RealmResults<T> results) {
+        final RealmChangeListener<RealmResults<T>> listener = items -> this.invalidate();
+
+        results.addChangeListener(listener);
+
+        this.dependencies.add(() -> {
+            if (results.isValid()) results.removeChangeListener(listener);
+        });
+
+        return this;
+    }
+
+    /**
+     * Emits each time the results change.
+     */
+    @NonNull
+    public Flowable<Irrelevant> changes() {
+        return this.changes;
+    }
+
+    @Override
+    public int size() {
+        return this.isDisposed || !this.results.isValid() || !this.results.isLoaded() ? 0 : this.results.size();
+    }
+
+    @NonNull
+    @Override
+    public E get(final int index) {
+        final int size = this.size();
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+
+        if (index < this.start || index >= this.start + this.window.size()) this.moveWindow(index, size);
+
+        return this.window.get(index - this.start);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.isDisposed;
+    }
+
+    @Override
+    public void dispose() {
+        if (!this.isDisposed) {
+            this.isDisposed = true;
+
+            if (this.results.isValid()) this.results.removeChangeListener(this.listener);
+
+            for (final Runnable dependency : this.dependencies) dependency.run();
+            this.dependencies.clear();
+
+            this.window.clear();
+            this.changes.onComplete();
+        }
+    }
+
+    private void invalidate() {
+        this.window.clear();
+        this.start = 0;
+
+        this.changes.onNext(Irrelevant.INSTANCE);
+    }
+
+    private void moveWindow(final int index, final int size) {
+        final int     start  = Math.max(0, Math.min(index - this.windowSize / 2, size - this.windowSize));
+        final int     end    = Math.min(size, start + this.windowSize);
+        final List<E> window = new ArrayList<>(end - start);
+
+        for (int i = start; i < end; i++) window.add(i >= this.start && i < this.start + this.window.size() ? this.window.get(i - this.start) : this.copier.copy(this.results.get(i)));
+
+        this.window = window;
+        this.start  = start;
+    }
+}
@@ -2,23 +2,24 @@ package com.github.ayltai.newspaper.net;
 
 import android.support.annotation.NonNull;
 
-import com.github.ayltai.newspaper.rss.RssFeed;
-
 import io.reactivex.Observable;
+import okhttp3.ResponseBody;
 import retrofit2.http.Field;
 import retrofit2.http.FormUrlEncoded;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
+import retrofit2.http.Streaming;
 import retrofit2.http.Url;
 
 public interface ApiService {
     @NonNull
     @GET
-    Observable<RssFeed> getFeed(@Url String url);
+    Observable<String> getHtml(@Url String url);
 
     @NonNull
+    @Streaming
     @GET
-    Observable<String> getHtml(@Url String url);
+    Observable<ResponseBody> getStream(@Url String url);
 
     @NonNull
     @FormUrlEncoded
@@ -0,0 +1,101 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import android.support.annotation.NonNull;
+
+/**
+ * <p>Declares how long the responses of a {@link com.github.ayltai.newspaper.app.data.model.Source} are kept fresh in the HTTP cache.</p>
+ * <p>List pages are the URLs of the categories of the source. Playlists are the URLs containing one of the patterns added with {@link Builder#playlist(String)}. Any other page from the hosts of the source is an article page.</p>
+ */
+public final class CachePolicy {
+    //region Constants
+
+    private static final long LIST_MAX_AGE     = TimeUnit.MINUTES.toSeconds(1);
+    private static final long ARTICLE_MAX_AGE  = TimeUnit.HOURS.toSeconds(6);
+    private static final long PLAYLIST_MAX_AGE = TimeUnit.DAYS.toSeconds(1);
+
+    //endregion
+
+    public static final CachePolicy DEFAULT = new CachePolicy.Builder().build();
+
+    public static final class Builder {
+        private final List<String> playlists = new ArrayList<>();
+
+        private long listMaxAge     = CachePolicy.LIST_MAX_AGE;
+        private long articleMaxAge  = CachePolicy.ARTICLE_MAX_AGE;
+        private long playlistMaxAge = CachePolicy.PLAYLIST_MAX_AGE;
+
+        @NonNull
+        public CachePolicy.Builder listMaxAge(final long maxAge, @NonNull final TimeUnit unit) {
+            this.listMaxAge = unit.toSeconds(maxAge);
+
+            return this;
+        }
+
+        @NonNull
+        public CachePolicy.Builder articleMaxAge(final long maxAge, @NonNull final TimeUnit unit) {
+            this.articleMaxAge = unit.toSeconds(maxAge);
+
+            return this;
+        }
+
+        @NonNull
+        public CachePolicy.Builder playlistMaxAge(final long maxAge, @NonNull final TimeUnit unit) {
+            this.playlistMaxAge = unit.toSeconds(maxAge);
+
+            return this;
+        }
+
+        /**
+         * Treats the URLs containing {@code pattern} as playlists.
+         * @param pattern The text to look for in the URLs.
+         * @return This builder.
+         */
+        @NonNull
+        public CachePolicy.Builder playlist(@NonNull final String pattern) {
+            this.playlists.add(pattern);
+
+            return this;
+        }
+
+        @NonNull
+        public CachePolicy build() {
+            return new CachePolicy(this.listMaxAge, this.articleMaxAge, this.playlistMaxAge, this.playlists);
+        }
+    }
+
+    private final long         listMaxAge;
+    private final long         articleMaxAge;
+    private final long         playlistMaxAge;
+    private final List<String> playlists;
+
+    private CachePolicy(final long listMaxAge, final long articleMaxAge, final long playlistMaxAge, @NonNull final List<String> playlists) {
+        this.listMaxAge     = listMaxAge;
+        this.articleMaxAge  = articleMaxAge;
+        this.playlistMaxAge = playlistMaxAge;
+        this.playlists      = new ArrayList<>(playlists);
+    }
+
+    /**
+     * @return The number of seconds a list page is fresh for.
+     */
+    public long getListMaxAge() {
+        return this.listMaxAge;
+    }
+
+    /**
+     * Returns the number of seconds the given page, which is not a list page, is fresh for.
+     * @param url The URL of the page.
+     * @return The number of seconds the page is fresh for.
+     */
+    public long getMaxAge(@NonNull final String url) {
+        for (final String playlist : this.playlists) {
+            if (url.contains(playlist)) return this.playlistMaxAge;
+        }
+
+        return this.articleMaxAge;
+    }
+}
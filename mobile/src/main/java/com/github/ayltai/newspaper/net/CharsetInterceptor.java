@@ -0,0 +1,94 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.ArrayMap;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * <p>Transcodes the text response bodies of the hosts that serve a legacy charset to UTF-8. Other bodies, such as images and videos, are left as they are.</p>
+ * <p>The body is transcoded by a {@link TranscodingSource} as it is consumed, instead of being read into memory and re-encoded up front. The {@code Content-Type} of the response is updated to declare UTF-8, and {@code Content-Length} is dropped because the length of the transcoded body is unknown.</p>
+ */
+final class CharsetInterceptor implements Interceptor {
+    //region Constants
+
+    private static final String HEADER_CONTENT_TYPE   = "Content-Type";
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+
+    private static final String DEFAULT_MEDIA_TYPE = "text/html";
+    private static final String CHARSET_UTF8       = "; charset=utf-8";
+    private static final String TYPE_TEXT          = "text";
+    private static final String SUBTYPE_XML        = "xml";
+
+    //endregion
+
+    private final Map<String, Charset> charsets = new ArrayMap<>();
+
+    /**
+     * Transcodes the responses from {@code host} and its subdomains from {@code charset} to UTF-8.
+     * @param host The host name.
+     * @param charset The name of the charset used by {@code host}.
+     * @return This interceptor.
+     */
+    @NonNull
+    CharsetInterceptor addHost(@NonNull final String host, @NonNull final String charset) {
+        this.charsets.put(host, Charset.forName(charset));
+
+        return this;
+    }
+
+    @Override
+    public Response intercept(@NonNull final Interceptor.Chain chain) throws IOException {
+        final Response     response = chain.proceed(chain.request());
+        final ResponseBody body     = response.body();
+        final Charset      charset  = this.getCharset(chain.request().url());
+
+        if (body == null || charset == null) return response;
+
+        final MediaType contentType = body.contentType();
+        if (!CharsetInterceptor.isText(contentType)) return response;
+
+        final MediaType mediaType = MediaType.parse((contentType == null ? CharsetInterceptor.DEFAULT_MEDIA_TYPE : contentType.type() + "/" + contentType.subtype()) + CharsetInterceptor.CHARSET_UTF8);
+
+        return response.newBuilder()
+            .header(CharsetInterceptor.HEADER_CONTENT_TYPE, String.valueOf(mediaType))
+            .removeHeader(CharsetInterceptor.HEADER_CONTENT_LENGTH)
+            .body(ResponseBody.create(mediaType, -1, Okio.buffer(new TranscodingSource(body.source(), charset))))
+            .build();
+    }
+
+    /**
+     * Returns {@code true} if the given type is text, HTML or XML. A response without a type is taken as a page.
+     */
+    static boolean isText(@Nullable final MediaType contentType) {
+        return contentType == null || CharsetInterceptor.TYPE_TEXT.equals(contentType.type()) || contentType.subtype().endsWith(CharsetInterceptor.SUBTYPE_XML);
+    }
+
+    /**
+     * Returns the charset of the host of the given URL, or of the nearest of its parent domains that has one, or {@code null} if none does.
+     */
+    @Nullable
+    Charset getCharset(@NonNull final HttpUrl url) {
+        String host = url.host();
+
+        while (true) {
+            final Charset charset = this.charsets.get(host);
+            if (charset != null) return charset;
+
+            final int index = host.indexOf('.');
+            if (index < 0) return null;
+
+            host = host.substring(index + 1);
+        }
+    }
+}
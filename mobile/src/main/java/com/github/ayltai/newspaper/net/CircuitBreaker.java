@@ -0,0 +1,112 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.concurrent.TimeUnit;
+
+import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
+
+import io.reactivex.Scheduler;
+
+/**
+ * <p>Stops the requests to a server that keeps failing, so that a refresh does not wait for a server known to be down.</p>
+ * <p>The breaker is closed while the requests succeed. It opens after {@code failureThreshold} consecutive failures, and rejects the requests for {@code cooldown} milliseconds, or for as long as the server asks with {@code Retry-After}. It is then half-open: a single trial request is let through, which closes the breaker if it succeeds and opens it again if it fails.</p>
+ */
+public final class CircuitBreaker {
+    @IntDef({ CircuitBreaker.STATE_CLOSED, CircuitBreaker.STATE_OPEN, CircuitBreaker.STATE_HALF_OPEN })
+    public @interface State {
+    }
+
+    //region Constants
+
+    public static final int STATE_CLOSED    = 0;
+    public static final int STATE_OPEN      = 1;
+    public static final int STATE_HALF_OPEN = 2;
+
+    //endregion
+
+    //region Variables
+
+    private final int       failureThreshold;
+    private final long      cooldown;
+    private final Scheduler scheduler;
+
+    @State
+    private int     state = CircuitBreaker.STATE_CLOSED;
+    private int     failureCount;
+    private long    openUntil;
+    private boolean isTrialInFlight;
+
+    //endregion
+
+    CircuitBreaker(final int failureThreshold, final long cooldown, @NonNull final Scheduler scheduler) {
+        this.failureThreshold = failureThreshold;
+        this.cooldown         = cooldown;
+        this.scheduler        = scheduler;
+    }
+
+    /**
+     * @return The current state of the breaker. An open breaker becomes half-open once its cooldown is over.
+     */
+    @State
+    public synchronized int getState() {
+        if (this.state == CircuitBreaker.STATE_OPEN && this.scheduler.now(TimeUnit.MILLISECONDS) >= this.openUntil) this.state = CircuitBreaker.STATE_HALF_OPEN;
+
+        return this.state;
+    }
+
+    /**
+     * @return {@code true} if a request may be made. Only one request at a time is let through while the breaker is half-open.
+     */
+    public synchronized boolean allowRequest() {
+        switch (this.getState()) {
+            case CircuitBreaker.STATE_CLOSED:
+                return true;
+
+            case CircuitBreaker.STATE_HALF_OPEN:
+                if (this.isTrialInFlight) return false;
+
+                this.isTrialInFlight = true;
+
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Records a response from the server, which closes the breaker.
+     */
+    public synchronized void onSuccess() {
+        this.state           = CircuitBreaker.STATE_CLOSED;
+        this.failureCount    = 0;
+        this.isTrialInFlight = false;
+    }
+
+    /**
+     * Records a failed request, which opens the breaker if it is half-open or if too many requests have failed in a row.
+     */
+    public synchronized void onFailure() {
+        this.failureCount++;
+        this.isTrialInFlight = false;
+
+        if (this.state == CircuitBreaker.STATE_HALF_OPEN || this.failureCount >= this.failureThreshold) this.open(this.cooldown);
+    }
+
+    /**
+     * Records a request disposed before it finished, which lets another trial request through if the breaker is half-open.
+     */
+    public synchronized void onCancel() {
+        this.isTrialInFlight = false;
+    }
+
+    /**
+     * Opens the breaker for at least the given time, such as the time asked by the server with {@code Retry-After}.
+     * @param duration The time to reject the requests for, in milliseconds.
+     */
+    public synchronized void open(final long duration) {
+        this.state           = CircuitBreaker.STATE_OPEN;
+        this.openUntil       = Math.max(this.openUntil, this.scheduler.now(TimeUnit.MILLISECONDS) + duration);
+        this.isTrialInFlight = false;
+    }
+}
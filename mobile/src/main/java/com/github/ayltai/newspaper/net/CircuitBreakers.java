@@ -0,0 +1,66 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import android.support.annotation.NonNull;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.HttpUrl;
+
+/**
+ * <p>Keeps a {@link CircuitBreaker} for each server the sources are downloaded from.</p>
+ * <p>The breakers are kept by host, because a failure is a property of the server, and the sources that share a server, such as the daily and the realtime news of the same newspaper, fail together. The state of a source is the state of the breakers of the URLs of its categories.</p>
+ */
+public final class CircuitBreakers {
+    //region Constants
+
+    private static final int  FAILURE_THRESHOLD = 3;
+    private static final long COOLDOWN          = TimeUnit.MINUTES.toMillis(1);
+
+    //endregion
+
+    private static final CircuitBreakers INSTANCE = new CircuitBreakers(CircuitBreakers.FAILURE_THRESHOLD, CircuitBreakers.COOLDOWN, Schedulers.computation());
+
+    //region Variables
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final int       failureThreshold;
+    private final long      cooldown;
+    private final Scheduler scheduler;
+
+    //endregion
+
+    @NonNull
+    public static CircuitBreakers getInstance() {
+        return CircuitBreakers.INSTANCE;
+    }
+
+    CircuitBreakers(final int failureThreshold, final long cooldown, @NonNull final Scheduler scheduler) {
+        this.failureThreshold = failureThreshold;
+        this.cooldown         = cooldown;
+        this.scheduler        = scheduler;
+    }
+
+    /**
+     * Returns the breaker of the server of the given URL.
+     * @param url The URL to request.
+     * @return The breaker of the host of {@code url}.
+     */
+    @NonNull
+    public CircuitBreaker get(@NonNull final String url) {
+        final HttpUrl        httpUrl = HttpUrl.parse(url);
+        final String         host    = httpUrl == null ? url : httpUrl.host();
+        final CircuitBreaker breaker = this.breakers.get(host);
+
+        if (breaker != null) return breaker;
+
+        final CircuitBreaker newBreaker = new CircuitBreaker(this.failureThreshold, this.cooldown, this.scheduler);
+        final CircuitBreaker oldBreaker = this.breakers.putIfAbsent(host, newBreaker);
+
+        return oldBreaker == null ? newBreaker : oldBreaker;
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Signals that a request is not made because the {@link CircuitBreaker} of its server is open.
+ */
+final class CircuitOpenException extends IOException {
+    CircuitOpenException(@NonNull final String url) {
+        super("Circuit open: " + url);
+    }
+}
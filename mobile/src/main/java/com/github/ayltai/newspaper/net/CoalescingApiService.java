@@ -0,0 +1,44 @@
+package com.github.ayltai.newspaper.net;
+
+import android.support.annotation.NonNull;
+
+import com.github.ayltai.newspaper.util.SingleFlight;
+
+import io.reactivex.Observable;
+import okhttp3.ResponseBody;
+
+/**
+ * <p>An {@link ApiService} that joins a request for a page already being downloaded, instead of downloading it again.</p>
+ * <p>Only {@link #getHtml(String)} is coalesced. A {@link ResponseBody} can only be read once, so each call to {@link #getStream(String)} makes its own request, and {@link #postHtml(String, int, int)} is never coalesced.</p>
+ * <p>The list pages watched by the {@link ValidatorStore} are not coalesced here either. They are already coalesced by the client of their source, which may hedge a slow one with a second request that must not join the first.</p>
+ */
+final class CoalescingApiService implements ApiService {
+    private final ApiService                   apiService;
+    private final ValidatorStore               store;
+    private final SingleFlight<String, String> requests = new SingleFlight<>();
+
+    CoalescingApiService(@NonNull final ApiService apiService, @NonNull final ValidatorStore store) {
+        this.apiService = apiService;
+        this.store      = store;
+    }
+
+    @NonNull
+    @Override
+    public Observable<String> getHtml(@NonNull final String url) {
+        if (this.store.isWatched(ValidatorStore.normalize(url))) return this.apiService.getHtml(url);
+
+        return this.requests.observable(url, () -> this.apiService.getHtml(url));
+    }
+
+    @NonNull
+    @Override
+    public Observable<ResponseBody> getStream(@NonNull final String url) {
+        return this.apiService.getStream(url);
+    }
+
+    @NonNull
+    @Override
+    public Observable<String> postHtml(@NonNull final String url, final int sectionId, final int page) {
+        return this.apiService.postHtml(url, sectionId, page);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import android.support.annotation.NonNull;
+
+import com.github.ayltai.newspaper.app.data.model.Validator;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * <p>Requests the pages watched by a {@link ValidatorStore} conditionally, and stages the validators received with them.</p>
+ * <p>A {@code 304 Not Modified} response is closed and reported as a {@link NotModifiedException}, so that callers finish without reading or parsing a body.</p>
+ */
+final class ConditionalRequestInterceptor implements Interceptor {
+    //region Constants
+
+    private static final String METHOD_GET = "GET";
+
+    private static final String HEADER_ETAG              = "ETag";
+    private static final String HEADER_LAST_MODIFIED     = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH     = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    //endregion
+
+    private final ValidatorStore store;
+
+    ConditionalRequestInterceptor(@NonNull final ValidatorStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response intercept(@NonNull final Interceptor.Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String  url     = request.url().toString();
+
+        // A request forced to the cache must not carry conditions, which would make OkHttp bypass the cache
+        if (!ConditionalRequestInterceptor.METHOD_GET.equals(request.method()) || request.cacheControl().onlyIfCached() || !this.store.isWatched(url)) return chain.proceed(request);
+
+        this.store.discard(url);
+
+        final Validator       validator = this.store.get(url);
+        final Request.Builder builder   = request.newBuilder();
+
+        if (validator != null) {
+            if (validator.getETag() != null) builder.header(ConditionalRequestInterceptor.HEADER_IF_NONE_MATCH, validator.getETag());
+            if (validator.getLastModified() != null) builder.header(ConditionalRequestInterceptor.HEADER_IF_MODIFIED_SINCE, validator.getLastModified());
+        }
+
+        final Response response = chain.proceed(builder.build());
+
+        if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED && validator != null) {
+            response.close();
+
+            throw new NotModifiedException(url);
+        }
+
+        if (response.isSuccessful()) {
+            final String eTag         = response.header(ConditionalRequestInterceptor.HEADER_ETAG);
+            final String lastModified = response.header(ConditionalRequestInterceptor.HEADER_LAST_MODIFIED);
+
+            if (eTag != null || lastModified != null) this.store.stage(new Validator(url, eTag, lastModified));
+        }
+
+        return response;
+    }
+}
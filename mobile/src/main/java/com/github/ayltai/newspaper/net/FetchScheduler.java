@@ -0,0 +1,270 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import android.os.SystemClock;
+import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.ArrayMap;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.HttpUrl;
+
+/**
+ * <p>Runs the requests for the list pages on a bounded pool of workers, instead of on a new thread for each request.</p>
+ * <p>At most {@link #MAX_REQUESTS} requests run at a time, and at most {@link #MAX_REQUESTS_PER_HOST} of them to the same host. Waiting requests are started in the order of the priority of their group, then in the order they are scheduled. The priority of a group can be changed while its requests are waiting, so that the categories the user is looking at are downloaded first.</p>
+ */
+public final class FetchScheduler {
+    //region Constants
+
+    public static final int PRIORITY_VISIBLE  = 0;
+    public static final int PRIORITY_ADJACENT = 1;
+    public static final int PRIORITY_DEFAULT  = 2;
+
+    private static final int MAX_REQUESTS          = 8;
+    private static final int MAX_REQUESTS_PER_HOST = 2;
+
+    //endregion
+
+    @IntDef({ FetchScheduler.PRIORITY_VISIBLE, FetchScheduler.PRIORITY_ADJACENT, FetchScheduler.PRIORITY_DEFAULT })
+    public @interface Priority {
+    }
+
+    private static final class Task {
+        final String              group;
+        final String              host;
+        final CompositeDisposable disposables = new CompositeDisposable();
+
+        Runnable action;
+        long     scheduledTime;
+
+        Task(@NonNull final String group, @NonNull final String host) {
+            this.group = group;
+            this.host  = host;
+        }
+    }
+
+    private static final FetchScheduler INSTANCE = new FetchScheduler(FetchScheduler.MAX_REQUESTS, FetchScheduler.MAX_REQUESTS_PER_HOST, Schedulers.from(Executors.newFixedThreadPool(FetchScheduler.MAX_REQUESTS)));
+
+    //region Variables
+
+    private final int       maxRequests;
+    private final int       maxRequestsPerHost;
+    private final Scheduler scheduler;
+
+    private final List<FetchScheduler.Task> queue      = new ArrayList<>();
+    private final Map<String, Integer>      hosts      = new ArrayMap<>();
+    private final Map<String, Integer>      priorities = new ConcurrentHashMap<>();
+
+    private int  runningCount;
+    private int  maxQueueDepth;
+    private long startedCount;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
+    //endregion
+
+    @NonNull
+    public static FetchScheduler getInstance() {
+        return FetchScheduler.INSTANCE;
+    }
+
+    FetchScheduler(final int maxRequests, final int maxRequestsPerHost, @NonNull final Scheduler scheduler) {
+        this.maxRequests        = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.scheduler          = scheduler;
+    }
+
+    //region Metrics
+
+    /**
+     * @return The number of requests waiting to start.
+     */
+    public int getQueueDepth() {
+        synchronized (this.queue) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * @return The largest number of requests that have been waiting to start at the same time.
+     */
+    public int getMaxQueueDepth() {
+        synchronized (this.queue) {
+            return this.maxQueueDepth;
+        }
+    }
+
+    /**
+     * @return The average number of milliseconds the requests started have waited for.
+     */
+    public long getAverageWaitTime() {
+        synchronized (this.queue) {
+            return this.startedCount == 0 ? 0 : this.totalWaitTime / this.startedCount;
+        }
+    }
+
+    /**
+     * @return The longest number of milliseconds a request started has waited for.
+     */
+    public long getMaxWaitTime() {
+        synchronized (this.queue) {
+            return this.maxWaitTime;
+        }
+    }
+
+    //endregion
+
+    /**
+     * Sets the priority of the requests of the given group, including the ones already waiting to start. A group has {@link #PRIORITY_DEFAULT} unless set otherwise.
+     * @param group The group of the requests.
+     * @param priority The priority of the requests.
+     */
+    public void setPriority(@NonNull final String group, @FetchScheduler.Priority final int priority) {
+        this.priorities.put(group, priority);
+    }
+
+    /**
+     * Defers the subscription to {@code single} until a worker is free for it.
+     * <p>Disposing the returned {@link Single} removes the request from the queue if it is waiting, or cancels it if it is running.</p>
+     * @param group The group of the request, whose priority decides when the request starts.
+     * @param url The URL requested, whose host limits how many requests run at the same time.
+     * @param single The request to run.
+     * @param <T> The type of the result.
+     * @return A {@link Single} of the result of {@code single}.
+     */
+    @NonNull
+    public <T> Single<T> schedule(@NonNull final String group, @NonNull final String url, @NonNull final Single<T> single) {
+        return this.schedule(group, url, single.toFlowable()).singleOrError();
+    }
+
+    /**
+     * Defers the subscription to {@code flowable} until a worker is free for it. The worker is taken until {@code flowable} terminates.
+     * <p>Disposing the returned {@link Flowable} removes the request from the queue if it is waiting, or cancels it if it is running.</p>
+     * @param group The group of the request, whose priority decides when the request starts.
+     * @param url The URL requested, whose host limits how many requests run at the same time.
+     * @param flowable The request to run.
+     * @param <T> The type of the results.
+     * @return A {@link Flowable} of the results of {@code flowable}.
+     */
+    @NonNull
+    public <T> Flowable<T> schedule(@NonNull final String group, @NonNull final String url, @NonNull final Flowable<T> flowable) {
+        return Flowable.create(emitter -> {
+            final HttpUrl             httpUrl = HttpUrl.parse(url);
+            final FetchScheduler.Task task    = new FetchScheduler.Task(group, httpUrl == null ? url : httpUrl.host());
+
+            task.action = () -> task.disposables.add(flowable
+                .subscribeOn(this.scheduler)
+                .doFinally(() -> this.finish(task))
+                .subscribe(emitter::onNext, emitter::onError, emitter::onComplete));
+
+            emitter.setCancellable(() -> this.cancel(task));
+
+            this.enqueue(task);
+        }, BackpressureStrategy.BUFFER);
+    }
+
+    private void enqueue(@NonNull final FetchScheduler.Task task) {
+        synchronized (this.queue) {
+            task.scheduledTime = SystemClock.elapsedRealtime();
+
+            this.queue.add(task);
+            this.maxQueueDepth = Math.max(this.maxQueueDepth, this.queue.size());
+        }
+
+        this.drain();
+    }
+
+    private void cancel(@NonNull final FetchScheduler.Task task) {
+        synchronized (this.queue) {
+            this.queue.remove(task);
+        }
+
+        task.disposables.dispose();
+    }
+
+    private void finish(@NonNull final FetchScheduler.Task task) {
+        synchronized (this.queue) {
+            this.runningCount--;
+
+            final int count = this.hosts.get(task.host) - 1;
+
+            if (count == 0) {
+                this.hosts.remove(task.host);
+            } else {
+                this.hosts.put(task.host, count);
+            }
+        }
+
+        this.drain();
+    }
+
+    /**
+     * Starts as many waiting requests as the limits allow. The requests are started outside of the lock, as a request may complete synchronously and call {@link #finish(Task)}.
+     */
+    private void drain() {
+        final List<FetchScheduler.Task> tasks = new ArrayList<>();
+
+        synchronized (this.queue) {
+            while (this.runningCount < this.maxRequests) {
+                final FetchScheduler.Task task = this.next();
+                if (task == null) break;
+
+                final Integer count    = this.hosts.get(task.host);
+                final long    waitTime = SystemClock.elapsedRealtime() - task.scheduledTime;
+
+                this.queue.remove(task);
+                this.hosts.put(task.host, count == null ? 1 : count + 1);
+                this.runningCount++;
+
+                this.startedCount++;
+                this.totalWaitTime += waitTime;
+                this.maxWaitTime    = Math.max(this.maxWaitTime, waitTime);
+
+                tasks.add(task);
+            }
+        }
+
+        for (final FetchScheduler.Task task : tasks) task.action.run();
+    }
+
+    /**
+     * Returns the earliest waiting request with the highest priority whose host is below its limit, or {@code null} if there is none.
+     */
+    @Nullable
+    private FetchScheduler.Task next() {
+        FetchScheduler.Task next     = null;
+        int                 priority = Integer.MAX_VALUE;
+
+        for (final FetchScheduler.Task task : this.queue) {
+            final Integer count = this.hosts.get(task.host);
+
+            if (count == null || count < this.maxRequestsPerHost) {
+                final int taskPriority = this.getPriority(task.group);
+
+                if (taskPriority < priority) {
+                    next     = task;
+                    priority = taskPriority;
+                }
+            }
+        }
+
+        return next;
+    }
+
+    private int getPriority(@NonNull final String group) {
+        final Integer priority = this.priorities.get(group);
+
+        return priority == null ? FetchScheduler.PRIORITY_DEFAULT : priority;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.util.Map;
+
+import android.support.annotation.NonNull;
+import android.support.v4.util.ArrayMap;
+
+import com.github.ayltai.newspaper.app.data.model.Category;
+import com.github.ayltai.newspaper.app.data.model.Source;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * <p>A network interceptor that rewrites the caching headers of the responses from the hosts of the registered sources, so that they are kept in the HTTP cache for as long as the {@link CachePolicy} of their source declares.</p>
+ * <p>The hosts of a source are the hosts of its category URLs. The responses from any other host are left untouched.</p>
+ */
+final class FreshnessInterceptor implements Interceptor {
+    //region Constants
+
+    private static final String METHOD_GET = "GET";
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String HEADER_PRAGMA        = "Pragma";
+    private static final String MAX_AGE              = "public, max-age=";
+
+    //endregion
+
+    private final Map<String, CachePolicy> lists = new ArrayMap<>();
+    private final Map<String, CachePolicy> hosts = new ArrayMap<>();
+
+    /**
+     * Applies the {@link CachePolicy} of the given source to its category URLs and hosts. If several sources share a host, the policy of the first one registered is used for its article pages.
+     * @param source The source to register.
+     * @return This interceptor.
+     */
+    @NonNull
+    FreshnessInterceptor addSource(@NonNull final Source source) {
+        for (final Category category : source.getCategories()) {
+            final HttpUrl url = HttpUrl.parse(category.getUrl());
+
+            if (url != null) {
+                this.lists.put(url.toString(), source.getCachePolicy());
+
+                if (!this.hosts.containsKey(url.host())) this.hosts.put(url.host(), source.getCachePolicy());
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Response intercept(@NonNull final Interceptor.Chain chain) throws IOException {
+        final Request  request  = chain.request();
+        final Response response = chain.proceed(request);
+
+        if (!FreshnessInterceptor.METHOD_GET.equals(request.method()) || !response.isSuccessful()) return response;
+
+        final long maxAge = this.getMaxAge(request.url());
+        if (maxAge <= 0) return response;
+
+        return response.newBuilder()
+            .removeHeader(FreshnessInterceptor.HEADER_PRAGMA)
+            .header(FreshnessInterceptor.HEADER_CACHE_CONTROL, FreshnessInterceptor.MAX_AGE + maxAge)
+            .build();
+    }
+
+    /**
+     * Returns the number of seconds the response of the given URL is fresh for, or {@code 0} if its freshness is left to the server.
+     */
+    long getMaxAge(@NonNull final HttpUrl url) {
+        final String      link = url.toString();
+        final CachePolicy list = this.lists.get(link);
+
+        if (list != null) return list.getListMaxAge();
+
+        final CachePolicy policy = this.hosts.get(url.host());
+
+        return policy == null ? 0 : policy.getMaxAge(link);
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import android.support.annotation.NonNull;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.functions.Predicate;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * <p>Races a slow request with a second, hedged request for the same page, so that a response stuck in the tail of the latencies of a source does not hold up a refresh.</p>
+ * <p>The hedges of the whole app share a budget: each request earns {@link #BUDGET_RATIO} of a hedge, up to {@link #MAX_TOKENS}, and each hedge spends one. The hedged requests therefore never exceed a fifth of the requests made, and never more than double the traffic even in a burst.</p>
+ */
+public final class Hedger {
+    //region Constants
+
+    private static final double BUDGET_RATIO = 0.2;
+    private static final double MAX_TOKENS   = 10;
+
+    //endregion
+
+    private static final Hedger INSTANCE = new Hedger(Hedger.BUDGET_RATIO, Hedger.MAX_TOKENS, Schedulers.computation());
+
+    //region Variables
+
+    private final double    budgetRatio;
+    private final double    maxTokens;
+    private final Scheduler scheduler;
+
+    private double tokens;
+    private int    requestCount;
+    private int    hedgeCount;
+
+    //endregion
+
+    @NonNull
+    public static Hedger getInstance() {
+        return Hedger.INSTANCE;
+    }
+
+    Hedger(final double budgetRatio, final double maxTokens, @NonNull final Scheduler scheduler) {
+        this.budgetRatio = budgetRatio;
+        this.maxTokens   = maxTokens;
+        this.scheduler   = scheduler;
+    }
+
+    /**
+     * Subscribes to the request returned by {@code request}, then subscribes to another one if the first has not answered after {@code delay} and the budget allows it.
+     * <p>The first response wins and the other request is disposed. An error of the hedged request is ignored, so that the outcome is never worse than without hedging.</p>
+     * @param request The factory of the request to make.
+     * @param delay The time to wait for the first request, in milliseconds.
+     * @return A {@link Single} of the first response.
+     */
+    @NonNull
+    public <T> Single<T> hedge(@NonNull final Callable<Single<T>> request, final long delay) {
+        return this.hedge(request, delay, response -> true);
+    }
+
+    /**
+     * Subscribes to the request returned by {@code request}, then subscribes to another one if the first has not answered after {@code delay} and the budget allows it.
+     * <p>The first response wins and the other request is disposed. An error of the hedged request, or a response of it that {@code isAccepted} rejects, is ignored, so that a hedge failing fast never cuts short a first request that would have answered. The outcome is therefore never worse than without hedging.</p>
+     * @param request The factory of the request to make.
+     * @param delay The time to wait for the first request, in milliseconds.
+     * @param isAccepted Returns {@code true} if a response of the hedged request may win, and {@code false} for a response that stands for a failure, such as the empty list of a client that turns its errors into one.
+     * @return A {@link Single} of the first response.
+     */
+    @NonNull
+    public <T> Single<T> hedge(@NonNull final Callable<Single<T>> request, final long delay, @NonNull final Predicate<T> isAccepted) {
+        return Single.defer(() -> {
+            this.earn();
+
+            final Single<T> hedged = Single.timer(delay, TimeUnit.MILLISECONDS, this.scheduler)
+                .flatMap(tick -> this.spend() ? request.call() : Single.<T>never())
+                .flatMap(response -> isAccepted.test(response) ? Single.just(response) : Single.<T>never())
+                .onErrorResumeNext(Single.never());
+
+            return Single.amb(Arrays.asList(request.call(), hedged));
+        });
+    }
+
+    /**
+     * @return The number of requests made through {@link #hedge(Callable, long)}, not counting the hedged ones.
+     */
+    public synchronized int getRequestCount() {
+        return this.requestCount;
+    }
+
+    /**
+     * @return The number of hedged requests made.
+     */
+    public synchronized int getHedgeCount() {
+        return this.hedgeCount;
+    }
+
+    private synchronized void earn() {
+        this.requestCount++;
+
+        this.tokens = Math.min(this.maxTokens, this.tokens + this.budgetRatio);
+    }
+
+    private synchronized boolean spend() {
+        if (this.tokens < 1) return false;
+
+        this.tokens--;
+        this.hedgeCount++;
+
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.ayltai.newspaper.net;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
 
 import android.support.annotation.NonNull;
@@ -7,15 +8,29 @@ import android.support.annotation.NonNull;
 import com.github.ayltai.newspaper.client.Client;
 
 import dagger.Component;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 
 @Singleton
 @Component(modules = { HttpModule.class })
 public interface HttpComponent {
+    /**
+     * @return The HTTP cache, whose {@link Cache#hitCount()}, {@link Cache#networkCount()} and {@link Cache#requestCount()} count the cache hits, the cache misses and all requests.
+     */
+    @NonNull
+    Cache cache();
+
     @NonNull
     OkHttpClient httpClient();
 
+    /**
+     * @return A client for images and videos, which shares the connections of {@link #httpClient()} but not its HTTP cache.
+     */
+    @Named(HttpModule.MEDIA)
+    @NonNull
+    OkHttpClient mediaHttpClient();
+
     @NonNull
     Retrofit retrofit();
 
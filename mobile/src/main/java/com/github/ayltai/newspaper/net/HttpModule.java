@@ -1,36 +1,61 @@
 package com.github.ayltai.newspaper.net;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
 
+import android.content.Context;
 import android.support.annotation.NonNull;
 
 import com.github.ayltai.newspaper.BuildConfig;
+import com.github.ayltai.newspaper.Constants;
+import com.github.ayltai.newspaper.R;
+import com.github.ayltai.newspaper.app.data.model.SourceFactory;
 
 import dagger.Module;
 import dagger.Provides;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.Response;
-import okhttp3.ResponseBody;
 import retrofit2.Retrofit;
 import retrofit2.converter.scalars.ScalarsConverterFactory;
-import retrofit2.converter.simplexml.SimpleXmlConverterFactory;
 
 @Module
-final class HttpModule {
+public final class HttpModule {
+    /**
+     * Qualifies the {@link OkHttpClient} used for images and videos.
+     */
+    public static final String MEDIA = "media";
+
     private static final int TIMEOUT_CONNECT = 10;
     private static final int TIMEOUT_READ    = 30;
     private static final int TIMEOUT_WRITE   = 30;
 
-    private HttpModule() {
+    private static final String CACHE_DIRECTORY = "http";
+
+    private final Context context;
+
+    public HttpModule(@NonNull final Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Singleton
+    @NonNull
+    @Provides
+    Cache provideCache() {
+        return new Cache(new File(this.context.getCacheDir(), HttpModule.CACHE_DIRECTORY), Constants.CACHE_SIZE_MAX_SMALLER);
     }
 
     @Singleton
     @NonNull
     @Provides
-    static OkHttpClient provideHttpClient() {
+    OkHttpClient provideHttpClient(@NonNull final Cache cache) {
+        final FreshnessInterceptor freshnessInterceptor = new FreshnessInterceptor();
+        for (final String source : this.context.getResources().getStringArray(R.array.sources)) freshnessInterceptor.addSource(SourceFactory.getInstance(this.context).getSource(source));
+
         final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .cache(cache)
             .connectTimeout(HttpModule.TIMEOUT_CONNECT, TimeUnit.SECONDS)
             .readTimeout(HttpModule.TIMEOUT_READ, TimeUnit.SECONDS)
             .writeTimeout(HttpModule.TIMEOUT_WRITE, TimeUnit.SECONDS)
@@ -38,25 +63,28 @@ final class HttpModule {
                 .newBuilder()
                 .header("User-Agent", BuildConfig.APPLICATION_ID + " " + BuildConfig.VERSION_NAME)
                 .build()))
-            .addInterceptor(chain -> {
-                final Response response = chain.proceed(chain.request());
-
-                if (chain.request().url().host().contains("news.wenweipo.com")) {
-                    final ResponseBody body = response.body();
-
-                    if (body == null) return response;
-
-                    return response.newBuilder()
-                        .body(ResponseBody.create(body.contentType(), new String(body.bytes(), "Big5")))
-                        .build();
-                }
-
-                return response;
-            });
+            .addInterceptor(new OfflineInterceptor(this.context))
+            .addInterceptor(new ConditionalRequestInterceptor(ValidatorStore.getInstance()))
+            .addInterceptor(new CharsetInterceptor()
+                .addHost("news.wenweipo.com", "Big5"))
+            .addNetworkInterceptor(freshnessInterceptor);
 
         return builder.build();
     }
 
+    /**
+     * Provides a client that shares the connection pool and the dispatcher of the main client, but skips the HTTP cache, because Fresco and ExoPlayer keep their own caches.
+     */
+    @Singleton
+    @Named(HttpModule.MEDIA)
+    @NonNull
+    @Provides
+    static OkHttpClient provideMediaHttpClient(@NonNull final OkHttpClient httpClient) {
+        return httpClient.newBuilder()
+            .cache(null)
+            .build();
+    }
+
     @Singleton
     @NonNull
     @Provides
@@ -64,7 +92,6 @@ final class HttpModule {
         return new Retrofit.Builder()
             .addCallAdapterFactory(RxErrorHandlingCallAdapterFactory.create())
             .addConverterFactory(ScalarsConverterFactory.create())
-            .addConverterFactory(SimpleXmlConverterFactory.create())
             .baseUrl("http://dummy.base.url")
             .client(httpClient)
             .build();
@@ -74,6 +101,6 @@ final class HttpModule {
     @NonNull
     @Provides
     static ApiService provideApiService(@NonNull final Retrofit retrofit) {
-        return retrofit.create(ApiService.class);
+        return new CoalescingApiService(retrofit.create(ApiService.class), ValidatorStore.getInstance());
     }
 }
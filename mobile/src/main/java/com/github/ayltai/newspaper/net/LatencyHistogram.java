@@ -0,0 +1,123 @@
+package com.github.ayltai.newspaper.net;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+/**
+ * <p>A compact histogram of response times, in the spirit of HdrHistogram.</p>
+ * <p>The buckets grow exponentially, with {@link #SUB_BUCKETS} buckets for each doubling from {@link #MIN_VALUE} milliseconds, so every percentile is accurate to about 19% with a fixed number of counters. Once more than {@link #MAX_COUNT} samples are recorded, every count is halved, so that recent samples outweigh old ones.</p>
+ * <p>#NotThreadSafe#</p>
+ */
+final class LatencyHistogram {
+    //region Constants
+
+    private static final long MIN_VALUE    = 16;
+    private static final int  SUB_BUCKETS  = 4;
+    private static final int  BUCKET_COUNT = 48;
+    private static final int  MAX_COUNT    = 256;
+
+    private static final String SEPARATOR = ",";
+
+    //endregion
+
+    private final int[] counts = new int[LatencyHistogram.BUCKET_COUNT];
+
+    private int totalCount;
+
+    /**
+     * Restores a histogram encoded with {@link #encode()}. An invalid encoding gives an empty histogram.
+     * @param encoded The encoded histogram.
+     * @return The histogram restored.
+     */
+    @NonNull
+    static LatencyHistogram decode(@Nullable final String encoded) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        if (TextUtils.isEmpty(encoded)) return histogram;
+
+        final String[] counts = encoded.split(LatencyHistogram.SEPARATOR);
+
+        try {
+            for (int i = 0; i < Math.min(counts.length, LatencyHistogram.BUCKET_COUNT); i++) {
+                histogram.counts[i]  = Math.max(0, Integer.parseInt(counts[i]));
+                histogram.totalCount += histogram.counts[i];
+            }
+        } catch (final NumberFormatException e) {
+            return new LatencyHistogram();
+        }
+
+        return histogram;
+    }
+
+    /**
+     * @return The number of samples recorded, after decay.
+     */
+    int getCount() {
+        return this.totalCount;
+    }
+
+    void record(final long millis) {
+        this.counts[LatencyHistogram.indexOf(millis)]++;
+        this.totalCount++;
+
+        if (this.totalCount > LatencyHistogram.MAX_COUNT) this.decay();
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the given percentile.
+     * @param percentile The percentile, between 0 and 1.
+     * @return The response time in milliseconds, or {@code 0} if no samples are recorded.
+     */
+    long getPercentile(final double percentile) {
+        if (this.totalCount == 0) return 0;
+
+        final long rank  = Math.max(1, (long)Math.ceil(percentile * this.totalCount));
+        long       count = 0;
+
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            count += this.counts[i];
+
+            if (count >= rank) return LatencyHistogram.upperBoundOf(i);
+        }
+
+        return LatencyHistogram.upperBoundOf(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Encodes the counts as a comma-separated list, without the trailing empty buckets.
+     * @return The encoded histogram.
+     */
+    @NonNull
+    String encode() {
+        int length = LatencyHistogram.BUCKET_COUNT;
+        while (length > 0 && this.counts[length - 1] == 0) length--;
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            if (i > 0) builder.append(LatencyHistogram.SEPARATOR);
+            builder.append(this.counts[i]);
+        }
+
+        return builder.toString();
+    }
+
+    private void decay() {
+        this.totalCount = 0;
+
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            this.counts[i]  = this.counts[i] >> 1;
+            this.totalCount += this.counts[i];
+        }
+    }
+
+    static int indexOf(final long millis) {
+        if (millis <= LatencyHistogram.MIN_VALUE) return 0;
+
+        return Math.min(LatencyHistogram.BUCKET_COUNT - 1, (int)Math.ceil(Math.log((double)millis / LatencyHistogram.MIN_VALUE) / Math.log(2) * LatencyHistogram.SUB_BUCKETS));
+    }
+
+    static long upperBoundOf(final int index) {
+        return (long)Math.ceil(LatencyHistogram.MIN_VALUE * Math.pow(2, (double)index / LatencyHistogram.SUB_BUCKETS));
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.support.annotation.NonNull;
+import android.support.v4.util.ArrayMap;
+import android.telephony.TelephonyManager;
+
+import com.github.ayltai.newspaper.Constants;
+import com.github.ayltai.newspaper.util.DevUtils;
+
+/**
+ * <p>Tracks how long the list pages of each source take to download, and derives the timeout of each source from its own response times.</p>
+ * <p>The timeout of a source is the 95th percentile of its response times with a margin, or the 99th percentile for a refresh requested by the user. The fixed timeouts in {@link Constants} are used until enough samples are recorded. The timeout is longer on a cellular network, and after a source has not answered for a long time, because its pages are stale in the HTTP cache and its connections are closed.</p>
+ * <p>The response times are kept in a {@link LatencyHistogram} per source, and are persisted across launches with {@link #save()}.</p>
+ */
+public final class LatencyTracker {
+    //region Constants
+
+    private static final String PREFERENCES     = "latencies";
+    private static final String KEY_HISTOGRAM   = "histogram_";
+    private static final String KEY_LAST_UPDATE = "lastUpdate_";
+
+    private static final double PERCENTILE         = 0.95;
+    private static final double PERCENTILE_REFRESH = 0.99;
+    private static final double MARGIN             = 1.5;
+    private static final int    MIN_COUNT          = 10;
+
+    private static final long MIN_TIMEOUT = TimeUnit.SECONDS.toMillis(2);
+    private static final long MAX_TIMEOUT = TimeUnit.SECONDS.toMillis(20);
+    private static final long IDLE_TIME   = TimeUnit.HOURS.toMillis(6);
+
+    private static final double FACTOR_IDLE          = 1.5;
+    private static final double FACTOR_MOBILE        = 1.5;
+    private static final double FACTOR_SLOW_MOBILE   = 3;
+    private static final double FACTOR_OTHER_NETWORK = 1;
+
+    //endregion
+
+    private static LatencyTracker instance;
+
+    //region Variables
+
+    private final Context                       context;
+    private final SharedPreferences             preferences;
+    private final Map<String, LatencyHistogram> histograms  = new ArrayMap<>();
+    private final Map<String, Long>             lastUpdates = new ArrayMap<>();
+
+    private boolean isDirty;
+
+    //endregion
+
+    @NonNull
+    public static synchronized LatencyTracker getInstance(@NonNull final Context context) {
+        if (LatencyTracker.instance == null) LatencyTracker.instance = new LatencyTracker(context);
+
+        return LatencyTracker.instance;
+    }
+
+    LatencyTracker(@NonNull final Context context) {
+        this.context     = context.getApplicationContext();
+        this.preferences = this.context.getSharedPreferences(LatencyTracker.PREFERENCES, Context.MODE_PRIVATE);
+
+        for (final Map.Entry<String, ?> entry : this.preferences.getAll().entrySet()) {
+            if (entry.getKey().startsWith(LatencyTracker.KEY_HISTOGRAM) && entry.getValue() instanceof String) {
+                this.histograms.put(entry.getKey().substring(LatencyTracker.KEY_HISTOGRAM.length()), LatencyHistogram.decode((String)entry.getValue()));
+            } else if (entry.getKey().startsWith(LatencyTracker.KEY_LAST_UPDATE) && entry.getValue() instanceof Long) {
+                this.lastUpdates.put(entry.getKey().substring(LatencyTracker.KEY_LAST_UPDATE.length()), (Long)entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Records the time a source took to answer.
+     * @param source The name of the source.
+     * @param millis The response time, in milliseconds.
+     */
+    public synchronized void record(@NonNull final String source, final long millis) {
+        this.getHistogram(source).record(millis);
+        this.lastUpdates.put(source, System.currentTimeMillis());
+
+        this.isDirty = true;
+    }
+
+    /**
+     * Records that a source did not answer within the given timeout, so that its later timeouts grow if this happens often.
+     * @param source The name of the source.
+     * @param millis The timeout, in milliseconds.
+     */
+    public synchronized void recordTimeout(@NonNull final String source, final long millis) {
+        this.getHistogram(source).record(millis);
+
+        this.isDirty = true;
+    }
+
+    /**
+     * Returns the given percentile of the response times of a source.
+     * @param source The name of the source.
+     * @param percentile The percentile, between 0 and 1.
+     * @return The response time, in milliseconds, or {@code 0} if not enough samples are recorded.
+     */
+    public synchronized long getPercentile(@NonNull final String source, final double percentile) {
+        final LatencyHistogram histogram = this.histograms.get(source);
+
+        return histogram == null || histogram.getCount() < LatencyTracker.MIN_COUNT ? 0 : histogram.getPercentile(percentile);
+    }
+
+    /**
+     * Returns how long to wait for the list pages of a source.
+     * @param source The name of the source.
+     * @param forceRefresh {@code true} if the refresh is requested by the user.
+     * @return The timeout, in milliseconds.
+     */
+    public long getTimeout(@NonNull final String source, final boolean forceRefresh) {
+        return this.getTimeout(source, forceRefresh, LatencyTracker.getNetworkFactor(this.context), System.currentTimeMillis());
+    }
+
+    synchronized long getTimeout(@NonNull final String source, final boolean forceRefresh, final double networkFactor, final long now) {
+        final long percentile = this.getPercentile(source, forceRefresh ? LatencyTracker.PERCENTILE_REFRESH : LatencyTracker.PERCENTILE);
+        final Long lastUpdate = this.lastUpdates.get(source);
+
+        double timeout = percentile == 0 ? TimeUnit.SECONDS.toMillis(forceRefresh ? Constants.REFRESH_TIMEOUT : Constants.CONNECTION_TIMEOUT) : percentile * LatencyTracker.MARGIN;
+        timeout *= networkFactor;
+
+        if (lastUpdate == null || now - lastUpdate > LatencyTracker.IDLE_TIME) timeout *= LatencyTracker.FACTOR_IDLE;
+
+        return Math.max(LatencyTracker.MIN_TIMEOUT, Math.min(LatencyTracker.MAX_TIMEOUT, (long)timeout));
+    }
+
+    /**
+     * Persists the response times recorded since the last call.
+     */
+    public synchronized void save() {
+        if (!this.isDirty) return;
+
+        final SharedPreferences.Editor editor = this.preferences.edit();
+
+        for (final Map.Entry<String, LatencyHistogram> entry : this.histograms.entrySet()) editor.putString(LatencyTracker.KEY_HISTOGRAM + entry.getKey(), entry.getValue().encode());
+        for (final Map.Entry<String, Long> entry : this.lastUpdates.entrySet()) editor.putLong(LatencyTracker.KEY_LAST_UPDATE + entry.getKey(), entry.getValue());
+
+        editor.apply();
+
+        this.isDirty = false;
+    }
+
+    @NonNull
+    private LatencyHistogram getHistogram(@NonNull final String source) {
+        LatencyHistogram histogram = this.histograms.get(source);
+
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            this.histograms.put(source, histogram);
+        }
+
+        return histogram;
+    }
+
+    private static double getNetworkFactor(@NonNull final Context context) {
+        if (DevUtils.isRunningUnitTest()) return LatencyTracker.FACTOR_OTHER_NETWORK;
+
+        final ConnectivityManager manager = (ConnectivityManager)context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        final NetworkInfo         info    = manager == null ? null : manager.getActiveNetworkInfo();
+
+        if (info == null || info.getType() != ConnectivityManager.TYPE_MOBILE) return LatencyTracker.FACTOR_OTHER_NETWORK;
+
+        switch (info.getSubtype()) {
+            case TelephonyManager.NETWORK_TYPE_GPRS:
+            case TelephonyManager.NETWORK_TYPE_EDGE:
+            case TelephonyManager.NETWORK_TYPE_CDMA:
+            case TelephonyManager.NETWORK_TYPE_1xRTT:
+            case TelephonyManager.NETWORK_TYPE_IDEN:
+                return LatencyTracker.FACTOR_SLOW_MOBILE;
+
+            default:
+                return LatencyTracker.FACTOR_MOBILE;
+        }
+    }
+}
@@ -6,11 +6,7 @@ import android.support.annotation.NonNull;
 
 import com.github.ayltai.newspaper.util.DevUtils;
 
-import retrofit2.HttpException;
-
 public final class NetworkUtils {
-    private static final int ERROR_TOO_MANY_REQUESTS = 429;
-
     private NetworkUtils() {
     }
 
@@ -21,8 +17,4 @@ public final class NetworkUtils {
 
         return manager != null && manager.getActiveNetworkInfo() != null && manager.getActiveNetworkInfo().isConnectedOrConnecting();
     }
-
-    public static boolean shouldRetry(@NonNull final Throwable throwable) {
-        return throwable instanceof HttpException && ((HttpException)throwable).code() == NetworkUtils.ERROR_TOO_MANY_REQUESTS;
-    }
 }
@@ -0,0 +1,14 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Signals that a page requested conditionally has not changed since its items were last stored.
+ */
+final class NotModifiedException extends IOException {
+    NotModifiedException(@NonNull final String url) {
+        super("Not modified: " + url);
+    }
+}
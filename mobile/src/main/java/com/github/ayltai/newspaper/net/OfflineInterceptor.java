@@ -0,0 +1,47 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Serves GET requests from the HTTP cache, however stale, while the device is offline.
+ */
+final class OfflineInterceptor implements Interceptor {
+    //region Constants
+
+    private static final String METHOD_GET = "GET";
+
+    private static final int MAX_STALE = 7;
+
+    private static final CacheControl FORCE_CACHE = new CacheControl.Builder()
+        .onlyIfCached()
+        .maxStale(OfflineInterceptor.MAX_STALE, TimeUnit.DAYS)
+        .build();
+
+    //endregion
+
+    private final Context context;
+
+    OfflineInterceptor(@NonNull final Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public Response intercept(@NonNull final Interceptor.Chain chain) throws IOException {
+        final Request request = chain.request();
+
+        if (!OfflineInterceptor.METHOD_GET.equals(request.method()) || NetworkUtils.isOnline(this.context)) return chain.proceed(request);
+
+        return chain.proceed(request.newBuilder()
+            .cacheControl(OfflineInterceptor.FORCE_CACHE)
+            .build());
+    }
+}
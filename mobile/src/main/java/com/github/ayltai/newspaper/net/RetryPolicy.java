@@ -0,0 +1,136 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.support.annotation.NonNull;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.Headers;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * <p>Decides whether and when a failed request is made again.</p>
+ * <p>Only the failures that may be transient are retried: I/O errors, such as timeouts, and the {@code 429}, {@code 502}, {@code 503} and {@code 504} responses. The delays use decorrelated jitter: each delay is picked at random between {@code baseDelay} and three times the previous delay, up to {@code maxDelay}, so that the clients failing together do not retry together. A {@code Retry-After} asked by the server is honoured. If it is longer than {@code maxDelay}, the request is not retried, and the {@link CircuitBreaker} of the server is opened for that long instead.</p>
+ */
+public final class RetryPolicy {
+    //region Constants
+
+    private static final long BASE_DELAY  = 500;
+    private static final long MAX_DELAY   = TimeUnit.SECONDS.toMillis(10);
+    private static final int  MAX_RETRIES = 3;
+    private static final int  GROWTH      = 3;
+
+    private static final int ERROR_TOO_MANY_REQUESTS   = 429;
+    private static final int ERROR_BAD_GATEWAY         = 502;
+    private static final int ERROR_SERVICE_UNAVAILABLE = 503;
+    private static final int ERROR_GATEWAY_TIMEOUT     = 504;
+
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    //endregion
+
+    private static final RetryPolicy INSTANCE = new RetryPolicy(RetryPolicy.BASE_DELAY, RetryPolicy.MAX_DELAY, RetryPolicy.MAX_RETRIES, new Random(), Schedulers.computation());
+
+    //region Variables
+
+    private final long      baseDelay;
+    private final long      maxDelay;
+    private final int       maxRetries;
+    private final Random    random;
+    private final Scheduler scheduler;
+
+    //endregion
+
+    @NonNull
+    public static RetryPolicy getInstance() {
+        return RetryPolicy.INSTANCE;
+    }
+
+    RetryPolicy(final long baseDelay, final long maxDelay, final int maxRetries, @NonNull final Random random, @NonNull final Scheduler scheduler) {
+        this.baseDelay  = baseDelay;
+        this.maxDelay   = maxDelay;
+        this.maxRetries = maxRetries;
+        this.random     = random;
+        this.scheduler  = scheduler;
+    }
+
+    /**
+     * @param error The error a request failed with.
+     * @return {@code true} if the request may succeed if it is made again.
+     */
+    public static boolean isRetryable(@NonNull final Throwable error) {
+        if (error instanceof HttpException) {
+            final int code = ((HttpException)error).code();
+
+            return code == RetryPolicy.ERROR_TOO_MANY_REQUESTS || code == RetryPolicy.ERROR_BAD_GATEWAY || code == RetryPolicy.ERROR_SERVICE_UNAVAILABLE || code == RetryPolicy.ERROR_GATEWAY_TIMEOUT;
+        }
+
+        return error instanceof IOException && !(error instanceof NotModifiedException) && !(error instanceof CircuitOpenException);
+    }
+
+    /**
+     * Returns the handler to pass to {@link Observable#retryWhen(Function)} for the requests to the server of the given breaker. The requests are not retried while the breaker is not closed.
+     * @param breaker The breaker of the server requested.
+     * @return The handler of the errors.
+     */
+    @NonNull
+    Function<Observable<? extends Throwable>, Observable<?>> retryWhen(@NonNull final CircuitBreaker breaker) {
+        return errors -> {
+            final AtomicInteger retryCount = new AtomicInteger();
+            final AtomicLong    delay      = new AtomicLong(this.baseDelay);
+
+            return errors.flatMap(error -> {
+                if (!RetryPolicy.isRetryable(error) || retryCount.getAndIncrement() >= this.maxRetries || breaker.getState() != CircuitBreaker.STATE_CLOSED) return Observable.error(error);
+
+                final long retryAfter = this.getRetryAfter(error);
+                if (retryAfter > this.maxDelay) return Observable.error(error);
+
+                delay.set(this.nextDelay(delay.get()));
+
+                return Observable.timer(Math.max(delay.get(), retryAfter), TimeUnit.MILLISECONDS, this.scheduler);
+            });
+        };
+    }
+
+    /**
+     * @param previousDelay The previous delay, or {@code baseDelay} before the first retry, in milliseconds.
+     * @return The delay before the next retry, in milliseconds.
+     */
+    long nextDelay(final long previousDelay) {
+        final long range = Math.max(0, previousDelay * RetryPolicy.GROWTH - this.baseDelay);
+
+        return Math.min(this.maxDelay, this.baseDelay + (long)(this.random.nextDouble() * range));
+    }
+
+    /**
+     * @param error The error a request failed with.
+     * @return The time asked by the server with {@code Retry-After} before the next request, in milliseconds, or {@code 0} if none is asked.
+     */
+    long getRetryAfter(@NonNull final Throwable error) {
+        if (!(error instanceof HttpException)) return 0;
+
+        final Response<?> response = ((HttpException)error).response();
+        if (response == null) return 0;
+
+        final Headers headers = response.headers();
+        final String  value   = headers.get(RetryPolicy.HEADER_RETRY_AFTER);
+        if (value == null) return 0;
+
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim())));
+        } catch (final NumberFormatException e) {
+            final Date date = headers.getDate(RetryPolicy.HEADER_RETRY_AFTER);
+
+            return date == null ? 0 : Math.max(0, date.getTime() - this.scheduler.now(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -13,14 +13,24 @@ import io.reactivex.functions.Function;
 import retrofit2.Call;
 import retrofit2.CallAdapter;
 
+/**
+ * <p>Wraps the {@link Observable} of each request, so that a failed request is retried according to the {@link RetryPolicy}, and is not made while the {@link CircuitBreaker} of its server is open.</p>
+ * <p>The errors left after the retries are recorded by the breaker, then swallowed, so that the caller receives no response rather than an error.</p>
+ */
 final class RxCallAdapterWrapper implements CallAdapter<Observable<?>, Observable<?>> {
     @NonNull
     private final CallAdapter<?, ?> adapter;
+    @NonNull
+    private final RetryPolicy       retryPolicy;
+    @NonNull
+    private final CircuitBreakers   breakers;
 
-    RxCallAdapterWrapper(@Nullable final CallAdapter<?, ?> adapter) {
+    RxCallAdapterWrapper(@Nullable final CallAdapter<?, ?> adapter, @NonNull final RetryPolicy retryPolicy, @NonNull final CircuitBreakers breakers) {
         if (adapter == null) throw new IllegalArgumentException("The CallAdapter to be wrapped cannot be null");
 
-        this.adapter = adapter;
+        this.adapter     = adapter;
+        this.retryPolicy = retryPolicy;
+        this.breakers    = breakers;
     }
 
     @NonNull
@@ -33,13 +43,35 @@ final class RxCallAdapterWrapper implements CallAdapter<Observable<?>, Observabl
     @NonNull
     @Override
     public Observable<?> adapt(@NonNull final Call call) {
-        return ((Observable)this.adapter.adapt(call)).onErrorResumeNext(new Function<Throwable, Observable>() {
-            @Override
-            public Observable apply(@NonNull final Throwable throwable) {
-                if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + call.request().url().toString());
-
-                return Observable.empty();
-            }
-        });
+        final String             url        = call.request().url().toString();
+        final CircuitBreaker     breaker    = this.breakers.get(url);
+        final Observable<Object> observable = (Observable<Object>)this.adapter.adapt(call);
+
+        return Observable.defer(() -> breaker.allowRequest() ? observable : Observable.<Object>error(new CircuitOpenException(url)))
+            .retryWhen(this.retryPolicy.retryWhen(breaker))
+            .doOnComplete(breaker::onSuccess)
+            .doOnError(error -> {
+                if (RetryPolicy.isRetryable(error)) {
+                    breaker.onFailure();
+
+                    final long retryAfter = this.retryPolicy.getRetryAfter(error);
+                    if (retryAfter > 0) breaker.open(retryAfter);
+                } else if (!(error instanceof CircuitOpenException)) {
+                    // The server responded, even if with an error
+                    breaker.onSuccess();
+                }
+            })
+            .doOnDispose(breaker::onCancel)
+            .onErrorResumeNext(new Function<Throwable, Observable>() {
+                @Override
+                public Observable apply(@NonNull final Throwable throwable) {
+                    // An unchanged page is reported, so that the caller finishes without waiting for a timeout
+                    if (throwable instanceof NotModifiedException) return Observable.error(throwable);
+
+                    if (DevUtils.isLoggable()) Log.e(this.getClass().getSimpleName(), "Error URL = " + url);
+
+                    return Observable.empty();
+                }
+            });
     }
 }
@@ -22,6 +22,6 @@ final class RxErrorHandlingCallAdapterFactory extends CallAdapter.Factory {
     @NonNull
     @Override
     public CallAdapter<?, ?> get(@NonNull final Type type, @NonNull final Annotation[] annotations, @NonNull final Retrofit retrofit) {
-        return new RxCallAdapterWrapper(this.factory.get(type, annotations, retrofit));
+        return new RxCallAdapterWrapper(this.factory.get(type, annotations, retrofit), RetryPolicy.getInstance(), CircuitBreakers.getInstance());
     }
 }
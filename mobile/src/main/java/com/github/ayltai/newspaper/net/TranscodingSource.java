@@ -0,0 +1,96 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import android.support.annotation.NonNull;
+
+import com.github.ayltai.newspaper.Constants;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * <p>A {@link Source} that decodes bytes in a legacy charset and re-encodes them as UTF-8 as they are read.</p>
+ * <p>Only a few kilobytes are decoded ahead of the reader, and multi-byte characters split across reads are carried over to the next read, so the whole body is never held in memory.</p>
+ * <p>#NotThreadSafe#</p>
+ */
+final class TranscodingSource implements Source {
+    private final BufferedSource source;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer     bytes   = ByteBuffer.allocate(Constants.FILE_BUFFER_SIZE);
+    private final CharBuffer     chars   = CharBuffer.allocate(Constants.FILE_BUFFER_SIZE);
+    private final Buffer         encoded = new Buffer();
+
+    private boolean isExhausted;
+    private boolean isFlushed;
+
+    TranscodingSource(@NonNull final BufferedSource source, @NonNull final Charset charset) {
+        this.source  = source;
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public long read(@NonNull final Buffer sink, final long byteCount) throws IOException {
+        if (byteCount < 0) throw new IllegalArgumentException("byteCount < 0: " + byteCount);
+
+        while (this.encoded.size() == 0) {
+            if (this.isFlushed) return -1;
+
+            this.transcode();
+        }
+
+        return this.encoded.read(sink, byteCount);
+    }
+
+    @NonNull
+    @Override
+    public Timeout timeout() {
+        return this.source.timeout();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.source.close();
+    }
+
+    private void transcode() throws IOException {
+        if (!this.isExhausted) {
+            final int count = this.source.read(this.bytes.array(), this.bytes.arrayOffset() + this.bytes.position(), this.bytes.remaining());
+
+            if (count == -1) {
+                this.isExhausted = true;
+            } else {
+                this.bytes.position(this.bytes.position() + count);
+            }
+        }
+
+        this.bytes.flip();
+        this.decoder.decode(this.bytes, this.chars, this.isExhausted);
+        this.bytes.compact();
+
+        if (this.isExhausted && this.bytes.position() == 0) {
+            this.decoder.flush(this.chars);
+            this.isFlushed = true;
+        }
+
+        this.chars.flip();
+
+        // Keep a trailing high surrogate until its low surrogate is decoded
+        int end = this.chars.limit();
+        if (!this.isFlushed && end > 0 && Character.isHighSurrogate(this.chars.get(end - 1))) end--;
+
+        if (end > 0) this.encoded.writeUtf8(this.chars.subSequence(0, end).toString());
+
+        this.chars.position(end);
+        this.chars.compact();
+    }
+}
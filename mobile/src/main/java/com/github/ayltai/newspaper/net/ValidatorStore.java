@@ -0,0 +1,119 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.github.ayltai.newspaper.app.data.model.Validator;
+
+import okhttp3.HttpUrl;
+
+/**
+ * <p>Keeps the {@code ETag} and {@code Last-Modified} validators of the category URLs, so that their pages are requested conditionally.</p>
+ * <p>Validators are only kept for the URLs passed to {@link #watch(String)}. A validator received with a response is staged, and is sent with later requests only after {@link #commit(Collection)} is called for its URL once the items of the response are stored. A page whose items were never stored is therefore never skipped as unchanged.</p>
+ */
+public final class ValidatorStore {
+    private static final ValidatorStore INSTANCE = new ValidatorStore();
+
+    private final Set<String>            urls       = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<String, Validator> validators = new ConcurrentHashMap<>();
+    private final Map<String, Validator> pending    = new ConcurrentHashMap<>();
+
+    private volatile boolean isLoaded;
+
+    @NonNull
+    public static ValidatorStore getInstance() {
+        return ValidatorStore.INSTANCE;
+    }
+
+    ValidatorStore() {
+    }
+
+    /**
+     * @return {@code true} if the validators persisted previously have been loaded with {@link #load(Collection)}.
+     */
+    public boolean isLoaded() {
+        return this.isLoaded;
+    }
+
+    /**
+     * Restores the validators persisted previously.
+     * @param validators The validators to restore.
+     */
+    public void load(@NonNull final Collection<Validator> validators) {
+        for (final Validator validator : validators) this.validators.put(validator.getUrl(), validator);
+
+        this.isLoaded = true;
+    }
+
+    /**
+     * Starts keeping the validators of the given URL.
+     * @param url The URL of a category.
+     */
+    public void watch(@NonNull final String url) {
+        this.urls.add(ValidatorStore.normalize(url));
+    }
+
+    /**
+     * Makes the staged validators of the given URLs effective, after the items downloaded from them are stored.
+     * @param urls The URLs of the categories whose items are stored.
+     * @return The validators made effective, to be persisted.
+     */
+    @NonNull
+    public List<Validator> commit(@NonNull final Collection<String> urls) {
+        final List<Validator> validators = new ArrayList<>();
+
+        for (final String url : urls) {
+            final Validator validator = this.pending.remove(ValidatorStore.normalize(url));
+
+            if (validator != null) {
+                this.validators.put(validator.getUrl(), validator);
+
+                validators.add(validator);
+            }
+        }
+
+        return validators;
+    }
+
+    /**
+     * @param url A URL in the form used by OkHttp.
+     */
+    boolean isWatched(@NonNull final String url) {
+        return this.urls.contains(url);
+    }
+
+    @Nullable
+    Validator get(@NonNull final String url) {
+        return this.validators.get(url);
+    }
+
+    void stage(@NonNull final Validator validator) {
+        this.pending.put(validator.getUrl(), validator);
+    }
+
+    /**
+     * Drops the staged validator of the given URL, so that it is never committed. A page whose items were not all read is then downloaded again in full, instead of being skipped as unchanged.
+     * @param url The URL of a category.
+     */
+    public void discard(@NonNull final String url) {
+        this.pending.remove(ValidatorStore.normalize(url));
+    }
+
+    /**
+     * Returns the given URL in the form used by OkHttp, so that it matches the URL of the request made for it.
+     */
+    @NonNull
+    static String normalize(@NonNull final String url) {
+        final HttpUrl httpUrl = HttpUrl.parse(url);
+
+        return httpUrl == null ? url : httpUrl.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.ayltai.newspaper.rss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.Xml;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.akaita.java.rxjava2debug.RxJava2Debug;
+import com.github.ayltai.newspaper.app.data.model.Image;
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.util.DevUtils;
+
+/**
+ * <p>Reads the items of an RSS feed straight into {@link NewsItem} objects with a pull parser.</p>
+ * <p>The feed is parsed as its bytes are read from the stream. Only the elements of {@code <item>} used by {@link NewsItem} are kept, and no intermediate object graph is built.</p>
+ */
+public final class RssParser {
+    //region Constants
+
+    private static final String TAG_ITEM        = "item";
+    private static final String TAG_TITLE       = "title";
+    private static final String TAG_LINK        = "link";
+    private static final String TAG_GUID        = "guid";
+    private static final String TAG_DESCRIPTION = "description";
+    private static final String TAG_PUB_DATE    = "pubDate";
+    private static final String TAG_ENCLOSURE   = "enclosure";
+    private static final String ATTR_URL        = "url";
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
+        @Override
+        protected DateFormat initialValue() {
+            return new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+        }
+    };
+
+    //endregion
+
+    private RssParser() {
+    }
+
+    /**
+     * Parses the RSS feed read from the given stream. The encoding is detected from the XML declaration.
+     * @param inputStream The stream to read the feed from.
+     * @param source The source name of the items.
+     * @param category The category name of the items.
+     * @return The items of the feed. Items without a title or a link are skipped.
+     * @throws XmlPullParserException If the feed is malformed.
+     * @throws IOException If the stream cannot be read.
+     */
+    @NonNull
+    public static List<NewsItem> parse(@NonNull final InputStream inputStream, @NonNull final String source, @Nullable final String category) throws XmlPullParserException, IOException {
+        final XmlPullParser parser = Xml.newPullParser();
+        parser.setInput(inputStream, null);
+
+        final List<NewsItem> items = new ArrayList<>();
+
+        for (int eventType = parser.next(); eventType != XmlPullParser.END_DOCUMENT; eventType = parser.next()) {
+            if (eventType == XmlPullParser.START_TAG && RssParser.TAG_ITEM.equals(parser.getName())) {
+                final NewsItem item = RssParser.readItem(parser);
+
+                if (item != null) {
+                    item.setSource(source);
+                    if (category != null) item.setCategory(category);
+
+                    items.add(item);
+                }
+            }
+        }
+
+        return items;
+    }
+
+    @Nullable
+    private static NewsItem readItem(@NonNull final XmlPullParser parser) throws XmlPullParserException, IOException {
+        final int depth = parser.getDepth();
+
+        String title       = null;
+        String link        = null;
+        String guid        = null;
+        String description = null;
+        String pubDate     = null;
+        String imageUrl    = null;
+
+        for (int eventType = parser.next(); eventType != XmlPullParser.END_TAG || parser.getDepth() > depth; eventType = parser.next()) {
+            if (eventType == XmlPullParser.END_DOCUMENT) throw new XmlPullParserException("Unexpected end of document", parser, null);
+
+            if (eventType == XmlPullParser.START_TAG && parser.getDepth() == depth + 1) {
+                switch (parser.getName()) {
+                    case RssParser.TAG_TITLE:
+                        title = RssParser.readText(parser);
+                        break;
+
+                    case RssParser.TAG_LINK:
+                        link = RssParser.readText(parser);
+                        break;
+
+                    case RssParser.TAG_GUID:
+                        guid = RssParser.readText(parser);
+                        break;
+
+                    case RssParser.TAG_DESCRIPTION:
+                        description = RssParser.readText(parser);
+                        break;
+
+                    case RssParser.TAG_PUB_DATE:
+                        pubDate = RssParser.readText(parser);
+                        break;
+
+                    case RssParser.TAG_ENCLOSURE:
+                        imageUrl = parser.getAttributeValue(null, RssParser.ATTR_URL);
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+        }
+
+        if (TextUtils.isEmpty(link)) link = guid;
+        if (title == null || TextUtils.isEmpty(link)) return null;
+
+        final NewsItem item = new NewsItem();
+        item.setTitle(title.replace(RssParser.BYTE_ORDER_MARK, "").trim());
+        item.setLink(link.trim());
+        item.setDescription(description == null ? null : description.trim());
+
+        if (pubDate != null) {
+            try {
+                item.setPublishDate(RssParser.DATE_FORMAT.get().parse(pubDate.trim().replaceAll("EDT", "+0800")));
+            } catch (final ParseException e) {
+                if (DevUtils.isLoggable()) Log.e(RssParser.class.getSimpleName(), e.getMessage(), RxJava2Debug.getEnhancedStackTrace(e));
+            }
+        }
+
+        if (imageUrl != null) item.getImages().add(new Image(imageUrl));
+
+        return item;
+    }
+
+    /**
+     * Reads the text content of the current element, including any CDATA section, and moves the parser to its end tag.
+     */
+    @NonNull
+    private static String readText(@NonNull final XmlPullParser parser) throws XmlPullParserException, IOException {
+        final int           depth   = parser.getDepth();
+        final StringBuilder builder = new StringBuilder();
+
+        for (int eventType = parser.next(); eventType != XmlPullParser.END_TAG || parser.getDepth() > depth; eventType = parser.next()) {
+            if (eventType == XmlPullParser.END_DOCUMENT) throw new XmlPullParserException("Unexpected end of document", parser, null);
+            if (eventType == XmlPullParser.TEXT) builder.append(parser.getText());
+        }
+
+        return builder.toString();
+    }
+}
@@ -3,7 +3,9 @@ package com.github.ayltai.newspaper.util;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -20,11 +22,13 @@ public final class IOUtils {
 
     public static String readString(@NonNull final InputStream inputStream) throws IOException {
         final StringBuilder builder = new StringBuilder();
-        final byte[]        buffer  = new byte[Constants.FILE_BUFFER_SIZE];
+        final Reader        reader  = new InputStreamReader(inputStream, Constants.ENCODING_UTF8);
+        final char[]        buffer  = new char[Constants.FILE_BUFFER_SIZE];
 
         int length;
 
-        while ((length = inputStream.read(buffer)) > -1) builder.append(new String(buffer, 0, length, Constants.ENCODING_UTF8));
+        // Decodes the stream as a whole so that multi-byte characters are not broken at buffer boundaries
+        while ((length = reader.read(buffer)) > -1) builder.append(buffer, 0, length);
 
         return builder.toString();
     }
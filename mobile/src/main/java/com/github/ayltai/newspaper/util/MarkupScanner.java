@@ -0,0 +1,652 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+/**
+ * <p>Extracts repeating sections, and the fields inside each section, from a markup document in a single forward pass.</p>
+ * <p>All the open and close markers given to the {@link MarkupScanner.Builder} are compiled into one Aho-Corasick automaton, so the document is read exactly once no matter how many fields are extracted. Nothing is copied until a field value is requested.</p>
+ * <p>The results are identical to the equivalent nested {@link StringUtils} calls:</p>
+ * <pre>
+ * for (String section : StringUtils.substringsBetween(StringUtils.substringBetween(html, regionOpen, regionClose), sectionOpen, sectionClose)) {
+ *     String field = StringUtils.substringBetween(section, fieldOpen, fieldClose);
+ * }
+ * </pre>
+ * <p>#ThreadSafe#</p>
+ */
+public final class MarkupScanner {
+    //region Constants
+
+    private static final int ROLE_REGION_OPEN   = -1;
+    private static final int ROLE_REGION_CLOSE  = -2;
+    private static final int ROLE_SECTION_OPEN  = -3;
+    private static final int ROLE_SECTION_CLOSE = -4;
+
+    private static final int ASCII_SIZE = 128;
+    private static final int NOT_FOUND  = -1;
+
+    //endregion
+
+    //region Variables
+
+    private final boolean hasRegion;
+    private final int     regionCloseLength;
+    private final int     sectionCloseLength;
+    private final int     fieldCount;
+
+    // The length of each distinct marker
+    private final int[] patternLengths;
+
+    // The roles played by each distinct marker. A role >= 0 is the index of a field open marker, a role < -4 is the close marker of field (-role - 5).
+    private final int[][] patternRoles;
+
+    private final int[] fieldCloseLengths;
+
+    // The automaton
+    private final int     classCount;
+    private final int[]   asciiClasses;
+    private final char[]  otherChars;
+    private final int[]   otherClasses;
+    private final int[]   transitions;
+    private final int[][] outputs;
+
+    //endregion
+
+    public static final class Builder {
+        private final List<String> fieldOpens  = new ArrayList<>();
+        private final List<String> fieldCloses = new ArrayList<>();
+
+        private String regionOpen;
+        private String regionClose;
+        private String sectionOpen;
+        private String sectionClose;
+
+        /**
+         * Limits the scan to the text between the first {@code open} and the first {@code close} after it.
+         * @param open The marker before the region.
+         * @param close The marker after the region.
+         * @return This builder.
+         */
+        @NonNull
+        public MarkupScanner.Builder region(@NonNull final String open, @NonNull final String close) {
+            MarkupScanner.Builder.checkMarker(open);
+            MarkupScanner.Builder.checkMarker(close);
+
+            this.regionOpen  = open;
+            this.regionClose = close;
+
+            return this;
+        }
+
+        /**
+         * Sets the markers that delimit each repeating section.
+         * @param open The marker before each section.
+         * @param close The marker after each section.
+         * @return This builder.
+         */
+        @NonNull
+        public MarkupScanner.Builder section(@NonNull final String open, @NonNull final String close) {
+            MarkupScanner.Builder.checkMarker(open);
+            MarkupScanner.Builder.checkMarker(close);
+
+            this.sectionOpen  = open;
+            this.sectionClose = close;
+
+            return this;
+        }
+
+        /**
+         * Adds a field to be extracted from each section. Fields are indexed in the order they are added, starting from zero.
+         * @param open The marker before the field value.
+         * @param close The marker after the field value.
+         * @return This builder.
+         */
+        @NonNull
+        public MarkupScanner.Builder field(@NonNull final String open, @NonNull final String close) {
+            MarkupScanner.Builder.checkMarker(open);
+            MarkupScanner.Builder.checkMarker(close);
+
+            this.fieldOpens.add(open);
+            this.fieldCloses.add(close);
+
+            return this;
+        }
+
+        @NonNull
+        public MarkupScanner build() {
+            if (this.sectionOpen == null) throw new IllegalStateException("No section is specified");
+
+            return new MarkupScanner(this);
+        }
+
+        private static void checkMarker(@Nullable final String marker) {
+            if (TextUtils.isEmpty(marker)) throw new IllegalArgumentException("A marker cannot be null or empty");
+        }
+    }
+
+    public static final class Section {
+        private final String source;
+        private final int    start;
+        private final int    end;
+        private final int[]  fields;
+
+        Section(@NonNull final String source, final int start, final int end, @NonNull final int[] fields) {
+            this.source = source;
+            this.start  = start;
+            this.end    = end;
+            this.fields = fields;
+        }
+
+        /**
+         * Returns the whole text of this section, excluding its open and close markers.
+         * @return The whole text of this section.
+         */
+        @NonNull
+        public String getText() {
+            return this.source.substring(this.start, this.end);
+        }
+
+        /**
+         * Returns the whole text of this section as a {@link StringSlice}, without copying it.
+         * @return The whole text of this section.
+         */
+        @NonNull
+        public StringSlice getTextSlice() {
+            return new StringSlice(this.source, this.start, this.end);
+        }
+
+        /**
+         * Returns the value of the field at the given index, or {@code null} if the field is not found in this section.
+         * @param field The index of the field, in the order the fields are added to the {@link MarkupScanner.Builder}.
+         * @return The value of the field, or {@code null} if the field is not found.
+         */
+        @Nullable
+        public String get(final int field) {
+            final int fieldStart = this.fields[field * 2];
+
+            return fieldStart == MarkupScanner.NOT_FOUND ? null : this.source.substring(fieldStart, this.fields[field * 2 + 1]);
+        }
+
+        /**
+         * Returns the value of the field at the given index as a {@link StringSlice}, without copying it.
+         * @param field The index of the field, in the order the fields are added to the {@link MarkupScanner.Builder}.
+         * @return The value of the field, or {@code null} if the field is not found.
+         */
+        @Nullable
+        public StringSlice getSlice(final int field) {
+            final int fieldStart = this.fields[field * 2];
+
+            return fieldStart == MarkupScanner.NOT_FOUND ? null : new StringSlice(this.source, fieldStart, this.fields[field * 2 + 1]);
+        }
+    }
+
+    /**
+     * <p>Scans a document that arrives in chunks, such as an HTTP response body that is still being downloaded.</p>
+     * <p>Each section is returned by {@link #feed(CharSequence)} as soon as its close marker arrives. Only the text of the incomplete section is kept between chunks, and the sections returned are detached from the document. The sections found are the same as those of {@link MarkupScanner#scan(String)}, except that the sections already returned are not withdrawn if the document ends before its region is closed.</p>
+     * <p>#NotThreadSafe#</p>
+     */
+    public final class Session {
+        private final StringBuilder         buffer  = new StringBuilder();
+        private final List<int[]>           pending = new LinkedList<>();
+        private final MarkupScanner.Matcher matcher;
+
+        // The position in the document of the first character in the buffer
+        private int offset;
+
+        // The position in the document of the next character to be fed
+        private int position;
+
+        Session() {
+            this.matcher = new MarkupScanner.Matcher(0) {
+                @Override
+                void onSection(final int start, final int end, @NonNull final int[] fields) {
+                    final int[] section = new int[fields.length + 2];
+                    section[0] = start;
+                    section[1] = end;
+                    System.arraycopy(fields, 0, section, 2, fields.length);
+
+                    MarkupScanner.Session.this.pending.add(section);
+                }
+
+                @Override
+                void onRegionClose(final int start) {
+                    final List<int[]> pending = MarkupScanner.Session.this.pending;
+
+                    while (!pending.isEmpty() && pending.get(pending.size() - 1)[1] + MarkupScanner.this.sectionCloseLength > start) pending.remove(pending.size() - 1);
+                }
+            };
+        }
+
+        /**
+         * Returns {@code true} if the region has been closed, so that no more sections can be found and the rest of the document can be discarded.
+         * @return {@code true} if the scan is finished.
+         */
+        public boolean isFinished() {
+            return this.matcher.isRegionClosed;
+        }
+
+        /**
+         * Scans the next chunk of the document.
+         * @param chunk The next chunk of the document.
+         * @return The sections completed by this chunk, or an empty list if there is none.
+         */
+        @NonNull
+        public List<MarkupScanner.Section> feed(@NonNull final CharSequence chunk) {
+            if (this.isFinished()) return Collections.emptyList();
+
+            this.buffer.append(chunk);
+
+            final int length = chunk.length();
+
+            for (int i = 0; i < length; i++) {
+                if (!this.matcher.next(chunk.charAt(i), this.position++)) return this.release(Integer.MAX_VALUE);
+            }
+
+            // A section is final once no region close marker found later can overlap its close marker
+            final List<MarkupScanner.Section> sections = this.release(MarkupScanner.this.hasRegion ? this.position - MarkupScanner.this.regionCloseLength + 1 : Integer.MAX_VALUE);
+
+            this.compact();
+
+            return sections;
+        }
+
+        /**
+         * Marks the end of the document.
+         * @return The sections found but not yet returned, or an empty list if there is none.
+         */
+        @NonNull
+        public List<MarkupScanner.Section> finish() {
+            return this.release(Integer.MAX_VALUE);
+        }
+
+        @NonNull
+        private List<MarkupScanner.Section> release(final int limit) {
+            if (this.pending.isEmpty()) return Collections.emptyList();
+
+            final List<MarkupScanner.Section> sections = new ArrayList<>();
+
+            while (!this.pending.isEmpty() && this.pending.get(0)[1] + MarkupScanner.this.sectionCloseLength <= limit) {
+                final int[] section = this.pending.remove(0);
+                final int   start   = section[0];
+                final int[] fields  = new int[section.length - 2];
+
+                for (int i = 0; i < fields.length; i++) fields[i] = section[i + 2] == MarkupScanner.NOT_FOUND ? MarkupScanner.NOT_FOUND : section[i + 2] - start;
+
+                sections.add(new MarkupScanner.Section(this.buffer.substring(start - this.offset, section[1] - this.offset), 0, section[1] - start, fields));
+            }
+
+            return sections;
+        }
+
+        private void compact() {
+            int keep = this.matcher.inSection ? this.matcher.sectionStart : this.position;
+            if (!this.pending.isEmpty()) keep = Math.min(keep, this.pending.get(0)[0]);
+
+            if (keep > this.offset) {
+                this.buffer.delete(0, keep - this.offset);
+                this.offset = keep;
+            }
+        }
+    }
+
+    /**
+     * Runs the automaton over a document one character at a time, and reports each section and the end of the region as they are found.
+     */
+    private abstract class Matcher {
+        private final int[] fields = new int[MarkupScanner.this.fieldCount * 4];
+
+        boolean isRegionClosed;
+        boolean inSection;
+        int     sectionStart = MarkupScanner.NOT_FOUND;
+
+        private boolean inRegion    = !MarkupScanner.this.hasRegion;
+        private int     regionStart = MarkupScanner.NOT_FOUND;
+        private int     searchPosition;
+        private int     state;
+
+        Matcher(final int from) {
+            this.searchPosition = from;
+        }
+
+        abstract void onSection(int start, int end, @NonNull int[] fields);
+
+        abstract void onRegionClose(int start);
+
+        /**
+         * Feeds the character at position {@code i} of the document.
+         * @return {@code false} if the region is closed and nothing more can be found.
+         */
+        @SuppressWarnings("CyclomaticComplexity")
+        final boolean next(final char c, final int i) {
+            this.state = MarkupScanner.this.transitions[this.state * MarkupScanner.this.classCount + MarkupScanner.this.classOf(c)];
+
+            for (final int pattern : MarkupScanner.this.outputs[this.state]) {
+                final int end   = i + 1;
+                final int start = end - MarkupScanner.this.patternLengths[pattern];
+
+                for (final int role : MarkupScanner.this.patternRoles[pattern]) {
+                    if (role == MarkupScanner.ROLE_REGION_OPEN) {
+                        if (this.regionStart == MarkupScanner.NOT_FOUND) {
+                            this.inRegion       = true;
+                            this.regionStart    = end;
+                            this.searchPosition = end;
+                        }
+                    } else if (role == MarkupScanner.ROLE_REGION_CLOSE) {
+                        if (this.inRegion && start >= this.regionStart) {
+                            this.isRegionClosed = true;
+                            this.onRegionClose(start);
+
+                            return false;
+                        }
+                    } else if (role == MarkupScanner.ROLE_SECTION_OPEN) {
+                        if (this.inRegion && !this.inSection && start >= this.searchPosition) {
+                            this.inSection    = true;
+                            this.sectionStart = end;
+
+                            Arrays.fill(this.fields, MarkupScanner.NOT_FOUND);
+                        }
+                    } else if (role == MarkupScanner.ROLE_SECTION_CLOSE) {
+                        if (this.inSection && start >= this.sectionStart) {
+                            this.onSection(this.sectionStart, start, MarkupScanner.this.collect(this.fields, start));
+
+                            this.inSection      = false;
+                            this.searchPosition = end;
+                        }
+                    } else if (this.inSection) {
+                        if (role >= 0) {
+                            // A field open marker
+                            if (this.fields[role * 4] == MarkupScanner.NOT_FOUND && start >= this.sectionStart) {
+                                this.fields[role * 4]     = start;
+                                this.fields[role * 4 + 1] = end;
+                            }
+                        } else {
+                            // A field close marker
+                            final int field = MarkupScanner.toCloseRole(role);
+
+                            if (this.fields[field * 4] != MarkupScanner.NOT_FOUND && this.fields[field * 4 + 2] == MarkupScanner.NOT_FOUND && start >= this.fields[field * 4 + 1]) this.fields[field * 4 + 2] = start;
+                        }
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
+
+    @SuppressWarnings("CyclomaticComplexity")
+    private MarkupScanner(@NonNull final MarkupScanner.Builder builder) {
+        this.hasRegion          = builder.regionOpen != null;
+        this.regionCloseLength  = this.hasRegion ? builder.regionClose.length() : 0;
+        this.sectionCloseLength = builder.sectionClose.length();
+        this.fieldCount         = builder.fieldOpens.size();
+
+        this.fieldCloseLengths = new int[this.fieldCount];
+        for (int i = 0; i < this.fieldCount; i++) this.fieldCloseLengths[i] = builder.fieldCloses.get(i).length();
+
+        // Collects the distinct markers and the roles each of them plays
+        final Map<String, List<Integer>> markers = new TreeMap<>();
+
+        if (this.hasRegion) {
+            MarkupScanner.addRole(markers, builder.regionOpen, MarkupScanner.ROLE_REGION_OPEN);
+            MarkupScanner.addRole(markers, builder.regionClose, MarkupScanner.ROLE_REGION_CLOSE);
+        }
+
+        MarkupScanner.addRole(markers, builder.sectionOpen, MarkupScanner.ROLE_SECTION_OPEN);
+        MarkupScanner.addRole(markers, builder.sectionClose, MarkupScanner.ROLE_SECTION_CLOSE);
+
+        for (int i = 0; i < this.fieldCount; i++) {
+            MarkupScanner.addRole(markers, builder.fieldOpens.get(i), i);
+            MarkupScanner.addRole(markers, builder.fieldCloses.get(i), MarkupScanner.toCloseRole(i));
+        }
+
+        final String[] patterns = markers.keySet().toArray(StringUtils.EMPTY_ARRAY);
+
+        this.patternLengths = new int[patterns.length];
+        this.patternRoles   = new int[patterns.length][];
+
+        for (int i = 0; i < patterns.length; i++) {
+            final List<Integer> roles = markers.get(patterns[i]);
+
+            this.patternLengths[i] = patterns[i].length();
+            this.patternRoles[i]   = new int[roles.size()];
+
+            for (int j = 0; j < roles.size(); j++) this.patternRoles[i][j] = roles.get(j);
+        }
+
+        // Maps every character used by the markers to a compact character class. Class 0 is any other character.
+        final Map<Character, Integer> classes = new TreeMap<>();
+        for (final String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                if (!classes.containsKey(pattern.charAt(i))) classes.put(pattern.charAt(i), classes.size() + 1);
+            }
+        }
+
+        this.classCount   = classes.size() + 1;
+        this.asciiClasses = new int[MarkupScanner.ASCII_SIZE];
+
+        final List<Character> others = new ArrayList<>();
+        for (final Map.Entry<Character, Integer> entry : classes.entrySet()) {
+            if (entry.getKey() < MarkupScanner.ASCII_SIZE) {
+                this.asciiClasses[entry.getKey()] = entry.getValue();
+            } else {
+                others.add(entry.getKey());
+            }
+        }
+
+        // The TreeMap iterates in ascending order, so these are ready for binary search
+        this.otherChars   = new char[others.size()];
+        this.otherClasses = new int[others.size()];
+
+        for (int i = 0; i < others.size(); i++) {
+            this.otherChars[i]   = others.get(i);
+            this.otherClasses[i] = classes.get(others.get(i));
+        }
+
+        // Builds the trie
+        final List<int[]>         trie   = new ArrayList<>();
+        final List<List<Integer>> output = new ArrayList<>();
+
+        trie.add(MarkupScanner.newNode(this.classCount));
+        output.add(new ArrayList<>());
+
+        for (int i = 0; i < patterns.length; i++) {
+            int node = 0;
+
+            for (int j = 0; j < patterns[i].length(); j++) {
+                final int cls = classes.get(patterns[i].charAt(j));
+
+                if (trie.get(node)[cls] == MarkupScanner.NOT_FOUND) {
+                    trie.get(node)[cls] = trie.size();
+
+                    trie.add(MarkupScanner.newNode(this.classCount));
+                    output.add(new ArrayList<>());
+                }
+
+                node = trie.get(node)[cls];
+            }
+
+            output.get(node).add(i);
+        }
+
+        // Computes the failure links breadth-first and turns the trie into a deterministic automaton
+        final int[]          failures = new int[trie.size()];
+        final Queue<Integer> queue    = new LinkedList<>();
+
+        for (int cls = 0; cls < this.classCount; cls++) {
+            final int next = trie.get(0)[cls];
+
+            if (next == MarkupScanner.NOT_FOUND) {
+                trie.get(0)[cls] = 0;
+            } else {
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final int node = queue.remove();
+
+            output.get(node).addAll(output.get(failures[node]));
+
+            for (int cls = 0; cls < this.classCount; cls++) {
+                final int next = trie.get(node)[cls];
+
+                if (next == MarkupScanner.NOT_FOUND) {
+                    trie.get(node)[cls] = trie.get(failures[node])[cls];
+                } else {
+                    failures[next] = trie.get(failures[node])[cls];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = new int[trie.size() * this.classCount];
+        this.outputs     = new int[trie.size()][];
+
+        for (int node = 0; node < trie.size(); node++) {
+            System.arraycopy(trie.get(node), 0, this.transitions, node * this.classCount, this.classCount);
+
+            final List<Integer> matches = output.get(node);
+
+            this.outputs[node] = new int[matches.size()];
+            for (int i = 0; i < matches.size(); i++) this.outputs[node][i] = matches.get(i);
+        }
+    }
+
+    /**
+     * Scans the given text and returns every complete section found in it.
+     * @param text The text to scan, may be null.
+     * @return The sections found, or an empty list if there is none.
+     */
+    @NonNull
+    public List<MarkupScanner.Section> scan(@Nullable final String text) {
+        if (TextUtils.isEmpty(text)) return Collections.emptyList();
+
+        return this.scan(text, 0, text.length());
+    }
+
+    /**
+     * Scans the given slice and returns every complete section found in it. The sections returned are views of the underlying String of the slice.
+     * @param slice The slice to scan, may be null.
+     * @return The sections found, or an empty list if there is none.
+     */
+    @NonNull
+    public List<MarkupScanner.Section> scan(@Nullable final StringSlice slice) {
+        if (slice == null || slice.isEmpty()) return Collections.emptyList();
+
+        return this.scan(slice.source, slice.start, slice.end);
+    }
+
+    @NonNull
+    private List<MarkupScanner.Section> scan(@NonNull final String text, final int from, final int to) {
+        final List<MarkupScanner.Section> sections = new ArrayList<>();
+
+        final MarkupScanner.Matcher matcher = new MarkupScanner.Matcher(from) {
+            @Override
+            void onSection(final int start, final int end, @NonNull final int[] fields) {
+                sections.add(new MarkupScanner.Section(text, start, end, fields));
+            }
+
+            @Override
+            void onRegionClose(final int start) {
+                MarkupScanner.this.trim(sections, start);
+            }
+        };
+
+        for (int i = from; i < to; i++) {
+            if (!matcher.next(text.charAt(i), i)) return sections;
+        }
+
+        return this.hasRegion ? Collections.emptyList() : sections;
+    }
+
+    /**
+     * Creates a new {@link MarkupScanner.Session} for scanning a document that arrives in chunks.
+     * @return A new session.
+     */
+    @NonNull
+    public MarkupScanner.Session newSession() {
+        return new MarkupScanner.Session();
+    }
+
+    /**
+     * Returns the pairs of field boundaries for a section ending at {@code sectionEnd}. A field is discarded if either of its markers is not entirely inside the section.
+     */
+    @NonNull
+    private int[] collect(@NonNull final int[] fields, final int sectionEnd) {
+        final int[] bounds = new int[this.fieldCount * 2];
+
+        for (int i = 0; i < this.fieldCount; i++) {
+            final int openEnd    = fields[i * 4 + 1];
+            final int closeStart = fields[i * 4 + 2];
+
+            if (openEnd == MarkupScanner.NOT_FOUND || closeStart == MarkupScanner.NOT_FOUND || closeStart + this.fieldCloseLengths[i] > sectionEnd) {
+                bounds[i * 2]     = MarkupScanner.NOT_FOUND;
+                bounds[i * 2 + 1] = MarkupScanner.NOT_FOUND;
+            } else {
+                bounds[i * 2]     = openEnd;
+                bounds[i * 2 + 1] = closeStart;
+            }
+        }
+
+        return bounds;
+    }
+
+    private int classOf(final char c) {
+        if (c < MarkupScanner.ASCII_SIZE) return this.asciiClasses[c];
+
+        final int index = Arrays.binarySearch(this.otherChars, c);
+
+        return index < 0 ? 0 : this.otherClasses[index];
+    }
+
+    /**
+     * Drops the sections whose close marker is not entirely inside a region ending at {@code regionEnd}.
+     */
+    @NonNull
+    private List<MarkupScanner.Section> trim(@NonNull final List<MarkupScanner.Section> sections, final int regionEnd) {
+        for (int i = sections.size() - 1; i >= 0; i--) {
+            if (sections.get(i).end + this.sectionCloseLength > regionEnd) {
+                sections.remove(i);
+            } else {
+                break;
+            }
+        }
+
+        return sections;
+    }
+
+    private static int toCloseRole(final int role) {
+        // Maps field i to role (-i - 5) and back
+        return -role - 5;
+    }
+
+    private static void addRole(@NonNull final Map<String, List<Integer>> markers, @NonNull final String marker, final int role) {
+        List<Integer> roles = markers.get(marker);
+
+        if (roles == null) {
+            roles = new ArrayList<>();
+            markers.put(marker, roles);
+        }
+
+        roles.add(role);
+    }
+
+    @NonNull
+    private static int[] newNode(final int classCount) {
+        final int[] node = new int[classCount];
+        Arrays.fill(node, MarkupScanner.NOT_FOUND);
+
+        return node;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import android.support.annotation.NonNull;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.subjects.ReplaySubject;
+
+/**
+ * <p>Coalesces concurrent requests with the same key, so that a request made while an identical one is in flight joins it instead of being made again.</p>
+ * <p>Every subscriber of a joined request receives all its items, its completion or its error, even if it joins after some of the items are emitted. Disposing a subscriber leaves the others subscribed, and the request is cancelled only after all of its subscribers are disposed. Once a request terminates, the next one with its key is made afresh.</p>
+ * @param <K> The type of the keys.
+ * @param <T> The type of the results.
+ */
+public final class SingleFlight<K, T> {
+    /**
+     * A request in flight, whose items are replayed to the subscribers that join it.
+     */
+    private static final class Flight<T> {
+        private final ReplaySubject<T> subject = ReplaySubject.create();
+
+        private Disposable disposable;
+        private int        subscribers;
+        private boolean    isCancelled;
+
+        /**
+         * Adds a subscriber to this request.
+         * @return {@code false} if the request is cancelled already, and cannot be joined.
+         */
+        synchronized boolean join() {
+            if (this.isCancelled) return false;
+
+            this.subscribers++;
+
+            return true;
+        }
+
+        /**
+         * Removes a subscriber from this request, and cancels it if it has not terminated and no subscriber is left.
+         * @return {@code true} if the request is cancelled.
+         */
+        synchronized boolean leave() {
+            if (--this.subscribers > 0 || this.subject.hasComplete() || this.subject.hasThrowable()) return false;
+
+            this.isCancelled = true;
+            if (this.disposable != null) this.disposable.dispose();
+
+            return true;
+        }
+
+        void connect(@NonNull final Observable<T> request, @NonNull final Action onTerminate) {
+            request
+                .doOnSubscribe(this::setDisposable)
+                .doOnTerminate(onTerminate)
+                .subscribe(this.subject);
+        }
+
+        private synchronized void setDisposable(@NonNull final Disposable disposable) {
+            if (this.isCancelled) {
+                disposable.dispose();
+            } else {
+                this.disposable = disposable;
+            }
+        }
+    }
+
+    private final ConcurrentMap<K, SingleFlight.Flight<T>> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the request in flight for the given key, or makes a new one with {@code request} if there is none.
+     * @param key The key identifying the request.
+     * @param request Creates the request to make if none is in flight.
+     * @return An {@link Observable} of the shared request.
+     */
+    @NonNull
+    public Observable<T> observable(@NonNull final K key, @NonNull final Callable<Observable<T>> request) {
+        return Observable.defer(() -> {
+            while (true) {
+                SingleFlight.Flight<T> flight = this.requests.get(key);
+
+                if (flight == null) {
+                    final Observable<T>          source    = request.call();
+                    final SingleFlight.Flight<T> newFlight = new SingleFlight.Flight<>();
+
+                    flight = this.requests.putIfAbsent(key, newFlight);
+
+                    if (flight == null) {
+                        newFlight.join();
+
+                        // The request is forgotten before its termination is replayed, so that no one joins it after that
+                        newFlight.connect(source, () -> this.requests.remove(key, newFlight));
+
+                        return this.observe(key, newFlight);
+                    }
+                }
+
+                if (flight.join()) return this.observe(key, flight);
+
+                // The request is being cancelled, so a new one is made
+                this.requests.remove(key, flight);
+            }
+        });
+    }
+
+    /**
+     * Joins the request in flight for the given key, or makes a new one with {@code request} if there is none.
+     * @param key The key identifying the request.
+     * @param request Creates the request to make if none is in flight.
+     * @return A {@link Single} of the shared request.
+     */
+    @NonNull
+    public Single<T> single(@NonNull final K key, @NonNull final Callable<Single<T>> request) {
+        return this.observable(key, () -> request.call().toObservable()).singleOrError();
+    }
+
+    @NonNull
+    private Observable<T> observe(@NonNull final K key, @NonNull final SingleFlight.Flight<T> flight) {
+        return flight.subject.doOnDispose(() -> {
+            if (flight.leave()) this.requests.remove(key, flight);
+        });
+    }
+
+    /**
+     * @return The number of requests in flight.
+     */
+    public int size() {
+        return this.requests.size();
+    }
+}
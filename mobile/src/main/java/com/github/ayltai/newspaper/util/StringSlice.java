@@ -0,0 +1,205 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+/**
+ * <p>A read-only view of a range of characters of a {@link String}.</p>
+ * <p>Slicing a {@code StringSlice} never copies any character. The characters are copied only when {@link #toString()} is called, so intermediate extraction results can be sliced again and again at no cost and only the final values are materialized.</p>
+ * <p>#ThreadSafe#</p>
+ */
+public final class StringSlice implements CharSequence {
+    public static final StringSlice EMPTY = new StringSlice("", 0, 0);
+
+    private static final int INDEX_NOT_FOUND = -1;
+
+    final String source;
+    final int    start;
+    final int    end;
+
+    StringSlice(@NonNull final String source, final int start, final int end) {
+        this.source = source;
+        this.start  = start;
+        this.end    = end;
+    }
+
+    /**
+     * Returns a slice covering the whole of the given String.
+     * @param str The String to slice, may be null.
+     * @return A slice covering the whole of {@code str}, {@code null} if {@code str} is null.
+     */
+    @Nullable
+    public static StringSlice of(@Nullable final String str) {
+        if (str == null) return null;
+
+        return new StringSlice(str, 0, str.length());
+    }
+
+    @Override
+    public int length() {
+        return this.end - this.start;
+    }
+
+    public boolean isEmpty() {
+        return this.start == this.end;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length()) throw new IndexOutOfBoundsException("Index: " + index + ", length: " + this.length());
+
+        return this.source.charAt(this.start + index);
+    }
+
+    @NonNull
+    @Override
+    public StringSlice subSequence(final int start, final int end) {
+        if (start < 0 || end > this.length() || start > end) throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + this.length());
+
+        return new StringSlice(this.source, this.start + start, this.start + end);
+    }
+
+    /**
+     * Returns the index within this slice of the first occurrence of {@code str}, or {@code -1} if there is none.
+     * <p>Unlike {@link String#indexOf(String)} on the underlying String, the search never goes beyond the end of this slice.</p>
+     * @param str The String to search for.
+     * @return The index of the first occurrence of {@code str}, or {@code -1}.
+     */
+    public int indexOf(@NonNull final String str) {
+        return this.indexOf(str, 0);
+    }
+
+    /**
+     * Returns the index within this slice of the first occurrence of {@code str} starting at {@code fromIndex}, or {@code -1} if there is none.
+     * @param str The String to search for.
+     * @param fromIndex The index to start the search from.
+     * @return The index of the first occurrence of {@code str}, or {@code -1}.
+     */
+    public int indexOf(@NonNull final String str, final int fromIndex) {
+        final int length = str.length();
+        final int last   = this.end - length;
+
+        if (length == 0) return fromIndex <= this.length() ? Math.max(fromIndex, 0) : StringSlice.INDEX_NOT_FOUND;
+
+        final char first = str.charAt(0);
+
+        for (int i = this.start + Math.max(fromIndex, 0); i <= last; i++) {
+            if (this.source.charAt(i) == first && this.source.regionMatches(i + 1, str, 1, length - 1)) return i - this.start;
+        }
+
+        return StringSlice.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Returns the slice nested in between {@code open} and {@code close}. Only the first match is returned.
+     * @param open The String before the slice.
+     * @param close The String after the slice.
+     * @return The slice, {@code null} if no match.
+     * @see StringUtils#substringBetween(String, String, String)
+     */
+    @Nullable
+    public StringSlice between(@Nullable final String open, @Nullable final String close) {
+        if (open == null || close == null) return null;
+
+        final int start = this.indexOf(open);
+
+        if (start != StringSlice.INDEX_NOT_FOUND) {
+            final int end = this.indexOf(close, start + open.length());
+
+            if (end != StringSlice.INDEX_NOT_FOUND) return this.subSequence(start + open.length(), end);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns all the slices delimited by {@code open} and {@code close}.
+     * @param open The String identifying the start of each slice.
+     * @param close The String identifying the end of each slice.
+     * @return The slices, or an empty list if no match.
+     * @see StringUtils#substringsBetween(String, String, String)
+     */
+    @NonNull
+    public List<StringSlice> betweenAll(@Nullable final String open, @Nullable final String close) {
+        final List<StringSlice> slices = new ArrayList<>();
+
+        if (TextUtils.isEmpty(open) || TextUtils.isEmpty(close)) return slices;
+
+        final int length   = this.length();
+        final int openLen  = open.length();
+        final int closeLen = close.length();
+
+        int pos = 0;
+
+        while (pos < length - closeLen) {
+            int start = this.indexOf(open, pos);
+            if (start < 0) break;
+
+            start += openLen;
+
+            final int end = this.indexOf(close, start);
+            if (end < 0) break;
+
+            slices.add(this.subSequence(start, end));
+
+            pos = end + closeLen;
+        }
+
+        return slices;
+    }
+
+    /**
+     * Appends the characters of this slice to {@code builder} without creating an intermediate {@link String}.
+     * @param builder The builder to append to.
+     * @return {@code builder}.
+     */
+    @NonNull
+    public StringBuilder appendTo(@NonNull final StringBuilder builder) {
+        return builder.append(this.source, this.start, this.end);
+    }
+
+    /**
+     * Returns {@code true} if this slice contains exactly the same characters as {@code str}.
+     * @param str The String to compare against.
+     * @return {@code true} if the contents are the same.
+     */
+    public boolean contentEquals(@Nullable final String str) {
+        return str != null && str.length() == this.length() && this.source.regionMatches(this.start, str, 0, str.length());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+
+        if (obj instanceof StringSlice) {
+            final StringSlice slice = (StringSlice)obj;
+
+            return slice.length() == this.length() && this.source.regionMatches(this.start, slice.source, slice.start, slice.length());
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+
+        for (int i = this.start; i < this.end; i++) hash = 31 * hash + this.source.charAt(i);
+
+        return hash;
+    }
+
+    /**
+     * Copies the characters of this slice into a new {@link String}.
+     * @return A new String containing the characters of this slice.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return this.source.substring(this.start, this.end);
+    }
+}
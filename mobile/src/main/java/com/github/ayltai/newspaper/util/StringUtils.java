@@ -18,6 +18,7 @@ package com.github.ayltai.newspaper.util;
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import android.support.annotation.NonNull;
@@ -32,6 +33,7 @@ import android.text.TextUtils;
  *         - substring extraction relative to other strings
  *     </li>
  * </ul>
+ * <p>The {@link StringSlice} overloads return views of the input instead of copies, so that chained extractions do not copy the intermediate results.</p>
  * <p>{@code StringUtils} handles {@code null} input Strings quietly. That is to say that a {@code null} input will return {@code null}. Where a {@code boolean} or {@code int} is being returned details vary by method.</p>
  * <p>A side effect of the {@code null} handling is that a {@code NullPointerException} should be considered a bug in {@code StringUtils}.</p>
  * <p>Methods in this class give sample code to explain their operation. The symbol {@code *} is used to indicate any input including {@code null}.</p>
@@ -136,4 +138,30 @@ public final class StringUtils {
 
         return list.toArray(new String [list.size()]);
     }
+
+    /**
+     * <p>Gets the slice that is nested in between two Strings. Only the first match is returned. No characters are copied.</p>
+     * @param str The slice containing the substring, may be null
+     * @param open The String before the substring, may be null
+     * @param close The String after the substring, may be null
+     * @return The slice, {@code null} if no match
+     * @see #substringBetween(String, String, String)
+     */
+    @Nullable
+    public static StringSlice substringBetween(@Nullable final StringSlice str, final String open, final String close) {
+        return str == null ? null : str.between(open, close);
+    }
+
+    /**
+     * <p>Searches a slice for slices delimited by a start and end tag, returning all matching slices in a list. No characters are copied.</p>
+     * @param str The slice containing the substrings, null returns [], empty returns empty
+     * @param open The String identifying the start of the substring, empty returns []
+     * @param close The String identifying the end of the substring, empty returns []
+     * @return A list of slices, or {@code []} if no match
+     * @see #substringsBetween(String, String, String)
+     */
+    @NonNull
+    public static List<StringSlice> substringsBetween(@Nullable final StringSlice str, final String open, final String close) {
+        return str == null ? Collections.emptyList() : str.betweenAll(open, close);
+    }
 }
@@ -0,0 +1,114 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+/**
+ * Splits text into the tokens of a full-text index.
+ * <p>Tags and entities are removed and the text is lower-cased. A run of letters and digits is a word. A run of CJK ideographs, which are not separated by spaces, is split into the overlapping pairs of its characters, or kept as it is if it has only one. Words of one character are dropped.</p>
+ * <p>A text to index also has every ideograph as a token of its own, so that a search for a single ideograph looks it up like any other token.</p>
+ */
+public final class Tokenizer {
+    //region Constants
+
+    private static final Pattern TAGS            = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITIES        = Pattern.compile("&#?[a-zA-Z0-9]+;");
+    private static final int     MIN_WORD_LENGTH = 2;
+
+    //endregion
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Returns the tokens of the given text, in the order they appear, with their repetitions.
+     */
+    @NonNull
+    public static List<String> tokenize(@Nullable final CharSequence text) {
+        return Tokenizer.tokenize(text, false);
+    }
+
+    /**
+     * Returns the tokens to index for the given text, which are its {@link #tokenize(CharSequence) tokens} and every ideograph in it, in the order they appear, with their repetitions.
+     */
+    @NonNull
+    public static List<String> index(@Nullable final CharSequence text) {
+        return Tokenizer.tokenize(text, true);
+    }
+
+    /**
+     * Returns {@code true} if the given token is a single CJK ideograph.
+     */
+    public static boolean isIdeograph(@NonNull final String token) {
+        return token.length() == Character.charCount(token.codePointAt(0)) && Tokenizer.isIdeograph(token.codePointAt(0));
+    }
+
+    @NonNull
+    private static List<String> tokenize(@Nullable final CharSequence text, final boolean isIndexed) {
+        final List<String> tokens = new ArrayList<>();
+        if (TextUtils.isEmpty(text)) return tokens;
+
+        final String        plainText = Tokenizer.ENTITIES.matcher(Tokenizer.TAGS.matcher(text).replaceAll(" ")).replaceAll(" ").toLowerCase(Locale.ENGLISH);
+        final StringBuilder word      = new StringBuilder();
+
+        int previous  = -1;
+        int runLength = 0;
+
+        for (int i = 0; i < plainText.length();) {
+            final int codePoint = plainText.codePointAt(i);
+
+            if (Tokenizer.isIdeograph(codePoint)) {
+                Tokenizer.addWord(tokens, word);
+
+                if (previous >= 0) tokens.add(new StringBuilder(4).appendCodePoint(previous).appendCodePoint(codePoint).toString());
+                if (isIndexed) tokens.add(new String(Character.toChars(codePoint)));
+
+                previous = codePoint;
+                runLength++;
+            } else {
+                if (!isIndexed) Tokenizer.addRun(tokens, previous, runLength);
+
+                previous  = -1;
+                runLength = 0;
+
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(codePoint);
+                } else {
+                    Tokenizer.addWord(tokens, word);
+                }
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        Tokenizer.addWord(tokens, word);
+        if (!isIndexed) Tokenizer.addRun(tokens, previous, runLength);
+
+        return tokens;
+    }
+
+    private static boolean isIdeograph(final int codePoint) {
+        final Character.UnicodeBlock block = Character.UnicodeBlock.of(codePoint);
+
+        return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+            || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+            || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B
+            || block == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS;
+    }
+
+    private static void addWord(@NonNull final List<String> tokens, @NonNull final StringBuilder word) {
+        if (word.length() >= Tokenizer.MIN_WORD_LENGTH) tokens.add(word.toString());
+
+        word.setLength(0);
+    }
+
+    private static void addRun(@NonNull final List<String> tokens, final int ideograph, final int runLength) {
+        if (runLength == 1) tokens.add(new String(Character.toChars(ideograph)));
+    }
+}
@@ -28,7 +28,8 @@ public abstract class UniversalAdapter<M, V, T extends RecyclerView.ViewHolder>
     private final List<FullBinderFactory<M>>                     factories;
     private final List<Pair<PartBinderFactory<M, V>, Binder<V>>> binders = new ArrayList<>();
 
-    private int lastItemPosition;
+    private List<M> items;
+    private int     lastItemPosition;
 
     protected UniversalAdapter(@NonNull final List<FullBinderFactory<M>> factories) {
         this.factories = factories;
@@ -36,17 +37,17 @@ public abstract class UniversalAdapter<M, V, T extends RecyclerView.ViewHolder>
 
     @Override
     public int getItemCount() {
-        return this.binders.size();
+        return this.items == null ? this.binders.size() : this.items.size();
     }
 
     @Override
     public int getItemViewType(final int position) {
-        return this.binders.get(position).first.getPartType();
+        return this.items == null ? this.binders.get(position).first.getPartType() : this.getPartBinderFactory(position).getPartType();
     }
 
     @NonNull
     protected Binder<V> getBinder(final int position) {
-        return this.binders.get(position).second;
+        return this.items == null ? this.binders.get(position).second : this.getPartBinderFactory(position).create(this.items.get(position));
     }
 
     @NonNull
@@ -72,10 +73,31 @@ public abstract class UniversalAdapter<M, V, T extends RecyclerView.ViewHolder>
         }
 
         this.binders.clear();
+        this.items = null;
 
         this.notifyDataSetChanged();
     }
 
+    /**
+     * Binds the given items lazily, instead of creating the {@link Binder}s of all of them with {@link #onDataSetChanged(Iterable)}. An item is only read when its view is bound, so the list may load its items on demand, such as a {@link com.github.ayltai.newspaper.data.WindowedList}. Each item must have exactly one part.
+     * <p>Call {@link #notifyDataSetChanged()} when the items change, and {@link #clear()} to unbind them.</p>
+     * @param items The items to bind.
+     */
+    public void setItems(@NonNull final List<M> items) {
+        this.clear();
+
+        this.items = items;
+
+        this.notifyDataSetChanged();
+    }
+
+    /**
+     * Returns whether the items are bound lazily with {@link #setItems(List)}.
+     */
+    public boolean hasLazyItems() {
+        return this.items != null;
+    }
+
     @Override
     public void onBindViewHolder(final T holder, final int position) {
         final int adapterPosition = holder.getAdapterPosition();
@@ -105,6 +127,14 @@ public abstract class UniversalAdapter<M, V, T extends RecyclerView.ViewHolder>
         }
     }
 
+    @NonNull
+    private PartBinderFactory<M, V> getPartBinderFactory(final int position) {
+        final PartBinderFactory<M, V> factory = Binders.getPartBinderFactory(this.items.get(position), this.factories);
+        if (factory == null) throw new IllegalStateException("No part is found for the item at position " + position);
+
+        return factory;
+    }
+
     /**
      * Calls this method instead of calling {@link #notifyDataSetChanged()} to update its associated {@link Binder}s.
      * @param items The items changed.
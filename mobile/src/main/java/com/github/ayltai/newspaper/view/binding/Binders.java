@@ -20,6 +20,18 @@ public final class Binders {
         return list;
     }
 
+    /**
+     * Returns the first part of the given model, or {@code null} if it has none.
+     */
+    @Nullable
+    public static <M, V> PartBinderFactory<M, V> getPartBinderFactory(@Nullable final M model, @NonNull final Iterable<FullBinderFactory<M>> factories) {
+        for (final PartBinderFactory<M, V> factory : Binders.<M, V>simplify(model, factories)) {
+            if (factory.isNeeded(model)) return factory;
+        }
+
+        return null;
+    }
+
     private static <M, V> Iterable<PartBinderFactory<M, V>> simplify(@Nullable final M model, @NonNull final Iterable<FullBinderFactory<M>> factories) {
         final Collection<PartBinderFactory<M, V>> list = new ArrayList<>();
 
@@ -1,19 +1,39 @@
 package com.github.ayltai.newspaper.app.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import android.support.annotation.NonNull;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
 import org.robolectric.RuntimeEnvironment;
 
+import com.github.ayltai.newspaper.app.data.model.Image;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Validator;
+import com.github.ayltai.newspaper.app.data.model.Video;
 import com.github.ayltai.newspaper.data.DaggerDataComponent;
 import com.github.ayltai.newspaper.data.DataModule;
 import com.github.ayltai.newspaper.data.DataTest;
+import com.github.ayltai.newspaper.data.WindowedList;
 import com.github.ayltai.newspaper.util.Irrelevant;
 
+import io.reactivex.subscribers.TestSubscriber;
 import io.realm.Realm;
+import io.realm.RealmChangeListener;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
 
 public final class ItemManagerTest extends DataTest {
     @Test
@@ -41,6 +61,46 @@ public final class ItemManagerTest extends DataTest {
         Assert.assertEquals(0, queryItems.size());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetWindowedItems() {
+        final Realm                               realm      = Realm.getDefaultInstance();
+        final RealmQuery<NewsItem>                query      = realm.where(NewsItem.class);
+        final RealmResults<NewsItem>              results    = PowerMockito.mock(RealmResults.class);
+        final ArgumentCaptor<RealmChangeListener> captor     = ArgumentCaptor.forClass(RealmChangeListener.class);
+
+        PowerMockito.when(query.findAllAsync()).thenReturn(results);
+        PowerMockito.when(results.isValid()).thenReturn(true);
+        PowerMockito.when(results.isLoaded()).thenReturn(true);
+
+        final WindowedList<NewsItem>              window     = ItemManager.create(realm).getWindowedItems(new String[] { "source" }, new String[] { "category" });
+        final TestSubscriber<Irrelevant>          subscriber = window.changes().test();
+
+        Assert.assertEquals(0, window.size());
+
+        // An item published after the window was created is stored
+        final NewsItem item = new NewsItem();
+        item.setLink("link");
+        item.setPublishDate(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+
+        PowerMockito.when(results.size()).thenReturn(1);
+        PowerMockito.when(results.get(0)).thenReturn(item);
+
+        Mockito.verify(results).addChangeListener(captor.capture());
+        captor.getValue().onChange(results);
+
+        subscriber.assertValueCount(1);
+        Assert.assertEquals(1, window.size());
+        Assert.assertEquals("link", window.get(0).getLink());
+
+        // The query depends on neither the time nor the kept items when the window was created
+        Mockito.verify(query, Mockito.never()).lessThanOrEqualTo(Mockito.eq(NewsItem.FIELD_PUBLISH_DATE), Mockito.anyLong());
+        Mockito.verify(query, Mockito.never()).greaterThanOrEqualTo(Mockito.eq(NewsItem.FIELD_PUBLISH_DATE), Mockito.anyLong());
+        Mockito.verify(query, Mockito.never()).in(Mockito.eq(NewsItem.FIELD_LINK), Mockito.any(String[].class));
+
+        window.dispose();
+    }
+
     @Test
     public void testGetHistoricalItems() {
         final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
@@ -69,6 +129,58 @@ public final class ItemManagerTest extends DataTest {
         Assert.assertEquals(0, queryItems.size());
     }
 
+    @Test
+    public void testSearch() {
+        final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
+            .dataModule(new DataModule(RuntimeEnvironment.application))
+            .build()
+            .realm());
+
+        final List<String> links = manager.search("query").blockingGet();
+        Assert.assertEquals(0, links.size());
+        Assert.assertEquals(0, manager.getSearchResults(links, new String[] { "source" }, new String[] { "category" }).blockingGet().size());
+    }
+
+    @Test
+    public void testFilter() {
+        final NewsItem item1 = ItemManagerTest.newItem("1", false);
+        final NewsItem item2 = ItemManagerTest.newItem("2", false);
+        final NewsItem item3 = ItemManagerTest.newItem("3", false);
+
+        // The items are kept in the order of the links
+        Assert.assertEquals(Arrays.asList(item3, item1), ItemManager.filter(Arrays.asList(item1, item2, item3), Arrays.asList("3", "4", "1")));
+    }
+
+    @Test
+    public void testIsRefinable() {
+        final List<String> links = new ArrayList<>();
+        for (int i = 0; i < SearchIndex.MAX_RESULTS; i++) links.add(String.valueOf(i));
+
+        // Nothing is searched for a text without tokens
+        Assert.assertFalse(ItemManager.isRefinable("h", Collections.emptyList()));
+
+        Assert.assertTrue(ItemManager.isRefinable("hong", links.subList(0, 3)));
+
+        // The results are cut at the maximum, so a longer text may match other items
+        Assert.assertFalse(ItemManager.isRefinable("hong", links));
+    }
+
+    @Test
+    public void testGroupByCategory() {
+        final NewsItem item1 = ItemManagerTest.newItem("1", false);
+        final NewsItem item2 = ItemManagerTest.newItem("2", false);
+        final NewsItem item3 = ItemManagerTest.newItem("3", false);
+        item1.setCategory("a");
+        item2.setCategory("b");
+        item3.setCategory("a");
+
+        final Map<String, List<NewsItem>> groups = ItemManager.groupByCategory(Arrays.asList(item1, item2, item3));
+
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals(Arrays.asList(item1, item3), groups.get("a"));
+        Assert.assertEquals(Collections.singletonList(item2), groups.get("b"));
+    }
+
     @Test
     public void testPutItems() {
         final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
@@ -84,6 +196,191 @@ public final class ItemManagerTest extends DataTest {
         Assert.assertEquals(1, manager.putItems(items).blockingGet().size());
     }
 
+    @Test
+    public void testMerge() {
+        final NewsItem newItem = ItemManagerTest.newItem("new", false);
+
+        final NewsItem storedPartialItem = ItemManagerTest.newItem("partial", false);
+        final NewsItem partialItem       = ItemManagerTest.newItem("partial", true);
+
+        final NewsItem storedFullItem = ItemManagerTest.newItem("full", true);
+        final NewsItem fullItem       = ItemManagerTest.newItem("full", false);
+
+        final NewsItem storedBookmarkedItem = ItemManagerTest.newItem("bookmarked", true);
+        final NewsItem bookmarkedItem       = ItemManagerTest.newItem("bookmarked", true);
+        bookmarkedItem.setBookmarked(true);
+        bookmarkedItem.setLastAccessedDate(new Date(2));
+
+        final NewsItem storedUnchangedItem = ItemManagerTest.newItem("unchanged", true);
+        final NewsItem unchangedItem       = ItemManagerTest.newItem("unchanged", true);
+
+        final Map<String, NewsItem> storedItems = new HashMap<>();
+        for (final NewsItem item : Arrays.asList(storedPartialItem, storedFullItem, storedBookmarkedItem, storedUnchangedItem)) storedItems.put(item.getLink(), item);
+
+        final Map<String, NewsItem> changedItems = new LinkedHashMap<>();
+        final List<NewsItem>        items        = ItemManager.merge(Arrays.asList(newItem, partialItem, fullItem, bookmarkedItem, unchangedItem), storedItems, changedItems);
+
+        Assert.assertEquals(Arrays.asList(newItem, partialItem, storedFullItem, storedBookmarkedItem, storedUnchangedItem), items);
+        Assert.assertSame(partialItem, items.get(1));
+        Assert.assertSame(storedFullItem, items.get(2));
+        Assert.assertFalse(storedBookmarkedItem.isBookmarked());
+
+        // Stored items with full descriptions are never written, as the user states are stored apart from them
+        Assert.assertEquals(Arrays.asList("new", "partial"), new ArrayList<>(changedItems.keySet()));
+    }
+
+    @Test
+    public void testMergeUnchangedItems() {
+        final NewsItem storedItem = ItemManagerTest.newItem("unchanged", false);
+        final NewsItem item       = ItemManagerTest.newItem("unchanged", false);
+
+        final NewsItem storedChangedItem = ItemManagerTest.newItem("changed", false);
+        final NewsItem changedItem       = ItemManagerTest.newItem("changed", false);
+
+        for (final NewsItem newsItem : Arrays.asList(storedItem, item, storedChangedItem, changedItem)) {
+            newsItem.setTitle("title");
+            newsItem.setDescription("description");
+            newsItem.setPublishDate(new Date(1));
+            newsItem.setVideo(new Video("videoUrl", "thumbnailUrl"));
+            newsItem.getImages().add(new Image("url", "description"));
+        }
+
+        changedItem.getImages().add(new Image("url2", "description2"));
+
+        final Map<String, NewsItem> storedItems = new HashMap<>();
+        storedItems.put(storedItem.getLink(), storedItem);
+        storedItems.put(storedChangedItem.getLink(), storedChangedItem);
+
+        final Map<String, NewsItem> changedItems = new LinkedHashMap<>();
+        final List<NewsItem>        items        = ItemManager.merge(Arrays.asList(item, changedItem), storedItems, changedItems);
+
+        // An item that is the same as the stored one is not written again
+        Assert.assertSame(storedItem, items.get(0));
+        Assert.assertSame(changedItem, items.get(1));
+        Assert.assertEquals(Collections.singletonList("changed"), new ArrayList<>(changedItems.keySet()));
+    }
+
+    @Test
+    public void testMergeSummaries() {
+        final NewsItem newItem = ItemManagerTest.newItem("new", false);
+        newItem.setDescription("<p>A  new\nitem</p>");
+
+        final NewsItem storedItem = ItemManagerTest.newItem("stored", false);
+        storedItem.setDescription("description");
+
+        final NewsItem summary = ItemManager.toSummary(storedItem);
+        summary.setBookmarked(true);
+
+        final Map<String, NewsItem> storedItems = new HashMap<>();
+        storedItems.put(storedItem.getLink(), storedItem);
+
+        final Map<String, NewsItem> changedItems = new LinkedHashMap<>();
+        final List<NewsItem>        items        = ItemManager.merge(Arrays.asList(newItem, summary), storedItems, changedItems);
+
+        // The summary of a new item is derived from its description
+        Assert.assertEquals("A new item", items.get(0).getSummary());
+
+        // A summary never changes the stored item
+        Assert.assertSame(storedItem, items.get(1));
+        Assert.assertEquals("description", storedItem.getDescription());
+        Assert.assertFalse(storedItem.isBookmarked());
+        Assert.assertEquals(Collections.singletonList("new"), new ArrayList<>(changedItems.keySet()));
+    }
+
+    @Test
+    public void testSummarize() {
+        Assert.assertNull(ItemManager.summarize(null));
+        Assert.assertEquals("", ItemManager.summarize("<br>"));
+        Assert.assertEquals("Hello, world &amp; all", ItemManager.summarize(" <b>Hello,</b>\n\t world &amp; <i>all</i> "));
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 199; i++) builder.append('a');
+
+        // An entity is not cut
+        Assert.assertEquals(builder.toString(), ItemManager.summarize(builder + "&amp;"));
+
+        builder.append("bc");
+        Assert.assertEquals(builder.substring(0, 200), ItemManager.summarize(builder.toString()));
+    }
+
+    @Test
+    public void testToSummary() {
+        final NewsItem item = ItemManagerTest.newItem("link", true);
+        item.setTitle("title");
+        item.setDescription("description");
+        item.setSummary("summary");
+        item.setSource("source");
+        item.setCategory("category");
+        item.setPublishDate(new Date(1));
+        item.setBookmarked(true);
+        item.setVideo(new Video("videoUrl", "thumbnailUrl"));
+        item.getImages().add(new Image("url1", "description1"));
+        item.getImages().add(new Image("url2", "description2"));
+
+        final NewsItem summary = ItemManager.toSummary(item);
+
+        Assert.assertTrue(summary.isSummary());
+        Assert.assertTrue(summary.isFullDescription());
+        Assert.assertTrue(summary.isBookmarked());
+        Assert.assertEquals("link", summary.getLink());
+        Assert.assertEquals("title", summary.getTitle());
+        Assert.assertEquals("summary", summary.getDescription());
+        Assert.assertEquals("source", summary.getSource());
+        Assert.assertEquals("category", summary.getCategory());
+        Assert.assertEquals(1, summary.getPublishDate().getTime());
+        Assert.assertEquals("videoUrl", summary.getVideo().getVideoUrl());
+        Assert.assertEquals(1, summary.getImages().size());
+        Assert.assertEquals("url1", summary.getImages().first().getUrl());
+        Assert.assertNull(summary.getImages().first().getDescription());
+    }
+
+    @Test
+    public void testGetItem() {
+        final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
+            .dataModule(new DataModule(RuntimeEnvironment.application))
+            .build()
+            .realm());
+
+        Assert.assertNull(manager.getItem("link").blockingGet());
+    }
+
+    @Test
+    public void testPutUserState() {
+        final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
+            .dataModule(new DataModule(RuntimeEnvironment.application))
+            .build()
+            .realm());
+
+        final NewsItem item = ItemManagerTest.newItem("link", true);
+        Assert.assertEquals(Irrelevant.INSTANCE, manager.putUserState(item).blockingGet());
+
+        item.setBookmarked(true);
+        Assert.assertEquals(Irrelevant.INSTANCE, manager.putUserState(item).blockingGet());
+    }
+
+    @Test
+    public void testGetValidators() {
+        final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
+            .dataModule(new DataModule(RuntimeEnvironment.application))
+            .build()
+            .realm());
+
+        Assert.assertEquals(0, manager.getValidators().blockingGet().size());
+    }
+
+    @Test
+    public void testPutValidators() {
+        final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
+            .dataModule(new DataModule(RuntimeEnvironment.application))
+            .build()
+            .realm());
+
+        final List<Validator> validators = new ArrayList<>();
+        validators.add(new Validator("url", "eTag", null));
+
+        Assert.assertEquals(Irrelevant.INSTANCE, manager.putValidators(validators).blockingGet());
+    }
+
     @Test
     public void testClearHistories() {
         final ItemManager manager = ItemManager.create(DaggerDataComponent.builder()
@@ -103,4 +400,13 @@ public final class ItemManagerTest extends DataTest {
 
         Assert.assertEquals(Irrelevant.INSTANCE, manager.clearBookmarks().blockingGet());
     }
+
+    @NonNull
+    private static NewsItem newItem(@NonNull final String link, final boolean isFullDescription) {
+        final NewsItem item = new NewsItem();
+        item.setLink(link);
+        item.setIsFullDescription(isFullDescription);
+
+        return item;
+    }
 }
@@ -0,0 +1,100 @@
+package com.github.ayltai.newspaper.app.data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import android.support.annotation.CallSuper;
+import android.support.annotation.NonNull;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Posting;
+import com.github.ayltai.newspaper.data.DataTest;
+
+import io.realm.Realm;
+import io.realm.RealmQuery;
+import io.realm.RealmResults;
+
+public final class SearchIndexTest extends DataTest {
+    private Realm realm;
+
+    @CallSuper
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        this.realm = Realm.getDefaultInstance();
+
+        final RealmQuery<Posting> query     = this.realm.where(Posting.class);
+        final RealmQuery<Posting> hongQuery = SearchIndexTest.mockQuery(new Posting("hong", "a", 3), new Posting("hong", "b", 2), new Posting("hong", "c", 1));
+
+        PowerMockito.when(query.equalTo(Posting.FIELD_TOKEN, "hong")).thenReturn(hongQuery);
+        PowerMockito.when(query.equalTo(Posting.FIELD_TOKEN, "港")).thenReturn(SearchIndexTest.mockQuery(new Posting("港", "c", 1)));
+        SearchIndexTest.mockPrefix(query, "hong", hongQuery);
+        SearchIndexTest.mockPrefix(query, "kong", SearchIndexTest.mockQuery(new Posting("kong", "a", 1), new Posting("kong", "b", 5)));
+        SearchIndexTest.mockPrefix(query, "news", SearchIndexTest.mockQuery());
+        PowerMockito.when(this.realm.where(NewsItem.class).count()).thenReturn(10L);
+    }
+
+    @Test
+    public void testSearch() {
+        final SearchIndex index = new SearchIndex(this.realm);
+
+        // Only the items with all the tokens are found, and the rarer token counts more
+        Assert.assertEquals(Arrays.asList("b", "a"), index.search("Hong Kong"));
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), index.search("hong"));
+        Assert.assertEquals(Collections.emptyList(), index.search("hong news"));
+        Assert.assertEquals(Collections.emptyList(), index.search("&amp;"));
+
+        // A single ideograph is looked up by its own postings
+        Assert.assertEquals(Collections.singletonList("c"), index.search("港"));
+    }
+
+    @Test
+    public void testCount() {
+        final Map<String, Integer> counts = SearchIndex.count("Hong Kong", "<p>Hong Kong news</p>");
+
+        Assert.assertEquals(3, counts.size());
+        Assert.assertEquals(Integer.valueOf(4), counts.get("hong"));
+        Assert.assertEquals(Integer.valueOf(1), counts.get("news"));
+        Assert.assertTrue(SearchIndex.count(null, null).isEmpty());
+
+        // Every ideograph is counted on its own as well as in pairs
+        Assert.assertEquals(Integer.valueOf(4), SearchIndex.count("香港", "香港").get("港"));
+    }
+
+    @Test
+    public void testPrefix() {
+        Assert.assertEquals("ho", new Posting("hong", "a", 1).getPrefix());
+        Assert.assertEquals("香港", Posting.toPrefix("香港"));
+        Assert.assertEquals("a", Posting.toPrefix("a"));
+    }
+
+    // A word being typed is looked up among the tokens with its prefix
+    @SuppressWarnings("unchecked")
+    private static void mockPrefix(@NonNull final RealmQuery<Posting> query, @NonNull final String token, @NonNull final RealmQuery<Posting> tokenQuery) {
+        final RealmQuery<Posting> prefixQuery = PowerMockito.mock(RealmQuery.class);
+
+        PowerMockito.when(query.equalTo(Posting.FIELD_PREFIX, Posting.toPrefix(token))).thenReturn(prefixQuery);
+        PowerMockito.when(prefixQuery.beginsWith(Posting.FIELD_TOKEN, token)).thenReturn(tokenQuery);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private static RealmQuery<Posting> mockQuery(@NonNull final Posting... postings) {
+        final List<Posting>         list    = Arrays.asList(postings);
+        final RealmQuery<Posting>   query   = PowerMockito.mock(RealmQuery.class);
+        final RealmResults<Posting> results = PowerMockito.mock(RealmResults.class);
+
+        PowerMockito.when(query.findAll()).thenReturn(results);
+        PowerMockito.when(results.size()).thenReturn(list.size());
+        PowerMockito.when(results.iterator()).thenAnswer(invocation -> list.iterator());
+
+        return query;
+    }
+}
@@ -27,6 +27,8 @@ public final class NewsItemTest extends UnitTest {
 
         item2.setTitle("title");
         item2.setDescription("description");
+        item2.setSummary("summary");
+        item2.setIsSummary(true);
         item2.setCategory("category");
         item2.setLastAccessedDate(new Date());
         item2.setLink("link");
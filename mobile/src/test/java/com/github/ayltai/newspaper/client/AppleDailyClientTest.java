@@ -20,12 +20,18 @@ import com.github.ayltai.newspaper.net.NetworkTest;
 import com.github.ayltai.newspaper.util.IOUtils;
 
 import io.reactivex.Observable;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
 
 public final class AppleDailyClientTest extends NetworkTest {
     private static final String APPLE_DAILY_URL         = "https://hk.appledaily.com/video/videolist/20170909/local/home/0";
     private static final String APPLE_DAILY_DETAILS_URL = "https://hk.news.appledaily.com/local/daily/article/20170909/20147535";
     private static final String ERROR_URL               = "error 1";
     private static final String ERROR_DETAILS_URL       = "error 2";
+    private static final String PARTIAL_URL             = "partial";
 
     private AppleDailyClient client;
 
@@ -46,6 +52,15 @@ public final class AppleDailyClientTest extends NetworkTest {
             return Observable.just(AppleDailyClientTest.createVideoHtml());
         }).when(this.apiService).getHtml(Mockito.anyString());
 
+        Mockito.doAnswer(invocationOnMock -> {
+            final String url = invocationOnMock.getArgument(0);
+
+            if (AppleDailyClientTest.APPLE_DAILY_URL.equals(url)) return Observable.just(ResponseBody.create(MediaType.parse("text/html; charset=utf-8"), AppleDailyClientTest.createHtml()));
+            if (AppleDailyClientTest.PARTIAL_URL.equals(url)) return Observable.just(AppleDailyClientTest.createPartialBody());
+
+            return Observable.error(new RuntimeException("Fake error 1"));
+        }).when(this.apiService).getStream(Mockito.anyString());
+
         this.client = new AppleDailyClient(this.httpClient, this.apiService, SourceFactory.getInstance(RuntimeEnvironment.application).getSource("蘋果日報"));
     }
 
@@ -66,6 +81,45 @@ public final class AppleDailyClientTest extends NetworkTest {
         Assert.assertEquals("Incorrect items.size()", 0, items.size());
     }
 
+    @Test
+    public void Given_appleDailyUrl_When_streamItemsIsCalled_Then_sameItemsAreEmitted() {
+        final List<NewsItem> expected = this.client.getItems(AppleDailyClientTest.APPLE_DAILY_URL).blockingGet();
+        final List<NewsItem> actual   = this.client.streamItems(AppleDailyClientTest.APPLE_DAILY_URL).toList().blockingGet();
+
+        Assert.assertEquals("Incorrect items.size()", expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals("Incorrect item title", expected.get(i).getTitle(), actual.get(i).getTitle());
+            Assert.assertEquals("Incorrect item link", expected.get(i).getLink(), actual.get(i).getLink());
+        }
+    }
+
+    @Test
+    public void Given_errorUrl_When_streamItemsIsCalled_Then_noItemsAreEmitted() {
+        final List<NewsItem> items = this.client.streamItems(AppleDailyClientTest.ERROR_URL).toList().blockingGet();
+
+        Assert.assertEquals("Incorrect items.size()", 0, items.size());
+    }
+
+    @Test
+    public void Given_partialUrl_When_streamItemsIsCalled_Then_itemsBeforeErrorAreEmitted() {
+        final List<NewsItem> expected = this.client.getItems(AppleDailyClientTest.APPLE_DAILY_URL).blockingGet();
+        final List<NewsItem> actual   = this.client.streamItems(AppleDailyClientTest.PARTIAL_URL).toList().blockingGet();
+
+        Assert.assertFalse("Incorrect items.size()", actual.isEmpty());
+        Assert.assertTrue("Incorrect items.size()", actual.size() < expected.size());
+
+        for (int i = 0; i < actual.size(); i++) Assert.assertEquals("Incorrect item link", expected.get(i).getLink(), actual.get(i).getLink());
+    }
+
+    @Test
+    public void Given_partialUrl_When_getItemsIsCalled_Then_itemsBeforeErrorAreReturned() {
+        final List<NewsItem> items = this.client.getItems(AppleDailyClientTest.PARTIAL_URL).blockingGet();
+
+        Assert.assertFalse("Incorrect items.size()", items.isEmpty());
+        Assert.assertEquals("Incorrect item link", AppleDailyClientTest.APPLE_DAILY_DETAILS_URL, items.get(0).getLink());
+    }
+
     @Test
     public void Given_item_When_updateItemIsCalled_Then_itemIsUpdated() {
         final Item item = this.client.updateItem(this.client.getItems(AppleDailyClientTest.APPLE_DAILY_URL).blockingGet().get(0)).blockingGet();
@@ -94,6 +148,24 @@ public final class AppleDailyClientTest extends NetworkTest {
         return IOUtils.readString(new FileInputStream("src/debug/assets/appledaily.html"));
     }
 
+    /**
+     * Creates a body that fails with an {@link IOException} after two thirds of the list page are read.
+     */
+    @NonNull
+    private static ResponseBody createPartialBody() throws IOException {
+        final byte[] bytes  = AppleDailyClientTest.createHtml().getBytes("UTF-8");
+        final Buffer buffer = new Buffer().write(bytes, 0, bytes.length * 2 / 3);
+
+        return ResponseBody.create(MediaType.parse("text/html; charset=utf-8"), -1, Okio.buffer(new ForwardingSource(buffer) {
+            @Override
+            public long read(@NonNull final Buffer sink, final long byteCount) throws IOException {
+                if (buffer.exhausted()) throw new IOException("Fake error 3");
+
+                return super.read(sink, byteCount);
+            }
+        }));
+    }
+
     @NonNull
     private static String createDetailsHtml() throws IOException {
         return IOUtils.readString(new FileInputStream("src/debug/assets/appledaily_details.html"));
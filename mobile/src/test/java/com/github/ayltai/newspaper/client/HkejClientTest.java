@@ -1,5 +1,6 @@
 package com.github.ayltai.newspaper.client;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
@@ -12,16 +13,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.robolectric.RuntimeEnvironment;
-import org.simpleframework.xml.core.Persister;
 
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.SourceFactory;
 import com.github.ayltai.newspaper.net.NetworkTest;
-import com.github.ayltai.newspaper.rss.RssFeed;
 import com.github.ayltai.newspaper.util.IOUtils;
 
 import io.reactivex.Observable;
+import okhttp3.ResponseBody;
+import okio.Okio;
 
 public final class HkejClientTest extends NetworkTest {
     private static final String HKEJ_URL          = "http://www.hkej.com/rss/onlinenews.xml";
@@ -37,9 +38,9 @@ public final class HkejClientTest extends NetworkTest {
     public void setUp() throws Exception {
         super.setUp();
 
-        Mockito.doReturn(Observable.just(HkejClientTest.createFeed())).when(this.apiService).getFeed(HkejClientTest.HKEJ_URL);
+        Mockito.doAnswer(invocationOnMock -> Observable.just(HkejClientTest.createFeed())).when(this.apiService).getStream(HkejClientTest.HKEJ_URL);
         Mockito.doReturn(Observable.just(HkejClientTest.createHtml())).when(this.apiService).getHtml(HkejClientTest.HKEJ_DETAILS_URL);
-        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getFeed(HkejClientTest.ERROR_URL);
+        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getStream(HkejClientTest.ERROR_URL);
         Mockito.doReturn(Observable.error(new RuntimeException("Fake error 2"))).when(this.apiService).getHtml(HkejClientTest.ERROR_DETAILS_URL);
 
         this.client = new HkejClient(this.httpClient, this.apiService, SourceFactory.getInstance(RuntimeEnvironment.application).getSource("信報"));
@@ -86,8 +87,10 @@ public final class HkejClientTest extends NetworkTest {
     }
 
     @NonNull
-    private static RssFeed createFeed() throws Exception {
-        return new Persister().read(RssFeed.class, new FileInputStream("src/debug/assets/hkej.xml"));
+    private static ResponseBody createFeed() throws IOException {
+        final File file = new File("src/debug/assets/hkej.xml");
+
+        return ResponseBody.create(null, file.length(), Okio.buffer(Okio.source(file)));
     }
 
     @NonNull
@@ -1,5 +1,6 @@
 package com.github.ayltai.newspaper.client;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
@@ -12,16 +13,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.robolectric.RuntimeEnvironment;
-import org.simpleframework.xml.core.Persister;
 
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.SourceFactory;
 import com.github.ayltai.newspaper.net.NetworkTest;
-import com.github.ayltai.newspaper.rss.RssFeed;
 import com.github.ayltai.newspaper.util.IOUtils;
 
 import io.reactivex.Observable;
+import okhttp3.ResponseBody;
+import okio.Okio;
 
 public final class MingPaoClientTest extends NetworkTest {
     private static final String MING_PAO_URL                 = "https://news.mingpao.com/rss/pns/s00001.xml";
@@ -40,12 +41,12 @@ public final class MingPaoClientTest extends NetworkTest {
     public void setUp() throws Exception {
         super.setUp();
 
-        Mockito.doReturn(Observable.just(MingPaoClientTest.createFeed())).when(this.apiService).getFeed(MingPaoClientTest.MING_PAO_URL);
-        Mockito.doReturn(Observable.just(MingPaoClientTest.createInstantFeed())).when(this.apiService).getFeed(MingPaoClientTest.MING_PAO_INSTANT_URL);
+        Mockito.doAnswer(invocationOnMock -> Observable.just(MingPaoClientTest.createFeed())).when(this.apiService).getStream(MingPaoClientTest.MING_PAO_URL);
+        Mockito.doAnswer(invocationOnMock -> Observable.just(MingPaoClientTest.createInstantFeed())).when(this.apiService).getStream(MingPaoClientTest.MING_PAO_INSTANT_URL);
         Mockito.doReturn(Observable.just(MingPaoClientTest.createJson())).when(this.apiService).getHtml(MingPaoClientTest.MING_PAO_DETAILS_URL);
         Mockito.doReturn(Observable.just(MingPaoClientTest.createJs())).when(this.apiService).getHtml(MingPaoClientTest.MING_PAO_ISSUE_LIST_URL);
         Mockito.doReturn(Observable.just(MingPaoClientTest.createInstantJs())).when(this.apiService).getHtml(MingPaoClientTest.MING_PAO_INSTANT_DETAILS_URL);
-        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getFeed(MingPaoClientTest.ERROR_URL);
+        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getStream(MingPaoClientTest.ERROR_URL);
         Mockito.doReturn(Observable.error(new RuntimeException("Fake error 2"))).when(this.apiService).getHtml(MingPaoClientTest.ERROR_DETAILS_URL);
 
         this.client = new MingPaoClient(this.httpClient, this.apiService, SourceFactory.getInstance(RuntimeEnvironment.application).getSource("明報"));
@@ -111,13 +112,17 @@ public final class MingPaoClientTest extends NetworkTest {
     }
 
     @NonNull
-    private static RssFeed createFeed() throws Exception {
-        return new Persister().read(RssFeed.class, new FileInputStream("src/debug/assets/mingpao.xml"));
+    private static ResponseBody createFeed() throws IOException {
+        final File file = new File("src/debug/assets/mingpao.xml");
+
+        return ResponseBody.create(null, file.length(), Okio.buffer(Okio.source(file)));
     }
 
     @NonNull
-    private static RssFeed createInstantFeed() throws Exception {
-        return new Persister().read(RssFeed.class, new FileInputStream("src/debug/assets/mingpao_instant.xml"));
+    private static ResponseBody createInstantFeed() throws IOException {
+        final File file = new File("src/debug/assets/mingpao_instant.xml");
+
+        return ResponseBody.create(null, file.length(), Okio.buffer(Okio.source(file)));
     }
 
     @NonNull
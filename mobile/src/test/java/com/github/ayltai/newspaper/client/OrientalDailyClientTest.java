@@ -1,5 +1,6 @@
 package com.github.ayltai.newspaper.client;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
@@ -12,16 +13,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.robolectric.RuntimeEnvironment;
-import org.simpleframework.xml.core.Persister;
 
 import com.github.ayltai.newspaper.app.data.model.Item;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
 import com.github.ayltai.newspaper.app.data.model.SourceFactory;
 import com.github.ayltai.newspaper.net.NetworkTest;
-import com.github.ayltai.newspaper.rss.RssFeed;
 import com.github.ayltai.newspaper.util.IOUtils;
 
 import io.reactivex.Observable;
+import okhttp3.ResponseBody;
+import okio.Okio;
 
 public final class OrientalDailyClientTest extends NetworkTest {
     private static final String ORIENTAL_DAILY_URL         = "http://orientaldaily.on.cc/rss/news.xml";
@@ -37,10 +38,10 @@ public final class OrientalDailyClientTest extends NetworkTest {
     public void setUp() throws Exception {
         super.setUp();
 
-        Mockito.doReturn(Observable.just(createFeed())).when(this.apiService).getFeed(OrientalDailyClientTest.ORIENTAL_DAILY_URL);
+        Mockito.doAnswer(invocationOnMock -> Observable.just(OrientalDailyClientTest.createFeed())).when(this.apiService).getStream(OrientalDailyClientTest.ORIENTAL_DAILY_URL);
         Mockito.doReturn(Observable.just(createHtml())).when(this.apiService).getHtml(OrientalDailyClientTest.ORIENTAL_DAILY_DETAILS_URL);
         Mockito.doReturn(Observable.just(createVideoHtml())).when(this.apiService).getHtml("http://orientaldaily.on.cc/cnt/keyinfo/20170909/videolist.xml");
-        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getFeed(OrientalDailyClientTest.ERROR_URL);
+        Mockito.doReturn(Observable.error(new RuntimeException("Fake error 1"))).when(this.apiService).getStream(OrientalDailyClientTest.ERROR_URL);
         Mockito.doReturn(Observable.error(new RuntimeException("Fake error 2"))).when(this.apiService).getHtml(OrientalDailyClientTest.ERROR_DETAILS_URL);
 
         this.client = new OrientalDailyClient(this.httpClient, this.apiService, SourceFactory.getInstance(RuntimeEnvironment.application).getSource("東方日報"));
@@ -86,8 +87,10 @@ public final class OrientalDailyClientTest extends NetworkTest {
     }
 
     @NonNull
-    private static RssFeed createFeed() throws Exception {
-        return new Persister().read(RssFeed.class, new FileInputStream("src/debug/assets/oriental_daily.xml"));
+    private static ResponseBody createFeed() throws IOException {
+        final File file = new File("src/debug/assets/oriental_daily.xml");
+
+        return ResponseBody.create(null, file.length(), Okio.buffer(Okio.source(file)));
     }
 
     @NonNull
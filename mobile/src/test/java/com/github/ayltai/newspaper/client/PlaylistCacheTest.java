@@ -0,0 +1,47 @@
+package com.github.ayltai.newspaper.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.Single;
+
+public final class PlaylistCacheTest extends UnitTest {
+    private static final String URL     = "http://orientaldaily.on.cc/cnt/keyinfo/20170909/videolist.xml";
+    private static final long   MAX_AGE = 60;
+
+    @Test
+    public void testShared() {
+        final PlaylistCache  cache     = new PlaylistCache();
+        final AtomicInteger  downloads = new AtomicInteger();
+        final Single<String> request   = Single.fromCallable(() -> "playlist-" + downloads.incrementAndGet());
+
+        Assert.assertEquals("playlist-1", cache.get(PlaylistCacheTest.URL, PlaylistCacheTest.MAX_AGE, request).blockingGet());
+        Assert.assertEquals("playlist-1", cache.get(PlaylistCacheTest.URL, PlaylistCacheTest.MAX_AGE, request).blockingGet());
+        Assert.assertEquals(1, downloads.get());
+    }
+
+    @Test
+    public void testExpired() {
+        final PlaylistCache  cache     = new PlaylistCache();
+        final AtomicInteger  downloads = new AtomicInteger();
+        final Single<String> request   = Single.fromCallable(() -> "playlist-" + downloads.incrementAndGet());
+
+        cache.get(PlaylistCacheTest.URL, 0, request).blockingGet();
+
+        Assert.assertEquals("playlist-2", cache.get(PlaylistCacheTest.URL, 0, request).blockingGet());
+    }
+
+    @Test
+    public void testErrorNotKept() {
+        final PlaylistCache cache     = new PlaylistCache();
+        final AtomicInteger downloads = new AtomicInteger();
+
+        cache.get(PlaylistCacheTest.URL, PlaylistCacheTest.MAX_AGE, Single.<String>error(new RuntimeException("Fake error"))).test().assertError(RuntimeException.class);
+
+        Assert.assertEquals("playlist-1", cache.get(PlaylistCacheTest.URL, PlaylistCacheTest.MAX_AGE, Single.fromCallable(() -> "playlist-" + downloads.incrementAndGet())).blockingGet());
+    }
+}
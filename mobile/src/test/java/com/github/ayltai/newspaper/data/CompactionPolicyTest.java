@@ -0,0 +1,47 @@
+package com.github.ayltai.newspaper.data;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class CompactionPolicyTest extends UnitTest {
+    private static final long LARGE_FILE_SIZE = 16 * 1024 * 1024;
+    private static final long SMALL_FILE_SIZE = 1024 * 1024;
+
+    @Test
+    public void testIsWorthCompacting() {
+        Assert.assertTrue(CompactionPolicy.isWorthCompacting(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4));
+        Assert.assertFalse(CompactionPolicy.isWorthCompacting(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE * 3 / 4));
+        Assert.assertFalse(CompactionPolicy.isWorthCompacting(CompactionPolicyTest.SMALL_FILE_SIZE, CompactionPolicyTest.SMALL_FILE_SIZE / 4));
+    }
+
+    @Test
+    public void testCompactsOnlyWhenRequested() {
+        final CompactionPolicy policy = new CompactionPolicy(RuntimeEnvironment.application);
+
+        Assert.assertFalse(policy.shouldCompact(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4));
+        Assert.assertFalse(policy.requestCompaction(CompactionPolicyTest.SMALL_FILE_SIZE));
+        Assert.assertFalse(policy.shouldCompact(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4));
+
+        Assert.assertTrue(policy.requestCompaction(CompactionPolicyTest.LARGE_FILE_SIZE));
+        Assert.assertTrue(policy.shouldCompact(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4));
+
+        // The request is cleared by the compaction
+        Assert.assertFalse(policy.shouldCompact(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4));
+    }
+
+    @Test
+    public void testReclaimedBytes() {
+        final CompactionPolicy policy = new CompactionPolicy(RuntimeEnvironment.application);
+
+        Assert.assertEquals(0, policy.takeReclaimedBytes());
+
+        policy.requestCompaction(CompactionPolicyTest.LARGE_FILE_SIZE);
+        policy.shouldCompact(CompactionPolicyTest.LARGE_FILE_SIZE, CompactionPolicyTest.LARGE_FILE_SIZE / 4);
+
+        Assert.assertEquals(CompactionPolicyTest.LARGE_FILE_SIZE * 3 / 4, policy.takeReclaimedBytes());
+        Assert.assertEquals(0, policy.takeReclaimedBytes());
+    }
+}
@@ -10,6 +10,9 @@ import org.robolectric.RuntimeEnvironment;
 
 import com.github.ayltai.newspaper.UnitTest;
 import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.app.data.model.Posting;
+import com.github.ayltai.newspaper.app.data.model.UserState;
+import com.github.ayltai.newspaper.app.data.model.Validator;
 
 import edu.emory.mathcs.backport.java.util.Collections;
 import io.realm.Case;
@@ -61,6 +64,7 @@ public abstract class DataTest extends UnitTest {
         PowerMockito.when(query.contains(Mockito.anyString(), Mockito.anyString(), Mockito.any(Case.class))).thenReturn(query);
         PowerMockito.when(query.greaterThan(Mockito.anyString(), Mockito.anyInt())).thenReturn(query);
         PowerMockito.when(query.greaterThan(Mockito.anyString(), Mockito.anyLong())).thenReturn(query);
+        PowerMockito.when(query.greaterThanOrEqualTo(Mockito.anyString(), Mockito.anyLong())).thenReturn(query);
         PowerMockito.when(query.lessThan(Mockito.anyString(), Mockito.anyLong())).thenReturn(query);
         PowerMockito.when(query.lessThanOrEqualTo(Mockito.anyString(), Mockito.anyLong())).thenReturn(query);
         PowerMockito.when(query.equalTo(Mockito.anyString(), Mockito.anyBoolean())).thenReturn(query);
@@ -68,6 +72,7 @@ public abstract class DataTest extends UnitTest {
         PowerMockito.when(query.equalTo(Mockito.anyString(), Mockito.anyInt())).thenReturn(query);
         PowerMockito.when(query.equalTo(Mockito.anyString(), Mockito.anyLong())).thenReturn(query);
         PowerMockito.when(query.notEqualTo(Mockito.anyString(), Mockito.anyBoolean())).thenReturn(query);
+        PowerMockito.when(query.not()).thenReturn(query);
 
         final RealmResults<NewsItem> results = PowerMockito.mock(RealmResults.class);
         PowerMockito.when(query.sort(Mockito.anyString(), Mockito.any(Sort.class))).thenReturn(query);
@@ -77,5 +82,34 @@ public abstract class DataTest extends UnitTest {
 
         final NewsItem item = new NewsItem();
         PowerMockito.when(results.first()).thenReturn(item);
+
+        final RealmQuery<Validator>   validatorQuery   = PowerMockito.mock(RealmQuery.class);
+        final RealmResults<Validator> validatorResults = PowerMockito.mock(RealmResults.class);
+        PowerMockito.when(realm.where(Validator.class)).thenReturn(validatorQuery);
+        PowerMockito.when(validatorQuery.findAll()).thenReturn(validatorResults);
+
+        final RealmQuery<Posting>   postingQuery   = PowerMockito.mock(RealmQuery.class);
+        final RealmResults<Posting> postingResults = PowerMockito.mock(RealmResults.class);
+        PowerMockito.when(realm.where(Posting.class)).thenReturn(postingQuery);
+        PowerMockito.when(postingQuery.in(Mockito.anyString(), Mockito.any(String[].class))).thenReturn(postingQuery);
+        PowerMockito.when(postingQuery.equalTo(Mockito.anyString(), Mockito.anyString())).thenReturn(postingQuery);
+        PowerMockito.when(postingQuery.beginsWith(Mockito.anyString(), Mockito.anyString())).thenReturn(postingQuery);
+        PowerMockito.when(postingQuery.findAll()).thenReturn(postingResults);
+        PowerMockito.when(postingResults.iterator()).thenAnswer(invocation -> Collections.emptyList().iterator());
+        PowerMockito.when(postingResults.deleteAllFromRealm()).thenReturn(true);
+
+        final RealmQuery<UserState>   stateQuery   = PowerMockito.mock(RealmQuery.class);
+        final RealmResults<UserState> stateResults = PowerMockito.mock(RealmResults.class);
+        PowerMockito.when(realm.where(UserState.class)).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.in(Mockito.anyString(), Mockito.any(String[].class))).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.and()).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.equalTo(Mockito.anyString(), Mockito.anyString())).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.equalTo(Mockito.anyString(), Mockito.anyBoolean())).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.equalTo(Mockito.anyString(), Mockito.anyInt())).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.greaterThan(Mockito.anyString(), Mockito.anyInt())).thenReturn(stateQuery);
+        PowerMockito.when(stateQuery.findAll()).thenReturn(stateResults);
+        PowerMockito.when(stateQuery.findAllAsync()).thenReturn(stateResults);
+        PowerMockito.when(stateResults.iterator()).thenAnswer(invocation -> Collections.emptyList().iterator());
+        PowerMockito.when(stateResults.deleteAllFromRealm()).thenReturn(true);
     }
 }
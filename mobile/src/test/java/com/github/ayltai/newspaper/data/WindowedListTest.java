@@ -0,0 +1,125 @@
+package com.github.ayltai.newspaper.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.support.annotation.CallSuper;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+import com.github.ayltai.newspaper.util.Irrelevant;
+
+import io.reactivex.subscribers.TestSubscriber;
+import io.realm.Realm;
+import io.realm.RealmChangeListener;
+import io.realm.RealmResults;
+
+public final class WindowedListTest extends DataTest {
+    private static final int ITEM_COUNT  = 100;
+    private static final int WINDOW_SIZE = 10;
+
+    private final AtomicInteger copyCount = new AtomicInteger();
+
+    private Realm                  realm;
+    private RealmResults<NewsItem> results;
+
+    @SuppressWarnings("unchecked")
+    @CallSuper
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        this.realm   = Realm.getDefaultInstance();
+        this.results = PowerMockito.mock(RealmResults.class);
+
+        PowerMockito.when(this.results.isValid()).thenReturn(true);
+        PowerMockito.when(this.results.isLoaded()).thenReturn(true);
+        PowerMockito.when(this.results.size()).thenReturn(WindowedListTest.ITEM_COUNT);
+
+        for (int i = 0; i < WindowedListTest.ITEM_COUNT; i++) {
+            final NewsItem item = new NewsItem();
+            item.setLink(String.valueOf(i));
+
+            PowerMockito.when(this.results.get(i)).thenReturn(item);
+        }
+
+        PowerMockito.when(this.realm.copyFromRealm(Mockito.any(NewsItem.class))).thenAnswer(invocation -> {
+            this.copyCount.incrementAndGet();
+
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    public void testWindow() {
+        final WindowedList<NewsItem> list = new WindowedList<>(this.realm, this.results, WindowedListTest.WINDOW_SIZE);
+
+        Assert.assertEquals(WindowedListTest.ITEM_COUNT, list.size());
+        Assert.assertEquals("0", list.get(0).getLink());
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE, this.copyCount.get());
+
+        // The rows in the window are not copied again
+        Assert.assertEquals("9", list.get(9).getLink());
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE, this.copyCount.get());
+
+        // The window is centred on the row read, and only the rows not in the window are copied
+        Assert.assertEquals("12", list.get(12).getLink());
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE + 7, this.copyCount.get());
+
+        Assert.assertEquals("99", list.get(99).getLink());
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE * 2 + 7, this.copyCount.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testChanges() {
+        final WindowedList<NewsItem>              list       = new WindowedList<>(this.realm, this.results, WindowedListTest.WINDOW_SIZE);
+        final TestSubscriber<Irrelevant>          subscriber = list.changes().test();
+        final ArgumentCaptor<RealmChangeListener> captor     = ArgumentCaptor.forClass(RealmChangeListener.class);
+
+        Mockito.verify(this.results).addChangeListener(captor.capture());
+
+        list.get(0);
+        captor.getValue().onChange(this.results);
+
+        subscriber.assertValueCount(1);
+
+        // The window is dropped
+        list.get(0);
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE * 2, this.copyCount.get());
+
+        list.dispose();
+
+        subscriber.assertComplete();
+        Assert.assertEquals(0, list.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDependOn() {
+        final RealmResults<NewsItem>              dependency = PowerMockito.mock(RealmResults.class);
+        final WindowedList<NewsItem>              list       = new WindowedList<>(this.realm, this.results, WindowedListTest.WINDOW_SIZE).dependOn(dependency);
+        final TestSubscriber<Irrelevant>          subscriber = list.changes().test();
+        final ArgumentCaptor<RealmChangeListener> captor     = ArgumentCaptor.forClass(RealmChangeListener.class);
+
+        PowerMockito.when(dependency.isValid()).thenReturn(true);
+        Mockito.verify(dependency).addChangeListener(captor.capture());
+
+        list.get(0);
+        captor.getValue().onChange(dependency);
+
+        // The window is dropped when the results that the rows depend on change
+        subscriber.assertValueCount(1);
+
+        list.get(0);
+        Assert.assertEquals(WindowedListTest.WINDOW_SIZE * 2, this.copyCount.get());
+
+        list.dispose();
+
+        Mockito.verify(dependency).removeChangeListener(captor.getValue());
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.ayltai.newspaper.net;
+
+import java.nio.charset.Charset;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+public final class CharsetInterceptorTest extends UnitTest {
+    private static final String URL = "http://news.wenweipo.com/news/1.htm";
+
+    private final CharsetInterceptor interceptor = new CharsetInterceptor().addHost("news.wenweipo.com", "Big5");
+
+    @Test
+    public void testGetCharset() {
+        Assert.assertEquals(Charset.forName("Big5"), this.interceptor.getCharset(HttpUrl.parse("http://news.wenweipo.com/list_news.php")));
+
+        // The subdomains of a host are matched too
+        Assert.assertEquals(Charset.forName("Big5"), this.interceptor.getCharset(HttpUrl.parse("http://paper.news.wenweipo.com/2018/04/01/1.htm")));
+
+        Assert.assertNull(this.interceptor.getCharset(HttpUrl.parse("http://wenweipo.com/")));
+        Assert.assertNull(this.interceptor.getCharset(HttpUrl.parse("http://news.wenweipo.com.example.com/")));
+    }
+
+    @Test
+    public void testInterceptText() throws Exception {
+        final Response response = this.intercept(MediaType.parse("text/html; charset=big5"), "香港".getBytes("Big5"));
+
+        Assert.assertEquals("text/html; charset=utf-8", response.header("Content-Type"));
+        Assert.assertEquals("香港", response.body().string());
+    }
+
+    @Test
+    public void testInterceptBinary() throws Exception {
+        final byte[]   bytes    = { (byte)0xff, (byte)0xd8, (byte)0xa4, (byte)0xe5, 0x00 };
+        final Response response = this.intercept(MediaType.parse("image/jpeg"), bytes);
+
+        // An image is not text, so it passes through unchanged
+        Assert.assertEquals("image/jpeg", response.header("Content-Type"));
+        Assert.assertArrayEquals(bytes, response.body().bytes());
+    }
+
+    @Test
+    public void testIsText() {
+        Assert.assertTrue(CharsetInterceptor.isText(null));
+        Assert.assertTrue(CharsetInterceptor.isText(MediaType.parse("text/plain")));
+        Assert.assertTrue(CharsetInterceptor.isText(MediaType.parse("application/rss+xml")));
+        Assert.assertFalse(CharsetInterceptor.isText(MediaType.parse("video/mp4")));
+    }
+
+    private Response intercept(@NonNull final MediaType contentType, @NonNull final byte[] bytes) throws Exception {
+        final Request           request = new Request.Builder().url(CharsetInterceptorTest.URL).build();
+        final Interceptor.Chain chain   = Mockito.mock(Interceptor.Chain.class);
+
+        Mockito.doReturn(request).when(chain).request();
+        Mockito.doReturn(new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("")
+            .header("Content-Type", contentType.toString())
+            .body(ResponseBody.create(contentType, bytes))
+            .build())
+            .when(chain).proceed(request);
+
+        return this.interceptor.intercept(chain);
+    }
+}
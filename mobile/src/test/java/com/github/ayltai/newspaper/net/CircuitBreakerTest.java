@@ -0,0 +1,91 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.schedulers.TestScheduler;
+
+public final class CircuitBreakerTest extends UnitTest {
+    private static final int  FAILURE_THRESHOLD = 3;
+    private static final long COOLDOWN          = 1000;
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        final CircuitBreaker breaker = new CircuitBreaker(CircuitBreakerTest.FAILURE_THRESHOLD, CircuitBreakerTest.COOLDOWN, new TestScheduler());
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        Assert.assertEquals(CircuitBreaker.STATE_CLOSED, breaker.getState());
+        Assert.assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        Assert.assertEquals(CircuitBreaker.STATE_OPEN, breaker.getState());
+        Assert.assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void testHalfOpen() {
+        final TestScheduler  scheduler = new TestScheduler();
+        final CircuitBreaker breaker   = new CircuitBreaker(1, CircuitBreakerTest.COOLDOWN, scheduler);
+
+        breaker.onFailure();
+        scheduler.advanceTimeBy(CircuitBreakerTest.COOLDOWN, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(CircuitBreaker.STATE_HALF_OPEN, breaker.getState());
+        Assert.assertTrue(breaker.allowRequest());
+        Assert.assertFalse(breaker.allowRequest());
+
+        // The trial request fails
+        breaker.onFailure();
+
+        Assert.assertEquals(CircuitBreaker.STATE_OPEN, breaker.getState());
+
+        scheduler.advanceTimeBy(CircuitBreakerTest.COOLDOWN, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(breaker.allowRequest());
+
+        // The trial request is disposed
+        breaker.onCancel();
+
+        Assert.assertTrue(breaker.allowRequest());
+
+        // The trial request succeeds
+        breaker.onSuccess();
+
+        Assert.assertEquals(CircuitBreaker.STATE_CLOSED, breaker.getState());
+        Assert.assertTrue(breaker.allowRequest());
+        Assert.assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void testOpenForRetryAfter() {
+        final TestScheduler  scheduler = new TestScheduler();
+        final CircuitBreaker breaker   = new CircuitBreaker(CircuitBreakerTest.FAILURE_THRESHOLD, CircuitBreakerTest.COOLDOWN, scheduler);
+
+        breaker.open(CircuitBreakerTest.COOLDOWN * 10);
+        scheduler.advanceTimeBy(CircuitBreakerTest.COOLDOWN, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(CircuitBreaker.STATE_OPEN, breaker.getState());
+
+        scheduler.advanceTimeBy(CircuitBreakerTest.COOLDOWN * 9, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(CircuitBreaker.STATE_HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testBreakersAreKeptByHost() {
+        final CircuitBreakers breakers = new CircuitBreakers(CircuitBreakerTest.FAILURE_THRESHOLD, CircuitBreakerTest.COOLDOWN, new TestScheduler());
+
+        Assert.assertSame(breakers.get("http://std.stheadline.com/daily/section-list.php?cat=12"), breakers.get("http://std.stheadline.com/instant/articles/listview/"));
+        Assert.assertNotSame(breakers.get("http://std.stheadline.com/"), breakers.get("http://hd.stheadline.com/"));
+    }
+}
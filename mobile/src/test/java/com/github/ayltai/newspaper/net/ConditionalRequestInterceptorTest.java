@@ -0,0 +1,94 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.Collections;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+public final class ConditionalRequestInterceptorTest extends UnitTest {
+    private static final String URL           = "http://example.com/news";
+    private static final String ETAG          = "\"abc\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    @Test
+    public void testValidatorsAreSentAfterCommit() throws Exception {
+        final ValidatorStore                store       = new ValidatorStore();
+        final ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(store);
+
+        store.watch(ConditionalRequestInterceptorTest.URL);
+
+        Request request = ConditionalRequestInterceptorTest.intercept(interceptor, 200);
+        Assert.assertNull(request.header("If-None-Match"));
+
+        // Staged validators are not used until the items of the page are stored
+        request = ConditionalRequestInterceptorTest.intercept(interceptor, 200);
+        Assert.assertNull(request.header("If-None-Match"));
+
+        Assert.assertEquals(1, store.commit(Collections.singletonList(ConditionalRequestInterceptorTest.URL)).size());
+
+        request = ConditionalRequestInterceptorTest.intercept(interceptor, 200);
+        Assert.assertEquals(ConditionalRequestInterceptorTest.ETAG, request.header("If-None-Match"));
+        Assert.assertEquals(ConditionalRequestInterceptorTest.LAST_MODIFIED, request.header("If-Modified-Since"));
+    }
+
+    @Test(expected = NotModifiedException.class)
+    public void testNotModified() throws Exception {
+        final ValidatorStore                store       = new ValidatorStore();
+        final ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(store);
+
+        store.watch(ConditionalRequestInterceptorTest.URL);
+        ConditionalRequestInterceptorTest.intercept(interceptor, 200);
+        store.commit(Collections.singletonList(ConditionalRequestInterceptorTest.URL));
+
+        ConditionalRequestInterceptorTest.intercept(interceptor, 304);
+    }
+
+    @Test
+    public void testUnwatchedUrl() throws Exception {
+        final ValidatorStore                store       = new ValidatorStore();
+        final ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(store);
+
+        ConditionalRequestInterceptorTest.intercept(interceptor, 200);
+
+        Assert.assertTrue(store.commit(Collections.singletonList(ConditionalRequestInterceptorTest.URL)).isEmpty());
+        Assert.assertNull(store.get(ConditionalRequestInterceptorTest.URL));
+    }
+
+    /**
+     * Passes a request for {@link #URL} through {@code interceptor} to a server responding with {@code code}, and returns the request that reaches the server.
+     */
+    @NonNull
+    private static Request intercept(@NonNull final Interceptor interceptor, final int code) throws Exception {
+        final Request                 request = new Request.Builder().url(ConditionalRequestInterceptorTest.URL).build();
+        final Interceptor.Chain       chain   = Mockito.mock(Interceptor.Chain.class);
+        final ArgumentCaptor<Request> captor  = ArgumentCaptor.forClass(Request.class);
+
+        Mockito.doReturn(request).when(chain).request();
+        Mockito.doAnswer(invocation -> new Response.Builder()
+            .request(invocation.getArgument(0))
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .header("ETag", ConditionalRequestInterceptorTest.ETAG)
+            .header("Last-Modified", ConditionalRequestInterceptorTest.LAST_MODIFIED)
+            .body(ResponseBody.create(null, ""))
+            .build())
+            .when(chain).proceed(captor.capture());
+
+        interceptor.intercept(chain).close();
+
+        return captor.getValue();
+    }
+}
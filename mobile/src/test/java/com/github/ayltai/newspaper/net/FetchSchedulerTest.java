@@ -0,0 +1,129 @@
+package com.github.ayltai.newspaper.net;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+
+public final class FetchSchedulerTest extends UnitTest {
+    private static final String GROUP       = "group";
+    private static final String OTHER_GROUP = "other";
+    private static final String URL_A       = "http://a.com/";
+    private static final String URL_B       = "http://b.com/";
+
+    @Test
+    public void testMaxRequests() {
+        final FetchScheduler         scheduler = new FetchScheduler(2, 2, Schedulers.trampoline());
+        final PublishSubject<String> first     = PublishSubject.create();
+        final PublishSubject<String> second    = PublishSubject.create();
+        final PublishSubject<String> third     = PublishSubject.create();
+
+        final TestObserver<String> observer = scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, first.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_B, second.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_B, third.singleOrError()).test();
+
+        Assert.assertTrue(first.hasObservers());
+        Assert.assertTrue(second.hasObservers());
+        Assert.assertFalse(third.hasObservers());
+        Assert.assertEquals(1, scheduler.getQueueDepth());
+
+        first.onNext("first");
+        first.onComplete();
+
+        observer.assertResult("first");
+        Assert.assertTrue(third.hasObservers());
+        Assert.assertEquals(0, scheduler.getQueueDepth());
+        Assert.assertEquals(1, scheduler.getMaxQueueDepth());
+    }
+
+    @Test
+    public void testMaxRequestsPerHost() {
+        final FetchScheduler         scheduler = new FetchScheduler(4, 1, Schedulers.trampoline());
+        final PublishSubject<String> first     = PublishSubject.create();
+        final PublishSubject<String> second    = PublishSubject.create();
+        final PublishSubject<String> third     = PublishSubject.create();
+
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, first.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, second.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_B, third.singleOrError()).test();
+
+        Assert.assertTrue(first.hasObservers());
+        Assert.assertFalse(second.hasObservers());
+        Assert.assertTrue(third.hasObservers());
+
+        first.onError(new RuntimeException("Fake error"));
+
+        Assert.assertTrue(second.hasObservers());
+    }
+
+    @Test
+    public void testPriority() {
+        final FetchScheduler         scheduler = new FetchScheduler(1, 1, Schedulers.trampoline());
+        final PublishSubject<String> first     = PublishSubject.create();
+        final PublishSubject<String> second    = PublishSubject.create();
+        final PublishSubject<String> third     = PublishSubject.create();
+
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, first.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.OTHER_GROUP, FetchSchedulerTest.URL_A, second.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, third.singleOrError()).test();
+
+        scheduler.setPriority(FetchSchedulerTest.GROUP, FetchScheduler.PRIORITY_VISIBLE);
+
+        first.onNext("first");
+        first.onComplete();
+
+        Assert.assertFalse(second.hasObservers());
+        Assert.assertTrue(third.hasObservers());
+    }
+
+    @Test
+    public void testStream() {
+        final FetchScheduler         scheduler = new FetchScheduler(1, 1, Schedulers.trampoline());
+        final PublishSubject<String> first     = PublishSubject.create();
+        final PublishSubject<String> second    = PublishSubject.create();
+
+        final TestSubscriber<String> subscriber = scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, first.toFlowable(BackpressureStrategy.BUFFER)).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, second.singleOrError()).test();
+
+        first.onNext("first");
+        first.onNext("second");
+
+        subscriber.assertValues("first", "second");
+        subscriber.assertNotComplete();
+        Assert.assertFalse(second.hasObservers());
+
+        first.onComplete();
+
+        subscriber.assertComplete();
+        Assert.assertTrue(second.hasObservers());
+    }
+
+    @Test
+    public void testCancel() {
+        final FetchScheduler         scheduler = new FetchScheduler(1, 1, Schedulers.trampoline());
+        final PublishSubject<String> first     = PublishSubject.create();
+        final PublishSubject<String> second    = PublishSubject.create();
+        final PublishSubject<String> third     = PublishSubject.create();
+
+        final TestObserver<String> running = scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, first.singleOrError()).test();
+        final TestObserver<String> waiting = scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, second.singleOrError()).test();
+        scheduler.schedule(FetchSchedulerTest.GROUP, FetchSchedulerTest.URL_A, third.singleOrError()).test();
+
+        waiting.dispose();
+
+        Assert.assertEquals(1, scheduler.getQueueDepth());
+
+        running.dispose();
+
+        Assert.assertFalse(first.hasObservers());
+        Assert.assertFalse(second.hasObservers());
+        Assert.assertTrue(third.hasObservers());
+        Assert.assertEquals(0, scheduler.getQueueDepth());
+    }
+}
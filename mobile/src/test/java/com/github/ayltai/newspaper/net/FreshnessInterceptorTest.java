@@ -0,0 +1,69 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.github.ayltai.newspaper.UnitTest;
+import com.github.ayltai.newspaper.app.data.model.Category;
+import com.github.ayltai.newspaper.app.data.model.Source;
+
+import io.realm.RealmList;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+public final class FreshnessInterceptorTest extends UnitTest {
+    private static final String LIST_URL     = "http://example.com/rss/news.xml";
+    private static final String ARTICLE_URL  = "http://example.com/news/1.html";
+    private static final String PLAYLIST_URL = "http://example.com/20180401/videolist.xml";
+
+    private final FreshnessInterceptor interceptor = new FreshnessInterceptor()
+        .addSource(new Source("source", new RealmList<>(new Category(FreshnessInterceptorTest.LIST_URL, "category")), 0, new CachePolicy.Builder()
+            .listMaxAge(2, TimeUnit.MINUTES)
+            .articleMaxAge(3, TimeUnit.HOURS)
+            .playlist("/videolist.xml")
+            .build()));
+
+    @Test
+    public void testGetMaxAge() {
+        Assert.assertEquals(TimeUnit.MINUTES.toSeconds(2), this.interceptor.getMaxAge(HttpUrl.parse(FreshnessInterceptorTest.LIST_URL)));
+        Assert.assertEquals(TimeUnit.HOURS.toSeconds(3), this.interceptor.getMaxAge(HttpUrl.parse(FreshnessInterceptorTest.ARTICLE_URL)));
+        Assert.assertEquals(TimeUnit.DAYS.toSeconds(1), this.interceptor.getMaxAge(HttpUrl.parse(FreshnessInterceptorTest.PLAYLIST_URL)));
+        Assert.assertEquals(0, this.interceptor.getMaxAge(HttpUrl.parse("http://unknown.com/news/1.html")));
+    }
+
+    @Test
+    public void testIntercept() throws Exception {
+        final Response response = this.intercept(FreshnessInterceptorTest.ARTICLE_URL, 200);
+
+        Assert.assertEquals("public, max-age=" + TimeUnit.HOURS.toSeconds(3), response.header("Cache-Control"));
+        Assert.assertNull(response.header("Pragma"));
+        Assert.assertEquals("no-cache", this.intercept("http://unknown.com/news/1.html", 200).header("Cache-Control"));
+        Assert.assertEquals("no-cache", this.intercept(FreshnessInterceptorTest.ARTICLE_URL, 404).header("Cache-Control"));
+    }
+
+    private Response intercept(final String url, final int code) throws Exception {
+        final Request           request = new Request.Builder().url(url).build();
+        final Interceptor.Chain chain   = Mockito.mock(Interceptor.Chain.class);
+
+        Mockito.doReturn(request).when(chain).request();
+        Mockito.doReturn(new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message("")
+            .header("Cache-Control", "no-cache")
+            .header("Pragma", "no-cache")
+            .body(ResponseBody.create(null, ""))
+            .build())
+            .when(chain).proceed(request);
+
+        return this.interceptor.intercept(chain);
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+public final class HedgerTest extends UnitTest {
+    private static final long DELAY = 100;
+
+    @Test
+    public void testFastRequestIsNotHedged() {
+        final TestScheduler                scheduler = new TestScheduler();
+        final Hedger                       hedger    = new Hedger(1, 10, scheduler);
+        final List<PublishSubject<String>> requests  = new ArrayList<>();
+        final TestObserver<String>         observer  = hedger.hedge(() -> HedgerTest.newRequest(requests), HedgerTest.DELAY).test();
+
+        requests.get(0).onNext("first");
+        requests.get(0).onComplete();
+        scheduler.advanceTimeBy(HedgerTest.DELAY, TimeUnit.MILLISECONDS);
+
+        observer.assertResult("first");
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(0, hedger.getHedgeCount());
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() {
+        final TestScheduler                scheduler = new TestScheduler();
+        final Hedger                       hedger    = new Hedger(1, 10, scheduler);
+        final List<PublishSubject<String>> requests  = new ArrayList<>();
+        final TestObserver<String>         observer  = hedger.hedge(() -> HedgerTest.newRequest(requests), HedgerTest.DELAY).test();
+
+        scheduler.advanceTimeBy(HedgerTest.DELAY, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(2, requests.size());
+        Assert.assertEquals(1, hedger.getHedgeCount());
+
+        requests.get(1).onNext("second");
+        requests.get(1).onComplete();
+
+        observer.assertResult("second");
+        Assert.assertFalse(requests.get(0).hasObservers());
+    }
+
+    @Test
+    public void testHedgedErrorIsIgnored() {
+        final TestScheduler                scheduler = new TestScheduler();
+        final Hedger                       hedger    = new Hedger(1, 10, scheduler);
+        final List<PublishSubject<String>> requests  = new ArrayList<>();
+        final TestObserver<String>         observer  = hedger.hedge(() -> HedgerTest.newRequest(requests), HedgerTest.DELAY).test();
+
+        scheduler.advanceTimeBy(HedgerTest.DELAY, TimeUnit.MILLISECONDS);
+        requests.get(1).onError(new RuntimeException("Fake error"));
+
+        observer.assertNotTerminated();
+
+        requests.get(0).onNext("first");
+        requests.get(0).onComplete();
+
+        observer.assertResult("first");
+    }
+
+    @Test
+    public void testRejectedHedgeIsIgnored() {
+        final TestScheduler                scheduler = new TestScheduler();
+        final Hedger                       hedger    = new Hedger(1, 10, scheduler);
+        final List<PublishSubject<String>> requests  = new ArrayList<>();
+        final TestObserver<String>         observer  = hedger.hedge(() -> HedgerTest.newRequest(requests), HedgerTest.DELAY, response -> !response.isEmpty()).test();
+
+        // The hedge fails fast, and answers with the empty response standing for its failure
+        scheduler.advanceTimeBy(HedgerTest.DELAY, TimeUnit.MILLISECONDS);
+        requests.get(1).onNext("");
+        requests.get(1).onComplete();
+
+        observer.assertNotTerminated();
+        Assert.assertTrue(requests.get(0).hasObservers());
+
+        requests.get(0).onNext("first");
+        requests.get(0).onComplete();
+
+        observer.assertResult("first");
+    }
+
+    @Test
+    public void testBudget() {
+        final TestScheduler                scheduler = new TestScheduler();
+        final Hedger                       hedger    = new Hedger(0.5, 10, scheduler);
+        final List<PublishSubject<String>> requests  = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) hedger.hedge(() -> HedgerTest.newRequest(requests), HedgerTest.DELAY).test();
+
+        scheduler.advanceTimeBy(HedgerTest.DELAY, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(4, hedger.getRequestCount());
+        Assert.assertEquals(2, hedger.getHedgeCount());
+        Assert.assertEquals(6, requests.size());
+    }
+
+    private static Single<String> newRequest(final List<PublishSubject<String>> requests) {
+        final PublishSubject<String> request = PublishSubject.create();
+        requests.add(request);
+
+        return request.singleOrError();
+    }
+}
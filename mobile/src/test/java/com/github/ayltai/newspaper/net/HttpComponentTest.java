@@ -0,0 +1,54 @@
+package com.github.ayltai.newspaper.net;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import com.github.ayltai.newspaper.UnitTest;
+import com.github.ayltai.newspaper.app.ComponentFactory;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public final class HttpComponentTest extends UnitTest {
+    @Test
+    public void testSingleton() {
+        final HttpComponent component = ComponentFactory.getInstance().getHttpComponent(RuntimeEnvironment.application);
+
+        Assert.assertSame(component, ComponentFactory.getInstance().getHttpComponent(RuntimeEnvironment.application));
+        Assert.assertSame(component.httpClient(), component.retrofit().callFactory());
+        Assert.assertSame(component.httpClient().connectionPool(), component.mediaHttpClient().connectionPool());
+        Assert.assertSame(component.httpClient().dispatcher(), component.mediaHttpClient().dispatcher());
+        Assert.assertNull(component.mediaHttpClient().cache());
+    }
+
+    @Test
+    public void testConnectionReuse() throws Exception {
+        final HttpComponent component = ComponentFactory.getInstance().getHttpComponent(RuntimeEnvironment.application);
+        final MockWebServer server    = new MockWebServer();
+
+        server.enqueue(new MockResponse().setBody("html"));
+        server.enqueue(new MockResponse().setBody("image"));
+        server.start();
+
+        try {
+            // A page downloaded by Retrofit, followed by an image downloaded the way Fresco and ExoPlayer do
+            Assert.assertEquals("html", component.apiService().getHtml(server.url("/news.html").toString()).blockingFirst());
+
+            final Response response = component.mediaHttpClient().newCall(new Request.Builder().url(server.url("/image.jpg")).build()).execute();
+
+            try {
+                Assert.assertEquals("image", response.body().string());
+            } finally {
+                response.close();
+            }
+
+            Assert.assertEquals(0, server.takeRequest().getSequenceNumber());
+            Assert.assertEquals("The second request should reuse the connection of the first one", 1, server.takeRequest().getSequenceNumber());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
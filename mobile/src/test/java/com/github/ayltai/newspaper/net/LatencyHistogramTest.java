@@ -0,0 +1,55 @@
+package com.github.ayltai.newspaper.net;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class LatencyHistogramTest extends UnitTest {
+    @Test
+    public void testPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+
+        for (int i = 1; i <= 100; i++) histogram.record(i * 10);
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(512, histogram.getPercentile(0.5));
+        Assert.assertEquals(1024, histogram.getPercentile(0.95));
+    }
+
+    @Test
+    public void testBuckets() {
+        for (final long millis : new long[] { 1, 16, 17, 200, 999, 5000, 50000 }) {
+            final int index = LatencyHistogram.indexOf(millis);
+
+            Assert.assertTrue("Upper bound too small for " + millis, LatencyHistogram.upperBoundOf(index) >= millis);
+            if (index > 0) Assert.assertTrue("Lower bound too large for " + millis, LatencyHistogram.upperBoundOf(index - 1) < millis);
+        }
+    }
+
+    @Test
+    public void testDecay() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 100; i++) histogram.record(100);
+        for (int i = 0; i < 300; i++) histogram.record(5000);
+
+        Assert.assertTrue(histogram.getCount() <= 256);
+        Assert.assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(5000)), histogram.getPercentile(0.5));
+    }
+
+    @Test
+    public void testEncode() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) histogram.record(i * 10);
+
+        final LatencyHistogram decoded = LatencyHistogram.decode(histogram.encode());
+
+        Assert.assertEquals(histogram.getCount(), decoded.getCount());
+        Assert.assertEquals(histogram.getPercentile(0.95), decoded.getPercentile(0.95));
+        Assert.assertEquals(0, LatencyHistogram.decode("1,x").getCount());
+        Assert.assertEquals(0, LatencyHistogram.decode(null).getCount());
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.ayltai.newspaper.net;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import com.github.ayltai.newspaper.Constants;
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class LatencyTrackerTest extends UnitTest {
+    private static final String SOURCE = "source";
+
+    private static final long   RESPONSE_TIME = 3000;
+    private static final double FACTOR        = 1.5;
+
+    @Test
+    public void testDefaultTimeout() {
+        final LatencyTracker tracker = new LatencyTracker(RuntimeEnvironment.application);
+        final long           now     = System.currentTimeMillis();
+
+        Assert.assertEquals((long)(TimeUnit.SECONDS.toMillis(Constants.CONNECTION_TIMEOUT) * LatencyTrackerTest.FACTOR), tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now));
+        Assert.assertEquals((long)(TimeUnit.SECONDS.toMillis(Constants.REFRESH_TIMEOUT) * LatencyTrackerTest.FACTOR), tracker.getTimeout(LatencyTrackerTest.SOURCE, true, 1, now));
+    }
+
+    @Test
+    public void testAdaptiveTimeout() {
+        final LatencyTracker tracker = new LatencyTracker(RuntimeEnvironment.application);
+        for (int i = 0; i < 20; i++) tracker.record(LatencyTrackerTest.SOURCE, LatencyTrackerTest.RESPONSE_TIME);
+
+        final long   now      = System.currentTimeMillis();
+        final double expected = LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(LatencyTrackerTest.RESPONSE_TIME)) * LatencyTrackerTest.FACTOR;
+
+        Assert.assertEquals((long)expected, tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now));
+        Assert.assertEquals((long)(expected * LatencyTrackerTest.FACTOR), tracker.getTimeout(LatencyTrackerTest.SOURCE, false, LatencyTrackerTest.FACTOR, now));
+        Assert.assertEquals((long)(expected * LatencyTrackerTest.FACTOR), tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now + TimeUnit.DAYS.toMillis(1)));
+    }
+
+    @Test
+    public void testTimeouts() {
+        final LatencyTracker tracker = new LatencyTracker(RuntimeEnvironment.application);
+        final long           now     = System.currentTimeMillis();
+
+        for (int i = 0; i < 20; i++) tracker.record(LatencyTrackerTest.SOURCE, LatencyTrackerTest.RESPONSE_TIME);
+
+        final long timeout = tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now);
+        for (int i = 0; i < 20; i++) tracker.recordTimeout(LatencyTrackerTest.SOURCE, timeout);
+
+        Assert.assertTrue(tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now) > timeout);
+    }
+
+    @Test
+    public void testSave() {
+        final LatencyTracker tracker = new LatencyTracker(RuntimeEnvironment.application);
+        for (int i = 0; i < 20; i++) tracker.record(LatencyTrackerTest.SOURCE, LatencyTrackerTest.RESPONSE_TIME);
+
+        tracker.save();
+
+        final long now = System.currentTimeMillis();
+
+        Assert.assertEquals(tracker.getTimeout(LatencyTrackerTest.SOURCE, false, 1, now), new LatencyTracker(RuntimeEnvironment.application).getTimeout(LatencyTrackerTest.SOURCE, false, 1, now));
+        Assert.assertEquals(tracker.getPercentile(LatencyTrackerTest.SOURCE, 0.9), new LatencyTracker(RuntimeEnvironment.application).getPercentile(LatencyTrackerTest.SOURCE, 0.9));
+    }
+}
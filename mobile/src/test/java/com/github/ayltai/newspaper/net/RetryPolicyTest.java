@@ -0,0 +1,154 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+public final class RetryPolicyTest extends UnitTest {
+    private static final String URL = "http://example.com/news";
+
+    private static final long BASE_DELAY  = 100;
+    private static final long MAX_DELAY   = 1000;
+    private static final int  MAX_RETRIES = 3;
+
+    @Test
+    public void testIsRetryable() {
+        Assert.assertTrue(RetryPolicyTest.isRetryable(429));
+        Assert.assertTrue(RetryPolicyTest.isRetryable(503));
+        Assert.assertFalse(RetryPolicyTest.isRetryable(404));
+        Assert.assertTrue(RetryPolicy.isRetryable(new IOException()));
+        Assert.assertFalse(RetryPolicy.isRetryable(new NotModifiedException(RetryPolicyTest.URL)));
+        Assert.assertFalse(RetryPolicy.isRetryable(new CircuitOpenException(RetryPolicyTest.URL)));
+        Assert.assertFalse(RetryPolicy.isRetryable(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void testNextDelay() {
+        final RetryPolicy policy = new RetryPolicy(RetryPolicyTest.BASE_DELAY, RetryPolicyTest.MAX_DELAY, RetryPolicyTest.MAX_RETRIES, new Random(0), new TestScheduler());
+
+        long delay = RetryPolicyTest.BASE_DELAY;
+
+        for (int i = 0; i < 100; i++) {
+            final long nextDelay = policy.nextDelay(delay);
+
+            Assert.assertTrue(nextDelay >= RetryPolicyTest.BASE_DELAY);
+            Assert.assertTrue(nextDelay <= Math.min(RetryPolicyTest.MAX_DELAY, delay * 3));
+
+            delay = nextDelay;
+        }
+    }
+
+    @Test
+    public void testRetryAfter() {
+        final RetryPolicy policy = new RetryPolicy(RetryPolicyTest.BASE_DELAY, RetryPolicyTest.MAX_DELAY, RetryPolicyTest.MAX_RETRIES, new Random(0), new TestScheduler());
+
+        Assert.assertEquals(0, policy.getRetryAfter(new IOException()));
+        Assert.assertEquals(0, policy.getRetryAfter(RetryPolicyTest.newHttpException(503, null)));
+        Assert.assertEquals(120000, policy.getRetryAfter(RetryPolicyTest.newHttpException(503, "120")));
+        Assert.assertEquals(60000, policy.getRetryAfter(RetryPolicyTest.newHttpException(429, "Thu, 01 Jan 1970 00:01:00 GMT")));
+    }
+
+    @Test
+    public void testRetries() {
+        final TestScheduler        scheduler = new TestScheduler();
+        final RetryPolicy          policy    = new RetryPolicy(RetryPolicyTest.BASE_DELAY, RetryPolicyTest.MAX_DELAY, RetryPolicyTest.MAX_RETRIES, new Random(0), scheduler);
+        final CircuitBreaker       breaker   = new CircuitBreaker(RetryPolicyTest.MAX_RETRIES, RetryPolicyTest.MAX_DELAY, scheduler);
+        final AtomicInteger        count     = new AtomicInteger();
+        final TestObserver<String> observer  = Observable.defer(() -> count.incrementAndGet() < 3 ? Observable.<String>error(new IOException()) : Observable.just("ok"))
+            .retryWhen(policy.retryWhen(breaker))
+            .test();
+
+        scheduler.advanceTimeBy(RetryPolicyTest.MAX_DELAY * RetryPolicyTest.MAX_RETRIES, TimeUnit.MILLISECONDS);
+
+        observer.assertResult("ok");
+        Assert.assertEquals(3, count.get());
+    }
+
+    @Test
+    public void testMaxRetries() {
+        final TestScheduler        scheduler = new TestScheduler();
+        final RetryPolicy          policy    = new RetryPolicy(RetryPolicyTest.BASE_DELAY, RetryPolicyTest.MAX_DELAY, RetryPolicyTest.MAX_RETRIES, new Random(0), scheduler);
+        final CircuitBreaker       breaker   = new CircuitBreaker(RetryPolicyTest.MAX_RETRIES, RetryPolicyTest.MAX_DELAY, scheduler);
+        final AtomicInteger        count     = new AtomicInteger();
+        final TestObserver<String> observer  = Observable.defer(() -> {
+            count.incrementAndGet();
+
+            return Observable.<String>error(new IOException());
+        })
+            .retryWhen(policy.retryWhen(breaker))
+            .test();
+
+        scheduler.advanceTimeBy(RetryPolicyTest.MAX_DELAY * (RetryPolicyTest.MAX_RETRIES + 1), TimeUnit.MILLISECONDS);
+
+        observer.assertError(IOException.class);
+        Assert.assertEquals(RetryPolicyTest.MAX_RETRIES + 1, count.get());
+    }
+
+    @Test
+    public void testNoRetryWhenNotRetryable() {
+        final TestScheduler        scheduler = new TestScheduler();
+        final RetryPolicy          policy    = new RetryPolicy(RetryPolicyTest.BASE_DELAY, RetryPolicyTest.MAX_DELAY, RetryPolicyTest.MAX_RETRIES, new Random(0), scheduler);
+        final CircuitBreaker       breaker   = new CircuitBreaker(RetryPolicyTest.MAX_RETRIES, RetryPolicyTest.MAX_DELAY, scheduler);
+        final AtomicInteger        count     = new AtomicInteger();
+        final TestObserver<String> observer  = Observable.defer(() -> {
+            count.incrementAndGet();
+
+            return Observable.<String>error(RetryPolicyTest.newHttpException(503, "60"));
+        })
+            .retryWhen(policy.retryWhen(breaker))
+            .test();
+
+        // The server asks to wait for longer than the maximum delay
+        observer.assertError(HttpException.class);
+        Assert.assertEquals(1, count.get());
+
+        breaker.open(RetryPolicyTest.MAX_DELAY);
+        count.set(0);
+
+        Observable.defer(() -> {
+            count.incrementAndGet();
+
+            return Observable.<String>error(new IOException());
+        })
+            .retryWhen(policy.retryWhen(breaker))
+            .test()
+            .assertError(IOException.class);
+
+        Assert.assertEquals(1, count.get());
+    }
+
+    private static boolean isRetryable(final int code) {
+        return RetryPolicy.isRetryable(RetryPolicyTest.newHttpException(code, null));
+    }
+
+    @NonNull
+    private static HttpException newHttpException(final int code, @Nullable final String retryAfter) {
+        final okhttp3.Response.Builder builder = new okhttp3.Response.Builder()
+            .code(code)
+            .message("Error")
+            .protocol(Protocol.HTTP_1_1)
+            .request(new Request.Builder().url(RetryPolicyTest.URL).build());
+
+        if (retryAfter != null) builder.header("Retry-After", retryAfter);
+
+        return new HttpException(Response.error(ResponseBody.create(null, ""), builder.build()));
+    }
+}
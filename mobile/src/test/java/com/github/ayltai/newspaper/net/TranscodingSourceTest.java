@@ -0,0 +1,37 @@
+package com.github.ayltai.newspaper.net;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+
+public final class TranscodingSourceTest extends UnitTest {
+    private static final String BIG5 = "Big5";
+
+    @Test
+    public void testTranscode() throws IOException {
+        final StringBuilder builder = new StringBuilder("a");
+        for (int i = 0; i < 5000; i++) builder.append("香港新聞");
+
+        // The leading ASCII character makes some two-byte characters straddle the decoding buffer
+        final String text = builder.toString();
+
+        try (BufferedSource source = Okio.buffer(new TranscodingSource(new Buffer().write(text.getBytes(TranscodingSourceTest.BIG5)), Charset.forName(TranscodingSourceTest.BIG5)))) {
+            Assert.assertEquals(text, source.readUtf8());
+        }
+    }
+
+    @Test
+    public void testTranscodeEmpty() throws IOException {
+        try (BufferedSource source = Okio.buffer(new TranscodingSource(new Buffer(), Charset.forName(TranscodingSourceTest.BIG5)))) {
+            Assert.assertEquals("", source.readUtf8());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.ayltai.newspaper.rss;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.simpleframework.xml.core.Persister;
+
+import com.github.ayltai.newspaper.UnitTest;
+import com.github.ayltai.newspaper.app.data.model.Image;
+import com.github.ayltai.newspaper.app.data.model.NewsItem;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+public final class RssParserTest extends UnitTest {
+    private static final String[] FEEDS = {
+        "headline.xml",
+        "hkej.xml",
+        "hket.xml",
+        "mingpao.xml",
+        "mingpao_instant.xml",
+        "oriental_daily.xml",
+        "rthk.xml",
+        "skypost.xml"
+    };
+
+    private static final String TAG = RssParserTest.class.getSimpleName();
+
+    private static final String SOURCE   = "source";
+    private static final String CATEGORY = "category";
+
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int ROUNDS         = 20;
+
+    @Test
+    public void testParse() throws Exception {
+        for (final String feed : RssParserTest.FEEDS) {
+            final byte[]         bytes    = RssParserTest.read(feed);
+            final List<NewsItem> expected = RssParserTest.convert(bytes);
+            final List<NewsItem> actual   = RssParser.parse(new ByteArrayInputStream(bytes), RssParserTest.SOURCE, RssParserTest.CATEGORY);
+
+            Assert.assertEquals("Incorrect items.size() for " + feed, expected.size(), actual.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals("Incorrect item title for " + feed, expected.get(i).getTitle(), actual.get(i).getTitle());
+                Assert.assertEquals("Incorrect item link for " + feed, expected.get(i).getLink(), actual.get(i).getLink());
+                Assert.assertEquals("Incorrect item description for " + feed, expected.get(i).getDescription(), actual.get(i).getDescription());
+                Assert.assertEquals("Incorrect item publish date for " + feed, expected.get(i).getPublishDate(), actual.get(i).getPublishDate());
+                Assert.assertEquals("Incorrect item images for " + feed, expected.get(i).getImages(), actual.get(i).getImages());
+                Assert.assertEquals("Incorrect item source for " + feed, RssParserTest.SOURCE, actual.get(i).getSource());
+                Assert.assertEquals("Incorrect item category for " + feed, RssParserTest.CATEGORY, actual.get(i).getCategory());
+            }
+        }
+    }
+
+    @Test
+    public void testParseEmptyFeed() throws Exception {
+        Assert.assertTrue(RssParser.parse(new ByteArrayInputStream("<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss><channel><title>Empty</title></channel></rss>".getBytes("UTF-8")), RssParserTest.SOURCE, null).isEmpty());
+    }
+
+    @Test
+    public void testParseItemWithoutLink() throws Exception {
+        final List<NewsItem> items = RssParser.parse(new ByteArrayInputStream("<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss><channel><item><title>No link</title></item><item><title><![CDATA[Guid]]></title><guid>http://guid</guid></item></channel></rss>".getBytes("UTF-8")), RssParserTest.SOURCE, null);
+
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals("Guid", items.get(0).getTitle());
+        Assert.assertEquals("http://guid", items.get(0).getLink());
+    }
+
+    @Test
+    public void testBenchmark() throws Exception {
+        final List<byte[]> feeds = new ArrayList<>();
+        for (final String feed : RssParserTest.FEEDS) feeds.add(RssParserTest.read(feed));
+
+        for (int i = 0; i < RssParserTest.WARM_UP_ROUNDS; i++) {
+            RssParserTest.runPullParser(feeds);
+            RssParserTest.runSimpleXml(feeds);
+        }
+
+        long pullParserTime = 0;
+        long simpleXmlTime  = 0;
+
+        for (int i = 0; i < RssParserTest.ROUNDS; i++) {
+            pullParserTime += RssParserTest.runPullParser(feeds);
+            simpleXmlTime  += RssParserTest.runSimpleXml(feeds);
+        }
+
+        Log.i(RssParserTest.TAG, String.format(Locale.ENGLISH, "Parsing %d feeds: pull parser = %.2f ms, SimpleXML = %.2f ms", feeds.size(), pullParserTime / 1e6 / RssParserTest.ROUNDS, simpleXmlTime / 1e6 / RssParserTest.ROUNDS));
+    }
+
+    private static long runPullParser(@NonNull final List<byte[]> feeds) throws Exception {
+        final long start = System.nanoTime();
+
+        for (final byte[] feed : feeds) RssParser.parse(new ByteArrayInputStream(feed), RssParserTest.SOURCE, RssParserTest.CATEGORY);
+
+        return System.nanoTime() - start;
+    }
+
+    private static long runSimpleXml(@NonNull final List<byte[]> feeds) throws Exception {
+        final long start = System.nanoTime();
+
+        for (final byte[] feed : feeds) RssParserTest.convert(feed);
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Converts the given feed the way it was done before {@link RssParser}: SimpleXML builds the {@link RssFeed} graph, which is then copied into {@link NewsItem}.
+     */
+    @NonNull
+    private static List<NewsItem> convert(@NonNull final byte[] bytes) throws Exception {
+        final DateFormat     format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+        final RssFeed        feed   = new Persister().read(RssFeed.class, new ByteArrayInputStream(bytes));
+        final List<NewsItem> items  = new ArrayList<>();
+
+        if (feed.getItems() != null) {
+            for (final RssItem rss : feed.getItems()) {
+                final NewsItem item = new NewsItem();
+                item.setLink(rss.getLink() == null ? null : rss.getLink().trim());
+                item.setTitle(rss.getTitle().trim());
+                item.setDescription(rss.getDescription() == null ? null : rss.getDescription().trim());
+                item.setSource(RssParserTest.SOURCE);
+                item.setCategory(RssParserTest.CATEGORY);
+
+                if (rss.getPubDate() != null) {
+                    try {
+                        item.setPublishDate(format.parse(rss.getPubDate().trim().replaceAll("EDT", "+0800")));
+                    } catch (final ParseException e) {
+                        // Ignored
+                    }
+                }
+
+                if (rss.getEnclosure() != null) item.getImages().add(new Image(rss.getEnclosure().getUrl()));
+
+                items.add(item);
+            }
+        }
+
+        return items;
+    }
+
+    @NonNull
+    private static byte[] read(@NonNull final String feed) throws IOException {
+        try (BufferedSource source = Okio.buffer(Okio.source(new File("src/debug/assets/" + feed)))) {
+            return source.readByteArray();
+        }
+    }
+}
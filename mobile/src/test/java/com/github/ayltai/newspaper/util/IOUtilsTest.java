@@ -25,6 +25,17 @@ public final class IOUtilsTest extends UnitTest {
         }
     }
 
+    @Test
+    public void testReadStringWithMultiByteCharacters() throws IOException {
+        final StringBuilder builder = new StringBuilder("a");
+        for (int i = 0; i < 5000; i++) builder.append("新聞");
+
+        // The leading ASCII character makes some three-byte characters straddle the read buffer
+        final String text = builder.toString();
+
+        Assert.assertEquals(text, IOUtils.readString(new ByteArrayInputStream(text.getBytes("UTF-8"))));
+    }
+
     @Test
     public void testCopy() {
         ByteArrayInputStream  inputStream  = null;
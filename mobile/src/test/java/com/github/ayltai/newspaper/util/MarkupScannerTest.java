@@ -0,0 +1,114 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class MarkupScannerTest extends UnitTest {
+    private static final String HTML = "<ul><li><a href=\"1\">One</a><p>First</p></li><li><a href=\"2\">Two</a></li><li><a href=\"3\">Three</a><p>Third</p></li></ul><li><a href=\"4\">Four</a></li>";
+
+    private static final int FIELD_LINK        = 0;
+    private static final int FIELD_TITLE       = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+
+    private static final MarkupScanner SCANNER = new MarkupScanner.Builder()
+        .region("<ul>", "</ul>")
+        .section("<li>", "</li>")
+        .field("<a href=\"", "\"")
+        .field("\">", "</a>")
+        .field("<p>", "</p>")
+        .build();
+
+    @Test
+    public void testScan() {
+        final List<MarkupScanner.Section> sections = MarkupScannerTest.SCANNER.scan(MarkupScannerTest.HTML);
+
+        Assert.assertEquals(3, sections.size());
+        Assert.assertEquals("1", sections.get(0).get(MarkupScannerTest.FIELD_LINK));
+        Assert.assertEquals("One", sections.get(0).get(MarkupScannerTest.FIELD_TITLE));
+        Assert.assertEquals("First", sections.get(0).get(MarkupScannerTest.FIELD_DESCRIPTION));
+        Assert.assertEquals("<a href=\"2\">Two</a>", sections.get(1).getText());
+        Assert.assertNull(sections.get(1).get(MarkupScannerTest.FIELD_DESCRIPTION));
+        Assert.assertEquals("Third", sections.get(2).get(MarkupScannerTest.FIELD_DESCRIPTION));
+    }
+
+    @Test
+    public void testScanWithoutRegion() {
+        final List<MarkupScanner.Section> sections = new MarkupScanner.Builder()
+            .section("<li>", "</li>")
+            .field("<a href=\"", "\"")
+            .build()
+            .scan(MarkupScannerTest.HTML);
+
+        Assert.assertEquals(4, sections.size());
+        Assert.assertEquals("4", sections.get(3).get(0));
+    }
+
+    @Test
+    public void testScanWithOverlappingMarkers() {
+        final List<MarkupScanner.Section> sections = new MarkupScanner.Builder()
+            .region("[", "<div></div>")
+            .section("<b>", "</div>")
+            .field("<b>", "<")
+            .build()
+            .scan("[<b>a</div><b>b</div><b>c<div></div>");
+
+        Assert.assertEquals(2, sections.size());
+        Assert.assertEquals("b", sections.get(1).getText());
+    }
+
+    @Test
+    public void testScanMatchesStringUtils() {
+        final String[]                    expected = StringUtils.substringsBetween(StringUtils.substringBetween(MarkupScannerTest.HTML, "<ul>", "</ul>"), "<li>", "</li>");
+        final List<MarkupScanner.Section> actual   = MarkupScannerTest.SCANNER.scan(MarkupScannerTest.HTML);
+
+        Assert.assertEquals(expected.length, actual.size());
+
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], actual.get(i).getText());
+            Assert.assertEquals(StringUtils.substringBetween(expected[i], "<a href=\"", "\""), actual.get(i).get(MarkupScannerTest.FIELD_LINK));
+            Assert.assertEquals(StringUtils.substringBetween(expected[i], "\">", "</a>"), actual.get(i).get(MarkupScannerTest.FIELD_TITLE));
+            Assert.assertEquals(StringUtils.substringBetween(expected[i], "<p>", "</p>"), actual.get(i).get(MarkupScannerTest.FIELD_DESCRIPTION));
+        }
+    }
+
+    @Test
+    public void testSession() {
+        final List<MarkupScanner.Section> expected = MarkupScannerTest.SCANNER.scan(MarkupScannerTest.HTML);
+        final List<MarkupScanner.Section> actual   = new ArrayList<>();
+        final MarkupScanner.Session       session  = MarkupScannerTest.SCANNER.newSession();
+
+        for (int i = 0; i < MarkupScannerTest.HTML.length() && !session.isFinished(); i += 3) actual.addAll(session.feed(MarkupScannerTest.HTML.substring(i, Math.min(i + 3, MarkupScannerTest.HTML.length()))));
+
+        actual.addAll(session.finish());
+
+        Assert.assertTrue(session.isFinished());
+        Assert.assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getText(), actual.get(i).getText());
+            Assert.assertEquals(expected.get(i).get(MarkupScannerTest.FIELD_LINK), actual.get(i).get(MarkupScannerTest.FIELD_LINK));
+            Assert.assertEquals(expected.get(i).get(MarkupScannerTest.FIELD_DESCRIPTION), actual.get(i).get(MarkupScannerTest.FIELD_DESCRIPTION));
+        }
+    }
+
+    @Test
+    public void testSessionEmitsSectionsEarly() {
+        final MarkupScanner.Session session = MarkupScannerTest.SCANNER.newSession();
+
+        Assert.assertTrue(session.feed("<ul><li><a href=\"1\">One</a>").isEmpty());
+        Assert.assertEquals(1, session.feed("</li><li>").size());
+        Assert.assertFalse(session.isFinished());
+    }
+
+    @Test
+    public void testScanEmpty() {
+        Assert.assertTrue(MarkupScannerTest.SCANNER.scan((String)null).isEmpty());
+        Assert.assertTrue(MarkupScannerTest.SCANNER.scan("").isEmpty());
+        Assert.assertTrue(MarkupScannerTest.SCANNER.scan("<ul><li>No closing region</li>").isEmpty());
+    }
+}
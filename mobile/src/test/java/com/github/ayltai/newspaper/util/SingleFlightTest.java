@@ -0,0 +1,123 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+
+public final class SingleFlightTest extends UnitTest {
+    private static final String KEY = "key";
+
+    @Test
+    public void testJoin() {
+        final SingleFlight<String, String> flight        = new SingleFlight<>();
+        final PublishSubject<String>       subject       = PublishSubject.create();
+        final AtomicInteger                subscriptions = new AtomicInteger();
+
+        final TestObserver<String> first  = flight.single(SingleFlightTest.KEY, () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet()).singleOrError()).test();
+        final TestObserver<String> second = flight.single(SingleFlightTest.KEY, () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet()).singleOrError()).test();
+
+        Assert.assertEquals(1, subscriptions.get());
+        Assert.assertEquals(1, flight.size());
+
+        subject.onNext("value");
+        subject.onComplete();
+
+        first.assertResult("value");
+        second.assertResult("value");
+
+        Assert.assertEquals(0, flight.size());
+    }
+
+    @Test
+    public void testJoinAfterValue() {
+        final SingleFlight<String, String> flight        = new SingleFlight<>();
+        final PublishSubject<String>       subject       = PublishSubject.create();
+        final AtomicInteger                subscriptions = new AtomicInteger();
+
+        final TestObserver<String> first = flight.observable(SingleFlightTest.KEY, () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet())).singleOrError().test();
+
+        subject.onNext("value");
+
+        // A subscriber joining between the value and the completion still receives the value
+        final TestObserver<String> second = flight.observable(SingleFlightTest.KEY, () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet())).singleOrError().test();
+
+        subject.onComplete();
+
+        first.assertResult("value");
+        second.assertResult("value");
+
+        Assert.assertEquals(1, subscriptions.get());
+        Assert.assertEquals(0, flight.size());
+    }
+
+    @Test
+    public void testDifferentKeys() {
+        final SingleFlight<String, String> flight        = new SingleFlight<>();
+        final PublishSubject<String>       subject       = PublishSubject.create();
+        final AtomicInteger                subscriptions = new AtomicInteger();
+
+        flight.observable("a", () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet())).test();
+        flight.observable("b", () -> subject.doOnSubscribe(disposable -> subscriptions.incrementAndGet())).test();
+
+        Assert.assertEquals(2, subscriptions.get());
+        Assert.assertEquals(2, flight.size());
+    }
+
+    @Test
+    public void testError() {
+        final SingleFlight<String, String> flight  = new SingleFlight<>();
+        final PublishSubject<String>       subject = PublishSubject.create();
+        final IllegalStateException        error   = new IllegalStateException();
+
+        final TestObserver<String> first  = flight.observable(SingleFlightTest.KEY, () -> subject).test();
+        final TestObserver<String> second = flight.observable(SingleFlightTest.KEY, () -> subject).test();
+
+        subject.onError(error);
+
+        first.assertError(error);
+        second.assertError(error);
+
+        Assert.assertEquals(0, flight.size());
+    }
+
+    @Test
+    public void testCancellation() {
+        final SingleFlight<String, String> flight  = new SingleFlight<>();
+        final PublishSubject<String>       subject = PublishSubject.create();
+
+        final TestObserver<String> first  = flight.observable(SingleFlightTest.KEY, () -> subject).test();
+        final TestObserver<String> second = flight.observable(SingleFlightTest.KEY, () -> subject).test();
+
+        first.dispose();
+
+        Assert.assertTrue(subject.hasObservers());
+
+        subject.onNext("value");
+
+        first.assertEmpty();
+        second.assertValue("value");
+
+        second.dispose();
+
+        Assert.assertFalse(subject.hasObservers());
+        Assert.assertEquals(0, flight.size());
+    }
+
+    @Test
+    public void testNewRequestAfterCompletion() {
+        final SingleFlight<String, String> flight        = new SingleFlight<>();
+        final AtomicInteger                subscriptions = new AtomicInteger();
+
+        flight.observable(SingleFlightTest.KEY, () -> Observable.just("value").doOnSubscribe(disposable -> subscriptions.incrementAndGet())).test().assertResult("value");
+        flight.observable(SingleFlightTest.KEY, () -> Observable.just("value").doOnSubscribe(disposable -> subscriptions.incrementAndGet())).test().assertResult("value");
+
+        Assert.assertEquals(2, subscriptions.get());
+    }
+}
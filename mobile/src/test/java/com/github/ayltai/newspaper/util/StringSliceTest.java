@@ -0,0 +1,63 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class StringSliceTest extends UnitTest {
+    private static final String HTML = "<div><p>One</p><p>Two</p></div><p>Three</p>";
+
+    @Test
+    public void testBetween() {
+        final StringSlice slice = StringUtils.substringBetween(StringSlice.of(StringSliceTest.HTML), "<div>", "</div>");
+
+        Assert.assertNotNull(slice);
+        Assert.assertEquals("<p>One</p><p>Two</p>", slice.toString());
+        Assert.assertEquals("One", slice.between("<p>", "</p>").toString());
+        Assert.assertNull(slice.between("<div>", "</div>"));
+        Assert.assertNull(StringUtils.substringBetween((StringSlice)null, "<p>", "</p>"));
+    }
+
+    @Test
+    public void testBetweenAll() {
+        final StringSlice       slice  = StringUtils.substringBetween(StringSlice.of(StringSliceTest.HTML), "<div>", "</div>");
+        final List<StringSlice> slices = StringUtils.substringsBetween(slice, "<p>", "</p>");
+
+        Assert.assertEquals(2, slices.size());
+        Assert.assertTrue(slices.get(0).contentEquals("One"));
+        Assert.assertTrue(slices.get(1).contentEquals("Two"));
+        Assert.assertTrue(StringUtils.substringsBetween((StringSlice)null, "<p>", "</p>").isEmpty());
+    }
+
+    @Test
+    public void testMatchesStringUtils() {
+        final String[]          expected = StringUtils.substringsBetween(StringSliceTest.HTML, "<p>", "</p>");
+        final List<StringSlice> actual   = StringUtils.substringsBetween(StringSlice.of(StringSliceTest.HTML), "<p>", "</p>");
+
+        Assert.assertEquals(expected.length, actual.size());
+
+        for (int i = 0; i < expected.length; i++) Assert.assertEquals(expected[i], actual.get(i).toString());
+    }
+
+    @Test
+    public void testSearchStaysInsideSlice() {
+        final StringSlice slice = StringSlice.of(StringSliceTest.HTML).subSequence(0, 10);
+
+        Assert.assertEquals("<div><p>On", slice.toString());
+        Assert.assertEquals(-1, slice.indexOf("One"));
+        Assert.assertNull(slice.between("<p>", "</p>"));
+    }
+
+    @Test
+    public void testEquality() {
+        final StringSlice slice = StringSlice.of("xOnex").subSequence(1, 4);
+
+        Assert.assertEquals(StringSlice.of("One"), slice);
+        Assert.assertEquals(StringSlice.of("One").hashCode(), slice.hashCode());
+        Assert.assertEquals("One", slice.appendTo(new StringBuilder()).toString());
+        Assert.assertEquals('n', slice.charAt(1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.ayltai.newspaper.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.ayltai.newspaper.UnitTest;
+
+public final class TokenizerTest extends UnitTest {
+    @Test
+    public void testTokenize() {
+        Assert.assertEquals(Collections.emptyList(), Tokenizer.tokenize(null));
+        Assert.assertEquals(Collections.emptyList(), Tokenizer.tokenize("<p>a &amp; b</p>"));
+
+        // Words are lower-cased, and tags and entities are removed
+        Assert.assertEquals(Arrays.asList("hong", "kong", "news", "2018"), Tokenizer.tokenize("<b>Hong</b> Kong&nbsp;news, 2018"));
+
+        // Ideographs are split into pairs
+        Assert.assertEquals(Arrays.asList("香港", "港新", "新聞"), Tokenizer.tokenize("香港新聞"));
+
+        // An ideograph on its own is kept
+        Assert.assertEquals(Arrays.asList("港", "mtr", "新聞"), Tokenizer.tokenize("港 MTR新聞"));
+    }
+
+    @Test
+    public void testIndex() {
+        Assert.assertEquals(Arrays.asList("hong", "kong"), Tokenizer.index("Hong Kong"));
+
+        // Every ideograph is kept on its own as well as in pairs
+        Assert.assertEquals(Arrays.asList("香", "香港", "港", "港新", "新"), Tokenizer.index("香港新"));
+        Assert.assertEquals(Arrays.asList("港", "mtr"), Tokenizer.index("港 MTR"));
+    }
+
+    @Test
+    public void testIsIdeograph() {
+        Assert.assertTrue(Tokenizer.isIdeograph("港"));
+        Assert.assertFalse(Tokenizer.isIdeograph("香港"));
+        Assert.assertFalse(Tokenizer.isIdeograph("a"));
+    }
+}